@@ -1,5 +1,6 @@
 package com.kooora.app.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -9,14 +10,21 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration for external API services
- * 
+ *
  * @author Kooora Team
  * @version 1.0.0
  */
@@ -25,27 +33,77 @@ import java.util.concurrent.Executor;
 @EnableScheduling
 public class ExternalApiConfig {
 
+    @Value("${external.api.http.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${external.api.http.max-connections-per-host:8}")
+    private int maxConnectionsPerHost;
+
+    @Value("${external.api.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${external.api.http.response-timeout-ms:30000}")
+    private long responseTimeoutMs;
+
+    @Value("${external.api.http.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
     /**
-     * RestTemplate bean for making HTTP requests to external APIs
+     * Pooled connection manager shared by all outbound HTTP clients
      */
-    @Bean
-    public RestTemplate restTemplate() {
-        // Configure HTTP client with timeouts using HttpClient 5
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager externalApiConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Pooled HTTP client with keep-alive and transparent gzip/deflate decompression
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient externalApiHttpClient(PoolingHttpClientConnectionManager externalApiConnectionManager) {
         RequestConfig config = RequestConfig.custom()
-                .setConnectTimeout(Timeout.ofSeconds(5))
                 .setConnectionRequestTimeout(Timeout.ofSeconds(5))
-                .setResponseTimeout(Timeout.ofSeconds(30))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                .setContentCompressionEnabled(true)
                 .build();
 
-        CloseableHttpClient httpClient = HttpClients.custom()
+        return HttpClients.custom()
+                .setConnectionManager(externalApiConnectionManager)
                 .setDefaultRequestConfig(config)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
                 .build();
+    }
+
+    /**
+     * RestTemplate bean for making HTTP requests to external APIs
+     */
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient externalApiHttpClient) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(externalApiHttpClient);
 
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        
         return new RestTemplate(factory);
     }
 
+    /**
+     * Virtual-thread executor for blocking ingestion I/O, one thread per request
+     */
+    @Bean(name = "ingestionExecutor", destroyMethod = "shutdown")
+    public ExecutorService ingestionExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Ingestion-", 0).factory());
+    }
+
     /**
      * Task executor for async operations
      */
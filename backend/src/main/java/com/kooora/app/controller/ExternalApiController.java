@@ -1,6 +1,10 @@
 package com.kooora.app.controller;
 
+import com.kooora.app.entity.ExternalIdMapping;
+import com.kooora.app.service.AdaptivePollingScheduler;
 import com.kooora.app.service.ExternalApiService;
+import com.kooora.app.service.ExternalIdResolver;
+import com.kooora.app.service.ProviderCallGuard;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -32,12 +37,22 @@ public class ExternalApiController {
     @Autowired
     private ExternalApiService externalApiService;
 
+    @Autowired
+    private ExternalIdResolver externalIdResolver;
+
+    @Autowired
+    private AdaptivePollingScheduler adaptivePollingScheduler;
+
+    @Autowired
+    private ProviderCallGuard providerCallGuard;
+
     @GetMapping("/status")
     @Operation(summary = "Get API status", description = "Get the status of external API integrations")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved API status")
     public ResponseEntity<Map<String, Object>> getApiStatus() {
         try {
             Map<String, Object> status = externalApiService.getApiStatus();
+            status.put("polling", adaptivePollingScheduler.getStats());
             return ResponseEntity.ok(status);
         } catch (Exception e) {
             logger.error("Error getting API status: {}", e.getMessage());
@@ -177,6 +192,39 @@ public class ExternalApiController {
         }
     }
 
+    @PutMapping("/mappings/{entityType}/{internalId}")
+    @Operation(summary = "Map a provider ID", description = "Link a provider ID to an internal league, team, player or match")
+    @ApiResponse(responseCode = "200", description = "Mapping stored")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> registerMapping(
+            @Parameter(description = "Entity type (league, team, player, match)") @PathVariable String entityType,
+            @Parameter(description = "Internal ID") @PathVariable Long internalId,
+            @Parameter(description = "Provider ID") @RequestParam Long externalId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ExternalIdMapping.EntityType type = ExternalIdMapping.EntityType.valueOf(entityType.toUpperCase(Locale.ROOT));
+            externalIdResolver.register(type, externalId, internalId);
+
+            response.put("status", "success");
+            response.put("entityType", type);
+            response.put("internalId", internalId);
+            response.put("externalId", externalId);
+            response.put("provider", externalIdResolver.getProvider());
+
+            logger.info("Registered {} mapping {} -> {}", type, externalId, internalId);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", "Unknown entity type: " + entityType);
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Error registering ID mapping: {}", e.getMessage());
+            response.put("status", "error");
+            response.put("message", "Failed to register mapping: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     @GetMapping("/health")
     @Operation(summary = "API health check", description = "Check if external APIs are reachable")
     @ApiResponse(responseCode = "200", description = "Successfully performed health check")
@@ -188,9 +236,11 @@ public class ExternalApiController {
             boolean isHealthy = (Boolean) apiStatus.getOrDefault("enabled", false) && 
                               (Boolean) apiStatus.getOrDefault("hasApiKey", false);
             
-            health.put("status", isHealthy ? "UP" : "DOWN");
+            health.put("status", !isHealthy ? "DOWN" : providerCallGuard.isAnyOpen() ? "DEGRADED" : "UP");
             health.put("apiEnabled", apiStatus.get("enabled"));
             health.put("hasApiKey", apiStatus.get("hasApiKey"));
+            health.put("circuitBreakers", providerCallGuard.getBreakerStats());
+            health.put("bulkheads", providerCallGuard.getBulkheadStats());
             health.put("timestamp", System.currentTimeMillis());
             
             return ResponseEntity.ok(health);
@@ -4,6 +4,7 @@ import com.kooora.app.entity.League;
 import com.kooora.app.entity.TeamStanding;
 import com.kooora.app.repository.LeagueRepository;
 import com.kooora.app.repository.TeamStandingRepository;
+import com.kooora.app.service.StandingsEngine;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -15,9 +16,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,6 +43,9 @@ public class LeagueController {
     @Autowired
     private TeamStandingRepository teamStandingRepository;
 
+    @Autowired
+    private StandingsEngine standingsEngine;
+
     @GetMapping
     @Operation(summary = "Get all leagues", description = "Retrieve all leagues with pagination")
     public ResponseEntity<Page<League>> getAllLeagues(
@@ -77,6 +83,15 @@ public class LeagueController {
         return ResponseEntity.ok(standings);
     }
 
+    @GetMapping("/{id}/standings/live")
+    @Operation(summary = "Get live league standings", description = "Retrieve the table as it would stand if the current live scores held")
+    public ResponseEntity<Map<String, Object>> getLiveLeagueStandings(@PathVariable Long id) {
+        if (!leagueRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(standingsEngine.getLiveTable(id));
+    }
+
     @GetMapping("/{id}/standings/detailed")
     @Operation(summary = "Get detailed league standings", description = "Retrieve detailed standings with all statistics")
     public ResponseEntity<List<TeamStanding>> getDetailedLeagueStandings(@PathVariable Long id) {
@@ -168,11 +183,18 @@ public class LeagueController {
     }
 
     @PostMapping("/{id}/recalculate-standings")
+    @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Recalculate league standings", description = "Recalculate standings based on match results")
-    public ResponseEntity<String> recalculateStandings(@PathVariable Long id) {
-        // Placeholder for standings recalculation
-        // In a real application, this would recalculate standings based on match results
+    public ResponseEntity<Map<String, Object>> recalculateStandings(@PathVariable Long id) {
+        if (!leagueRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
         logger.info("Recalculating standings for league: {}", id);
-        return ResponseEntity.ok("Standings recalculation feature coming soon!");
+        Map<String, Object> result = standingsEngine.rebuild(id);
+        if (result.containsKey("error")) {
+            return ResponseEntity.internalServerError().body(result);
+        }
+        return ResponseEntity.ok(result);
     }
 }
@@ -0,0 +1,79 @@
+package com.kooora.app.controller;
+
+import com.kooora.app.service.MatchDayLoadGenerator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller for the match-day load generator.
+ * Only registered when {@code app.simulator.load.enabled} is true.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/simulator/load")
+@Tag(name = "Load Generator", description = "Synthetic match-day load through the live update paths")
+@ConditionalOnProperty(name = "app.simulator.load.enabled", havingValue = "true")
+public class LoadGeneratorController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeneratorController.class);
+
+    @Autowired
+    private MatchDayLoadGenerator matchDayLoadGenerator;
+
+    @PostMapping
+    @Operation(summary = "Start a load run", description = "Seed leagues, teams and live matches and fire match events at them")
+    @ApiResponse(responseCode = "200", description = "Load run started")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> startLoad(
+            @Parameter(description = "Number of leagues") @RequestParam(defaultValue = "4") int leagues,
+            @Parameter(description = "Teams per league") @RequestParam(defaultValue = "20") int teamsPerLeague,
+            @Parameter(description = "Concurrent live matches") @RequestParam(defaultValue = "40") int matches,
+            @Parameter(description = "Events per match per minute") @RequestParam(defaultValue = "6") double eventsPerMinute,
+            @Parameter(description = "Run length in seconds") @RequestParam(defaultValue = "60") int durationSeconds) {
+        try {
+            matchDayLoadGenerator.start(new MatchDayLoadGenerator.Plan(leagues, teamsPerLeague, matches,
+                eventsPerMinute, durationSeconds));
+            logger.info("Load run started with {} live matches", matches);
+            return ResponseEntity.ok(matchDayLoadGenerator.getReport());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error starting load run: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to start load run");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "Get load report", description = "Progress, throughput and latency percentiles of the last load run")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved load report")
+    public ResponseEntity<Map<String, Object>> getReport() {
+        return ResponseEntity.ok(matchDayLoadGenerator.getReport());
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Stop the load run", description = "Stop scheduling events; events in flight still finish")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> stopLoad() {
+        matchDayLoadGenerator.stop();
+        return ResponseEntity.ok(matchDayLoadGenerator.getReport());
+    }
+}
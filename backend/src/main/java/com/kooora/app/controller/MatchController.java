@@ -3,6 +3,8 @@ package com.kooora.app.controller;
 import com.kooora.app.entity.Match;
 import com.kooora.app.repository.MatchRepository;
 import com.kooora.app.service.LiveUpdateService;
+import com.kooora.app.service.MatchCompletedEvent;
+import com.kooora.app.service.MatchScoreChangedEvent;
 import com.kooora.app.dto.MatchDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +12,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -46,6 +49,9 @@ public class MatchController {
     @Autowired
     private LiveUpdateService liveUpdateService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping
     @Operation(summary = "Get all matches", description = "Retrieve all matches with pagination and optional status filtering")
     @Transactional(readOnly = true)
@@ -232,6 +238,7 @@ public class MatchController {
         
         if (optionalMatch.isPresent()) {
             Match match = optionalMatch.get();
+            Match.MatchStatus oldStatus = match.getStatus();
             
             // Update fields
             match.setHomeTeam(matchDetails.getHomeTeam());
@@ -249,6 +256,11 @@ public class MatchController {
             
             // Broadcast real-time update
             liveUpdateService.broadcastMatchUpdate(updatedMatch);
+            eventPublisher.publishEvent(new MatchScoreChangedEvent(updatedMatch));
+
+            if (MatchCompletedEvent.completes(oldStatus, updatedMatch.getStatus())) {
+                eventPublisher.publishEvent(new MatchCompletedEvent(updatedMatch));
+            }
             
             return ResponseEntity.ok(updatedMatch);
         } else {
@@ -283,6 +295,7 @@ public class MatchController {
             
             // Broadcast real-time score update
             liveUpdateService.broadcastMatchUpdate(updatedMatch);
+            eventPublisher.publishEvent(new MatchScoreChangedEvent(updatedMatch));
             
             return ResponseEntity.ok(updatedMatch);
         } else {
@@ -308,6 +321,11 @@ public class MatchController {
             
             // Broadcast real-time status change
             liveUpdateService.broadcastMatchStatusChange(updatedMatch, oldStatus);
+            eventPublisher.publishEvent(new MatchScoreChangedEvent(updatedMatch));
+
+            if (MatchCompletedEvent.completes(oldStatus, status)) {
+                eventPublisher.publishEvent(new MatchCompletedEvent(updatedMatch));
+            }
             
             return ResponseEntity.ok(updatedMatch);
         } else {
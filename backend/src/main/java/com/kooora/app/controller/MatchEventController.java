@@ -8,6 +8,8 @@ import com.kooora.app.repository.MatchEventRepository;
 import com.kooora.app.repository.MatchRepository;
 import com.kooora.app.repository.PlayerRepository;
 import com.kooora.app.repository.TeamRepository;
+import com.kooora.app.service.InPlayProbabilityService;
+import com.kooora.app.service.LiveUpdateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +51,12 @@ public class MatchEventController {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private InPlayProbabilityService inPlayProbabilityService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
     /**
      * Get all events for a specific match
      */
@@ -151,6 +159,16 @@ public class MatchEventController {
             MatchEvent savedEvent = matchEventRepository.save(matchEvent);
             logger.info("Match event created: {} at {}' in match {}", 
                 savedEvent.getEventType(), savedEvent.getMinute(), savedEvent.getMatch().getId());
+
+            // Refresh the in-play win probability for live matches; it goes out with the score it
+            // was computed for, as the event's score may not be on the match row yet
+            if (match.get().getStatus() == Match.MatchStatus.LIVE
+                    && inPlayProbabilityService.onMatchEvent(savedEvent, match.get()) != null) {
+                Map<String, Object> live = inPlayProbabilityService.getLiveProbability(match.get().getId());
+                if (live != null) {
+                    liveUpdateService.broadcastWinProbability(match.get().getId(), live);
+                }
+            }
             
             return ResponseEntity.status(HttpStatus.CREATED).body(savedEvent);
         } catch (Exception e) {
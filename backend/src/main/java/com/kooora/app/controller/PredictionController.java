@@ -1,6 +1,8 @@
 package com.kooora.app.controller;
 
+import com.kooora.app.service.InPlayProbabilityService;
 import com.kooora.app.service.PredictionService;
+import com.kooora.app.service.TeamRatingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -30,6 +33,12 @@ public class PredictionController {
     @Autowired
     private PredictionService predictionService;
 
+    @Autowired
+    private InPlayProbabilityService inPlayProbabilityService;
+
+    @Autowired
+    private TeamRatingService teamRatingService;
+
     @GetMapping("/match/{homeTeamId}/vs/{awayTeamId}")
     @Operation(summary = "Predict match outcome", description = "Get AI-powered prediction for match between two teams")
     @ApiResponse(responseCode = "200", description = "Successfully generated match prediction")
@@ -54,6 +63,58 @@ public class PredictionController {
         }
     }
 
+    @GetMapping("/live/{matchId}")
+    @Operation(summary = "Get in-play win probability", description = "Get the current win probability for a live match")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved in-play win probability")
+    @ApiResponse(responseCode = "404", description = "Match is not being tracked live")
+    public ResponseEntity<Map<String, Object>> getLiveWinProbability(
+            @Parameter(description = "Match ID") @PathVariable Long matchId) {
+        try {
+            Map<String, Object> live = inPlayProbabilityService.getLiveProbability(matchId);
+            if (live == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(live);
+        } catch (Exception e) {
+            logger.error("Error retrieving in-play probability for match {}: {}", matchId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/ratings")
+    @Operation(summary = "Get team ratings", description = "Get Elo-style team ratings sorted by rating, matches or team")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved team ratings")
+    public ResponseEntity<Map<String, Object>> getTeamRatings(
+            @Parameter(description = "Sort field: rating, matches or team") @RequestParam(defaultValue = "rating") String sortBy,
+            @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "Maximum number of teams") @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(teamRatingService.getRatings(sortBy, direction, limit));
+        } catch (Exception e) {
+            logger.error("Error retrieving team ratings: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/ratings/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild team ratings", description = "Recompute all team ratings from the full match history")
+    @ApiResponse(responseCode = "200", description = "Successfully rebuilt team ratings")
+    public ResponseEntity<Map<String, Object>> rebuildTeamRatings() {
+        try {
+            logger.info("Rebuilding team ratings");
+
+            Map<String, Object> result = teamRatingService.rebuild();
+            if (result.containsKey("error")) {
+                return ResponseEntity.internalServerError().body(result);
+            }
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            logger.error("Error rebuilding team ratings: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/accuracy")
     @Operation(summary = "Get prediction accuracy", description = "Get AI model accuracy statistics and performance metrics")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved prediction accuracy")
@@ -83,6 +144,7 @@ public class PredictionController {
                     "headToHead", true,
                     "statistical", true,
                     "homeAdvantage", true,
+                    "elo", true,
                     "ensemble", true
                 ),
                 "lastCheck", System.currentTimeMillis()
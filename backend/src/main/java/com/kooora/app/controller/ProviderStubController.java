@@ -0,0 +1,107 @@
+package com.kooora.app.controller;
+
+import com.kooora.app.service.ProviderStubService;
+import com.kooora.app.service.ReplayHarness;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller for the local provider stub and the ingestion replay harness.
+ * Only registered when {@code external.api.stub.enabled} is true.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/external-api/stub")
+@Tag(name = "Provider Stub", description = "Local football data provider stub and replay harness")
+@ConditionalOnProperty(name = "external.api.stub.enabled", havingValue = "true")
+public class ProviderStubController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderStubController.class);
+
+    private static final String PROVIDER_PREFIX = "/external-api/stub/v4/";
+
+    @Autowired
+    private ProviderStubService providerStubService;
+
+    @Autowired
+    private ReplayHarness replayHarness;
+
+    @GetMapping("/v4/**")
+    @Operation(summary = "Provider endpoint", description = "Serve a recorded or synthetic football-data response")
+    public CompletableFuture<ResponseEntity<byte[]>> provider(HttpServletRequest request,
+                                                              @RequestParam Map<String, String> query) {
+        String path = request.getServletPath().substring(PROVIDER_PREFIX.length());
+        return providerStubService.handle(path, query).thenApply(response -> {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status())
+                .contentType(MediaType.APPLICATION_JSON);
+            response.headers().forEach(builder::header);
+            return builder.body(response.body());
+        });
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get stub statistics", description = "Requests served, recordings and injected failures")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved stub statistics")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(providerStubService.getStats());
+    }
+
+    @PostMapping("/replay")
+    @Operation(summary = "Start a season replay", description = "Drive a synthetic season of live updates through ingestion")
+    @ApiResponse(responseCode = "200", description = "Replay started")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> startReplay(
+            @Parameter(description = "League ID") @RequestParam Long leagueId,
+            @Parameter(description = "Simulated seconds per real second") @RequestParam(defaultValue = "60") int speed,
+            @Parameter(description = "Simulated seconds between live polls") @RequestParam(defaultValue = "30") int pollSeconds,
+            @Parameter(description = "Limit the number of matchdays") @RequestParam(required = false) Integer matchdays) {
+        try {
+            replayHarness.start(leagueId, speed, pollSeconds, matchdays);
+            logger.info("Season replay started for league {} at {}x", leagueId, speed);
+            return ResponseEntity.ok(replayHarness.getReport());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error starting replay: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to start replay");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/replay")
+    @Operation(summary = "Get replay report", description = "Progress, ingest throughput, DB writes per second and broadcast lag")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved replay report")
+    public ResponseEntity<Map<String, Object>> getReplayReport() {
+        return ResponseEntity.ok(replayHarness.getReport());
+    }
+
+    @DeleteMapping("/replay")
+    @Operation(summary = "Stop the replay", description = "Stop after the current poll")
+    @ApiResponse(responseCode = "200", description = "Replay stopping")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> stopReplay() {
+        replayHarness.stop();
+        return ResponseEntity.ok(replayHarness.getReport());
+    }
+}
@@ -153,6 +153,7 @@ public class PushNotificationController {
             return ResponseEntity.ok(Map.of(
                 "activeSubscriptions", pushNotificationService.getActiveSubscriptionCount(),
                 "vapidKeyConfigured", pushNotificationService.getVapidPublicKey() != null && !pushNotificationService.getVapidPublicKey().isEmpty(),
+                "subscriptions", pushNotificationService.getSubscriptionStats(),
                 "serviceStatus", "active"
             ));
             
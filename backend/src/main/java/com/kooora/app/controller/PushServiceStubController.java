@@ -0,0 +1,85 @@
+package com.kooora.app.controller;
+
+import com.kooora.app.service.PushServiceStub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller for the local web push service stub and the push delivery benchmark.
+ * Only registered when {@code app.notifications.push.stub.enabled} is true.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/push-notifications/stub")
+@Tag(name = "Push Service Stub", description = "Local web push service stub and delivery benchmark")
+@ConditionalOnProperty(name = "app.notifications.push.stub.enabled", havingValue = "true")
+public class PushServiceStubController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushServiceStubController.class);
+
+    @Autowired
+    private PushServiceStub pushServiceStub;
+
+    @PostMapping("/send/{token}")
+    @Operation(summary = "Push endpoint", description = "Accept a push message like a web push service would")
+    public CompletableFuture<ResponseEntity<Void>> send(@PathVariable String token, HttpServletRequest request) {
+        return pushServiceStub.handle(request.getServerName(), request.getHeader("Content-Encoding")).thenApply(response -> {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status());
+            response.headers().forEach(builder::header);
+            return builder.build();
+        });
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get stub statistics", description = "Messages received per host and injected failures")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved stub statistics")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(pushServiceStub.getStats());
+    }
+
+    @PostMapping("/benchmark")
+    @Operation(summary = "Start a push delivery benchmark", description = "Register stub subscribers and time a broadcast to all of them")
+    @ApiResponse(responseCode = "200", description = "Benchmark started")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> startBenchmark(
+            @Parameter(description = "Number of stub subscribers") @RequestParam(defaultValue = "10000") int subscribers) {
+        try {
+            pushServiceStub.startBenchmark(subscribers);
+            logger.info("Push delivery benchmark started for {} subscribers", subscribers);
+            return ResponseEntity.ok(pushServiceStub.getBenchmarkReport());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error starting push benchmark: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to start push benchmark");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/benchmark")
+    @Operation(summary = "Get benchmark report", description = "Progress and results of the last push delivery benchmark")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved benchmark report")
+    public ResponseEntity<Map<String, Object>> getBenchmarkReport() {
+        return ResponseEntity.ok(pushServiceStub.getBenchmarkReport());
+    }
+}
@@ -0,0 +1,64 @@
+package com.kooora.app.controller;
+
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.TeamRepository;
+import com.kooora.app.service.HeadToHeadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST controller for team-level data
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/teams")
+@Tag(name = "Teams", description = "Team data APIs")
+@CrossOrigin(origins = "*")
+public class TeamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamController.class);
+
+    private static final int MAX_MEETINGS = 50;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private HeadToHeadService headToHeadService;
+
+    @GetMapping("/{teamAId}/h2h/{teamBId}")
+    @Operation(summary = "Get head-to-head record", description = "Get the summary and last meetings between two teams")
+    public ResponseEntity<Map<String, Object>> getHeadToHead(
+            @Parameter(description = "First team ID") @PathVariable Long teamAId,
+            @Parameter(description = "Second team ID") @PathVariable Long teamBId,
+            @Parameter(description = "Number of most recent meetings") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            Optional<Team> teamA = teamRepository.findById(teamAId);
+            Optional<Team> teamB = teamRepository.findById(teamBId);
+            if (teamA.isEmpty() || teamB.isEmpty() || teamAId.equals(teamBId)) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Map<String, Object> headToHead = headToHeadService.getHeadToHead(teamAId, teamBId,
+                Math.min(Math.max(limit, 1), MAX_MEETINGS));
+            headToHead.put("teamA", Map.of("id", teamAId, "name", teamA.get().getName()));
+            headToHead.put("teamB", Map.of("id", teamBId, "name", teamB.get().getName()));
+
+            return ResponseEntity.ok(headToHead);
+        } catch (Exception e) {
+            logger.error("Error retrieving head-to-head for teams {} and {}: {}", teamAId, teamBId, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
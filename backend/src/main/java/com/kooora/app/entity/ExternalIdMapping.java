@@ -0,0 +1,85 @@
+package com.kooora.app.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * ExternalIdMapping entity linking a data provider's ID to the internal ID of a league, team, player or match
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "external_id_mappings", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"provider", "entity_type", "external_id"}),
+    @UniqueConstraint(columnNames = {"provider", "entity_type", "internal_id"})
+})
+public class ExternalIdMapping extends BaseEntity {
+
+    @NotNull
+    @Size(max = 30)
+    @Column(name = "provider", nullable = false, length = 30)
+    private String provider;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @NotNull
+    @Column(name = "external_id", nullable = false)
+    private Long externalId;
+
+    @NotNull
+    @Column(name = "internal_id", nullable = false)
+    private Long internalId;
+
+    // Constructors
+    public ExternalIdMapping() {}
+
+    public ExternalIdMapping(String provider, EntityType entityType, Long externalId, Long internalId) {
+        this.provider = provider;
+        this.entityType = entityType;
+        this.externalId = externalId;
+        this.internalId = internalId;
+    }
+
+    // Getters and Setters
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getExternalId() {
+        return externalId;
+    }
+
+    public void setExternalId(Long externalId) {
+        this.externalId = externalId;
+    }
+
+    public Long getInternalId() {
+        return internalId;
+    }
+
+    public void setInternalId(Long internalId) {
+        this.internalId = internalId;
+    }
+
+    // Enums
+    public enum EntityType {
+        LEAGUE, TEAM, PLAYER, MATCH
+    }
+}
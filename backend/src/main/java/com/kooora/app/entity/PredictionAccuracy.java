@@ -0,0 +1,118 @@
+package com.kooora.app.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * PredictionAccuracy entity holding running scoring aggregates per model version and component
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "prediction_accuracy", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"model_version", "component"})
+})
+public class PredictionAccuracy extends BaseEntity {
+
+    @NotNull
+    @Size(max = 20)
+    @Column(name = "model_version", nullable = false, length = 20)
+    private String modelVersion;
+
+    @NotNull
+    @Size(max = 30)
+    @Column(name = "component", nullable = false, length = 30)
+    private String component;
+
+    @Column(name = "scored_count", nullable = false)
+    private Long scoredCount = 0L;
+
+    @Column(name = "hits", nullable = false)
+    private Long hits = 0L;
+
+    @Column(name = "brier_sum", nullable = false)
+    private Double brierSum = 0.0;
+
+    @Column(name = "log_loss_sum", nullable = false)
+    private Double logLossSum = 0.0;
+
+    @Column(name = "confidence_sum", nullable = false)
+    private Double confidenceSum = 0.0;
+
+    // Constructors
+    public PredictionAccuracy() {}
+
+    public PredictionAccuracy(String modelVersion, String component) {
+        this.modelVersion = modelVersion;
+        this.component = component;
+    }
+
+    // Getters and Setters
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    public void setComponent(String component) {
+        this.component = component;
+    }
+
+    public Long getScoredCount() {
+        return scoredCount;
+    }
+
+    public void setScoredCount(Long scoredCount) {
+        this.scoredCount = scoredCount;
+    }
+
+    public Long getHits() {
+        return hits;
+    }
+
+    public void setHits(Long hits) {
+        this.hits = hits;
+    }
+
+    public Double getBrierSum() {
+        return brierSum;
+    }
+
+    public void setBrierSum(Double brierSum) {
+        this.brierSum = brierSum;
+    }
+
+    public Double getLogLossSum() {
+        return logLossSum;
+    }
+
+    public void setLogLossSum(Double logLossSum) {
+        this.logLossSum = logLossSum;
+    }
+
+    public Double getConfidenceSum() {
+        return confidenceSum;
+    }
+
+    public void setConfidenceSum(Double confidenceSum) {
+        this.confidenceSum = confidenceSum;
+    }
+
+    @Override
+    public String toString() {
+        return "PredictionAccuracy{" +
+                "modelVersion='" + modelVersion + '\'' +
+                ", component='" + component + '\'' +
+                ", scoredCount=" + scoredCount +
+                ", hits=" + hits +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.kooora.app.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.nio.ByteBuffer;
+
+/**
+ * PredictionRecord entity storing every served match prediction in compact form.
+ * Component probabilities are packed as consecutive (home, draw, away) float triples.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "prediction_records", indexes = {
+    @Index(name = "idx_prediction_records_match_id", columnList = "match_id"),
+    @Index(name = "idx_prediction_records_teams", columnList = "home_team_id, away_team_id, scored")
+})
+public class PredictionRecord extends BaseEntity {
+
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @NotNull
+    @Column(name = "home_team_id", nullable = false)
+    private Long homeTeamId;
+
+    @NotNull
+    @Column(name = "away_team_id", nullable = false)
+    private Long awayTeamId;
+
+    @NotNull
+    @Size(max = 20)
+    @Column(name = "model_version", nullable = false, length = 20)
+    private String modelVersion;
+
+    @NotNull
+    @Column(name = "probabilities", nullable = false, length = 128)
+    private byte[] probabilities;
+
+    @Column(name = "scored", nullable = false)
+    private Boolean scored = false;
+
+    // Constructors
+    public PredictionRecord() {}
+
+    public PredictionRecord(Long matchId, Long homeTeamId, Long awayTeamId, String modelVersion, float[] probabilities) {
+        this.matchId = matchId;
+        this.homeTeamId = homeTeamId;
+        this.awayTeamId = awayTeamId;
+        this.modelVersion = modelVersion;
+        this.probabilities = encode(probabilities);
+    }
+
+    // Getters and Setters
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public Long getHomeTeamId() {
+        return homeTeamId;
+    }
+
+    public void setHomeTeamId(Long homeTeamId) {
+        this.homeTeamId = homeTeamId;
+    }
+
+    public Long getAwayTeamId() {
+        return awayTeamId;
+    }
+
+    public void setAwayTeamId(Long awayTeamId) {
+        this.awayTeamId = awayTeamId;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public byte[] getProbabilities() {
+        return probabilities;
+    }
+
+    public void setProbabilities(byte[] probabilities) {
+        this.probabilities = probabilities;
+    }
+
+    public Boolean getScored() {
+        return scored;
+    }
+
+    public void setScored(Boolean scored) {
+        this.scored = scored;
+    }
+
+    /**
+     * Decode the packed probabilities into a float array
+     */
+    public float[] getProbabilityValues() {
+        if (probabilities == null) {
+            return new float[0];
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(probabilities);
+        float[] values = new float[probabilities.length / Float.BYTES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getFloat();
+        }
+        return values;
+    }
+
+    /**
+     * Pack the given probabilities into their compact binary form
+     */
+    public void setProbabilityValues(float[] values) {
+        this.probabilities = encode(values);
+    }
+
+    private static byte[] encode(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES);
+        for (float value : values) {
+            buffer.putFloat(value);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public String toString() {
+        return "PredictionRecord{" +
+                "id=" + getId() +
+                ", matchId=" + matchId +
+                ", homeTeamId=" + homeTeamId +
+                ", awayTeamId=" + awayTeamId +
+                ", modelVersion='" + modelVersion + '\'' +
+                ", scored=" + scored +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.kooora.app.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * PushInterest entity recording a team, match or league a push subscriber follows
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "push_interests", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"subscriber_id", "topic_type", "topic_id"})
+})
+public class PushInterest extends BaseEntity {
+
+    @NotNull
+    @Column(name = "subscriber_id", nullable = false)
+    private Long subscriberId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "topic_type", nullable = false, length = 10)
+    private TopicType topicType;
+
+    @NotNull
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    // Constructors
+    public PushInterest() {}
+
+    public PushInterest(Long subscriberId, TopicType topicType, Long topicId) {
+        this.subscriberId = subscriberId;
+        this.topicType = topicType;
+        this.topicId = topicId;
+    }
+
+    // Getters and Setters
+    public Long getSubscriberId() {
+        return subscriberId;
+    }
+
+    public void setSubscriberId(Long subscriberId) {
+        this.subscriberId = subscriberId;
+    }
+
+    public TopicType getTopicType() {
+        return topicType;
+    }
+
+    public void setTopicType(TopicType topicType) {
+        this.topicType = topicType;
+    }
+
+    public Long getTopicId() {
+        return topicId;
+    }
+
+    public void setTopicId(Long topicId) {
+        this.topicId = topicId;
+    }
+
+    // Enums
+    public enum TopicType {
+        TEAM, MATCH, LEAGUE
+    }
+}
@@ -0,0 +1,89 @@
+package com.kooora.app.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * PushSubscriber entity holding a web push subscription endpoint and its encryption keys
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "push_subscribers", indexes = {
+    @Index(name = "idx_push_subscribers_shard", columnList = "shard, id")
+})
+public class PushSubscriber extends BaseEntity {
+
+    @NotNull
+    @Size(max = 1000)
+    @Column(name = "endpoint", nullable = false, length = 1000)
+    private String endpoint;
+
+    @NotNull
+    @Column(name = "endpoint_hash", nullable = false, unique = true)
+    private Long endpointHash;
+
+    @NotNull
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Size(max = 200)
+    @Column(name = "p256dh", length = 200)
+    private String p256dh;
+
+    @Size(max = 100)
+    @Column(name = "auth", length = 100)
+    private String auth;
+
+    // Constructors
+    public PushSubscriber() {}
+
+    public PushSubscriber(String endpoint, Long endpointHash, Integer shard) {
+        this.endpoint = endpoint;
+        this.endpointHash = endpointHash;
+        this.shard = shard;
+    }
+
+    // Getters and Setters
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public Long getEndpointHash() {
+        return endpointHash;
+    }
+
+    public void setEndpointHash(Long endpointHash) {
+        this.endpointHash = endpointHash;
+    }
+
+    public Integer getShard() {
+        return shard;
+    }
+
+    public void setShard(Integer shard) {
+        this.shard = shard;
+    }
+
+    public String getP256dh() {
+        return p256dh;
+    }
+
+    public void setP256dh(String p256dh) {
+        this.p256dh = p256dh;
+    }
+
+    public String getAuth() {
+        return auth;
+    }
+
+    public void setAuth(String auth) {
+        this.auth = auth;
+    }
+}
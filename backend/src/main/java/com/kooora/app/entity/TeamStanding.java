@@ -52,6 +52,10 @@ public class TeamStanding extends BaseEntity {
     @Column(name = "position")
     private Integer position;
 
+    // Last five results, most recent first, e.g. "WWDLW"
+    @Column(name = "form", length = 10)
+    private String form;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
@@ -152,6 +156,14 @@ public class TeamStanding extends BaseEntity {
         this.position = position;
     }
 
+    public String getForm() {
+        return form;
+    }
+
+    public void setForm(String form) {
+        this.form = form;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
@@ -0,0 +1,42 @@
+package com.kooora.app.repository;
+
+import com.kooora.app.entity.ExternalIdMapping;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for ExternalIdMapping entity operations
+ * 
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Repository
+public interface ExternalIdMappingRepository extends JpaRepository<ExternalIdMapping, Long> {
+
+    /**
+     * Stream all mappings of a provider as [entityType, externalId, internalId] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m.entityType, m.externalId, m.internalId FROM ExternalIdMapping m WHERE m.provider = :provider")
+    Stream<Object[]> streamByProvider(@Param("provider") String provider);
+
+    /**
+     * Delete mappings that would conflict with new pairs on either side
+     */
+    @Modifying
+    @Query("DELETE FROM ExternalIdMapping m WHERE m.provider = :provider AND m.entityType = :entityType " +
+           "AND (m.externalId IN :externalIds OR m.internalId IN :internalIds)")
+    int deleteConflicting(@Param("provider") String provider,
+                          @Param("entityType") ExternalIdMapping.EntityType entityType,
+                          @Param("externalIds") Collection<Long> externalIds,
+                          @Param("internalIds") Collection<Long> internalIds);
+}
@@ -3,15 +3,20 @@ package com.kooora.app.repository;
 import com.kooora.app.entity.Match;
 import com.kooora.app.entity.Team;
 import com.kooora.app.entity.League;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Match entity operations
@@ -63,6 +68,12 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
      */
     List<Match> findByHomeTeamAndAwayTeam(Team homeTeam, Team awayTeam);
 
+    /**
+     * Find the next fixture between two specific teams in any of the given statuses
+     */
+    Optional<Match> findFirstByHomeTeamIdAndAwayTeamIdAndStatusInOrderByMatchDateAsc(
+        Long homeTeamId, Long awayTeamId, Collection<Match.MatchStatus> statuses);
+
     /**
      * Find matches by date
      */
@@ -166,4 +177,63 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
            "LEFT JOIN FETCH m.league " +
            "ORDER BY m.matchDate DESC")
     List<Match> findAllWithEagerLoading(Pageable pageable);
+
+    /**
+     * Stream final results in play order as rows of
+     * [id, leagueId, homeTeamId, awayTeamId, homeScore, awayScore, matchDate].
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m.id, l.id, m.homeTeam.id, m.awayTeam.id, m.homeTeamScore, m.awayTeamScore, m.matchDate " +
+           "FROM Match m LEFT JOIN m.league l " +
+           "WHERE m.status IN :statuses AND m.homeTeamScore IS NOT NULL AND m.awayTeamScore IS NOT NULL " +
+           "ORDER BY m.matchDate, m.id")
+    Stream<Object[]> streamResultsInPlayOrder(@Param("statuses") Collection<Match.MatchStatus> statuses);
+
+    /**
+     * Stream the final results of one league in play order as rows of
+     * [id, homeTeamId, awayTeamId, homeScore, awayScore].
+     * Must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m.id, m.homeTeam.id, m.awayTeam.id, m.homeTeamScore, m.awayTeamScore " +
+           "FROM Match m " +
+           "WHERE m.league.id = :leagueId AND m.status IN :statuses " +
+           "AND m.homeTeamScore IS NOT NULL AND m.awayTeamScore IS NOT NULL " +
+           "ORDER BY m.matchDate, m.id")
+    Stream<Object[]> streamLeagueResultsInPlayOrder(@Param("leagueId") Long leagueId,
+                                                    @Param("statuses") Collection<Match.MatchStatus> statuses);
+
+    /**
+     * IDs of a league's matches in the given statuses that have a score
+     */
+    @Query("SELECT m.id FROM Match m WHERE m.league.id = :leagueId AND m.status IN :statuses " +
+           "AND m.homeTeamScore IS NOT NULL AND m.awayTeamScore IS NOT NULL")
+    List<Long> findScoredIdsByLeagueIdAndStatusIn(@Param("leagueId") Long leagueId,
+                                                  @Param("statuses") Collection<Match.MatchStatus> statuses);
+
+    /**
+     * Current scores of a league's matches in the given status as rows of
+     * [id, homeTeamId, awayTeamId, homeScore, awayScore]
+     */
+    @Query("SELECT m.id, m.homeTeam.id, m.awayTeam.id, m.homeTeamScore, m.awayTeamScore " +
+           "FROM Match m WHERE m.league.id = :leagueId AND m.status = :status")
+    List<Object[]> findScoresByLeagueIdAndStatus(@Param("leagueId") Long leagueId,
+                                                 @Param("status") Match.MatchStatus status);
+
+    /**
+     * Fixtures relevant to ingestion polling as rows of [id, leagueId, status, matchDate]:
+     * matches in the given status plus all matches kicking off within the window
+     */
+    @Query("SELECT m.id, l.id, m.status, m.matchDate FROM Match m LEFT JOIN m.league l " +
+           "WHERE m.status = :status OR m.matchDate BETWEEN :from AND :to")
+    List<Object[]> findPollingWindow(@Param("status") Match.MatchStatus status,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Push topics of a match as a single row of [homeTeamId, awayTeamId, leagueId]
+     */
+    @Query("SELECT m.homeTeam.id, m.awayTeam.id, l.id FROM Match m LEFT JOIN m.league l WHERE m.id = :id")
+    List<Object[]> findTopicIds(@Param("id") Long id);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -128,4 +129,9 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
      * Find player by first name and last name
      */
     Optional<Player> findByFirstNameAndLastName(String firstName, String lastName);
+
+    /**
+     * Find candidate players for a set of names; callers match exact first/last pairs
+     */
+    List<Player> findByFirstNameInAndLastNameIn(Collection<String> firstNames, Collection<String> lastNames);
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +45,12 @@ public interface PlayerStatisticsRepository extends JpaRepository<PlayerStatisti
     // Find by league and season
     List<PlayerStatistics> findByLeagueAndSeasonAndIsActiveTrue(League league, String season);
     
+    // Find statistics of the given players in a league season, including inactive rows
+    @Query("SELECT ps FROM PlayerStatistics ps JOIN FETCH ps.player p WHERE ps.league = :league " +
+           "AND ps.season = :season AND p.id IN :playerIds")
+    List<PlayerStatistics> findByLeagueAndSeasonAndPlayerIdIn(@Param("league") League league,
+        @Param("season") String season, @Param("playerIds") Collection<Long> playerIds);
+    
     Page<PlayerStatistics> findByLeagueAndSeasonAndIsActiveTrue(
         League league, String season, Pageable pageable);
     
@@ -129,7 +136,7 @@ public interface PlayerStatisticsRepository extends JpaRepository<PlayerStatisti
     List<String> findDistinctSeasons();
     
     // Find statistics by team
-    @Query("SELECT ps FROM PlayerStatistics ps WHERE ps.player.team.id = :teamId " +
+    @Query("SELECT ps FROM PlayerStatistics ps JOIN FETCH ps.player p WHERE p.team.id = :teamId " +
            "AND ps.season = :season AND ps.isActive = true")
     List<PlayerStatistics> findByTeamAndSeason(@Param("teamId") Long teamId, @Param("season") String season);
     
@@ -0,0 +1,41 @@
+package com.kooora.app.repository;
+
+import com.kooora.app.entity.PredictionAccuracy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for PredictionAccuracy entity operations
+ * 
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Repository
+public interface PredictionAccuracyRepository extends JpaRepository<PredictionAccuracy, Long> {
+
+    /**
+     * Find all aggregates for a model version
+     */
+    List<PredictionAccuracy> findByModelVersion(String modelVersion);
+
+    /**
+     * Atomically add scoring deltas to an existing aggregate row
+     */
+    @Modifying
+    @Query("UPDATE PredictionAccuracy pa SET pa.scoredCount = pa.scoredCount + :scored, " +
+           "pa.hits = pa.hits + :hits, pa.brierSum = pa.brierSum + :brierSum, " +
+           "pa.logLossSum = pa.logLossSum + :logLossSum, pa.confidenceSum = pa.confidenceSum + :confidenceSum " +
+           "WHERE pa.modelVersion = :modelVersion AND pa.component = :component")
+    int incrementAggregate(@Param("modelVersion") String modelVersion,
+                           @Param("component") String component,
+                           @Param("scored") long scored,
+                           @Param("hits") long hits,
+                           @Param("brierSum") double brierSum,
+                           @Param("logLossSum") double logLossSum,
+                           @Param("confidenceSum") double confidenceSum);
+}
@@ -0,0 +1,32 @@
+package com.kooora.app.repository;
+
+import com.kooora.app.entity.PredictionRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for PredictionRecord entity operations
+ * 
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Repository
+public interface PredictionRecordRepository extends JpaRepository<PredictionRecord, Long> {
+
+    /**
+     * Find unscored predictions served for a fixture, either linked by match ID or
+     * served for the same team pairing before kick-off without a resolved fixture
+     */
+    @Query("SELECT pr FROM PredictionRecord pr WHERE pr.scored = false AND " +
+           "(pr.matchId = :matchId OR (pr.matchId IS NULL AND pr.homeTeamId = :homeTeamId " +
+           "AND pr.awayTeamId = :awayTeamId AND pr.createdAt <= :kickoff))")
+    List<PredictionRecord> findUnscoredForFixture(@Param("matchId") Long matchId,
+                                                  @Param("homeTeamId") Long homeTeamId,
+                                                  @Param("awayTeamId") Long awayTeamId,
+                                                  @Param("kickoff") LocalDateTime kickoff);
+}
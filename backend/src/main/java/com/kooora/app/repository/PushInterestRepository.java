@@ -0,0 +1,33 @@
+package com.kooora.app.repository;
+
+import com.kooora.app.entity.PushInterest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for PushInterest entity operations
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Repository
+public interface PushInterestRepository extends JpaRepository<PushInterest, Long> {
+
+    List<PushInterest> findBySubscriberId(Long subscriberId);
+
+    /**
+     * Page of [id, subscriberId, topicType, topicId] rows after an ID, for building the interest index
+     */
+    @Query("SELECT i.id, i.subscriberId, i.topicType, i.topicId FROM PushInterest i WHERE i.id > :afterId ORDER BY i.id")
+    List<Object[]> findIndexPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PushInterest i WHERE i.subscriberId = :subscriberId")
+    int deleteBySubscriber(@Param("subscriberId") Long subscriberId);
+}
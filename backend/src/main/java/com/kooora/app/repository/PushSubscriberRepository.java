@@ -0,0 +1,43 @@
+package com.kooora.app.repository;
+
+import com.kooora.app.entity.PushSubscriber;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for PushSubscriber entity operations
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Repository
+public interface PushSubscriberRepository extends JpaRepository<PushSubscriber, Long> {
+
+    Optional<PushSubscriber> findByEndpointHash(Long endpointHash);
+
+    /**
+     * Page of [endpointHash, id, shard] rows after an ID, for building the in-memory indexes
+     */
+    @Query("SELECT s.endpointHash, s.id, s.shard FROM PushSubscriber s WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findIndexPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Page of one shard's subscribers after an ID, in ID order
+     */
+    @Query("SELECT s FROM PushSubscriber s WHERE s.shard = :shard AND s.id > :afterId ORDER BY s.id")
+    List<PushSubscriber> findShardPage(@Param("shard") Integer shard, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id FROM PushSubscriber s WHERE s.endpointHash = :endpointHash")
+    Optional<Long> findIdByEndpointHash(@Param("endpointHash") Long endpointHash);
+
+    @Modifying
+    @Query("DELETE FROM PushSubscriber s WHERE s.id = :id")
+    int deleteSubscriber(@Param("id") Long id);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +43,11 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      */
     Optional<Team> findByName(String name);
 
+    /**
+     * Find teams by any of the given names
+     */
+    List<Team> findByNameIn(Collection<String> names);
+
     /**
      * Find team by short name
      */
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,11 @@ public interface TeamStandingRepository extends JpaRepository<TeamStanding, Long
      */
     Optional<TeamStanding> findByTeamAndLeague(Team team, League league);
 
+    /**
+     * Find the standings of the given teams in a league
+     */
+    List<TeamStanding> findByLeagueAndTeamIdIn(League league, Collection<Long> teamIds);
+
     /**
      * Find active standings
      */
@@ -113,4 +119,10 @@ public interface TeamStandingRepository extends JpaRepository<TeamStanding, Long
      * Find active standings by league ID ordered by position
      */
     List<TeamStanding> findByLeagueIdAndIsActiveTrueOrderByPositionAsc(Long leagueId);
+
+    /**
+     * Find standings of a league with their teams loaded
+     */
+    @Query("SELECT ts FROM TeamStanding ts JOIN FETCH ts.team WHERE ts.league.id = :leagueId")
+    List<TeamStanding> findByLeagueIdWithTeam(@Param("leagueId") Long leagueId);
 }
@@ -0,0 +1,299 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.ExternalIdMapping;
+import com.kooora.app.entity.Match;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.service.ProviderRateLimiter.EndpointClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Adaptive scheduler for external data polling, driven by match state.
+ * Live scores are polled fast only while matches are in play (or about to kick off),
+ * slowly while fixtures are upcoming, and not at all when no league has fixtures in
+ * the window. Matches with the most watchers get an extra, faster poll. Standings are
+ * polled only for leagues with fixtures in the window. A poll starts only when the
+ * {@link ProviderRateLimiter} has a token for it.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class AdaptivePollingScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePollingScheduler.class);
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchWatcherTracker matchWatcherTracker;
+
+    @Autowired
+    private ExternalIdResolver externalIdResolver;
+
+    @Autowired
+    private IngestionMetrics ingestionMetrics;
+
+    @Autowired
+    private ProviderRateLimiter providerRateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${external.api.polling.live-interval-ms:10000}")
+    private long liveIntervalMs;
+
+    @Value("${external.api.polling.hot-interval-ms:5000}")
+    private long hotIntervalMs;
+
+    @Value("${external.api.polling.hot-max-matches:10}")
+    private int hotMaxMatches;
+
+    @Value("${external.api.polling.idle-interval-ms:300000}")
+    private long idleIntervalMs;
+
+    @Value("${external.api.polling.standings-live-interval-ms:120000}")
+    private long standingsLiveIntervalMs;
+
+    @Value("${external.api.polling.standings-interval-ms:1800000}")
+    private long standingsIntervalMs;
+
+    @Value("${external.api.polling.fixture-refresh-ms:60000}")
+    private long fixtureRefreshMs;
+
+    @Value("${external.api.polling.lookback-hours:3}")
+    private int lookbackHours;
+
+    @Value("${external.api.polling.lookahead-hours:24}")
+    private int lookaheadHours;
+
+    @Value("${external.api.polling.pre-kickoff-minutes:5}")
+    private int preKickoffMinutes;
+
+    @Value("${external.api.polling.match-duration-minutes:150}")
+    private int matchDurationMinutes;
+
+    @Value("${external.api.quota.reserve:1}")
+    private int quotaReserve;
+
+    /**
+     * Polling intensity derived from the fixture window
+     */
+    public enum Mode {
+        LIVE, IDLE, STOPPED
+    }
+
+    /**
+     * A fixture in the polling window
+     */
+    record Fixture(long matchId, Long leagueId, Match.MatchStatus status, LocalDateTime kickoff) {
+    }
+
+    private volatile List<Fixture> fixtures = List.of();
+    private volatile long fixturesLoadedAt;
+    private volatile Mode mode = Mode.STOPPED;
+
+    private final Map<String, Long> lastPoll = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private Counter throttledCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("kooora.ingestion.polling.mode", this, scheduler -> scheduler.mode.ordinal())
+            .description("Polling mode: 0 live, 1 idle, 2 stopped")
+            .register(meterRegistry);
+        throttledCounter = Counter.builder("kooora.ingestion.polls.throttled")
+            .description("Polls deferred because the provider quota was exhausted")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decide every second which polls are due
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        if (!externalApiService.isEnabled()) return;
+
+        try {
+            long now = System.currentTimeMillis();
+            if (now - fixturesLoadedAt >= fixtureRefreshMs) {
+                refreshFixtures(now);
+            }
+
+            LocalDateTime clock = LocalDateTime.now();
+            List<Fixture> window = fixtures;
+            List<Fixture> active = window.stream().filter(f -> isActive(f, clock)).toList();
+            mode = modeFor(window, active, clock);
+            ingestionMetrics.trackLiveMatches(active.stream().map(Fixture::matchId).toList());
+
+            // 1. All live scores: fast while in play, slow while fixtures are upcoming
+            long liveInterval = switch (mode) {
+                case LIVE -> liveIntervalMs;
+                case IDLE -> idleIntervalMs;
+                case STOPPED -> 0;
+            };
+            boolean bulkPolled = liveInterval > 0
+                && pollIfDue("live", liveInterval, now, EndpointClass.LIVE, () -> externalApiService.pollLiveMatches(List.of()));
+
+            // 2. Most-watched live matches between bulk polls
+            if (!bulkPolled && !active.isEmpty()) {
+                List<Long> hot = new ArrayList<>();
+                for (long matchId : selectHot(active, matchWatcherTracker::getWatcherCount, hotMaxMatches)) {
+                    long externalId = externalIdResolver.externalId(ExternalIdMapping.EntityType.MATCH, matchId);
+                    if (externalId != ExternalIdResolver.UNMAPPED) hot.add(externalId);
+                }
+                if (!hot.isEmpty()) {
+                    pollIfDue("hot", hotIntervalMs, now, EndpointClass.LIVE, () -> externalApiService.pollLiveMatches(hot));
+                }
+            }
+
+            // 3. Standings for leagues with fixtures in the window, in-play leagues first
+            Set<Long> liveLeagues = new HashSet<>();
+            for (Fixture fixture : active) {
+                if (fixture.leagueId() != null) liveLeagues.add(fixture.leagueId());
+            }
+            for (Long leagueId : liveLeagues) {
+                pollIfDue("standings:" + leagueId, standingsLiveIntervalMs, now, EndpointClass.STANDINGS,
+                    () -> externalApiService.updateLeagueStandings(leagueId));
+            }
+            for (Long leagueId : leaguesInWindow(window)) {
+                if (liveLeagues.contains(leagueId)) continue;
+                pollIfDue("standings:" + leagueId, standingsIntervalMs, now, EndpointClass.STANDINGS,
+                    () -> externalApiService.updateLeagueStandings(leagueId));
+            }
+        } catch (Exception e) {
+            logger.error("Error in adaptive polling tick: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Start a poll when its interval has elapsed, it is not already running and the rate
+     * limiter has a token for it now; returns whether it was started. Polls are deferred
+     * rather than queued, so the next tick re-plans them with fresh state.
+     */
+    private boolean pollIfDue(String key, long intervalMs, long now, EndpointClass endpointClass,
+                              Supplier<CompletableFuture<Void>> poll) {
+        Long last = lastPoll.get(key);
+        if (last != null && now - last < intervalMs) return false;
+        if (inFlight.contains(key)) return false;
+
+        if (!providerRateLimiter.hasCapacity(externalApiService.getProvider(), endpointClass, quotaReserve)) {
+            throttledCounter.increment();
+            return false;
+        }
+
+        inFlight.add(key);
+        lastPoll.put(key, now);
+        try {
+            poll.get().whenComplete((result, error) -> inFlight.remove(key));
+        } catch (Exception e) {
+            inFlight.remove(key);
+            logger.error("Error starting poll {}: {}", key, e.getMessage());
+        }
+        return true;
+    }
+
+    private void refreshFixtures(long now) {
+        LocalDateTime clock = LocalDateTime.now();
+        List<Fixture> loaded = new ArrayList<>();
+        for (Object[] row : matchRepository.findPollingWindow(Match.MatchStatus.LIVE,
+                clock.minusHours(lookbackHours), clock.plusHours(lookaheadHours))) {
+            loaded.add(new Fixture((Long) row[0], (Long) row[1], (Match.MatchStatus) row[2], (LocalDateTime) row[3]));
+        }
+        fixtures = loaded;
+        fixturesLoadedAt = now;
+    }
+
+    /**
+     * Refresh the window and make the league's standings due as soon as a match ends
+     */
+    @EventListener
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        fixturesLoadedAt = 0;
+        if (event.getLeagueId() != null) {
+            lastPoll.remove("standings:" + event.getLeagueId());
+        }
+    }
+
+    /**
+     * In play, or scheduled and inside the kickoff-to-final-whistle span
+     */
+    boolean isActive(Fixture fixture, LocalDateTime now) {
+        return isActive(fixture, now, preKickoffMinutes, matchDurationMinutes);
+    }
+
+    static boolean isActive(Fixture fixture, LocalDateTime now, int preKickoffMinutes, int matchDurationMinutes) {
+        if (fixture.status() == Match.MatchStatus.LIVE) return true;
+        if (fixture.status() != Match.MatchStatus.SCHEDULED || fixture.kickoff() == null) return false;
+
+        return !fixture.kickoff().isAfter(now.plusMinutes(preKickoffMinutes))
+            && fixture.kickoff().isAfter(now.minusMinutes(matchDurationMinutes));
+    }
+
+    static Mode modeFor(List<Fixture> window, List<Fixture> active, LocalDateTime now) {
+        if (!active.isEmpty()) return Mode.LIVE;
+
+        boolean upcoming = window.stream().anyMatch(f -> f.status() == Match.MatchStatus.SCHEDULED
+            && f.kickoff() != null && f.kickoff().isAfter(now));
+        return upcoming ? Mode.IDLE : Mode.STOPPED;
+    }
+
+    /**
+     * Active matches with watchers, most watched first
+     */
+    static List<Long> selectHot(List<Fixture> active, ToIntFunction<Long> watchers, int limit) {
+        return active.stream()
+            .map(Fixture::matchId)
+            .filter(matchId -> watchers.applyAsInt(matchId) > 0)
+            .sorted(Comparator.comparingInt((Long matchId) -> watchers.applyAsInt(matchId)).reversed()
+                .thenComparing(Comparator.naturalOrder()))
+            .limit(limit)
+            .toList();
+    }
+
+    private static Set<Long> leaguesInWindow(List<Fixture> window) {
+        Set<Long> leagues = new LinkedHashSet<>();
+        for (Fixture fixture : window) {
+            if (fixture.leagueId() != null) leagues.add(fixture.leagueId());
+        }
+        return leagues;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get polling statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(ingestionMetrics.getStats());
+        stats.put("mode", mode);
+        stats.put("fixturesInWindow", fixtures.size());
+        stats.put("quotaReserve", quotaReserve);
+        stats.put("inFlight", new ArrayList<>(inFlight));
+        stats.put("watchedMatches", matchWatcherTracker.getWatcherCounts());
+        return stats;
+    }
+}
@@ -0,0 +1,415 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.*;
+import com.kooora.app.entity.ExternalIdMapping.EntityType;
+import com.kooora.app.repository.*;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch upsert stage for external sync.
+ * Each batch resolves provider IDs through the {@link ExternalIdResolver} (falling back
+ * to a single name IN query for unmapped rows), loads the current rows for those
+ * entities in one query, diffs them in memory and writes only the rows
+ * that changed. Updates go out as JDBC batches; on PostgreSQL standings are written
+ * with a single batched INSERT ... ON CONFLICT statement.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class BulkUpsertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkUpsertService.class);
+
+    private static final String UPSERT_STANDING_SQL =
+        "INSERT INTO team_standings (team_id, league_id, position, matches_played, wins, draws, losses, " +
+        "goals_for, goals_against, goal_difference, points, is_active, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, 0) " +
+        "ON CONFLICT (team_id, league_id) DO UPDATE SET position = EXCLUDED.position, " +
+        "matches_played = EXCLUDED.matches_played, wins = EXCLUDED.wins, draws = EXCLUDED.draws, " +
+        "losses = EXCLUDED.losses, goals_for = EXCLUDED.goals_for, goals_against = EXCLUDED.goals_against, " +
+        "goal_difference = EXCLUDED.goal_difference, points = EXCLUDED.points, is_active = TRUE, " +
+        "updated_at = EXCLUDED.updated_at, version = COALESCE(team_standings.version, 0) + 1";
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamStandingRepository teamStandingRepository;
+
+    @Autowired
+    private PlayerStatisticsRepository playerStatisticsRepository;
+
+    @Autowired
+    private ExternalIdResolver externalIdResolver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong rowsReceived = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsUnchanged = new AtomicLong();
+    private final AtomicLong rowsUnresolved = new AtomicLong();
+
+    @PostConstruct
+    public void detectDatabase() {
+        try {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+        } catch (Exception e) {
+            logger.warn("Could not detect database product, using JPA batch writes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Upsert a batch of standings rows for a league; returns the number of rows written
+     */
+    @Transactional
+    public int upsertStandings(League league, List<IngestionCommand.StandingUpsert> rows) {
+        long[] teamIds = resolveIds(EntityType.TEAM, rows, IngestionCommand.StandingUpsert::teamExternalId,
+            IngestionCommand.StandingUpsert::teamName, this::teamIdsByName);
+
+        Map<Long, TeamStanding> current = new HashMap<>();
+        Set<Long> resolved = idSet(teamIds);
+        if (!resolved.isEmpty()) {
+            for (TeamStanding standing : teamStandingRepository.findByLeagueAndTeamIdIn(league, resolved)) {
+                current.put(standing.getTeam().getId(), standing);
+            }
+        }
+
+        List<Object[]> upserts = new ArrayList<>();
+        List<TeamStanding> inserts = new ArrayList<>();
+        int written = 0;
+        int unresolved = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < rows.size(); i++) {
+            IngestionCommand.StandingUpsert row = rows.get(i);
+            long teamId = teamIds[i];
+            if (teamId == ExternalIdResolver.UNMAPPED) {
+                unresolved++;
+                continue;
+            }
+
+            TeamStanding standing = current.get(teamId);
+            if (standing != null && !standingChanged(standing, row)) continue;
+
+            written++;
+            if (postgres) {
+                upserts.add(new Object[] {
+                    teamId, league.getId(), row.position(), row.playedGames(), row.won(), row.draw(),
+                    row.lost(), row.goalsFor(), row.goalsAgainst(), row.goalDifference(), row.points(), now, now
+                });
+            } else {
+                if (standing == null) {
+                    standing = new TeamStanding(teamRepository.getReferenceById(teamId), league);
+                    current.put(teamId, standing);
+                    inserts.add(standing);
+                }
+                applyStanding(standing, row);
+            }
+        }
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_STANDING_SQL, upserts);
+        }
+        // Dirty managed rows are flushed as one JDBC batch on commit
+        teamStandingRepository.saveAll(inserts);
+
+        record(rows.size(), written, unresolved);
+        return written;
+    }
+
+    /**
+     * Upsert a batch of top scorer rows for a league season; returns the statistics that changed
+     */
+    @Transactional
+    public List<PlayerStatistics> upsertPlayerStatistics(League league, String season,
+                                                         List<IngestionCommand.ScorerUpsert> scorers) {
+        long[] playerIds = resolveIds(EntityType.PLAYER, scorers, IngestionCommand.ScorerUpsert::playerExternalId,
+            scorer -> PlayerName.of(scorer.playerName()), this::playerIdsByName);
+
+        Map<Long, PlayerStatistics> current = new HashMap<>();
+        Set<Long> resolved = idSet(playerIds);
+        if (!resolved.isEmpty()) {
+            // Inactive rows are matched too, so they are revived instead of duplicated
+            for (PlayerStatistics stats : playerStatisticsRepository
+                    .findByLeagueAndSeasonAndPlayerIdIn(league, season, resolved)) {
+                current.merge(stats.getPlayer().getId(), stats,
+                    (kept, other) -> Boolean.TRUE.equals(kept.getIsActive()) ? kept : other);
+            }
+        }
+
+        // Players without statistics yet are loaded together so new rows carry initialised players
+        Set<Long> missing = new HashSet<>(resolved);
+        missing.removeAll(current.keySet());
+        Map<Long, Player> newPlayers = new HashMap<>();
+        if (!missing.isEmpty()) {
+            for (Player player : playerRepository.findAllById(missing)) {
+                newPlayers.put(player.getId(), player);
+            }
+        }
+
+        List<PlayerStatistics> changed = new ArrayList<>();
+        List<PlayerStatistics> inserts = new ArrayList<>();
+        int unresolved = 0;
+
+        for (int i = 0; i < scorers.size(); i++) {
+            IngestionCommand.ScorerUpsert scorer = scorers.get(i);
+            long playerId = playerIds[i];
+            if (playerId == ExternalIdResolver.UNMAPPED) {
+                unresolved++;
+                continue;
+            }
+
+            PlayerStatistics stats = current.get(playerId);
+            if (stats == null) {
+                Player player = newPlayers.get(playerId);
+                if (player == null) {
+                    unresolved++;
+                    continue;
+                }
+                stats = new PlayerStatistics(player, league, season);
+                current.put(playerId, stats);
+                inserts.add(stats);
+            } else if (Boolean.TRUE.equals(stats.getIsActive()) && !scorerChanged(stats, scorer)) {
+                continue;
+            }
+
+            stats.setIsActive(true);
+            stats.setGoals(scorer.goals());
+            if (scorer.assists() != null) {
+                stats.setAssists(scorer.assists());
+            }
+            if (scorer.appearances() != null) {
+                stats.setAppearances(scorer.appearances());
+            }
+            changed.add(stats);
+        }
+
+        playerStatisticsRepository.saveAll(inserts);
+
+        record(scorers.size(), changed.size(), unresolved);
+        return changed;
+    }
+
+    /**
+     * Apply a batch of team details to known teams; returns the number of teams updated
+     */
+    @Transactional
+    public int upsertTeams(List<IngestionCommand.TeamUpsert> teamRows) {
+        long[] teamIds = resolveIds(EntityType.TEAM, teamRows, IngestionCommand.TeamUpsert::externalId,
+            IngestionCommand.TeamUpsert::name, this::teamIdsByName);
+
+        Map<Long, Team> teams = new HashMap<>();
+        Set<Long> resolved = idSet(teamIds);
+        if (!resolved.isEmpty()) {
+            for (Team team : teamRepository.findAllById(resolved)) {
+                teams.put(team.getId(), team);
+            }
+        }
+
+        int written = 0;
+        int unresolved = 0;
+
+        for (int i = 0; i < teamRows.size(); i++) {
+            Team team = teams.get(teamIds[i]);
+            if (team == null) {
+                unresolved++;
+                continue;
+            }
+            if (applyTeam(team, teamRows.get(i))) {
+                written++;
+            }
+        }
+
+        record(teamRows.size(), written, unresolved);
+        return written;
+    }
+
+    /**
+     * Resolve the internal ID of each row through the provider mapping. Rows the mapping does
+     * not know fall back to one name query for the whole batch, and the pairs found are registered
+     * so later batches resolve without it.
+     */
+    private <C, K> long[] resolveIds(EntityType type, List<C> rows, Function<C, Long> externalId,
+                                     Function<C, K> name, Function<Set<K>, Map<K, Long>> idsByName) {
+        long[] ids = new long[rows.size()];
+        Set<K> unmappedNames = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = externalIdResolver.resolve(type, externalId.apply(rows.get(i)));
+            if (ids[i] == ExternalIdResolver.UNMAPPED) {
+                K key = name.apply(rows.get(i));
+                if (key != null) unmappedNames.add(key);
+            }
+        }
+        if (unmappedNames.isEmpty()) return ids;
+
+        Map<K, Long> byName = idsByName.apply(unmappedNames);
+        Map<Long, Long> learned = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (ids[i] != ExternalIdResolver.UNMAPPED) continue;
+
+            Long id = byName.get(name.apply(rows.get(i)));
+            if (id == null) continue;
+            ids[i] = id;
+
+            Long external = externalId.apply(rows.get(i));
+            if (external != null) learned.put(external, id);
+        }
+
+        if (!learned.isEmpty()) {
+            externalIdResolver.registerAll(type, learned);
+        }
+        return ids;
+    }
+
+    private static Set<Long> idSet(long[] ids) {
+        Set<Long> set = new HashSet<>();
+        for (long id : ids) {
+            if (id != ExternalIdResolver.UNMAPPED) set.add(id);
+        }
+        return set;
+    }
+
+    private Map<String, Long> teamIdsByName(Set<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Team team : teamRepository.findByNameIn(names)) {
+            ids.putIfAbsent(team.getName(), team.getId());
+        }
+        return ids;
+    }
+
+    private Map<PlayerName, Long> playerIdsByName(Set<PlayerName> names) {
+        Set<String> firstNames = names.stream().map(PlayerName::first).collect(Collectors.toSet());
+        Set<String> lastNames = names.stream().map(PlayerName::last).collect(Collectors.toSet());
+
+        // The IN pair over-selects cross combinations; keep exact name matches only
+        Map<PlayerName, Long> ids = new HashMap<>();
+        for (Player player : playerRepository.findByFirstNameInAndLastNameIn(firstNames, lastNames)) {
+            PlayerName name = new PlayerName(player.getFirstName(), player.getLastName());
+            if (names.contains(name)) {
+                ids.putIfAbsent(name, player.getId());
+            }
+        }
+        return ids;
+    }
+
+    private void record(int received, int written, int unresolved) {
+        batches.incrementAndGet();
+        rowsReceived.addAndGet(received);
+        rowsWritten.addAndGet(written);
+        rowsUnresolved.addAndGet(unresolved);
+        rowsUnchanged.addAndGet(received - written - unresolved);
+        logger.debug("Bulk upsert batch: {} received, {} written, {} unresolved", received, written, unresolved);
+    }
+
+    static boolean standingChanged(TeamStanding standing, IngestionCommand.StandingUpsert row) {
+        return differs(standing.getPosition(), row.position())
+            || differs(standing.getMatchesPlayed(), row.playedGames())
+            || differs(standing.getWins(), row.won())
+            || differs(standing.getDraws(), row.draw())
+            || differs(standing.getLosses(), row.lost())
+            || differs(standing.getGoalsFor(), row.goalsFor())
+            || differs(standing.getGoalsAgainst(), row.goalsAgainst())
+            || differs(standing.getGoalDifference(), row.goalDifference())
+            || differs(standing.getPoints(), row.points());
+    }
+
+    static boolean scorerChanged(PlayerStatistics stats, IngestionCommand.ScorerUpsert scorer) {
+        return differs(stats.getGoals(), scorer.goals())
+            || scorer.assists() != null && differs(stats.getAssists(), scorer.assists())
+            || scorer.appearances() != null && differs(stats.getAppearances(), scorer.appearances());
+    }
+
+    private static void applyStanding(TeamStanding standing, IngestionCommand.StandingUpsert row) {
+        standing.setPosition(row.position());
+        standing.setMatchesPlayed(row.playedGames());
+        standing.setWins(row.won());
+        standing.setDraws(row.draw());
+        standing.setLosses(row.lost());
+        standing.setGoalsFor(row.goalsFor());
+        standing.setGoalsAgainst(row.goalsAgainst());
+        standing.setGoalDifference(row.goalDifference());
+        standing.setPoints(row.points());
+    }
+
+    /**
+     * Copy non-null details onto a team; returns whether anything changed
+     */
+    private static boolean applyTeam(Team team, IngestionCommand.TeamUpsert row) {
+        boolean changed = false;
+        if (row.shortName() != null && !row.shortName().equals(team.getShortName())) {
+            team.setShortName(row.shortName());
+            changed = true;
+        }
+        if (row.crestUrl() != null && !row.crestUrl().equals(team.getLogoUrl())) {
+            team.setLogoUrl(row.crestUrl());
+            changed = true;
+        }
+        if (row.founded() != null && !row.founded().equals(team.getFoundedYear())) {
+            team.setFoundedYear(row.founded());
+            changed = true;
+        }
+        if (row.venue() != null && !row.venue().equals(team.getStadiumName())) {
+            team.setStadiumName(row.venue());
+            changed = true;
+        }
+        if (row.website() != null && !row.website().equals(team.getWebsite())) {
+            team.setWebsite(row.website());
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean differs(Integer current, int value) {
+        return current == null || current != value;
+    }
+
+    /**
+     * Provider full name split the way players are stored: first word, then the rest
+     */
+    record PlayerName(String first, String last) {
+
+        static PlayerName of(String fullName) {
+            String[] parts = fullName.split(" ", 2);
+            return new PlayerName(parts[0], parts.length > 1 ? parts[1] : "");
+        }
+    }
+
+    /**
+     * Get bulk upsert statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("batches", batches.get());
+        stats.put("rowsReceived", rowsReceived.get());
+        stats.put("rowsWritten", rowsWritten.get());
+        stats.put("rowsUnchanged", rowsUnchanged.get());
+        stats.put("rowsUnresolved", rowsUnresolved.get());
+        stats.put("writeMode", postgres ? "insert-on-conflict" : "jpa-batch");
+        return stats;
+    }
+}
@@ -0,0 +1,132 @@
+package com.kooora.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint validators for conditional polling of external APIs.
+ * Stores the ETag, Last-Modified and body hash of the last successfully processed
+ * response, so unchanged payloads are skipped before parsing and persistence.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class ConditionalRequestCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    private final AtomicLong changed = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong unchangedBody = new AtomicLong();
+
+    private Counter changedCounter;
+    private Counter notModifiedCounter;
+    private Counter unchangedBodyCounter;
+
+    /**
+     * Validators of the last processed response for one endpoint
+     */
+    private record Validators(String etag, String lastModified, byte[] bodyHash) {
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        changedCounter = Counter.builder("kooora.ingestion.responses")
+            .tag("outcome", "changed").register(meterRegistry);
+        notModifiedCounter = Counter.builder("kooora.ingestion.responses")
+            .tag("outcome", "not_modified").register(meterRegistry);
+        unchangedBodyCounter = Counter.builder("kooora.ingestion.responses")
+            .tag("outcome", "unchanged_body").register(meterRegistry);
+        Gauge.builder("kooora.ingestion.skip.ratio", this, ConditionalRequestCache::getSkipRatio)
+            .description("Share of polls skipped by conditional requests or body hash")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Add If-None-Match / If-Modified-Since headers for an endpoint
+     */
+    public void addConditionalHeaders(String endpoint, Map<String, String> headers) {
+        Validators cached = validators.get(endpoint);
+        if (cached == null) return;
+
+        if (cached.etag() != null) {
+            headers.put("If-None-Match", cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            headers.put("If-Modified-Since", cached.lastModified());
+        }
+    }
+
+    /**
+     * Record a 304 Not Modified response
+     */
+    public void recordNotModified() {
+        notModified.incrementAndGet();
+        notModifiedCounter.increment();
+    }
+
+    /**
+     * Whether a body hash matches the last processed response; counts the skip when it does
+     */
+    public boolean isUnchanged(String endpoint, byte[] bodyHash) {
+        Validators cached = validators.get(endpoint);
+        if (cached != null && Arrays.equals(cached.bodyHash(), bodyHash)) {
+            unchangedBody.incrementAndGet();
+            unchangedBodyCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Store validators once a changed response has been processed successfully
+     */
+    public void commit(String endpoint, String etag, String lastModified, byte[] bodyHash) {
+        validators.put(endpoint, new Validators(etag, lastModified, bodyHash));
+        changed.incrementAndGet();
+        changedCounter.increment();
+    }
+
+    public double getSkipRatio() {
+        long skipped = notModified.get() + unchangedBody.get();
+        long total = skipped + changed.get();
+        return total > 0 ? (double) skipped / total : 0.0;
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get conditional polling statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedEndpoints", validators.size());
+        stats.put("changed", changed.get());
+        stats.put("notModified", notModified.get());
+        stats.put("unchangedBody", unchangedBody.get());
+        stats.put("skipRatio", Math.round(getSkipRatio() * 1000.0) / 1000.0);
+        return stats;
+    }
+}
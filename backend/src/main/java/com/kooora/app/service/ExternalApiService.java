@@ -2,24 +2,26 @@ package com.kooora.app.service;
 
 import com.kooora.app.entity.*;
 import com.kooora.app.repository.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.kooora.app.service.ProviderRateLimiter.EndpointClass;
+import com.kooora.app.service.StreamingIngestionParser.Payload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Service for integrating with external football APIs for automatic data fetching
@@ -33,31 +35,43 @@ public class ExternalApiService {
     private static final Logger logger = LoggerFactory.getLogger(ExternalApiService.class);
 
     @Autowired
-    private RestTemplate restTemplate;
+    private IngestionHttpClient ingestionHttpClient;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private ConditionalRequestCache conditionalRequestCache;
 
     @Autowired
-    private CountryRepository countryRepository;
+    private StreamingIngestionParser streamingIngestionParser;
 
     @Autowired
-    private LeagueRepository leagueRepository;
+    private BulkUpsertService bulkUpsertService;
+
+    @Autowired
+    private StandingsEngine standingsEngine;
+
+    @Autowired
+    private PredictionService predictionService;
+
+    @Autowired
+    private LiveMatchIngestionService liveMatchIngestionService;
+
+    @Autowired
+    private ExternalIdResolver externalIdResolver;
 
     @Autowired
-    private TeamRepository teamRepository;
+    private IngestionMetrics ingestionMetrics;
 
     @Autowired
-    private PlayerRepository playerRepository;
+    private ProviderRateLimiter providerRateLimiter;
 
     @Autowired
-    private MatchRepository matchRepository;
+    private ProviderCallGuard providerCallGuard;
 
     @Autowired
-    private TeamStandingRepository teamStandingRepository;
+    private CountryRepository countryRepository;
 
     @Autowired
-    private PlayerStatisticsRepository playerStatisticsRepository;
+    private LeagueRepository leagueRepository;
 
     @Autowired
     private LiveUpdateService liveUpdateService;
@@ -72,14 +86,15 @@ public class ExternalApiService {
     @Value("${external.api.enabled:false}")
     private boolean apiEnabled;
 
-    // Rate limiting
-    private final Map<String, Long> lastApiCall = new HashMap<>();
-    private final long API_RATE_LIMIT = 60000; // 1 minute between calls
+    @Value("${external.api.football.provider:football-data}")
+    private String provider;
+
+    @Value("${external.api.http.live-deadline-ms:8000}")
+    private long liveDeadlineMs;
 
     /**
      * Fetch and update league standings
      */
-    @Async
     public CompletableFuture<Void> updateLeagueStandings(Long leagueId) {
         if (!apiEnabled || footballApiKey.isEmpty()) {
             logger.info("External API is disabled or no API key provided");
@@ -94,423 +109,278 @@ public class ExternalApiService {
             }
 
             League league = leagueOpt.get();
-            String apiEndpoint = footballApiUrl + "/competitions/" + league.getId() + "/standings";
-
-            if (!canMakeApiCall(apiEndpoint)) {
-                logger.info("Rate limiting: skipping API call for {}", apiEndpoint);
-                return CompletableFuture.completedFuture(null);
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-Auth-Token", footballApiKey);
-            headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiEndpoint, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JsonNode responseData = objectMapper.readTree(response.getBody());
-                processStandingsData(league, responseData);
-                
-                // Broadcast standings update
-                liveUpdateService.broadcastLeagueStandingsUpdate(leagueId);
-                
-                logger.info("Successfully updated standings for league: {}", league.getName());
-            }
+            String apiEndpoint = footballApiUrl + "/competitions/" + competitionId(league.getId()) + "/standings";
+
+            return this.<IngestionCommand.StandingUpsert>fetchIfChanged(apiEndpoint, EndpointClass.STANDINGS, Payload.STANDINGS,
+                    rows -> processStandings(league, rows))
+                .thenAccept(changed -> {
+                    if (changed) logger.info("Successfully updated standings for league: {}", league.getName());
+                })
+                .exceptionally(e -> {
+                    logger.error("Error updating league standings for league {}: {}", leagueId, rootMessage(e));
+                    return null;
+                });
 
-        } catch (HttpClientErrorException e) {
-            logger.error("HTTP error updating league standings: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
         } catch (Exception e) {
             logger.error("Error updating league standings for league {}: {}", leagueId, e.getMessage());
+            return CompletableFuture.completedFuture(null);
         }
-
-        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * Fetch and update live match scores
      */
-    @Async
     public CompletableFuture<Void> updateLiveMatches() {
         if (!apiEnabled || footballApiKey.isEmpty()) {
             return CompletableFuture.completedFuture(null);
         }
 
-        try {
-            String apiEndpoint = footballApiUrl + "/matches";
-
-            if (!canMakeApiCall(apiEndpoint)) {
-                return CompletableFuture.completedFuture(null);
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-Auth-Token", footballApiKey);
-            headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
-
-            Map<String, String> params = new HashMap<>();
-            params.put("status", "LIVE");
-            params.put("dateFrom", LocalDate.now().toString());
-            params.put("dateTo", LocalDate.now().toString());
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiEndpoint + "?status=LIVE", HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JsonNode responseData = objectMapper.readTree(response.getBody());
-                processLiveMatchesData(responseData);
-                logger.info("Successfully updated live matches");
-            }
+        return fetchLiveMatches(footballApiUrl + "/matches?status=LIVE");
+    }
 
-        } catch (Exception e) {
-            logger.error("Error updating live matches: {}", e.getMessage());
+    /**
+     * Poll live matches for the adaptive scheduler: all live matches when no IDs are given,
+     * otherwise only the given provider match IDs
+     */
+    public CompletableFuture<Void> pollLiveMatches(List<Long> matchExternalIds) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        return CompletableFuture.completedFuture(null);
+        String query = matchExternalIds.isEmpty() ? "?status=LIVE"
+            : "?ids=" + String.join(",", matchExternalIds.stream().map(String::valueOf).toList());
+        return fetchLiveMatches(footballApiUrl + "/matches" + query);
+    }
+
+    private CompletableFuture<Void> fetchLiveMatches(String apiEndpoint) {
+        return this.<IngestionCommand.MatchUpsert>fetchStreaming(apiEndpoint, EndpointClass.LIVE, Payload.MATCHES,
+                liveMatchIngestionService::process)
+            .thenAccept(count -> logger.info("Successfully updated {} live matches", count))
+            .exceptionally(e -> {
+                logger.error("Error updating live matches: {}", rootMessage(e));
+                return null;
+            });
     }
 
     /**
      * Fetch and update player statistics
      */
-    @Async
     public CompletableFuture<Void> updatePlayerStatistics(Long leagueId, String season) {
         if (!apiEnabled || footballApiKey.isEmpty()) {
             return CompletableFuture.completedFuture(null);
         }
 
-        try {
-            String apiEndpoint = footballApiUrl + "/competitions/" + leagueId + "/scorers";
-
-            if (!canMakeApiCall(apiEndpoint)) {
-                return CompletableFuture.completedFuture(null);
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-Auth-Token", footballApiKey);
-            headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiEndpoint, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JsonNode responseData = objectMapper.readTree(response.getBody());
-                processPlayerStatisticsData(leagueId, season, responseData);
-                logger.info("Successfully updated player statistics for league: {}", leagueId);
-            }
-
-        } catch (Exception e) {
-            logger.error("Error updating player statistics: {}", e.getMessage());
+        Optional<League> leagueOpt = leagueRepository.findById(leagueId);
+        if (leagueOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        return CompletableFuture.completedFuture(null);
+        League league = leagueOpt.get();
+        String apiEndpoint = footballApiUrl + "/competitions/" + competitionId(leagueId) + "/scorers";
+
+        return this.<IngestionCommand.ScorerUpsert>fetchIfChanged(apiEndpoint, EndpointClass.SCORERS, Payload.SCORERS,
+                scorers -> processPlayerStatistics(league, season, scorers))
+            .thenAccept(changed -> {
+                if (changed) logger.info("Successfully updated player statistics for league: {}", leagueId);
+            })
+            .exceptionally(e -> {
+                logger.error("Error updating player statistics: {}", rootMessage(e));
+                return null;
+            });
     }
 
     /**
      * Fetch and update team information
      */
-    @Async
     public CompletableFuture<Void> updateTeamInformation(Long leagueId) {
         if (!apiEnabled || footballApiKey.isEmpty()) {
             return CompletableFuture.completedFuture(null);
         }
 
-        try {
-            String apiEndpoint = footballApiUrl + "/competitions/" + leagueId + "/teams";
-
-            if (!canMakeApiCall(apiEndpoint)) {
-                return CompletableFuture.completedFuture(null);
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("X-Auth-Token", footballApiKey);
-            headers.setAccept(Arrays.asList(MediaType.APPLICATION_JSON));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiEndpoint, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JsonNode responseData = objectMapper.readTree(response.getBody());
-                processTeamData(responseData);
-                logger.info("Successfully updated team information for league: {}", leagueId);
-            }
-
-        } catch (Exception e) {
-            logger.error("Error updating team information: {}", e.getMessage());
-        }
-
-        return CompletableFuture.completedFuture(null);
+        String apiEndpoint = footballApiUrl + "/competitions/" + competitionId(leagueId) + "/teams";
+
+        return this.<IngestionCommand.TeamUpsert>fetchIfChanged(apiEndpoint, EndpointClass.TEAMS, Payload.TEAMS,
+                this::processTeams)
+            .thenAccept(changed -> {
+                if (changed) logger.info("Successfully updated team information for league: {}", leagueId);
+            })
+            .exceptionally(e -> {
+                logger.error("Error updating team information: {}", rootMessage(e));
+                return null;
+            });
     }
 
     /**
-     * Scheduled task to update live matches every 30 seconds
+     * Fetch an endpoint and stream its entries to the batch consumer as they are parsed.
+     * Live polls get a short deadline, since the next poll supersedes a late answer.
+     * Quota is granted before the call enters its bulkhead, so a call queued behind the
+     * rate limit never holds an in-flight slot; the body is spooled and parsed once the
+     * exchange has left the bulkhead, so persisting it does not hold one either.
      */
-    @Scheduled(fixedDelay = 30000) // 30 seconds
-    public void scheduledLiveMatchUpdate() {
-        if (apiEnabled) {
-            updateLiveMatches();
-        }
+    private <C extends IngestionCommand> CompletableFuture<Long> fetchStreaming(String apiEndpoint,
+                                                                              EndpointClass endpointClass,
+                                                                              Payload payload,
+                                                                              Consumer<List<C>> batchConsumer) {
+        long deadlineMs = endpointClass == EndpointClass.LIVE ? liveDeadlineMs : ingestionHttpClient.getDeadlineMs();
+        return providerRateLimiter.acquire(provider, endpointClass)
+            .thenCompose(granted -> providerCallGuard.execute(endpointClass, () -> {
+                ingestionMetrics.recordCall();
+                return ingestionHttpClient.getSpooled(apiEndpoint, requestHeaders(), deadlineMs)
+                    .thenApply(spooled -> checkSpooled(apiEndpoint, spooled));
+            }))
+            .thenApply(spooled -> {
+                try (IngestionHttpClient.SpooledResponse response = spooled) {
+                    if (!response.isOk() || response.bodyFile() == null) {
+                        logger.error("HTTP error from {}: {}", apiEndpoint, response.status());
+                        return 0L;
+                    }
+                    try (InputStream body = response.openBody()) {
+                        return streamingIngestionParser.parse(body, payload, StreamingIngestionParser.DEFAULT_BATCH_SIZE,
+                            batchConsumer);
+                    }
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
     }
 
     /**
-     * Scheduled task to update standings every 10 minutes
+     * Conditionally fetch an endpoint and process it only when its content changed.
+     * The body is spooled to disk and hashed on the way in; a 304 or an unchanged hash
+     * skips parsing and persistence. Otherwise entries are streamed from the spool file
+     * to the batch consumer, and validators are stored once processing succeeds.
+     * Completes with whether the payload was processed.
      */
-    @Scheduled(fixedDelay = 600000) // 10 minutes
-    public void scheduledStandingsUpdate() {
-        if (apiEnabled) {
-            List<League> activeLeagues = leagueRepository.findByStatus(League.LeagueStatus.ACTIVE);
-            for (League league : activeLeagues) {
-                updateLeagueStandings(league.getId());
-            }
-        }
+    private <C extends IngestionCommand> CompletableFuture<Boolean> fetchIfChanged(String apiEndpoint,
+                                                                                 EndpointClass endpointClass,
+                                                                                 Payload payload,
+                                                                                 Consumer<List<C>> batchConsumer) {
+        return providerRateLimiter.acquire(provider, endpointClass)
+            .thenCompose(granted -> providerCallGuard.execute(endpointClass, () -> {
+                Map<String, String> headers = requestHeaders();
+                conditionalRequestCache.addConditionalHeaders(apiEndpoint, headers);
+                ingestionMetrics.recordCall();
+                return ingestionHttpClient.getSpooled(apiEndpoint, headers)
+                    .thenApply(spooled -> checkSpooled(apiEndpoint, spooled));
+            }))
+            // The payload is processed after the exchange has left its bulkhead
+            .thenApply(spooled -> {
+                try (IngestionHttpClient.SpooledResponse response = spooled) {
+                    if (response.status() == HttpStatus.NOT_MODIFIED.value()) {
+                        conditionalRequestCache.recordNotModified();
+                        logger.debug("Not modified: {}", apiEndpoint);
+                        return false;
+                    }
+                    if (!response.isOk() || response.bodyFile() == null) {
+                        logger.error("HTTP error from {}: {}", apiEndpoint, response.status());
+                        return false;
+                    }
+                    if (conditionalRequestCache.isUnchanged(apiEndpoint, response.bodyHash())) {
+                        logger.debug("Unchanged payload: {}", apiEndpoint);
+                        return false;
+                    }
+
+                    try (InputStream body = response.openBody()) {
+                        streamingIngestionParser.parse(body, payload, StreamingIngestionParser.DEFAULT_BATCH_SIZE, batchConsumer);
+                    }
+                    conditionalRequestCache.commit(apiEndpoint, response.header(HttpHeaders.ETAG),
+                        response.header(HttpHeaders.LAST_MODIFIED), response.bodyHash());
+                    return true;
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
     }
 
     /**
-     * Scheduled task to update player statistics every hour
+     * Feed a spooled response to the rate limiter and fail the call on a server error,
+     * discarding the spool
      */
-    @Scheduled(fixedDelay = 3600000) // 1 hour
-    public void scheduledPlayerStatsUpdate() {
-        if (apiEnabled) {
-            List<League> activeLeagues = leagueRepository.findByStatus(League.LeagueStatus.ACTIVE);
-            for (League league : activeLeagues) {
-                updatePlayerStatistics(league.getId(), getCurrentSeason());
-            }
+    private IngestionHttpClient.SpooledResponse checkSpooled(String apiEndpoint, IngestionHttpClient.SpooledResponse spooled) {
+        providerRateLimiter.onResponse(provider, spooled.status(), spooled.headers());
+        try {
+            checkServerError(apiEndpoint, spooled.status());
+        } catch (IOException e) {
+            spooled.close();
+            throw new CompletionException(e);
         }
+        return spooled;
     }
 
-    private boolean canMakeApiCall(String endpoint) {
-        Long lastCall = lastApiCall.get(endpoint);
-        long currentTime = System.currentTimeMillis();
-        
-        if (lastCall == null || (currentTime - lastCall) > API_RATE_LIMIT) {
-            lastApiCall.put(endpoint, currentTime);
-            return true;
-        }
-        
-        return false;
-    }
-
-    private void processStandingsData(League league, JsonNode responseData) {
-        try {
-            JsonNode standings = responseData.get("standings");
-            if (standings != null && standings.isArray()) {
-                for (JsonNode standing : standings) {
-                    JsonNode table = standing.get("table");
-                    if (table != null && table.isArray()) {
-                        for (JsonNode teamStanding : table) {
-                            processTeamStanding(league, teamStanding);
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error processing standings data: {}", e.getMessage());
+    /**
+     * Server errors fail the call so they count against the endpoint's circuit breaker
+     */
+    private void checkServerError(String apiEndpoint, int status) throws IOException {
+        if (status >= 500) {
+            throw new IOException("HTTP " + status + " from " + apiEndpoint);
         }
     }
 
-    private void processTeamStanding(League league, JsonNode teamStandingData) {
-        try {
-            JsonNode teamNode = teamStandingData.get("team");
-            if (teamNode == null) return;
-
-            String teamName = teamNode.get("name").asText();
-            Optional<Team> teamOpt = teamRepository.findByName(teamName);
-            
-            if (teamOpt.isPresent()) {
-                Team team = teamOpt.get();
-                
-                // Update or create team standing
-                Optional<TeamStanding> standingOpt = teamStandingRepository.findByTeamAndLeague(team, league);
-                TeamStanding standing = standingOpt.orElse(new TeamStanding(team, league));
-                
-                standing.setPosition(teamStandingData.get("position").asInt());
-                standing.setMatchesPlayed(teamStandingData.get("playedGames").asInt());
-                standing.setWins(teamStandingData.get("won").asInt());
-                standing.setDraws(teamStandingData.get("draw").asInt());
-                standing.setLosses(teamStandingData.get("lost").asInt());
-                standing.setGoalsFor(teamStandingData.get("goalsFor").asInt());
-                standing.setGoalsAgainst(teamStandingData.get("goalsAgainst").asInt());
-                standing.setGoalDifference(teamStandingData.get("goalDifference").asInt());
-                standing.setPoints(teamStandingData.get("points").asInt());
-                
-                teamStandingRepository.save(standing);
-            }
-        } catch (Exception e) {
-            logger.error("Error processing team standing: {}", e.getMessage());
-        }
+    private Map<String, String> requestHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-Auth-Token", footballApiKey);
+        headers.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        return headers;
     }
 
-    private void processLiveMatchesData(JsonNode responseData) {
-        try {
-            JsonNode matches = responseData.get("matches");
-            if (matches != null && matches.isArray()) {
-                for (JsonNode matchData : matches) {
-                    processLiveMatch(matchData);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error processing live matches data: {}", e.getMessage());
+    private String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && (cause instanceof CompletionException || cause instanceof ExecutionException)) {
+            cause = cause.getCause();
         }
+        return cause.getMessage();
     }
 
-    private void processLiveMatch(JsonNode matchData) {
-        try {
-            // Extract match information
-            String homeTeamName = matchData.get("homeTeam").get("name").asText();
-            String awayTeamName = matchData.get("awayTeam").get("name").asText();
-            
-            Optional<Team> homeTeam = teamRepository.findByName(homeTeamName);
-            Optional<Team> awayTeam = teamRepository.findByName(awayTeamName);
-            
-            if (homeTeam.isPresent() && awayTeam.isPresent()) {
-                // Find existing match
-                List<Match> existingMatches = matchRepository.findByHomeTeamAndAwayTeam(homeTeam.get(), awayTeam.get());
-                
-                for (Match match : existingMatches) {
-                    // Update match score and status
-                    JsonNode score = matchData.get("score");
-                    if (score != null) {
-                        JsonNode fullTime = score.get("fullTime");
-                        if (fullTime != null) {
-                            Integer homeScore = fullTime.get("homeTeam").asInt();
-                            Integer awayScore = fullTime.get("awayTeam").asInt();
-                            
-                            match.setHomeTeamScore(homeScore);
-                            match.setAwayTeamScore(awayScore);
-                        }
-                    }
-                    
-                    String status = matchData.get("status").asText();
-                    match.setStatus(convertStatus(status));
-                    
-                    Match updatedMatch = matchRepository.save(match);
-                    
-                    // Broadcast live update
-                    liveUpdateService.broadcastMatchUpdate(updatedMatch);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error processing live match: {}", e.getMessage());
+    /**
+     * Scheduled task to update player statistics every hour
+     */
+    @Scheduled(fixedDelay = 3600000) // 1 hour
+    public void scheduledPlayerStatsUpdate() {
+        if (apiEnabled) {
+            List<League> activeLeagues = leagueRepository.findByStatus(League.LeagueStatus.ACTIVE);
+            String currentSeason = getCurrentSeason();
+            awaitAll(activeLeagues.stream()
+                .map(league -> updatePlayerStatistics(league.getId(), currentSeason))
+                .toList());
         }
     }
 
-    private void processPlayerStatisticsData(Long leagueId, String season, JsonNode responseData) {
+    /**
+     * Wait for a batch of parallel syncs so a scheduled run never overlaps the next one
+     */
+    private void awaitAll(List<CompletableFuture<Void>> syncs) {
         try {
-            Optional<League> leagueOpt = leagueRepository.findById(leagueId);
-            if (leagueOpt.isEmpty()) return;
-            
-            League league = leagueOpt.get();
-            JsonNode scorers = responseData.get("scorers");
-            
-            if (scorers != null && scorers.isArray()) {
-                for (JsonNode scorerData : scorers) {
-                    processPlayerStatistic(league, season, scorerData);
-                }
-            }
+            CompletableFuture.allOf(syncs.toArray(new CompletableFuture<?>[0])).join();
         } catch (Exception e) {
-            logger.error("Error processing player statistics data: {}", e.getMessage());
+            logger.error("Error waiting for scheduled sync batch: {}", e.getMessage());
         }
     }
 
-    private void processPlayerStatistic(League league, String season, JsonNode scorerData) {
-        try {
-            JsonNode playerNode = scorerData.get("player");
-            if (playerNode == null) return;
-            
-            String playerName = playerNode.get("name").asText();
-            String[] nameParts = playerName.split(" ", 2);
-            String firstName = nameParts.length > 0 ? nameParts[0] : "";
-            String lastName = nameParts.length > 1 ? nameParts[1] : "";
-            
-            Optional<Player> playerOpt = playerRepository.findByFirstNameAndLastName(firstName, lastName);
-            
-            if (playerOpt.isPresent()) {
-                Player player = playerOpt.get();
-                
-                // Update or create player statistics
-                Optional<PlayerStatistics> statsOpt = playerStatisticsRepository
-                    .findByPlayerAndLeagueAndSeasonAndIsActiveTrue(player, league, season);
-                
-                PlayerStatistics stats = statsOpt.orElse(new PlayerStatistics(player, league, season));
-                
-                stats.setGoals(scorerData.get("numberOfGoals").asInt());
-                stats.setAppearances(scorerData.has("appearances") ? scorerData.get("appearances").asInt() : stats.getAppearances());
-                
-                PlayerStatistics savedStats = playerStatisticsRepository.save(stats);
-                
-                // Broadcast stats update
-                liveUpdateService.broadcastPlayerStatsUpdate(savedStats);
-            }
-        } catch (Exception e) {
-            logger.error("Error processing player statistic: {}", e.getMessage());
+    private void processStandings(League league, List<IngestionCommand.StandingUpsert> rows) {
+        // One broadcast per batch that actually changed the table
+        if (bulkUpsertService.upsertStandings(league, rows) > 0) {
+            standingsEngine.reload(league.getId());
         }
     }
 
-    private void processTeamData(JsonNode responseData) {
-        try {
-            JsonNode teams = responseData.get("teams");
-            if (teams != null && teams.isArray()) {
-                for (JsonNode teamData : teams) {
-                    processTeam(teamData);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error processing team data: {}", e.getMessage());
-        }
+    /**
+     * Provider competition ID for a league, falling back to the internal ID when no mapping exists
+     */
+    private long competitionId(Long leagueId) {
+        long competitionId = externalIdResolver.externalId(ExternalIdMapping.EntityType.LEAGUE, leagueId);
+        return competitionId != ExternalIdResolver.UNMAPPED ? competitionId : leagueId;
     }
 
-    private void processTeam(JsonNode teamData) {
-        try {
-            String teamName = teamData.get("name").asText();
-            Optional<Team> teamOpt = teamRepository.findByName(teamName);
-            
-            if (teamOpt.isPresent()) {
-                Team team = teamOpt.get();
-                
-                // Update team information
-                if (teamData.has("shortName")) {
-                    team.setShortName(teamData.get("shortName").asText());
-                }
-                if (teamData.has("crestUrl")) {
-                    team.setLogoUrl(teamData.get("crestUrl").asText());
-                }
-                if (teamData.has("founded")) {
-                    team.setFoundedYear(teamData.get("founded").asInt());
-                }
-                if (teamData.has("venue")) {
-                    team.setStadiumName(teamData.get("venue").asText());
-                }
-                if (teamData.has("website")) {
-                    team.setWebsite(teamData.get("website").asText());
-                }
-                
-                teamRepository.save(team);
-            }
-        } catch (Exception e) {
-            logger.error("Error processing team: {}", e.getMessage());
+    private void processPlayerStatistics(League league, String season, List<IngestionCommand.ScorerUpsert> scorers) {
+        List<PlayerStatistics> changed = bulkUpsertService.upsertPlayerStatistics(league, season, scorers);
+        if (!changed.isEmpty()) {
+            predictionService.invalidatePlayerIndexes();
         }
+        liveUpdateService.broadcastPlayerStatsBatch(league.getId(), season, changed);
     }
 
-    private Match.MatchStatus convertStatus(String externalStatus) {
-        switch (externalStatus.toUpperCase()) {
-            case "LIVE":
-            case "IN_PLAY":
-                return Match.MatchStatus.LIVE;
-            case "FINISHED":
-            case "FULL_TIME":
-                return Match.MatchStatus.COMPLETED;
-            case "SCHEDULED":
-            case "TIMED":
-                return Match.MatchStatus.SCHEDULED;
-            case "CANCELLED":
-                return Match.MatchStatus.CANCELLED;
-            case "POSTPONED":
-                return Match.MatchStatus.POSTPONED;
-            default:
-                return Match.MatchStatus.SCHEDULED;
-        }
+    private void processTeams(List<IngestionCommand.TeamUpsert> teams) {
+        bulkUpsertService.upsertTeams(teams);
     }
 
     private String getCurrentSeason() {
@@ -539,17 +409,27 @@ public class ExternalApiService {
         List<League> activeLeagues = leagueRepository.findByStatus(League.LeagueStatus.ACTIVE);
         String currentSeason = getCurrentSeason();
         
+        List<CompletableFuture<Void>> syncs = new ArrayList<>();
         for (League league : activeLeagues) {
-            updateLeagueStandings(league.getId());
-            updatePlayerStatistics(league.getId(), currentSeason);
-            updateTeamInformation(league.getId());
+            syncs.add(updateLeagueStandings(league.getId()));
+            syncs.add(updatePlayerStatistics(league.getId(), currentSeason));
+            syncs.add(updateTeamInformation(league.getId()));
         }
         
-        updateLiveMatches();
+        syncs.add(updateLiveMatches());
+        awaitAll(syncs);
         
         logger.info("Manual data synchronization completed");
     }
 
+    public boolean isEnabled() {
+        return apiEnabled && !footballApiKey.isEmpty();
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
     /**
      * Get API status and statistics
      */
@@ -558,8 +438,12 @@ public class ExternalApiService {
         status.put("enabled", apiEnabled);
         status.put("hasApiKey", !footballApiKey.isEmpty());
         status.put("apiUrl", footballApiUrl);
-        status.put("lastApiCalls", lastApiCall.size());
-        status.put("rateLimitMs", API_RATE_LIMIT);
+        status.put("rateLimiter", providerRateLimiter.getStats());
+        status.put("httpClient", ingestionHttpClient.getStats());
+        status.put("conditionalPolling", conditionalRequestCache.getStats());
+        status.put("bulkUpsert", bulkUpsertService.getStats());
+        status.put("liveIngestion", liveMatchIngestionService.getStats());
+        status.put("idMappings", externalIdResolver.getStats());
         
         return status;
     }
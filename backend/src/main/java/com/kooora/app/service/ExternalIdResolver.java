@@ -0,0 +1,235 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.ExternalIdMapping;
+import com.kooora.app.entity.ExternalIdMapping.EntityType;
+import com.kooora.app.repository.ExternalIdMappingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Resolver between data provider IDs and internal IDs.
+ * Mappings are persisted in the external_id_mappings table, loaded into one
+ * bidirectional primitive long map per entity type at startup and updated whenever
+ * a new mapping is committed, so ingestion resolves every row in O(1) without a query.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class ExternalIdResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalIdResolver.class);
+
+    /**
+     * Returned when no mapping exists
+     */
+    public static final long UNMAPPED = LongLongTable.MISSING;
+
+    @Autowired
+    private ExternalIdMappingRepository externalIdMappingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${external.api.football.provider:football-data}")
+    private String provider;
+
+    private final Map<EntityType, LongBiMap> maps = new EnumMap<>(EntityType.class);
+
+    public ExternalIdResolver() {
+        for (EntityType type : EntityType.values()) {
+            maps.put(type, new LongBiMap());
+        }
+    }
+
+    /**
+     * Load all mappings once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Reload all mappings of the provider in a single streamed pass
+     */
+    public void reload() {
+        try {
+            Map<EntityType, LongBiMap> loaded = new EnumMap<>(EntityType.class);
+            for (EntityType type : EntityType.values()) {
+                loaded.put(type, new LongBiMap());
+            }
+
+            Long count = transactionTemplate.execute(status -> {
+                long rows = 0;
+                try (Stream<Object[]> mappings = externalIdMappingRepository.streamByProvider(provider)) {
+                    Iterator<Object[]> iterator = mappings.iterator();
+                    while (iterator.hasNext()) {
+                        Object[] row = iterator.next();
+                        loaded.get((EntityType) row[0]).put((Long) row[1], (Long) row[2]);
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+
+            for (EntityType type : EntityType.values()) {
+                maps.get(type).replaceWith(loaded.get(type));
+            }
+            logger.info("Loaded {} external ID mappings for provider {}", count, provider);
+        } catch (Exception e) {
+            logger.error("Error loading external ID mappings: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Internal ID for a provider ID, or {@link #UNMAPPED}
+     */
+    public long resolve(EntityType type, Long externalId) {
+        return externalId != null ? maps.get(type).getInternal(externalId) : UNMAPPED;
+    }
+
+    /**
+     * Provider ID for an internal ID, or {@link #UNMAPPED}
+     */
+    public long externalId(EntityType type, Long internalId) {
+        return internalId != null ? maps.get(type).getExternal(internalId) : UNMAPPED;
+    }
+
+    /**
+     * Persist a single mapping
+     */
+    @Transactional
+    public void register(EntityType type, long externalId, long internalId) {
+        registerAll(type, Map.of(externalId, internalId));
+    }
+
+    /**
+     * Persist provider → internal mappings, replacing any conflicting pairs.
+     * The in-memory maps are updated once the surrounding transaction commits.
+     */
+    @Transactional
+    public void registerAll(EntityType type, Map<Long, Long> externalToInternal) {
+        LongBiMap map = maps.get(type);
+        Map<Long, Long> changed = new HashMap<>();
+        externalToInternal.forEach((externalId, internalId) -> {
+            if (map.getInternal(externalId) != internalId) {
+                changed.put(externalId, internalId);
+            }
+        });
+        if (changed.isEmpty()) return;
+
+        externalIdMappingRepository.deleteConflicting(provider, type, changed.keySet(), changed.values());
+        List<ExternalIdMapping> rows = new ArrayList<>(changed.size());
+        changed.forEach((externalId, internalId) ->
+            rows.add(new ExternalIdMapping(provider, type, externalId, internalId)));
+        externalIdMappingRepository.saveAll(rows);
+
+        Runnable publish = () -> changed.forEach(map::put);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+        logger.debug("Registered {} {} mappings for provider {}", changed.size(), type, provider);
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * Get resolver statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("provider", provider);
+        Map<String, Integer> sizes = new HashMap<>();
+        maps.forEach((type, map) -> sizes.put(type.name().toLowerCase(Locale.ROOT), map.size()));
+        stats.put("mappings", sizes);
+        return stats;
+    }
+
+    /**
+     * Bidirectional long ↔ long map built from two open-addressing tables with
+     * linear probing. One mapping per key on each side: putting a pair evicts any
+     * previous pair sharing either ID. Reads take a shared lock.
+     */
+    static final class LongBiMap {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private LongLongTable forward = new LongLongTable(16);
+        private LongLongTable reverse = new LongLongTable(16);
+
+        long getInternal(long externalId) {
+            lock.readLock().lock();
+            try {
+                return forward.get(externalId);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long getExternal(long internalId) {
+            lock.readLock().lock();
+            try {
+                return reverse.get(internalId);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(long externalId, long internalId) {
+            lock.writeLock().lock();
+            try {
+                long previousInternal = forward.remove(externalId);
+                if (previousInternal != UNMAPPED) reverse.remove(previousInternal);
+                long previousExternal = reverse.remove(internalId);
+                if (previousExternal != UNMAPPED) forward.remove(previousExternal);
+
+                forward.put(externalId, internalId);
+                reverse.put(internalId, externalId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void replaceWith(LongBiMap other) {
+            lock.writeLock().lock();
+            try {
+                forward = other.forward;
+                reverse = other.reverse;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return forward.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
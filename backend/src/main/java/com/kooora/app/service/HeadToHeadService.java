@@ -0,0 +1,298 @@
+package com.kooora.app.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Head-to-head index keyed by the unordered team pair.
+ * Each pair keeps compact, chronologically ordered result records, so the last N
+ * meetings are read in O(N) without querying both fixture directions.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class HeadToHeadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadToHeadService.class);
+
+    @Autowired
+    private MatchHistoryScanner matchHistoryScanner;
+
+    private volatile Map<Long, PairHistory> index = new ConcurrentHashMap<>();
+
+    // Rebuilds in progress; matches completing meanwhile are replayed onto them
+    private final List<Rebuild> rebuilds = new ArrayList<>();
+
+    /**
+     * Build the index in the shared startup pass over the match history
+     */
+    @PostConstruct
+    public void init() {
+        matchHistoryScanner.registerForStartup(this::newRebuild);
+    }
+
+    /**
+     * Rebuild the index from all final results in a single streamed pass
+     */
+    public void rebuild() {
+        try {
+            matchHistoryScanner.scan(List.of(newRebuild()));
+        } catch (Exception e) {
+            logger.error("Error building head-to-head index: {}", e.getMessage());
+        }
+    }
+
+    Rebuild newRebuild() {
+        Rebuild rebuild = new Rebuild();
+        synchronized (rebuilds) {
+            rebuilds.add(rebuild);
+        }
+        return rebuild;
+    }
+
+    /**
+     * An index being rebuilt from the match history, swapped in once the pass completes
+     */
+    final class Rebuild implements MatchHistoryScanner.Sink {
+
+        private final Map<Long, PairHistory> rebuilt = new ConcurrentHashMap<>();
+        private final List<MatchCompletedEvent> completedMeanwhile = new ArrayList<>();
+
+        @Override
+        public void accept(long matchId, Long leagueId, Long homeTeamId, Long awayTeamId,
+                           int homeScore, int awayScore, LocalDateTime matchDate) {
+            add(rebuilt, matchId, homeTeamId, awayTeamId, homeScore, awayScore, matchDate);
+        }
+
+        @Override
+        public void complete(long processed) {
+            synchronized (rebuilds) {
+                // Matches the pass already saw replace their own records
+                for (MatchCompletedEvent event : completedMeanwhile) {
+                    add(rebuilt, event);
+                }
+                rebuilds.remove(this);
+                index = rebuilt;
+            }
+            logger.info("Built head-to-head index for {} team pairs from {} matches", rebuilt.size(), processed);
+        }
+
+        @Override
+        public void abort() {
+            synchronized (rebuilds) {
+                rebuilds.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Add a completed match to the index, and to any rebuild in progress, once the
+     * transaction that completed it has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        try {
+            synchronized (rebuilds) {
+                for (Rebuild rebuild : rebuilds) {
+                    rebuild.completedMeanwhile.add(event);
+                }
+                add(index, event);
+            }
+        } catch (Exception e) {
+            logger.error("Error indexing head-to-head result for match {}: {}", event.getMatchId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Get the last N meetings between two teams, most recent first, from team A's perspective
+     */
+    public List<Meeting> getLastMeetings(Long teamAId, Long teamBId, int limit) {
+        PairHistory history = index.get(pairKey(teamAId, teamBId));
+        if (history == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return history.lastMeetings(teamAId < teamBId, limit);
+    }
+
+    /**
+     * Get a head-to-head summary and the last N meetings between two teams
+     */
+    public Map<String, Object> getHeadToHead(Long teamAId, Long teamBId, int limit) {
+        List<Meeting> meetings = getLastMeetings(teamAId, teamBId, limit);
+
+        int teamAWins = 0, draws = 0, teamBWins = 0, teamAGoals = 0, teamBGoals = 0;
+        List<Map<String, Object>> matches = new ArrayList<>();
+
+        for (Meeting meeting : meetings) {
+            teamAGoals += meeting.goalsFor();
+            teamBGoals += meeting.goalsAgainst();
+            if (meeting.goalsFor() > meeting.goalsAgainst()) teamAWins++;
+            else if (meeting.goalsFor() == meeting.goalsAgainst()) draws++;
+            else teamBWins++;
+
+            Map<String, Object> match = new HashMap<>();
+            match.put("matchId", meeting.matchId());
+            match.put("matchDate", meeting.matchDate());
+            match.put("homeTeamId", meeting.home() ? teamAId : teamBId);
+            match.put("awayTeamId", meeting.home() ? teamBId : teamAId);
+            match.put("homeScore", meeting.home() ? meeting.goalsFor() : meeting.goalsAgainst());
+            match.put("awayScore", meeting.home() ? meeting.goalsAgainst() : meeting.goalsFor());
+            matches.add(match);
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("meetings", meetings.size());
+        summary.put("teamAWins", teamAWins);
+        summary.put("draws", draws);
+        summary.put("teamBWins", teamBWins);
+        summary.put("teamAGoals", teamAGoals);
+        summary.put("teamBGoals", teamBGoals);
+
+        Map<String, Object> headToHead = new HashMap<>();
+        headToHead.put("teamAId", teamAId);
+        headToHead.put("teamBId", teamBId);
+        headToHead.put("summary", summary);
+        headToHead.put("matches", matches);
+        return headToHead;
+    }
+
+    public int getIndexedPairCount() {
+        return index.size();
+    }
+
+    private static void add(Map<Long, PairHistory> target, MatchCompletedEvent event) {
+        add(target, event.getMatchId(), event.getHomeTeamId(), event.getAwayTeamId(),
+            event.getHomeScore(), event.getAwayScore(), event.getMatchDate());
+    }
+
+    private static void add(Map<Long, PairHistory> target, Long matchId, Long homeTeamId, Long awayTeamId,
+                            int homeScore, int awayScore, LocalDateTime matchDate) {
+        if (homeTeamId == null || awayTeamId == null || homeTeamId.equals(awayTeamId)) return;
+
+        boolean lowIsHome = homeTeamId < awayTeamId;
+        int lowGoals = lowIsHome ? homeScore : awayScore;
+        int highGoals = lowIsHome ? awayScore : homeScore;
+        long kickoff = matchDate != null ? matchDate.toEpochSecond(ZoneOffset.UTC) : 0L;
+
+        target.computeIfAbsent(pairKey(homeTeamId, awayTeamId), key -> new PairHistory())
+            .insert(matchId != null ? matchId : 0L, kickoff, PairHistory.pack(lowGoals, highGoals, lowIsHome));
+    }
+
+    /**
+     * Unordered pair key: lower team ID in the high 32 bits
+     */
+    static long pairKey(long teamAId, long teamBId) {
+        long low = Math.min(teamAId, teamBId);
+        long high = Math.max(teamAId, teamBId);
+        return (low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A single meeting seen from one team's perspective
+     */
+    public record Meeting(long matchId, LocalDateTime matchDate, boolean home, int goalsFor, int goalsAgainst) {
+    }
+
+    /**
+     * Chronological results for one team pair stored in parallel primitive arrays.
+     * Results are packed as [lowGoals:8][highGoals:8][lowIsHome:1] from the lower team ID's side.
+     */
+    static final class PairHistory {
+        private long[] matchIds = new long[4];
+        private long[] kickoffs = new long[4];
+        private int[] results = new int[4];
+        private int size;
+
+        static int pack(int lowGoals, int highGoals, boolean lowIsHome) {
+            return (Math.min(lowGoals, 0xFF) << 9) | (Math.min(highGoals, 0xFF) << 1) | (lowIsHome ? 1 : 0);
+        }
+
+        /**
+         * Insert a result in kickoff order. A match already held is updated in place, or
+         * moved if its kickoff changed; match ID 0 marks results without an ID.
+         */
+        synchronized void insert(long matchId, long kickoff, int result) {
+            int existing = matchId != 0L ? indexOf(matchId) : -1;
+            if (existing >= 0) {
+                if (kickoffs[existing] == kickoff) {
+                    results[existing] = result;
+                    return;
+                }
+                remove(existing);
+            }
+
+            // Results nearly always arrive in order, so scan back from the end
+            int position = size;
+            while (position > 0 && kickoffs[position - 1] > kickoff) {
+                position--;
+            }
+
+            if (size == kickoffs.length) {
+                int capacity = size * 2;
+                matchIds = Arrays.copyOf(matchIds, capacity);
+                kickoffs = Arrays.copyOf(kickoffs, capacity);
+                results = Arrays.copyOf(results, capacity);
+            }
+
+            int tail = size - position;
+            System.arraycopy(matchIds, position, matchIds, position + 1, tail);
+            System.arraycopy(kickoffs, position, kickoffs, position + 1, tail);
+            System.arraycopy(results, position, results, position + 1, tail);
+
+            matchIds[position] = matchId;
+            kickoffs[position] = kickoff;
+            results[position] = result;
+            size++;
+        }
+
+        private int indexOf(long matchId) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (matchIds[i] == matchId) return i;
+            }
+            return -1;
+        }
+
+        private void remove(int position) {
+            int tail = size - position - 1;
+            System.arraycopy(matchIds, position + 1, matchIds, position, tail);
+            System.arraycopy(kickoffs, position + 1, kickoffs, position, tail);
+            System.arraycopy(results, position + 1, results, position, tail);
+            size--;
+        }
+
+        synchronized List<Meeting> lastMeetings(boolean fromLowSide, int limit) {
+            int count = Math.min(limit, size);
+            List<Meeting> meetings = new ArrayList<>(count);
+
+            for (int i = size - 1; i >= size - count; i--) {
+                int result = results[i];
+                int lowGoals = (result >>> 9) & 0xFF;
+                int highGoals = (result >>> 1) & 0xFF;
+                boolean lowIsHome = (result & 1) == 1;
+
+                meetings.add(new Meeting(
+                    matchIds[i],
+                    kickoffs[i] != 0L ? LocalDateTime.ofEpochSecond(kickoffs[i], 0, ZoneOffset.UTC) : null,
+                    fromLowSide == lowIsHome,
+                    fromLowSide ? lowGoals : highGoals,
+                    fromLowSide ? highGoals : lowGoals));
+            }
+            return meetings;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.MatchEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-play win probability model for live matches.
+ * Pre-match expected goals are computed once per match and cached; every event then
+ * rescales the remaining scoring rates by time left and red cards and recomputes
+ * win/draw/loss from two truncated Poisson distributions, which is pure arithmetic.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class InPlayProbabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InPlayProbabilityService.class);
+
+    private static final double REGULATION_MINUTES = 90.0;
+    private static final int MAX_REMAINING_GOALS = 10;
+    private static final int MAX_RED_CARDS = 4;
+
+    // Scoring rate multipliers per man down / man up
+    private static final double RED_CARD_ATTACK_PENALTY = 0.7;
+    private static final double RED_CARD_ATTACK_BONUS = 1.2;
+
+    @Autowired
+    private PredictionService predictionService;
+
+    private final Map<Long, InPlayState> liveStates = new ConcurrentHashMap<>();
+
+    /**
+     * Apply a saved match event and return the updated win probabilities
+     */
+    public Map<String, Double> onMatchEvent(MatchEvent event, Match match) {
+        try {
+            InPlayState state = stateFor(match);
+            synchronized (state) {
+                state.minute = Math.max(state.minute, event.getMinute());
+
+                boolean homeSide = Boolean.TRUE.equals(event.getIsHomeTeam()) ||
+                    (event.getIsHomeTeam() == null && event.getTeam() != null &&
+                        event.getTeam().getId().equals(match.getHomeTeam().getId()));
+
+                if (event.getHomeScore() != null && event.getAwayScore() != null) {
+                    state.homeScore = event.getHomeScore();
+                    state.awayScore = event.getAwayScore();
+                } else if (event.isScoringEvent()) {
+                    // Own goals are recorded against the conceding team
+                    boolean homeScored = event.getEventType() == MatchEvent.EventType.OWN_GOAL ? !homeSide : homeSide;
+                    if (homeScored) state.homeScore++; else state.awayScore++;
+                }
+
+                if (event.getEventType() == MatchEvent.EventType.RED_CARD) {
+                    if (homeSide) state.homeReds = Math.min(state.homeReds + 1, MAX_RED_CARDS);
+                    else state.awayReds = Math.min(state.awayReds + 1, MAX_RED_CARDS);
+                }
+
+                return state.recompute();
+            }
+        } catch (Exception e) {
+            logger.error("Error updating in-play probability for match {}: {}", match.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Apply a score update from an external feed and return the updated win probabilities
+     */
+    public Map<String, Double> onScoreUpdate(Match match, Integer minute) {
+        try {
+            InPlayState state = stateFor(match);
+            synchronized (state) {
+                int currentMinute = minute != null ? minute : estimateMinute(match.getMatchDate());
+                state.minute = Math.max(state.minute, currentMinute);
+                state.homeScore = match.getHomeTeamScore() != null ? match.getHomeTeamScore() : 0;
+                state.awayScore = match.getAwayTeamScore() != null ? match.getAwayTeamScore() : 0;
+                return state.recompute();
+            }
+        } catch (Exception e) {
+            logger.error("Error updating in-play probability for match {}: {}", match.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the latest in-play win probabilities for a match, if it is being tracked
+     */
+    public Map<String, Object> getLiveProbability(Long matchId) {
+        InPlayState state = liveStates.get(matchId);
+        if (state == null) {
+            return null;
+        }
+
+        synchronized (state) {
+            Map<String, Object> live = new HashMap<>();
+            live.put("matchId", matchId);
+            live.put("minute", state.minute);
+            live.put("homeScore", state.homeScore);
+            live.put("awayScore", state.awayScore);
+            live.put("homeRedCards", state.homeReds);
+            live.put("awayRedCards", state.awayReds);
+            live.put("expectedGoals", Map.of("home", state.homeExpectedGoals, "away", state.awayExpectedGoals));
+            live.put("winProbability", state.lastProbability);
+            return live;
+        }
+    }
+
+    /**
+     * Stop tracking a match once it has finished
+     */
+    @EventListener
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        liveStates.remove(event.getMatchId());
+    }
+
+    /**
+     * Stop tracking a match that is no longer live, e.g. cancelled, postponed or reset
+     */
+    @EventListener
+    public void onMatchScoreChanged(MatchScoreChangedEvent event) {
+        if (!event.isLive()) {
+            liveStates.remove(event.getMatchId());
+        }
+    }
+
+    public int getTrackedMatchCount() {
+        return liveStates.size();
+    }
+
+    /**
+     * The match's state, seeded on first use. Expected goals come from repository queries,
+     * so they are computed outside the map: a concurrent first event may compute them
+     * twice, but no other match waits on the map while they load.
+     */
+    private InPlayState stateFor(Match match) {
+        InPlayState existing = liveStates.get(match.getId());
+        if (existing != null) {
+            return existing;
+        }
+
+        double[] expectedGoals = predictionService.getExpectedGoals(match.getHomeTeam(), match.getAwayTeam());
+        InPlayState state = new InPlayState(expectedGoals[0], expectedGoals[1]);
+        state.homeScore = match.getHomeTeamScore() != null ? match.getHomeTeamScore() : 0;
+        state.awayScore = match.getAwayTeamScore() != null ? match.getAwayTeamScore() : 0;
+        InPlayState raced = liveStates.putIfAbsent(match.getId(), state);
+        return raced != null ? raced : state;
+    }
+
+    /**
+     * Estimate the match minute from kick-off, allowing 15 minutes for half-time
+     */
+    static int estimateMinute(LocalDateTime kickoff) {
+        if (kickoff == null) return 0;
+        long elapsed = Duration.between(kickoff, LocalDateTime.now()).toMinutes();
+        if (elapsed <= 45) return (int) Math.max(0, elapsed);
+        if (elapsed <= 60) return 45;
+        return (int) Math.min(REGULATION_MINUTES, elapsed - 15);
+    }
+
+    /**
+     * Compute home win, draw and away win probabilities for the rest of the match.
+     * Returns {homeWin, draw, awayWin}.
+     */
+    static double[] winProbabilities(double homeExpectedGoals, double awayExpectedGoals, int minute,
+                                     int homeScore, int awayScore, int homeReds, int awayReds) {
+        double remaining = Math.max(0.0, REGULATION_MINUTES - minute) / REGULATION_MINUTES;
+        double homeRate = homeExpectedGoals * remaining * redCardFactor(homeReds, awayReds);
+        double awayRate = awayExpectedGoals * remaining * redCardFactor(awayReds, homeReds);
+
+        double[] homePmf = poissonPmf(homeRate);
+        double[] awayPmf = poissonPmf(awayRate);
+
+        int lead = homeScore - awayScore;
+        double homeWin = 0.0, draw = 0.0, awayWin = 0.0;
+
+        for (int h = 0; h <= MAX_REMAINING_GOALS; h++) {
+            if (homePmf[h] == 0.0) continue;
+            for (int a = 0; a <= MAX_REMAINING_GOALS; a++) {
+                double p = homePmf[h] * awayPmf[a];
+                int finalLead = lead + h - a;
+                if (finalLead > 0) homeWin += p;
+                else if (finalLead == 0) draw += p;
+                else awayWin += p;
+            }
+        }
+
+        double total = homeWin + draw + awayWin;
+        return new double[] {homeWin / total, draw / total, awayWin / total};
+    }
+
+    private static double redCardFactor(int ownReds, int opponentReds) {
+        double factor = 1.0;
+        for (int i = 0; i < ownReds; i++) factor *= RED_CARD_ATTACK_PENALTY;
+        for (int i = 0; i < opponentReds; i++) factor *= RED_CARD_ATTACK_BONUS;
+        return factor;
+    }
+
+    private static double[] poissonPmf(double lambda) {
+        double[] pmf = new double[MAX_REMAINING_GOALS + 1];
+        pmf[0] = Math.exp(-lambda);
+        for (int k = 1; k <= MAX_REMAINING_GOALS; k++) {
+            pmf[k] = pmf[k - 1] * lambda / k;
+        }
+        return pmf;
+    }
+
+    /**
+     * Live state for a single match
+     */
+    private static final class InPlayState {
+        final double homeExpectedGoals;
+        final double awayExpectedGoals;
+        int minute;
+        int homeScore;
+        int awayScore;
+        int homeReds;
+        int awayReds;
+        Map<String, Double> lastProbability;
+
+        InPlayState(double homeExpectedGoals, double awayExpectedGoals) {
+            this.homeExpectedGoals = homeExpectedGoals;
+            this.awayExpectedGoals = awayExpectedGoals;
+        }
+
+        Map<String, Double> recompute() {
+            double[] p = winProbabilities(homeExpectedGoals, awayExpectedGoals, minute,
+                homeScore, awayScore, homeReds, awayReds);
+            lastProbability = Map.of(
+                "homeWin", Math.round(p[0] * 10000.0) / 10000.0,
+                "draw", Math.round(p[1] * 10000.0) / 10000.0,
+                "awayWin", Math.round(p[2] * 10000.0) / 10000.0
+            );
+            return lastProbability;
+        }
+    }
+}
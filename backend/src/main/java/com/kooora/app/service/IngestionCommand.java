@@ -0,0 +1,42 @@
+package com.kooora.app.service;
+
+/**
+ * Upsert commands mapped from external provider payloads.
+ * Each command carries only the fields the ingestion layer persists, so payload
+ * entries can be discarded as soon as they are mapped.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public sealed interface IngestionCommand {
+
+    /**
+     * One row of a competition table
+     */
+    record StandingUpsert(Long teamExternalId, String teamName, int position, int playedGames,
+                          int won, int draw, int lost, int goalsFor, int goalsAgainst,
+                          int goalDifference, int points) implements IngestionCommand {
+    }
+
+    /**
+     * One entry of a competition's top scorers
+     */
+    record ScorerUpsert(Long playerExternalId, String playerName, Long teamExternalId,
+                        int goals, Integer assists, Integer appearances) implements IngestionCommand {
+    }
+
+    /**
+     * Team details
+     */
+    record TeamUpsert(Long externalId, String name, String shortName, String crestUrl,
+                      Integer founded, String venue, String website) implements IngestionCommand {
+    }
+
+    /**
+     * Match score and status
+     */
+    record MatchUpsert(Long externalId, Long homeTeamExternalId, String homeTeamName,
+                       Long awayTeamExternalId, String awayTeamName, String status,
+                       Integer homeScore, Integer awayScore, Integer minute, String utcDate) implements IngestionCommand {
+    }
+}
@@ -0,0 +1,276 @@
+package com.kooora.app.service;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous HTTP client for external data ingestion.
+ * Blocking I/O runs on virtual threads over a pooled keep-alive connection manager,
+ * so many league syncs proceed in parallel while per-host semaphores cap the load
+ * on each provider and every request carries a hard deadline for its response.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class IngestionHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionHttpClient.class);
+
+    @Autowired
+    private CloseableHttpClient externalApiHttpClient;
+
+    @Autowired
+    @Qualifier("ingestionExecutor")
+    private ExecutorService ingestionExecutor;
+
+    @Value("${external.api.http.max-concurrent-per-host:4}")
+    private int maxConcurrentPerHost;
+
+    @Value("${external.api.http.deadline-ms:30000}")
+    private long deadlineMs;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * Handles a response body as it arrives; the stream is closed by the client
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(int status, Map<String, String> headers, InputStream body) throws IOException;
+    }
+
+    /**
+     * Buffered response from an ingestion request
+     */
+    public record IngestionResponse(int status, Map<String, String> headers, String body) {
+
+        public boolean isOk() {
+            return status == 200;
+        }
+
+        public String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Response whose body was spooled to a temporary file while its hash was computed.
+     * Closing it deletes the file.
+     */
+    public record SpooledResponse(int status, Map<String, String> headers, Path bodyFile, byte[] bodyHash)
+            implements AutoCloseable {
+
+        public boolean isOk() {
+            return status == 200;
+        }
+
+        public String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        public InputStream openBody() throws IOException {
+            return new BufferedInputStream(Files.newInputStream(bodyFile));
+        }
+
+        @Override
+        public void close() {
+            if (bodyFile == null) return;
+            try {
+                Files.deleteIfExists(bodyFile);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled response {}: {}", bodyFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * GET a URL, spooling the body to disk and hashing it on the way, so large payloads
+     * can be compared and parsed without being held in memory
+     */
+    public CompletableFuture<SpooledResponse> getSpooled(String url, Map<String, String> headers) {
+        return getSpooled(url, headers, deadlineMs);
+    }
+
+    /**
+     * GET a URL and spool the body to disk, with response headers due within {@code deadlineMs}
+     */
+    public CompletableFuture<SpooledResponse> getSpooled(String url, Map<String, String> headers, long deadlineMs) {
+        return get(url, headers, (status, responseHeaders, body) -> {
+            if (body == null || status != 200) {
+                return new SpooledResponse(status, responseHeaders, null, null);
+            }
+
+            Path file = Files.createTempFile("ingestion-", ".json");
+            MessageDigest digest = ConditionalRequestCache.newDigest();
+            try (OutputStream out = Files.newOutputStream(file)) {
+                new DigestInputStream(body, digest).transferTo(out);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new SpooledResponse(status, responseHeaders, file, digest.digest());
+        }, deadlineMs);
+    }
+
+    /**
+     * GET a URL and buffer the body as a string
+     */
+    public CompletableFuture<IngestionResponse> get(String url, Map<String, String> headers) {
+        return get(url, headers, (status, responseHeaders, body) -> new IngestionResponse(status, responseHeaders,
+            body != null ? new String(body.readAllBytes(), StandardCharsets.UTF_8) : null));
+    }
+
+    /**
+     * GET a URL and process the body with the given handler, within the default deadline
+     */
+    public <T> CompletableFuture<T> get(String url, Map<String, String> headers, ResponseHandler<T> handler) {
+        return get(url, headers, handler, deadlineMs);
+    }
+
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    /**
+     * GET a URL and process the body with the given handler. The deadline covers waiting
+     * for a host permit, connecting and receiving the response headers; once the handler
+     * runs, reading the body and whatever the handler does with it are bounded only by
+     * the socket timeout, so a slow consumer is never cancelled half way through.
+     */
+    public <T> CompletableFuture<T> get(String url, Map<String, String> headers, ResponseHandler<T> handler,
+                                        long deadlineMillis) {
+        HttpGet request = new HttpGet(url);
+        headers.forEach(request::setHeader);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        CompletableFuture<Void> responded = new CompletableFuture<>();
+        responded
+            .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+            .exceptionally(error -> {
+                // Abort the exchange so the connection and permit are released
+                timeoutCount.incrementAndGet();
+                request.cancel();
+                logger.warn("Ingestion request exceeded {} ms deadline: {}", deadlineMillis, url);
+                return null;
+            });
+
+        return CompletableFuture.supplyAsync(() -> execute(request, handler, deadline, responded), ingestionExecutor);
+    }
+
+    private <T> T execute(HttpGet request, ResponseHandler<T> handler, long deadline,
+                          CompletableFuture<Void> responded) {
+        Semaphore permits = hostPermits.computeIfAbsent(hostOf(request),
+            host -> new Semaphore(maxConcurrentPerHost, true));
+        boolean acquired = false;
+
+        try {
+            long waitNanos = deadline - System.nanoTime();
+            acquired = waitNanos > 0 && permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                timeoutCount.incrementAndGet();
+                throw new CompletionException(new TimeoutException("Timed out waiting for host permit: " + request.getRequestUri()));
+            }
+
+            requestCount.incrementAndGet();
+            return externalApiHttpClient.execute(request, response -> {
+                // Headers are in; past this point the deadline no longer applies
+                if (!responded.complete(null)) {
+                    throw new CompletionException(deadlineExceeded(request));
+                }
+
+                Map<String, String> responseHeaders = new HashMap<>();
+                for (Header header : response.getHeaders()) {
+                    responseHeaders.put(header.getName().toLowerCase(Locale.ROOT), header.getValue());
+                }
+
+                HttpEntity entity = response.getEntity();
+                try (InputStream body = entity != null ? entity.getContent() : null) {
+                    return handler.handle(response.getCode(), responseHeaders, body);
+                } finally {
+                    EntityUtils.consumeQuietly(entity);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failureCount.incrementAndGet();
+            throw new CompletionException(e);
+        } catch (IOException e) {
+            failureCount.incrementAndGet();
+            // An exchange aborted at the deadline fails as a timeout, not as an I/O error
+            throw new CompletionException(responded.isCompletedExceptionally() ? deadlineExceeded(request) : e);
+        } catch (RuntimeException e) {
+            // Aborting a connection lease surfaces as an unchecked cancellation
+            if (responded.isCompletedExceptionally()) {
+                failureCount.incrementAndGet();
+                throw new CompletionException(deadlineExceeded(request));
+            }
+            throw e;
+        } finally {
+            // Stop the deadline timer for requests that failed before any response
+            responded.complete(null);
+            if (acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    private static TimeoutException deadlineExceeded(HttpGet request) {
+        return new TimeoutException("Deadline exceeded before response: " + request.getRequestUri());
+    }
+
+    private String hostOf(HttpGet request) {
+        try {
+            URI uri = request.getUri();
+            return uri.getHost() + ":" + uri.getPort();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Get client statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requests", requestCount.get());
+        stats.put("failures", failureCount.get());
+        stats.put("timeouts", timeoutCount.get());
+        stats.put("maxConcurrentPerHost", maxConcurrentPerHost);
+        stats.put("deadlineMs", deadlineMs);
+
+        Map<String, Integer> inFlight = new HashMap<>();
+        hostPermits.forEach((host, permits) -> inFlight.put(host, maxConcurrentPerHost - permits.availablePermits()));
+        stats.put("inFlightByHost", inFlight);
+        return stats;
+    }
+}
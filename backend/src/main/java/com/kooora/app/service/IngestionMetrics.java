@@ -0,0 +1,125 @@
+package com.kooora.app.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provider call rate and per-match freshness for external ingestion.
+ * Calls are kept in a one-minute sliding window that the polling scheduler plans
+ * against; freshness lag is the time since a live match was last refreshed.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class IngestionMetrics {
+
+    private static final long WINDOW_MS = 60_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Deque<Long> callTimes = new ArrayDeque<>();
+    private long totalCalls;
+
+    // Live matches being tracked -> time they were last refreshed (or started being tracked)
+    private final Map<Long, Long> lastRefresh = new ConcurrentHashMap<>();
+
+    private Timer freshnessTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("kooora.ingestion.calls.per.minute", this, IngestionMetrics::getCallsLastMinute)
+            .description("Provider calls in the last minute")
+            .register(meterRegistry);
+        Gauge.builder("kooora.ingestion.freshness.lag.max", this, metrics -> metrics.getMaxFreshnessLagMs() / 1000.0)
+            .description("Largest time since a live match was refreshed, in seconds")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        freshnessTimer = Timer.builder("kooora.ingestion.freshness.lag")
+            .description("Time between successive refreshes of a live match")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record one provider call
+     */
+    public synchronized void recordCall() {
+        long now = System.currentTimeMillis();
+        prune(now);
+        callTimes.addLast(now);
+        totalCalls++;
+    }
+
+    public synchronized int getCallsLastMinute() {
+        prune(System.currentTimeMillis());
+        return callTimes.size();
+    }
+
+    private void prune(long now) {
+        while (!callTimes.isEmpty() && callTimes.peekFirst() <= now - WINDOW_MS) {
+            callTimes.pollFirst();
+        }
+    }
+
+    /**
+     * Record that a match's data was refreshed from the provider
+     */
+    public void recordRefresh(long matchId) {
+        long now = System.currentTimeMillis();
+        Long previous = lastRefresh.put(matchId, now);
+        if (previous != null && freshnessTimer != null) {
+            freshnessTimer.record(Duration.ofMillis(now - previous));
+        }
+    }
+
+    /**
+     * Set the live matches whose freshness is tracked; others are dropped
+     */
+    public void trackLiveMatches(Collection<Long> matchIds) {
+        long now = System.currentTimeMillis();
+        lastRefresh.keySet().retainAll(matchIds);
+        for (Long matchId : matchIds) {
+            lastRefresh.putIfAbsent(matchId, now);
+        }
+    }
+
+    /**
+     * Time since each tracked live match was refreshed
+     */
+    public Map<Long, Long> getFreshnessLagMs() {
+        long now = System.currentTimeMillis();
+        Map<Long, Long> lag = new HashMap<>();
+        lastRefresh.forEach((matchId, refreshed) -> lag.put(matchId, now - refreshed));
+        return lag;
+    }
+
+    public long getMaxFreshnessLagMs() {
+        long now = System.currentTimeMillis();
+        long max = 0;
+        for (long refreshed : lastRefresh.values()) {
+            max = Math.max(max, now - refreshed);
+        }
+        return max;
+    }
+
+    /**
+     * Get ingestion rate and freshness statistics
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("callsLastMinute", getCallsLastMinute());
+        stats.put("totalCalls", totalCalls);
+        stats.put("maxFreshnessLagMs", getMaxFreshnessLagMs());
+        stats.put("freshnessLagMs", getFreshnessLagMs());
+        return stats;
+    }
+}
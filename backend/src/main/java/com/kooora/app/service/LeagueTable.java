@@ -0,0 +1,368 @@
+package com.kooora.app.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory league table kept in rank order.
+ * A result changes two rows by a constant amount; both are lifted out and inserted back
+ * at their new places by binary search, and only the rows between their old and new
+ * places are renumbered, so applying a match costs no full sort. Rows whose figures changed,
+ * or whose position differs from the one last persisted, are taken as dirty.
+ * <p>
+ * The scores of matches in play are overlaid on a separate provisional copy, the table
+ * as it stands: a goal takes back the match's previous live result and applies the new
+ * one to the same two rows, so the committed rows are never touched. Not thread-safe:
+ * callers hold {@link #lock}.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+class LeagueTable {
+
+    static final int FORM_LENGTH = 5;
+
+    /**
+     * Points, then goal difference, then goals scored; ties by team name and ID
+     */
+    static final Comparator<Row> RANKING = Comparator
+        .comparingInt((Row row) -> -row.points)
+        .thenComparingInt(row -> -row.goalDifference())
+        .thenComparingInt(row -> -row.goalsFor)
+        .thenComparing(row -> row.teamName, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparingLong(row -> row.teamId);
+
+    /**
+     * One team's line in the table
+     */
+    static final class Row {
+
+        final long teamId;
+        String teamName;
+        int played;
+        int won;
+        int drawn;
+        int lost;
+        int goalsFor;
+        int goalsAgainst;
+        int points;
+        // Most recent result first, at most FORM_LENGTH of W, D and L
+        String form = "";
+        int position;
+        // Position as last persisted, 0 if never
+        int storedPosition;
+        boolean dirty;
+
+        Row(long teamId, String teamName) {
+            this.teamId = teamId;
+            this.teamName = teamName;
+        }
+
+        int goalDifference() {
+            return goalsFor - goalsAgainst;
+        }
+
+        Row copy() {
+            Row copy = new Row(teamId, teamName);
+            copy.played = played;
+            copy.won = won;
+            copy.drawn = drawn;
+            copy.lost = lost;
+            copy.goalsFor = goalsFor;
+            copy.goalsAgainst = goalsAgainst;
+            copy.points = points;
+            copy.form = form;
+            copy.position = position;
+            return copy;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("position", position);
+            row.put("teamId", teamId);
+            row.put("teamName", teamName);
+            row.put("played", played);
+            row.put("won", won);
+            row.put("drawn", drawn);
+            row.put("lost", lost);
+            row.put("goalsFor", goalsFor);
+            row.put("goalsAgainst", goalsAgainst);
+            row.put("goalDifference", goalDifference());
+            row.put("points", points);
+            row.put("form", form);
+            return row;
+        }
+    }
+
+    /**
+     * Current score of a match in play
+     */
+    record LiveScore(long homeTeamId, long awayTeamId, int homeScore, int awayScore) {
+    }
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    private final long leagueId;
+    private final List<Row> ranked = new ArrayList<>();
+    private final Map<Long, Row> byTeam = new HashMap<>();
+    private final Set<Long> appliedMatches = new HashSet<>();
+    private final Map<Long, LiveScore> live = new LinkedHashMap<>();
+    // Committed rows plus live scores; null when it must be derived again
+    private LeagueTable provisional;
+
+    LeagueTable(long leagueId) {
+        this.leagueId = leagueId;
+    }
+
+    long leagueId() {
+        return leagueId;
+    }
+
+    /**
+     * Add a row with existing figures and its stored position without ranking it;
+     * call {@link #sortAll()} after a batch
+     */
+    Row load(Row row) {
+        provisional = null;
+        row.storedPosition = row.position;
+        Row previous = byTeam.put(row.teamId, row);
+        if (previous != null) {
+            ranked.set(ranked.indexOf(previous), row);
+        } else {
+            ranked.add(row);
+        }
+        return row;
+    }
+
+    Row row(long teamId) {
+        return byTeam.get(teamId);
+    }
+
+    /**
+     * The team's row, added at the bottom and ranked if the team is new to the table
+     */
+    Row rowFor(long teamId, String teamName) {
+        Row row = byTeam.get(teamId);
+        if (row == null) {
+            provisional = null;
+            row = new Row(teamId, teamName);
+            row.position = ranked.size() + 1;
+            row.dirty = true;
+            ranked.add(row);
+            byTeam.put(teamId, row);
+            rerank(row);
+        }
+        return row;
+    }
+
+    /**
+     * Mark matches whose results the loaded figures already include, so they are not applied again
+     */
+    void loadApplied(Collection<Long> matchIds) {
+        appliedMatches.addAll(matchIds);
+    }
+
+    /**
+     * Apply a final result once per match; returns false if the match was already applied
+     */
+    boolean apply(long matchId, Row home, Row away, int homeScore, int awayScore, boolean rerank) {
+        if (!appliedMatches.add(matchId)) return false;
+        provisional = null;
+        record(home, homeScore, awayScore, 1);
+        record(away, awayScore, homeScore, 1);
+        home.form = pushForm(home.form, homeScore, awayScore);
+        away.form = pushForm(away.form, awayScore, homeScore);
+        if (rerank) {
+            rerank(home, away);
+        }
+        return true;
+    }
+
+    /**
+     * Add ({@code sign} 1) or take back ({@code sign} -1) one result for a team, without ranking
+     */
+    static void record(Row row, int goalsFor, int goalsAgainst, int sign) {
+        row.played += sign;
+        row.goalsFor += sign * goalsFor;
+        row.goalsAgainst += sign * goalsAgainst;
+        if (goalsFor > goalsAgainst) {
+            row.won += sign;
+            row.points += sign * 3;
+        } else if (goalsFor == goalsAgainst) {
+            row.drawn += sign;
+            row.points += sign;
+        } else {
+            row.lost += sign;
+        }
+        row.dirty = true;
+    }
+
+    static String pushForm(String form, int goalsFor, int goalsAgainst) {
+        char result = goalsFor > goalsAgainst ? 'W' : goalsFor == goalsAgainst ? 'D' : 'L';
+        String updated = result + form;
+        return updated.length() > FORM_LENGTH ? updated.substring(0, FORM_LENGTH) : updated;
+    }
+
+    /**
+     * Move changed rows to their new places. All of them are taken out first, so each is
+     * inserted into a correctly ordered table even when they pass each other.
+     */
+    void rerank(Row... rows) {
+        int[] indexes = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            indexes[i] = rows[i].position - 1;
+        }
+        Arrays.sort(indexes);
+        int from = indexes[0];
+        int to = indexes[indexes.length - 1];
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            ranked.remove(indexes[i]);
+        }
+
+        for (Row row : rows) {
+            int index = insertionPoint(row);
+            ranked.add(index, row);
+            from = Math.min(from, index);
+            to = Math.max(to, index);
+        }
+        // A later insertion may push an earlier one down by a place
+        to = Math.min(to + rows.length - 1, ranked.size() - 1);
+        for (int i = from; i <= to; i++) {
+            ranked.get(i).position = i + 1;
+        }
+    }
+
+    private int insertionPoint(Row row) {
+        int low = 0;
+        int high = ranked.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (RANKING.compare(ranked.get(middle), row) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rank the whole table from scratch, after loading or rebuilding
+     */
+    void sortAll() {
+        provisional = null;
+        ranked.sort(RANKING);
+        for (int i = 0; i < ranked.size(); i++) {
+            ranked.get(i).position = i + 1;
+        }
+    }
+
+    List<Row> ranked() {
+        return ranked;
+    }
+
+    int size() {
+        return ranked.size();
+    }
+
+    /**
+     * Rows changed since the last call, which are then taken as persisted
+     */
+    List<Row> takeDirty() {
+        List<Row> dirty = new ArrayList<>();
+        for (Row row : ranked) {
+            if (row.dirty || row.position != row.storedPosition) {
+                row.dirty = false;
+                row.storedPosition = row.position;
+                dirty.add(row);
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * The table as broadcast and returned by the API, in rank order
+     */
+    List<Map<String, Object>> toList() {
+        List<Map<String, Object>> rows = new ArrayList<>(ranked.size());
+        for (Row row : ranked) {
+            rows.add(row.toMap());
+        }
+        return rows;
+    }
+
+    /**
+     * Set a match's live score on the provisional table; both teams must have rows.
+     * Returns false if the score was already showing.
+     */
+    boolean setLive(long matchId, long homeTeamId, long awayTeamId, int homeScore, int awayScore) {
+        LiveScore score = new LiveScore(homeTeamId, awayTeamId, homeScore, awayScore);
+        LeagueTable table = provisional();
+        LiveScore previous = live.put(matchId, score);
+        if (score.equals(previous)) return false;
+
+        if (previous != null) {
+            table.overlay(previous, -1);
+        }
+        table.overlay(score, 1);
+        return true;
+    }
+
+    /**
+     * Take a match off the provisional table; returns false if it was not live
+     */
+    boolean clearLive(long matchId) {
+        LeagueTable table = provisional;
+        LiveScore previous = live.remove(matchId);
+        if (previous == null) return false;
+        if (table != null) {
+            table.overlay(previous, -1);
+        }
+        return true;
+    }
+
+    Collection<Long> liveMatchIds() {
+        return live.keySet();
+    }
+
+    /**
+     * Carry the live scores of the table this one replaces
+     */
+    void takeLive(LeagueTable replaced) {
+        live.putAll(replaced.live);
+        provisional = null;
+    }
+
+    /**
+     * The table as it stands with every live score, derived again from the committed
+     * rows after they changed
+     */
+    LeagueTable provisional() {
+        if (provisional == null) {
+            LeagueTable table = new LeagueTable(leagueId);
+            for (Row row : ranked) {
+                Row copy = row.copy();
+                table.ranked.add(copy);
+                table.byTeam.put(copy.teamId, copy);
+            }
+            for (LiveScore score : live.values()) {
+                record(table.byTeam.get(score.homeTeamId()), score.homeScore(), score.awayScore(), 1);
+                record(table.byTeam.get(score.awayTeamId()), score.awayScore(), score.homeScore(), 1);
+            }
+            table.ranked.sort(RANKING);
+            for (int i = 0; i < table.ranked.size(); i++) {
+                table.ranked.get(i).position = i + 1;
+            }
+            provisional = table;
+        }
+        return provisional;
+    }
+
+    private void overlay(LiveScore score, int sign) {
+        Row home = byTeam.get(score.homeTeamId());
+        Row away = byTeam.get(score.awayTeamId());
+        record(home, score.homeScore(), score.awayScore(), sign);
+        record(away, score.awayScore(), score.homeScore(), sign);
+        rerank(home, away);
+    }
+}
@@ -5,18 +5,18 @@ import com.kooora.app.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service that simulates live football data to provide realistic match updates
- * Creates live-looking matches with dynamic scores and statuses
+ * Creates live-looking matches with dynamic scores and statuses; today's matches are
+ * then played out event by event by the {@link MatchSimulationEngine}. Dates and random
+ * choices come from the {@link SimulationClock}, so a seeded run builds the same schedule.
  */
 @Service
 @Transactional
@@ -32,9 +32,19 @@ public class LiveDataSimulatorService {
     
     @Autowired
     private LeagueRepository leagueRepository;
-    
-    // Track live matches and their progression
-    private final Map<Long, MatchProgression> liveMatches = new HashMap<>();
+
+    @Autowired
+    private MatchSimulationEngine matchSimulationEngine;
+
+    private final SimulationClock simulationClock;
+
+    // One stream for the service's lifetime, seeded from the clock
+    private final Random random;
+
+    public LiveDataSimulatorService(SimulationClock simulationClock) {
+        this.simulationClock = simulationClock;
+        this.random = simulationClock.random("schedule", 0);
+    }
     
     /**
      * Initialize realistic match schedule
@@ -67,16 +77,17 @@ public class LiveDataSimulatorService {
         
         if (teams.size() < 4 || leagues.isEmpty()) return;
         
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = simulationClock.now();
+        LocalDateTime today = now.truncatedTo(ChronoUnit.DAYS);
         
         // Create matches throughout the day
         List<LocalDateTime> matchTimes = Arrays.asList(
-            now.withHour(15).withMinute(0), // 3:00 PM
-            now.withHour(17).withMinute(30), // 5:30 PM  
-            now.withHour(20).withMinute(0)   // 8:00 PM
+            today.withHour(15).withMinute(0), // 3:00 PM
+            today.withHour(17).withMinute(30), // 5:30 PM  
+            today.withHour(20).withMinute(0)   // 8:00 PM
         );
         
-        Collections.shuffle(teams);
+        Collections.shuffle(sortedById(teams), random);
         League premierLeague = leagues.stream()
             .filter(l -> l.getName().contains("Premier"))
             .findFirst()
@@ -104,9 +115,7 @@ public class LiveDataSimulatorService {
             }
             
             Match saved = matchRepository.save(match);
-            if (saved.getStatus() == Match.MatchStatus.LIVE) {
-                liveMatches.put(saved.getId(), new MatchProgression(matchTime));
-            }
+            matchSimulationEngine.track(saved);
             logger.info("📅 Created match: {} vs {} at {}", 
                 homeTeam.getName(), awayTeam.getName(), matchTime);
         }
@@ -121,11 +130,11 @@ public class LiveDataSimulatorService {
         
         if (teams.size() < 6 || leagues.isEmpty()) return;
         
-        Collections.shuffle(teams);
+        Collections.shuffle(sortedById(teams), random);
         
         // Create matches for next 3 days
         for (int day = 1; day <= 3; day++) {
-            LocalDateTime matchDay = LocalDateTime.now().plusDays(day).withHour(16).withMinute(0);
+            LocalDateTime matchDay = simulationClock.now().truncatedTo(ChronoUnit.DAYS).plusDays(day).withHour(16);
             
             League league = leagues.get(day % leagues.size());
             
@@ -153,11 +162,11 @@ public class LiveDataSimulatorService {
         
         if (teams.size() < 4 || leagues.isEmpty()) return;
         
-        Collections.shuffle(teams);
+        Collections.shuffle(sortedById(teams), random);
         
         // Create matches for past 2 days
         for (int day = 1; day <= 2; day++) {
-            LocalDateTime matchDay = LocalDateTime.now().minusDays(day).withHour(18).withMinute(0);
+            LocalDateTime matchDay = simulationClock.now().truncatedTo(ChronoUnit.DAYS).minusDays(day).withHour(18);
             
             League league = leagues.get(day % leagues.size());
             
@@ -173,58 +182,11 @@ public class LiveDataSimulatorService {
     }
     
     /**
-     * Update live matches every minute
+     * Put teams in a stable order so a seeded shuffle always gives the same result
      */
-    @Scheduled(fixedRate = 60000) // Every 60 seconds
-    public void updateLiveMatches() {
-        if (liveMatches.isEmpty()) return;
-        
-        LocalDateTime now = LocalDateTime.now();
-        List<Long> completedMatches = new ArrayList<>();
-        
-        for (Map.Entry<Long, MatchProgression> entry : liveMatches.entrySet()) {
-            Long matchId = entry.getKey();
-            MatchProgression progression = entry.getValue();
-            
-            if (matchId == null) {
-                completedMatches.add(matchId);
-                continue;
-            }
-
-            Optional<Match> matchOpt = matchRepository.findById(matchId);
-            if (matchOpt.isEmpty()) {
-                completedMatches.add(matchId);
-                continue;
-            }
-            
-            Match match = matchOpt.get();
-            
-            // Calculate match minute
-            long minutesElapsed = ChronoUnit.MINUTES.between(progression.startTime, now);
-            
-            if (minutesElapsed > 95) {
-                // Match finished
-                match.setStatus(Match.MatchStatus.COMPLETED);
-                setRealisticFinalScore(match);
-                completedMatches.add(matchId);
-                logger.info("⚽ Match finished: {} {} - {} {}", 
-                    match.getHomeTeam().getName(), match.getHomeScore(),
-                    match.getAwayScore(), match.getAwayTeam().getName());
-            } else if (minutesElapsed > 45 && minutesElapsed < 50) {
-                // Half time (still shown as LIVE)
-                match.setStatus(Match.MatchStatus.LIVE);
-                updateLiveScore(match, (int) minutesElapsed);
-            } else if (minutesElapsed >= 0) {
-                // Live match
-                match.setStatus(Match.MatchStatus.LIVE);
-                updateLiveScore(match, (int) minutesElapsed);
-            }
-            
-            matchRepository.save(match);
-        }
-        
-        // Remove completed matches
-        completedMatches.forEach(liveMatches::remove);
+    private static List<Team> sortedById(List<Team> teams) {
+        teams.sort(Comparator.comparing(Team::getId));
+        return teams;
     }
     
     private Match createRealisticMatch(Team homeTeam, Team awayTeam, League league, LocalDateTime matchTime) {
@@ -235,7 +197,7 @@ public class LiveDataSimulatorService {
         match.setMatchDate(matchTime);
         match.setVenue(homeTeam.getStadiumName());
         match.setReferee(getRandomReferee());
-        match.setAttendance(ThreadLocalRandom.current().nextInt(25000, 75000));
+        match.setAttendance(random.nextInt(25000, 75000));
         return match;
     }
     
@@ -248,7 +210,7 @@ public class LiveDataSimulatorService {
         int awayScore = getWeightedRandomScore(possibleScores, weights);
         
         // Slightly favor home team
-        if (ThreadLocalRandom.current().nextDouble() < 0.1) {
+        if (random.nextDouble() < 0.1) {
             homeScore++;
         }
         
@@ -258,37 +220,16 @@ public class LiveDataSimulatorService {
     
     private void setRealisticLiveScore(Match match) {
         // Live matches usually have lower scores
-        int homeScore = ThreadLocalRandom.current().nextInt(0, 3);
-        int awayScore = ThreadLocalRandom.current().nextInt(0, 3);
+        int homeScore = random.nextInt(0, 3);
+        int awayScore = random.nextInt(0, 3);
         
         match.setHomeScore(homeScore);
         match.setAwayScore(awayScore);
     }
     
-    private void updateLiveScore(Match match, int minute) {
-        // Chance of goal every minute (realistic probability)
-        double goalProbability = 0.02; // 2% per minute
-        
-        if (ThreadLocalRandom.current().nextDouble() < goalProbability) {
-            if (ThreadLocalRandom.current().nextBoolean()) {
-                match.setHomeScore(match.getHomeScore() + 1);
-                logger.info("⚽ GOAL! {} scores! {}' - {} {} - {} {}", 
-                    match.getHomeTeam().getName(), minute,
-                    match.getHomeTeam().getName(), match.getHomeScore(),
-                    match.getAwayScore(), match.getAwayTeam().getName());
-            } else {
-                match.setAwayScore(match.getAwayScore() + 1);
-                logger.info("⚽ GOAL! {} scores! {}' - {} {} - {} {}", 
-                    match.getAwayTeam().getName(), minute,
-                    match.getHomeTeam().getName(), match.getHomeScore(),
-                    match.getAwayScore(), match.getAwayTeam().getName());
-            }
-        }
-    }
-    
     private int getWeightedRandomScore(int[] scores, int[] weights) {
         int totalWeight = Arrays.stream(weights).sum();
-        int randomWeight = ThreadLocalRandom.current().nextInt(totalWeight);
+        int randomWeight = random.nextInt(totalWeight);
         
         int currentWeight = 0;
         for (int i = 0; i < scores.length; i++) {
@@ -307,7 +248,7 @@ public class LiveDataSimulatorService {
             "Paul Tierney", "Stuart Attwell", "Andre Marriner", 
             "Chris Kavanagh", "Jonathan Moss", "David Coote"
         };
-        return referees[ThreadLocalRandom.current().nextInt(referees.length)];
+        return referees[random.nextInt(referees.length)];
     }
     
     /**
@@ -321,20 +262,8 @@ public class LiveDataSimulatorService {
      * Get today's matches
      */
     public List<Match> getTodayMatches() {
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
+        LocalDateTime startOfDay = simulationClock.now().withHour(0).withMinute(0).withSecond(0);
         LocalDateTime endOfDay = startOfDay.plusDays(1);
         return matchRepository.findByMatchDateBetween(startOfDay, endOfDay);
     }
-    
-    /**
-     * Track match progression
-     */
-    private static class MatchProgression {
-        final LocalDateTime startTime;
-        int currentMinute = 0;
-        
-        MatchProgression(LocalDateTime startTime) {
-            this.startTime = startTime;
-        }
-    }
 }
@@ -0,0 +1,350 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.ExternalIdMapping;
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.MatchEvent;
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.MatchEventRepository;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.repository.TeamRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live match ingestion stage keyed by provider match ID.
+ * The last-seen score and status of every live match is kept in memory, so a poll
+ * that repeats what was already applied costs no database work. Real changes are
+ * written once, broadcast once, and turned into {@link MatchEvent} rows (kick-off,
+ * goals, half time, full time) derived from the difference.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class LiveMatchIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveMatchIngestionService.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final List<Match.MatchStatus> FIXTURE_STATUSES =
+        List.of(Match.MatchStatus.LIVE, Match.MatchStatus.SCHEDULED);
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchEventRepository matchEventRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ExternalIdResolver externalIdResolver;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private InPlayProbabilityService inPlayProbabilityService;
+
+    @Autowired
+    private IngestionMetrics ingestionMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Last applied state of a match; {@code providerStatus} is the provider's own phase
+     * (e.g. PAUSED at half time), which is finer-grained than {@link Match.MatchStatus}
+     */
+    record LiveState(long matchId, String providerStatus, Match.MatchStatus status, int homeScore, int awayScore) {
+
+        static LiveState of(Match match, String providerStatus) {
+            return new LiveState(match.getId(), providerStatus, match.getStatus(),
+                match.getHomeTeamScore() != null ? match.getHomeTeamScore() : 0,
+                match.getAwayTeamScore() != null ? match.getAwayTeamScore() : 0);
+        }
+
+        /**
+         * This state with a feed entry applied; missing or unknown fields keep their value
+         */
+        LiveState next(IngestionCommand.MatchUpsert entry) {
+            Match.MatchStatus nextStatus = entry.status() != null ? toMatchStatus(entry.status()) : null;
+            boolean hasScore = entry.homeScore() != null && entry.awayScore() != null;
+            return new LiveState(matchId,
+                entry.status() != null ? entry.status().toUpperCase(Locale.ROOT) : providerStatus,
+                nextStatus != null ? nextStatus : status,
+                hasScore ? entry.homeScore() : homeScore,
+                hasScore ? entry.awayScore() : awayScore);
+        }
+
+        boolean sameMatchState(LiveState other) {
+            return status == other.status && homeScore == other.homeScore && awayScore == other.awayScore;
+        }
+    }
+
+    /**
+     * An event derived from a state change; {@code home} is null for match-level events
+     */
+    record DerivedEvent(MatchEvent.EventType type, Boolean home, int homeScore, int awayScore, String description) {
+    }
+
+    private record Applied(Match match, Match.MatchStatus oldStatus, LiveState state, Integer minute,
+                           boolean matchChanged, List<MatchEvent> events) {
+    }
+
+    // Provider match ID -> last applied state
+    private final Map<Long, LiveState> lastSeen = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong eventsCreated = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+
+    public LiveMatchIngestionService() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Apply a batch of live feed entries
+     */
+    public void process(List<IngestionCommand.MatchUpsert> entries) {
+        for (IngestionCommand.MatchUpsert entry : entries) {
+            try {
+                ingest(entry);
+            } catch (Exception e) {
+                logger.error("Error processing live match {}: {}", entry.externalId(), e.getMessage());
+            }
+        }
+    }
+
+    private void ingest(IngestionCommand.MatchUpsert entry) {
+        received.incrementAndGet();
+        Long externalId = entry.externalId();
+        if (externalId == null) {
+            unmatched.incrementAndGet();
+            return;
+        }
+
+        // Bulk and hot polls may carry the same match concurrently
+        synchronized (locks[Math.floorMod(externalId.hashCode(), LOCK_STRIPES)]) {
+            LiveState previous = lastSeen.get(externalId);
+            if (previous != null && previous.next(entry).equals(previous)) {
+                unchanged.incrementAndGet();
+                ingestionMetrics.recordRefresh(previous.matchId());
+                return;
+            }
+
+            Applied applied = transactionTemplate.execute(tx -> apply(entry, previous));
+            if (applied == null) {
+                unmatched.incrementAndGet();
+                return;
+            }
+
+            if (applied.matchChanged()) {
+                written.incrementAndGet();
+            }
+            eventsCreated.addAndGet(applied.events().size());
+            ingestionMetrics.recordRefresh(applied.match().getId());
+            if (MatchCompletedEvent.isFinalStatus(applied.state().status())) {
+                lastSeen.remove(externalId);
+            } else {
+                lastSeen.put(externalId, applied.state());
+            }
+            publish(applied);
+        }
+    }
+
+    /**
+     * Diff the entry against the stored match, writing the match only when its score or
+     * status changed and saving the derived events
+     */
+    private Applied apply(IngestionCommand.MatchUpsert entry, LiveState previous) {
+        Match match = findMatch(entry);
+        if (match == null) {
+            return null;
+        }
+
+        // The stored row is the baseline; the provider phase is only known from earlier polls
+        LiveState before = LiveState.of(match, previous != null ? previous.providerStatus() : null);
+        LiveState after = before.next(entry);
+        boolean matchChanged = !after.sameMatchState(before);
+
+        if (matchChanged) {
+            match.setStatus(after.status());
+            match.setHomeTeamScore(after.homeScore());
+            match.setAwayTeamScore(after.awayScore());
+            match = matchRepository.save(match);
+        }
+
+        List<MatchEvent> events = new ArrayList<>();
+        int minute = entry.minute() != null ? entry.minute() : InPlayProbabilityService.estimateMinute(match.getMatchDate());
+        for (DerivedEvent derived : deriveEvents(before, after)) {
+            MatchEvent event = new MatchEvent();
+            event.setMatch(match);
+            event.setTeam(Boolean.FALSE.equals(derived.home()) ? match.getAwayTeam() : match.getHomeTeam());
+            event.setIsHomeTeam(derived.home());
+            event.setEventType(derived.type());
+            event.setMinute(minute);
+            event.setHomeScore(derived.homeScore());
+            event.setAwayScore(derived.awayScore());
+            event.setDescription(derived.description());
+            events.add(event);
+        }
+        if (!events.isEmpty()) {
+            events = matchEventRepository.saveAll(events);
+        }
+
+        if (matchChanged || !events.isEmpty()) {
+            // Broadcasts run after the session closes
+            Hibernate.initialize(match.getHomeTeam());
+            Hibernate.initialize(match.getAwayTeam());
+        }
+        return new Applied(match, before.status(), after, entry.minute(), matchChanged, events);
+    }
+
+    private void publish(Applied applied) {
+        Match match = applied.match();
+        if (applied.matchChanged()) {
+            Map<String, Double> winProbability = null;
+            if (match.getStatus() == Match.MatchStatus.LIVE) {
+                winProbability = inPlayProbabilityService.onScoreUpdate(match, applied.minute());
+            }
+            liveUpdateService.broadcastMatchUpdate(match, winProbability);
+            if (applied.oldStatus() != match.getStatus()) {
+                liveUpdateService.broadcastMatchStatusChange(match, applied.oldStatus());
+            }
+            eventPublisher.publishEvent(new MatchScoreChangedEvent(match));
+        }
+        for (MatchEvent event : applied.events()) {
+            liveUpdateService.broadcastMatchEvent(event);
+        }
+        if (MatchCompletedEvent.completes(applied.oldStatus(), match.getStatus())) {
+            eventPublisher.publishEvent(new MatchCompletedEvent(match));
+        }
+    }
+
+    /**
+     * The mapped match for the provider ID; unmapped entries fall back to the current
+     * fixture between the two teams, and the learned mapping is kept
+     */
+    private Match findMatch(IngestionCommand.MatchUpsert entry) {
+        long matchId = externalIdResolver.resolve(ExternalIdMapping.EntityType.MATCH, entry.externalId());
+        if (matchId != ExternalIdResolver.UNMAPPED) {
+            return matchRepository.findById(matchId).orElse(null);
+        }
+
+        Long homeTeamId = resolveTeamId(entry.homeTeamExternalId(), entry.homeTeamName());
+        Long awayTeamId = resolveTeamId(entry.awayTeamExternalId(), entry.awayTeamName());
+        if (homeTeamId == null || awayTeamId == null) {
+            return null;
+        }
+
+        Optional<Match> fixture = matchRepository
+            .findFirstByHomeTeamIdAndAwayTeamIdAndStatusInOrderByMatchDateAsc(homeTeamId, awayTeamId, FIXTURE_STATUSES);
+        fixture.ifPresent(match ->
+            externalIdResolver.register(ExternalIdMapping.EntityType.MATCH, entry.externalId(), match.getId()));
+        return fixture.orElse(null);
+    }
+
+    private Long resolveTeamId(Long externalId, String name) {
+        long teamId = externalIdResolver.resolve(ExternalIdMapping.EntityType.TEAM, externalId);
+        if (teamId != ExternalIdResolver.UNMAPPED) {
+            return teamId;
+        }
+
+        Optional<Team> team = teamRepository.findByName(name);
+        if (team.isPresent() && externalId != null) {
+            externalIdResolver.register(ExternalIdMapping.EntityType.TEAM, externalId, team.get().getId());
+        }
+        return team.map(Team::getId).orElse(null);
+    }
+
+    /**
+     * Events implied by a state change, in match order: kick-off, goals (home then away,
+     * each with the running score), score corrections, phase changes and full time
+     */
+    static List<DerivedEvent> deriveEvents(LiveState before, LiveState after) {
+        List<DerivedEvent> events = new ArrayList<>();
+
+        if (before.status() == Match.MatchStatus.SCHEDULED && after.status() == Match.MatchStatus.LIVE) {
+            events.add(new DerivedEvent(MatchEvent.EventType.KICKOFF, null, before.homeScore(), before.awayScore(), null));
+        }
+
+        for (int home = before.homeScore() + 1; home <= after.homeScore(); home++) {
+            events.add(new DerivedEvent(MatchEvent.EventType.GOAL, true, home, before.awayScore(), null));
+        }
+        int homeScore = Math.max(before.homeScore(), after.homeScore());
+        for (int away = before.awayScore() + 1; away <= after.awayScore(); away++) {
+            events.add(new DerivedEvent(MatchEvent.EventType.GOAL, false, homeScore, away, null));
+        }
+        if (after.homeScore() < before.homeScore() || after.awayScore() < before.awayScore()) {
+            events.add(new DerivedEvent(MatchEvent.EventType.VAR_CHECK, null, after.homeScore(), after.awayScore(),
+                "Score corrected to " + after.homeScore() + "-" + after.awayScore()));
+        }
+
+        // Phase changes need a previously seen provider phase to compare against
+        if (before.providerStatus() != null && !before.providerStatus().equals(after.providerStatus())) {
+            MatchEvent.EventType phase = switch (after.providerStatus()) {
+                case "PAUSED", "HALF_TIME" -> MatchEvent.EventType.HALF_TIME;
+                case "EXTRA_TIME" -> MatchEvent.EventType.EXTRA_TIME_START;
+                case "PENALTY_SHOOTOUT" -> MatchEvent.EventType.PENALTY_SHOOTOUT;
+                default -> null;
+            };
+            if (phase != null) {
+                events.add(new DerivedEvent(phase, null, after.homeScore(), after.awayScore(), null));
+            }
+        }
+
+        if (MatchCompletedEvent.completes(before.status(), after.status())) {
+            events.add(new DerivedEvent(MatchEvent.EventType.FULL_TIME, null, after.homeScore(), after.awayScore(), null));
+        }
+        return events;
+    }
+
+    /**
+     * Map a provider status to a match status; in-play phases are all LIVE, and unknown
+     * statuses map to null so the current status is kept
+     */
+    static Match.MatchStatus toMatchStatus(String providerStatus) {
+        return switch (providerStatus.toUpperCase(Locale.ROOT)) {
+            case "LIVE", "IN_PLAY", "PAUSED", "HALF_TIME", "EXTRA_TIME", "PENALTY_SHOOTOUT" -> Match.MatchStatus.LIVE;
+            case "FINISHED", "FULL_TIME", "AWARDED" -> Match.MatchStatus.COMPLETED;
+            case "SCHEDULED", "TIMED" -> Match.MatchStatus.SCHEDULED;
+            case "CANCELLED" -> Match.MatchStatus.CANCELLED;
+            case "POSTPONED", "SUSPENDED" -> Match.MatchStatus.POSTPONED;
+            default -> null;
+        };
+    }
+
+    /**
+     * Get live ingestion statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedMatches", lastSeen.size());
+        stats.put("received", received.get());
+        stats.put("unchanged", unchanged.get());
+        stats.put("written", written.get());
+        stats.put("eventsCreated", eventsCreated.get());
+        stats.put("unmatched", unmatched.get());
+        return stats;
+    }
+}
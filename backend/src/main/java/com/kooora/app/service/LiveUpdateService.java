@@ -11,7 +11,10 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,6 +38,13 @@ public class LiveUpdateService {
      * Broadcast match score update
      */
     public void broadcastMatchUpdate(Match match) {
+        broadcastMatchUpdate(match, null);
+    }
+
+    /**
+     * Broadcast match score update with the current in-play win probability
+     */
+    public void broadcastMatchUpdate(Match match, Map<String, Double> winProbability) {
         try {
             Map<String, Object> update = new HashMap<>();
             update.put("type", "MATCH_UPDATE");
@@ -44,6 +54,9 @@ public class LiveUpdateService {
             update.put("homeScore", match.getHomeTeamScore());
             update.put("awayScore", match.getAwayTeamScore());
             update.put("status", match.getStatus());
+            if (winProbability != null) {
+                update.put("winProbability", winProbability);
+            }
             update.put("timestamp", LocalDateTime.now());
 
             // Broadcast to all subscribers of match updates
@@ -58,6 +71,24 @@ public class LiveUpdateService {
         }
     }
 
+    /**
+     * Broadcast the in-play win probability of a match together with the score and minute
+     * it was computed for, which may be ahead of the stored match
+     */
+    public void broadcastWinProbability(Long matchId, Map<String, Object> liveProbability) {
+        try {
+            Map<String, Object> update = new HashMap<>(liveProbability);
+            update.put("type", "WIN_PROBABILITY");
+            update.put("timestamp", LocalDateTime.now());
+
+            messagingTemplate.convertAndSend("/topic/match/" + matchId, update);
+
+            logger.debug("Broadcasted win probability for match ID: {}", matchId);
+        } catch (Exception e) {
+            logger.error("Error broadcasting win probability: {}", e.getMessage());
+        }
+    }
+
     /**
      * Broadcast match event (goal, card, substitution, etc.)
      */
@@ -118,13 +149,16 @@ public class LiveUpdateService {
     }
 
     /**
-     * Broadcast league standings update
+     * Broadcast a league's table in rank order, with the teams whose rows changed
      */
-    public void broadcastLeagueStandingsUpdate(Long leagueId) {
+    public void broadcastLeagueStandingsUpdate(Long leagueId, List<Map<String, Object>> standings,
+                                               Collection<Long> changedTeamIds) {
         try {
             Map<String, Object> update = new HashMap<>();
             update.put("type", "STANDINGS_UPDATE");
             update.put("leagueId", leagueId);
+            update.put("standings", standings);
+            update.put("changedTeamIds", changedTeamIds);
             update.put("timestamp", LocalDateTime.now());
 
             // Broadcast to league standings subscribers
@@ -136,6 +170,27 @@ public class LiveUpdateService {
         }
     }
 
+    /**
+     * Broadcast a league's provisional table, as it would stand if the live scores held
+     */
+    public void broadcastLiveStandingsUpdate(Long leagueId, List<Map<String, Object>> standings,
+                                             Collection<Long> liveMatchIds) {
+        try {
+            Map<String, Object> update = new HashMap<>();
+            update.put("type", "LIVE_STANDINGS_UPDATE");
+            update.put("leagueId", leagueId);
+            update.put("standings", standings);
+            update.put("liveMatchIds", liveMatchIds);
+            update.put("timestamp", LocalDateTime.now());
+
+            messagingTemplate.convertAndSend("/topic/league/" + leagueId + "/standings/live", update);
+
+            logger.debug("Broadcasted live standings for league ID: {}", leagueId);
+        } catch (Exception e) {
+            logger.error("Error broadcasting live standings: {}", e.getMessage());
+        }
+    }
+
     /**
      * Broadcast player statistics update
      */
@@ -165,6 +220,40 @@ public class LiveUpdateService {
         }
     }
 
+    /**
+     * Broadcast a batch of player statistics updates from one league as a single message
+     */
+    public void broadcastPlayerStatsBatch(Long leagueId, String season, List<PlayerStatistics> batch) {
+        if (batch.isEmpty()) return;
+
+        try {
+            List<Map<String, Object>> players = new ArrayList<>(batch.size());
+            for (PlayerStatistics playerStats : batch) {
+                Map<String, Object> player = new HashMap<>();
+                player.put("playerId", playerStats.getPlayer().getId());
+                player.put("playerName", playerStats.getPlayer().getFirstName() + " " +
+                    playerStats.getPlayer().getLastName());
+                player.put("goals", playerStats.getGoals());
+                player.put("assists", playerStats.getAssists());
+                player.put("appearances", playerStats.getAppearances());
+                players.add(player);
+            }
+
+            Map<String, Object> update = new HashMap<>();
+            update.put("type", "PLAYER_STATS_BATCH_UPDATE");
+            update.put("leagueId", leagueId);
+            update.put("season", season);
+            update.put("players", players);
+            update.put("timestamp", LocalDateTime.now());
+
+            messagingTemplate.convertAndSend("/topic/player-stats", update);
+
+            logger.info("Broadcasted player stats batch of {} players for league ID: {}", batch.size(), leagueId);
+        } catch (Exception e) {
+            logger.error("Error broadcasting player stats batch: {}", e.getMessage());
+        }
+    }
+
     /**
      * Broadcast general notification
      */
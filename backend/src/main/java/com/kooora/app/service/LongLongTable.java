@@ -0,0 +1,103 @@
+package com.kooora.app.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long → long hash table with linear probing. {@link #MISSING} marks
+ * empty slots, so it cannot be used as a key and is returned for absent keys.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+final class LongLongTable {
+
+    /**
+     * Returned for keys not in the table
+     */
+    static final long MISSING = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    LongLongTable(int capacity) {
+        allocate(Integer.highestOneBit(Math.max(4, capacity - 1)) << 1);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, MISSING);
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    long get(long key) {
+        for (int i = slot(key); keys[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return MISSING;
+    }
+
+    void put(long key, long value) {
+        int i = slot(key);
+        while (keys[i] != MISSING) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        // Keep the load factor at or below one half
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Remove a key and return its value, or {@link #MISSING}; uses backward-shift deletion
+     */
+    long remove(long key) {
+        int i = slot(key);
+        while (keys[i] != key) {
+            if (keys[i] == MISSING) return MISSING;
+            i = (i + 1) & mask;
+        }
+        long removed = values[i];
+
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != MISSING; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            // Move the entry back if its home slot is not cyclically within (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = MISSING;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != MISSING) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published once a match transitions into a final status.
+ * Carries only identifiers and the final score so listeners never need to
+ * touch lazy associations outside of a session.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public class MatchCompletedEvent {
+
+    private final Long matchId;
+    private final Long leagueId;
+    private final Long homeTeamId;
+    private final Long awayTeamId;
+    private final int homeScore;
+    private final int awayScore;
+    private final LocalDateTime matchDate;
+
+    public MatchCompletedEvent(Match match) {
+        this.matchId = match.getId();
+        this.leagueId = match.getLeague() != null ? match.getLeague().getId() : null;
+        this.homeTeamId = match.getHomeTeam().getId();
+        this.awayTeamId = match.getAwayTeam().getId();
+        this.homeScore = match.getHomeTeamScore() != null ? match.getHomeTeamScore() : 0;
+        this.awayScore = match.getAwayTeamScore() != null ? match.getAwayTeamScore() : 0;
+        this.matchDate = match.getMatchDate();
+    }
+
+    /**
+     * Whether the given status is one of the final statuses
+     */
+    public static boolean isFinalStatus(Match.MatchStatus status) {
+        return status == Match.MatchStatus.COMPLETED || status == Match.MatchStatus.FINISHED;
+    }
+
+    /**
+     * Whether a status change from {@code oldStatus} to {@code newStatus} completes the match
+     */
+    public static boolean completes(Match.MatchStatus oldStatus, Match.MatchStatus newStatus) {
+        return isFinalStatus(newStatus) && !isFinalStatus(oldStatus);
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public Long getLeagueId() {
+        return leagueId;
+    }
+
+    public Long getHomeTeamId() {
+        return homeTeamId;
+    }
+
+    public Long getAwayTeamId() {
+        return awayTeamId;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    public LocalDateTime getMatchDate() {
+        return matchDate;
+    }
+
+    /**
+     * Outcome index from the home side's perspective: 0 = home win, 1 = draw, 2 = away win
+     */
+    public int getOutcome() {
+        if (homeScore > awayScore) return 0;
+        if (homeScore == awayScore) return 1;
+        return 2;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchCompletedEvent{" +
+                "matchId=" + matchId +
+                ", homeTeamId=" + homeTeamId +
+                ", awayTeamId=" + awayTeamId +
+                ", score=" + homeScore + "-" + awayScore +
+                '}';
+    }
+}
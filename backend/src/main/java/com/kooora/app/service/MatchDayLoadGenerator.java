@@ -0,0 +1,533 @@
+package com.kooora.app.service;
+
+import com.kooora.app.controller.MatchController;
+import com.kooora.app.controller.MatchEventController;
+import com.kooora.app.entity.Country;
+import com.kooora.app.entity.League;
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.MatchEvent;
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.CountryRepository;
+import com.kooora.app.repository.LeagueRepository;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Match-day load generator. Seeds synthetic leagues, teams and live matches, then fires
+ * goals, cards, substitutions and commentary at a configurable rate per match through the
+ * same controller and broadcast paths an admin uses, as the admin who started the run.
+ * Arrivals are open-loop: each match's events are scheduled on a timer wheel from a
+ * seeded Poisson process and measured from their planned time, so a slow server shows up
+ * as latency instead of as fewer events. The report gives server-side throughput and
+ * percentiles of event latency and of the lag to the first broadcast on the match topic.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+@ConditionalOnProperty(name = "app.simulator.load.enabled", havingValue = "true")
+public class MatchDayLoadGenerator implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchDayLoadGenerator.class);
+
+    // Seeded entities are found again by name, so repeated runs reuse them
+    static final String NAME_PREFIX = "Load ";
+    private static final String COUNTRY_CODE = "XLD";
+    private static final String SEASON = "2024-25";
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 1024;
+    private static final int MATCH_MINUTES = 90;
+
+    /**
+     * Kinds of generated events
+     */
+    enum EventKind {GOAL, CARD, SUBSTITUTION, COMMENTARY}
+
+    /**
+     * Size and rate of a load run
+     *
+     * @param eventsPerMinute events per live match per minute, all kinds together
+     */
+    public record Plan(int leagues, int teamsPerLeague, int matches, double eventsPerMinute, int durationSeconds) {
+    }
+
+    /**
+     * A seeded live match; the lock keeps its events, and so its score, in order
+     */
+    static final class LoadMatch {
+
+        final long matchId;
+        final long homeTeamId;
+        final long awayTeamId;
+        final ReentrantLock lock = new ReentrantLock();
+        int homeScore;
+        int awayScore;
+
+        LoadMatch(long matchId, long homeTeamId, long awayTeamId) {
+            this.matchId = matchId;
+            this.homeTeamId = homeTeamId;
+            this.awayTeamId = awayTeamId;
+        }
+    }
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchController matchController;
+
+    @Autowired
+    private MatchEventController matchEventController;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Value("${app.simulator.load.seed:42}")
+    private long seed;
+
+    @Value("${app.simulator.load.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Value("${app.simulator.load.max-matches:5000}")
+    private int maxMatches;
+
+    // Share of each kind among generated events; the rest is commentary
+    @Value("${app.simulator.load.mix.goal:0.03}")
+    private double goalShare;
+
+    @Value("${app.simulator.load.mix.card:0.07}")
+    private double cardShare;
+
+    @Value("${app.simulator.load.mix.substitution:0.10}")
+    private double substitutionShare;
+
+    private volatile Thread runner;
+    private volatile boolean stopRequested;
+
+    // Run parameters and progress
+    private volatile Plan plan;
+    private volatile int matchesSeeded;
+    private final AtomicLong eventsScheduled = new AtomicLong();
+    private final AtomicLong eventsProcessed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong broadcasts = new AtomicLong();
+    private final Map<EventKind, AtomicLong> eventsByKind = new EnumMap<>(EventKind.class);
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String failure;
+
+    // Match ID -> planned time of the earliest event not yet broadcast
+    private final Map<Long, Long> pendingBroadcasts = new ConcurrentHashMap<>();
+    private final List<Long> latencyNanos = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> broadcastLagNanos = Collections.synchronizedList(new ArrayList<>());
+
+    public MatchDayLoadGenerator() {
+        for (EventKind kind : EventKind.values()) {
+            eventsByKind.put(kind, new AtomicLong());
+        }
+    }
+
+    /**
+     * Seed the leagues, teams and live matches of the plan and start firing events
+     */
+    public synchronized void start(Plan plan) {
+        if (isRunning()) {
+            throw new IllegalStateException("A load run is already running");
+        }
+        if (plan.leagues() < 1 || plan.teamsPerLeague() < 2 || plan.matches() < 1) {
+            throw new IllegalArgumentException("Need at least one league, two teams per league and one match");
+        }
+        if (plan.matches() > maxMatches) {
+            throw new IllegalArgumentException("At most " + maxMatches + " live matches per run");
+        }
+        if (plan.eventsPerMinute() <= 0 || plan.durationSeconds() < 1) {
+            throw new IllegalArgumentException("Event rate and duration must be positive");
+        }
+
+        // Events are posted as the admin who started the run
+        SecurityContext operator = SecurityContextHolder.getContext();
+
+        this.plan = plan;
+        eventsScheduled.set(0);
+        eventsProcessed.set(0);
+        errors.set(0);
+        broadcasts.set(0);
+        eventsByKind.values().forEach(count -> count.set(0));
+        pendingBroadcasts.clear();
+        latencyNanos.clear();
+        broadcastLagNanos.clear();
+        failure = null;
+        finishedAt = 0;
+
+        List<LoadMatch> matches = seed(plan);
+        matchesSeeded = matches.size();
+        startedAt = System.currentTimeMillis();
+        stopRequested = false;
+
+        brokerChannel.addInterceptor(this);
+        runner = Thread.ofVirtual().name("load-generator").start(() -> run(plan, matches, operator));
+        logger.info("Started load run: {} live matches in {} leagues at {} events per match per minute for {}s",
+            matches.size(), plan.leagues(), plan.eventsPerMinute(), plan.durationSeconds());
+    }
+
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isRunning() {
+        Thread thread = runner;
+        return thread != null && thread.isAlive();
+    }
+
+    private List<LoadMatch> seed(Plan plan) {
+        return transactionTemplate.execute(tx -> {
+            Country country = countryRepository.findByCode(COUNTRY_CODE)
+                .orElseGet(() -> countryRepository.save(new Country(NAME_PREFIX + "Country", COUNTRY_CODE)));
+
+            List<League> leagues = new ArrayList<>();
+            List<List<Team>> teams = new ArrayList<>();
+            for (int l = 1; l <= plan.leagues(); l++) {
+                String leagueName = NAME_PREFIX + "League " + l;
+                League league = leagueRepository.findByName(leagueName)
+                    .orElseGet(() -> newLeague(leagueName, country));
+                List<Team> leagueTeams = new ArrayList<>();
+                for (int t = 1; t <= plan.teamsPerLeague(); t++) {
+                    String teamName = NAME_PREFIX + "Team " + l + "-" + t;
+                    Team team = teamRepository.findByName(teamName)
+                        .orElseGet(() -> teamRepository.save(new Team(teamName, country)));
+                    league.getTeams().add(team);
+                    leagueTeams.add(team);
+                }
+                leagues.add(leagueRepository.save(league));
+                teams.add(leagueTeams);
+            }
+
+            // Matches go round the leagues; within a league, teams pair up in order
+            LocalDateTime kickoff = LocalDateTime.now();
+            List<Match> batch = new ArrayList<>(plan.matches());
+            for (int i = 0; i < plan.matches(); i++) {
+                int league = i % plan.leagues();
+                int pair = i / plan.leagues();
+                List<Team> leagueTeams = teams.get(league);
+                Team home = leagueTeams.get((2 * pair) % leagueTeams.size());
+                Team away = leagueTeams.get((2 * pair + 1) % leagueTeams.size());
+                Match match = new Match(home, away, leagues.get(league), kickoff);
+                match.setStatus(Match.MatchStatus.LIVE);
+                match.setHomeTeamScore(0);
+                match.setAwayTeamScore(0);
+                batch.add(match);
+            }
+
+            List<LoadMatch> matches = new ArrayList<>(batch.size());
+            for (Match match : matchRepository.saveAll(batch)) {
+                matches.add(new LoadMatch(match.getId(), match.getHomeTeam().getId(), match.getAwayTeam().getId()));
+            }
+            return matches;
+        });
+    }
+
+    private League newLeague(String name, Country country) {
+        League league = new League(name, country, SEASON);
+        league.setStartDate(LocalDate.now());
+        league.setEndDate(LocalDate.now().plusMonths(9));
+        league.setStatus(League.LeagueStatus.ACTIVE);
+        return league;
+    }
+
+    private void run(Plan plan, List<LoadMatch> matches, SecurityContext operator) {
+        Random random = new Random(seed);
+        ExecutorService executor = new DelegatingSecurityContextExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor(), operator);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        long startMs = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        long endMs = startMs + TimeUnit.SECONDS.toMillis(plan.durationSeconds());
+        TimerWheel wheel = new TimerWheel(TICK_MS, WHEEL_SIZE, startMs);
+
+        Arrivals arrivals = new Arrivals(wheel, executor, permits, random, startMs, startNanos, endMs,
+            60_000.0 / plan.eventsPerMinute());
+        try {
+            for (LoadMatch match : matches) {
+                arrivals.next(match, startMs);
+            }
+            // The wheel runs on the monotonic clock that latencies are measured with
+            long now;
+            while (!stopRequested && (now = startMs + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)) < endMs) {
+                wheel.advanceTo(now);
+                Thread.sleep(TICK_MS - (now - startMs) % TICK_MS);
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Load run: events still in flight after one minute");
+            }
+            complete(matches, operator);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Interrupted";
+        } catch (Exception e) {
+            failure = e.getMessage();
+            logger.error("Load run failed: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+            brokerChannel.removeInterceptor(this);
+            finishedAt = System.currentTimeMillis();
+            logger.info("Load run finished: {}", getReport());
+        }
+    }
+
+    /**
+     * Per-run scheduling of each match's next event, on the driver thread
+     */
+    private final class Arrivals {
+
+        private final TimerWheel wheel;
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final Random random;
+        private final long startMs;
+        private final long startNanos;
+        private final long endMs;
+        private final double meanGapMs;
+
+        Arrivals(TimerWheel wheel, ExecutorService executor, Semaphore permits, Random random,
+                 long startMs, long startNanos, long endMs, double meanGapMs) {
+            this.wheel = wheel;
+            this.executor = executor;
+            this.permits = permits;
+            this.random = random;
+            this.startMs = startMs;
+            this.startNanos = startNanos;
+            this.endMs = endMs;
+            this.meanGapMs = meanGapMs;
+        }
+
+        /**
+         * Schedule the match's next event an exponential gap after {@code fromMs}, on the
+         * tick the wheel will fire it
+         */
+        void next(LoadMatch match, long fromMs) {
+            long gapMs = Math.round(-Math.log(1 - random.nextDouble()) * meanGapMs);
+            long atMs = startMs + ((fromMs + gapMs - startMs) / TICK_MS + 1) * TICK_MS;
+            if (atMs >= endMs) return;
+            wheel.schedule(atMs, () -> {
+                EventKind kind = kindOf(random.nextDouble());
+                boolean home = random.nextBoolean();
+                long plannedNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(atMs - startMs);
+                int minute = 1 + (int) ((atMs - startMs) / 60_000 % MATCH_MINUTES);
+                eventsScheduled.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        fire(match, kind, home, minute, plannedNanos);
+                    } finally {
+                        permits.release();
+                    }
+                });
+                next(match, atMs);
+            });
+        }
+    }
+
+    EventKind kindOf(double roll) {
+        if (roll < goalShare) return EventKind.GOAL;
+        if (roll < goalShare + cardShare) return EventKind.CARD;
+        if (roll < goalShare + cardShare + substitutionShare) return EventKind.SUBSTITUTION;
+        return EventKind.COMMENTARY;
+    }
+
+    private void fire(LoadMatch match, EventKind kind, boolean home, int minute, long plannedNanos) {
+        match.lock.lock();
+        try {
+            pendingBroadcasts.putIfAbsent(match.matchId, plannedNanos);
+            boolean ok;
+            if (kind == EventKind.COMMENTARY) {
+                liveUpdateService.broadcastMatchCommentary(match.matchId,
+                    minute + "' " + (home ? "Home" : "Away") + " side keeps the ball", "Load generator");
+                ok = true;
+            } else {
+                ok = post(match, kind, home, minute);
+            }
+            latencyNanos.add(System.nanoTime() - plannedNanos);
+            eventsByKind.get(kind).incrementAndGet();
+            eventsProcessed.incrementAndGet();
+            if (!ok) errors.incrementAndGet();
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            logger.error("Load event failed for match {}: {}", match.matchId, e.getMessage());
+        } finally {
+            match.lock.unlock();
+        }
+    }
+
+    /**
+     * Post one event through the match and match event controllers and broadcast it; a goal
+     * carries the score after it. Each controller call commits on its own, as an admin's
+     * requests do, so match listeners see committed rows.
+     */
+    private boolean post(LoadMatch match, EventKind kind, boolean home, int minute) {
+        MatchEvent event = new MatchEvent();
+        event.setMatch(matchRepository.getReferenceById(match.matchId));
+        event.setTeam(teamRepository.getReferenceById(home ? match.homeTeamId : match.awayTeamId));
+        event.setIsHomeTeam(home);
+        event.setMinute(minute);
+
+        switch (kind) {
+            case GOAL -> {
+                int homeScore = home ? match.homeScore + 1 : match.homeScore;
+                int awayScore = home ? match.awayScore : match.awayScore + 1;
+                ResponseEntity<Match> scored = matchController.updateMatchScore(match.matchId, homeScore, awayScore);
+                if (!scored.getStatusCode().is2xxSuccessful()) return false;
+                // The score follows the stored match, even if the goal's event then fails
+                match.homeScore = homeScore;
+                match.awayScore = awayScore;
+                event.setEventType(MatchEvent.EventType.GOAL);
+                event.setHomeScore(homeScore);
+                event.setAwayScore(awayScore);
+            }
+            case CARD -> event.setEventType(MatchEvent.EventType.YELLOW_CARD);
+            default -> {
+                event.setEventType(MatchEvent.EventType.SUBSTITUTION);
+                event.setDescription("Substitution");
+            }
+        }
+
+        ResponseEntity<MatchEvent> created = matchEventController.createMatchEvent(event);
+        if (!created.getStatusCode().is2xxSuccessful() || created.getBody() == null) return false;
+        liveUpdateService.broadcastMatchEvent(created.getBody());
+        return true;
+    }
+
+    /**
+     * Blow the final whistle on the run's matches through the match controller
+     */
+    private void complete(List<LoadMatch> matches, SecurityContext operator) {
+        SecurityContextHolder.setContext(operator);
+        try {
+            for (LoadMatch match : matches) {
+                matchController.updateMatchStatus(match.matchId, Match.MatchStatus.COMPLETED);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Count broadcasts and measure the lag to the first message on a match topic after an event
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        broadcasts.incrementAndGet();
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Long matchId = destination != null ? MatchWatcherTracker.matchIdOf(destination) : null;
+        if (matchId != null) {
+            Long plannedAt = pendingBroadcasts.remove(matchId);
+            if (plannedAt != null) {
+                broadcastLagNanos.add(System.nanoTime() - plannedAt);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Get the load run progress, throughput and latency percentiles
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("running", isRunning());
+        report.put("plan", plan);
+        report.put("seed", seed);
+        report.put("matchesSeeded", matchesSeeded);
+        report.put("eventsScheduled", eventsScheduled.get());
+        report.put("eventsProcessed", eventsProcessed.get());
+        report.put("errors", errors.get());
+        Map<String, Long> byKind = new LinkedHashMap<>();
+        eventsByKind.forEach((kind, count) -> byKind.put(kind.name(), count.get()));
+        report.put("eventsByKind", byKind);
+        if (failure != null) {
+            report.put("failure", failure);
+        }
+        if (startedAt == 0) {
+            return report;
+        }
+
+        long elapsedMs = Math.max(1, (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt);
+        double seconds = elapsedMs / 1000.0;
+        report.put("elapsedMs", elapsedMs);
+        report.put("eventsOfferedPerSecond", Math.round(matchesSeeded * plan.eventsPerMinute() / 60 * 10) / 10.0);
+        report.put("eventsPerSecond", Math.round(eventsProcessed.get() / seconds * 10) / 10.0);
+        report.put("broadcasts", broadcasts.get());
+        report.put("broadcastsPerSecond", Math.round(broadcasts.get() / seconds * 10) / 10.0);
+        report.put("eventLatencyMs", percentiles(latencyNanos));
+        report.put("broadcastLagMs", percentiles(broadcastLagNanos));
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(List<Long> samples) {
+        long[] sorted;
+        synchronized (samples) {
+            sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", sorted.length);
+        result.put("p50", millis(Percentiles.percentile(sorted, 50)));
+        result.put("p95", millis(Percentiles.percentile(sorted, 95)));
+        result.put("p99", millis(Percentiles.percentile(sorted, 99)));
+        result.put("p999", millis(Percentiles.percentile(sorted, 99.9)));
+        result.put("max", millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+        return result;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.repository.MatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Single streamed pass over the final results in play order, shared by the in-memory
+ * indexes built from match history. Indexes register a factory for their rebuilds; at
+ * startup one pass feeds every registered index, off the startup thread.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class MatchHistoryScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchHistoryScanner.class);
+
+    private static final List<Match.MatchStatus> FINAL_STATUSES =
+        List.of(Match.MatchStatus.COMPLETED, Match.MatchStatus.FINISHED);
+
+    /**
+     * Receives the results of one pass; exactly one of {@link #complete} and {@link #abort}
+     * is called at the end, and neither may throw
+     */
+    interface Sink {
+
+        void accept(long matchId, Long leagueId, Long homeTeamId, Long awayTeamId,
+                    int homeScore, int awayScore, LocalDateTime matchDate);
+
+        void complete(long processed);
+
+        void abort();
+    }
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Supplier<? extends Sink>> startupSinks = new CopyOnWriteArrayList<>();
+
+    /**
+     * Include an index in the startup pass
+     */
+    public void registerForStartup(Supplier<? extends Sink> sinkFactory) {
+        startupSinks.add(sinkFactory);
+    }
+
+    /**
+     * Build every registered index from one pass once the application has started
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (startupSinks.isEmpty()) return;
+        try {
+            long start = System.currentTimeMillis();
+            List<Sink> sinks = new ArrayList<>();
+            for (Supplier<? extends Sink> factory : startupSinks) {
+                sinks.add(factory.get());
+            }
+            long processed = scan(sinks);
+            logger.info("Built {} match history indexes from {} matches in {} ms",
+                sinks.size(), processed, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building match history indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stream all final results once, feeding each row to every sink
+     */
+    public long scan(List<? extends Sink> sinks) {
+        Long processed;
+        try {
+            processed = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = matchRepository.streamResultsInPlayOrder(FINAL_STATUSES)) {
+                    Iterator<Object[]> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        Object[] row = iterator.next();
+                        long matchId = (Long) row[0];
+                        int homeScore = ((Number) row[4]).intValue();
+                        int awayScore = ((Number) row[5]).intValue();
+                        for (Sink sink : sinks) {
+                            sink.accept(matchId, (Long) row[1], (Long) row[2], (Long) row[3],
+                                homeScore, awayScore, (LocalDateTime) row[6]);
+                        }
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } catch (RuntimeException e) {
+            sinks.forEach(Sink::abort);
+            throw e;
+        }
+
+        long count = processed != null ? processed : 0;
+        sinks.forEach(sink -> sink.complete(count));
+        return count;
+    }
+}
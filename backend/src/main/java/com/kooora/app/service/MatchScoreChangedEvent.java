@@ -0,0 +1,76 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+
+/**
+ * Application event published whenever a match's score or status may have changed.
+ * Carries only identifiers, the current score and the status, so listeners never
+ * touch lazy associations outside of a session.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public class MatchScoreChangedEvent {
+
+    private final Long matchId;
+    private final Long leagueId;
+    private final Long homeTeamId;
+    private final Long awayTeamId;
+    private final int homeScore;
+    private final int awayScore;
+    private final Match.MatchStatus status;
+
+    public MatchScoreChangedEvent(Match match) {
+        this.matchId = match.getId();
+        this.leagueId = match.getLeague() != null ? match.getLeague().getId() : null;
+        this.homeTeamId = match.getHomeTeam().getId();
+        this.awayTeamId = match.getAwayTeam().getId();
+        this.homeScore = match.getHomeTeamScore() != null ? match.getHomeTeamScore() : 0;
+        this.awayScore = match.getAwayTeamScore() != null ? match.getAwayTeamScore() : 0;
+        this.status = match.getStatus();
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public Long getLeagueId() {
+        return leagueId;
+    }
+
+    public Long getHomeTeamId() {
+        return homeTeamId;
+    }
+
+    public Long getAwayTeamId() {
+        return awayTeamId;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    public Match.MatchStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Whether the match is in play
+     */
+    public boolean isLive() {
+        return status == Match.MatchStatus.LIVE;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchScoreChangedEvent{" +
+                "matchId=" + matchId +
+                ", score=" + homeScore + "-" + awayScore +
+                ", status=" + status +
+                '}';
+    }
+}
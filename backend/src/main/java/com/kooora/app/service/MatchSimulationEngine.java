@@ -0,0 +1,469 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.MatchEvent;
+import com.kooora.app.repository.MatchEventRepository;
+import com.kooora.app.repository.MatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event-driven engine for simulated matches.
+ * When a match is tracked its whole timeline is planned up front (kick-off, goals drawn
+ * minute by minute, half time, second half, full time) and every event is put on a
+ * hashed timer wheel. A single driver thread advances the wheel and hands due events to
+ * virtual threads, each match's events in order; events change the in-memory match
+ * state and only then touch the database, writing the match when its score or status
+ * changed and saving the {@link MatchEvent}, before broadcasting through
+ * {@link LiveUpdateService}. Quiet minutes cost nothing, so thousands of
+ * matches can run at once. Time and randomness come from the {@link SimulationClock};
+ * timelines can be recorded to a {@link SimulationScript} and replayed from one.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class MatchSimulationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchSimulationEngine.class);
+
+    private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final int HALF_MINUTES = 45;
+
+    /**
+     * Where a simulated match is in its timeline
+     */
+    enum Phase { SCHEDULED, FIRST_HALF, HALF_TIME, SECOND_HALF, FINISHED }
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchEventRepository matchEventRepository;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private InPlayProbabilityService inPlayProbabilityService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SimulationClock simulationClock;
+
+    @Value("${app.simulator.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.simulator.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${app.simulator.half-time-minutes:15}")
+    private int halfTimeMinutes;
+
+    @Value("${app.simulator.home-goal-rate:0.015}")
+    private double homeGoalRate;
+
+    @Value("${app.simulator.away-goal-rate:0.012}")
+    private double awayGoalRate;
+
+    @Value("${app.simulator.script.record:}")
+    private String recordPath;
+
+    @Value("${app.simulator.script.replay:}")
+    private String replayPath;
+
+    @Value("${app.simulator.script.flush-ms:5000}")
+    private long recordFlushMs;
+
+    private TimerWheel wheel;
+    private final Map<Long, SimulatedMatch> matches = new ConcurrentHashMap<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final SimulationScript recorded = new SimulationScript();
+    private SimulationScript replay;
+    private volatile boolean recordPending;
+    private long recordFlushedAt;
+    private Thread driver;
+    private ExecutorService handlerExecutor;
+    private volatile boolean running;
+
+    private final AtomicLong eventsFired = new AtomicLong();
+    private final AtomicLong matchesWritten = new AtomicLong();
+    private volatile long lastLagMs;
+
+    /**
+     * In-memory state of one simulated match; once planned only touched by its event
+     * handlers, which run one at a time
+     */
+    static final class SimulatedMatch {
+
+        final long matchId;
+        final long kickoffMs;
+        final List<TimerWheel.Timeout> timers = new ArrayList<>();
+        // The last handler handed off by the driver thread; the next one runs after it
+        CompletableFuture<Void> handled = CompletableFuture.completedFuture(null);
+        volatile Phase phase;
+        volatile int homeScore;
+        volatile int awayScore;
+
+        SimulatedMatch(long matchId, long kickoffMs, Phase phase, int homeScore, int awayScore) {
+            this.matchId = matchId;
+            this.kickoffMs = kickoffMs;
+            this.phase = phase;
+            this.homeScore = homeScore;
+            this.awayScore = awayScore;
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!replayPath.isBlank()) {
+            replay = SimulationScript.read(Path.of(replayPath));
+            logger.info("Replaying {} simulated match timelines from {}", replay.size(), replayPath);
+        }
+        wheel = new TimerWheel(tickMs, wheelSize, simulationClock.millis());
+        handlerExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("match-simulation-", 0).factory());
+        running = true;
+        driver = Thread.ofVirtual().name("match-simulation").start(this::drive);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (driver != null) driver.interrupt();
+        if (handlerExecutor != null) handlerExecutor.shutdownNow();
+        flushRecording();
+    }
+
+    private void drive() {
+        while (running) {
+            long started = System.nanoTime();
+            long now = simulationClock.millis();
+            wheel.advanceTo(now);
+            lastLagMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (recordPending && System.nanoTime() - recordFlushedAt >= TimeUnit.MILLISECONDS.toNanos(recordFlushMs)) {
+                flushRecording();
+            }
+            try {
+                // Wake on the next simulated tick boundary
+                simulationClock.sleepUntil((now / tickMs + 1) * tickMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start simulating a scheduled or live match. Inside a transaction the timeline is
+     * tracked and planned once it commits, so no event can run before the match row is
+     * visible and a rolled back match is never simulated.
+     * Matches are numbered in tracking order; the number selects the match's random
+     * stream and its timeline in a replayed script.
+     */
+    public void track(Match match) {
+        Phase phase = match.getStatus() == Match.MatchStatus.SCHEDULED ? Phase.SCHEDULED
+            : match.getStatus() == Match.MatchStatus.LIVE ? Phase.FIRST_HALF
+            : null;
+        if (phase == null || match.getId() == null || matches.containsKey(match.getId())) return;
+
+        long kickoffMs = simulationClock.toEpochMillis(match.getMatchDate());
+        SimulatedMatch simulated = new SimulatedMatch(match.getId(), kickoffMs, phase,
+            match.getHomeTeamScore() != null ? match.getHomeTeamScore() : 0,
+            match.getAwayTeamScore() != null ? match.getAwayTeamScore() : 0);
+        List<SimulationScript.Event> timeline = timelineFor(tracked.getAndIncrement());
+        afterCommit(() -> {
+            if (matches.putIfAbsent(simulated.matchId, simulated) == null) {
+                plan(simulated, simulationClock.millis(), timeline);
+            }
+        });
+    }
+
+    /**
+     * The replayed timeline of the {@code index}th tracked match, or a freshly drawn one;
+     * recorded when a script path is configured. The record file is written by the driver
+     * thread every {@code flush-ms} and on shutdown, not inside the caller's transaction.
+     */
+    private List<SimulationScript.Event> timelineFor(int index) {
+        List<SimulationScript.Event> timeline = replay != null ? replay.timeline(index) : null;
+        if (timeline == null) {
+            timeline = draw(simulationClock.random("match", index));
+        }
+        if (!recordPath.isBlank()) {
+            recorded.put(index, timeline);
+            recordPending = true;
+        }
+        return timeline;
+    }
+
+    private synchronized void flushRecording() {
+        if (!recordPending) return;
+        // Timelines recorded while writing are picked up by the next flush
+        recordPending = false;
+        recordFlushedAt = System.nanoTime();
+        try {
+            recorded.write(Path.of(recordPath));
+        } catch (IOException e) {
+            logger.error("Error recording simulation script to {}: {}", recordPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Stop simulating a match and cancel its pending events
+     */
+    public boolean untrack(long matchId) {
+        SimulatedMatch simulated = matches.remove(matchId);
+        if (simulated == null) return false;
+        synchronized (simulated.timers) {
+            simulated.timers.forEach(TimerWheel.Timeout::cancel);
+        }
+        return true;
+    }
+
+    /**
+     * Draw a match timeline: kick-off, goals for each minute at the configured per-minute
+     * rates (minutes past the 45th are stoppage time), half time, second half, full time
+     */
+    List<SimulationScript.Event> draw(Random random) {
+        int firstHalf = HALF_MINUTES + 1 + random.nextInt(3);
+        int secondHalf = HALF_MINUTES + 2 + random.nextInt(5);
+        long halfTimeMs = firstHalf * MINUTE_MS;
+        long secondHalfMs = halfTimeMs + halfTimeMinutes * MINUTE_MS;
+
+        List<SimulationScript.Event> timeline = new ArrayList<>();
+        timeline.add(new SimulationScript.Event(0, SimulationScript.Kind.KICKOFF, null, 0, 0));
+        drawGoals(timeline, 0, firstHalf, 0, random);
+        timeline.add(new SimulationScript.Event(halfTimeMs, SimulationScript.Kind.HALF_TIME, null, HALF_MINUTES, 0));
+        timeline.add(new SimulationScript.Event(secondHalfMs, SimulationScript.Kind.SECOND_HALF, null, HALF_MINUTES, 0));
+        drawGoals(timeline, secondHalfMs, secondHalf, HALF_MINUTES, random);
+        timeline.add(new SimulationScript.Event(secondHalfMs + secondHalf * MINUTE_MS,
+            SimulationScript.Kind.FULL_TIME, null, 2 * HALF_MINUTES, 0));
+        return timeline;
+    }
+
+    private void drawGoals(List<SimulationScript.Event> timeline, long halfStartMs, int minutes, int minuteOffset,
+                           Random random) {
+        for (int i = 0; i < minutes; i++) {
+            int minute = minuteOffset + Math.min(i + 1, HALF_MINUTES);
+            int additionalTime = Math.max(0, i + 1 - HALF_MINUTES);
+            if (random.nextDouble() < homeGoalRate) {
+                long at = halfStartMs + i * MINUTE_MS + random.nextLong(MINUTE_MS);
+                timeline.add(new SimulationScript.Event(at, SimulationScript.Kind.GOAL, true, minute, additionalTime));
+            }
+            if (random.nextDouble() < awayGoalRate) {
+                long at = halfStartMs + i * MINUTE_MS + random.nextLong(MINUTE_MS);
+                timeline.add(new SimulationScript.Event(at, SimulationScript.Kind.GOAL, false, minute, additionalTime));
+            }
+        }
+    }
+
+    /**
+     * Put a match's remaining timeline on the wheel. Overdue kick-offs happen now; for live
+     * matches, events already in the past are skipped, except full time, which is always due.
+     */
+    void plan(SimulatedMatch simulated, long nowMs, List<SimulationScript.Event> timeline) {
+        long kickoffMs = simulated.phase == Phase.SCHEDULED ? Math.max(simulated.kickoffMs, nowMs) : simulated.kickoffMs;
+        if (simulated.phase == Phase.FIRST_HALF && nowMs >= kickoffMs + offsetOf(timeline, SimulationScript.Kind.SECOND_HALF)) {
+            simulated.phase = Phase.SECOND_HALF;
+        } else if (simulated.phase == Phase.FIRST_HALF && nowMs >= kickoffMs + offsetOf(timeline, SimulationScript.Kind.HALF_TIME)) {
+            simulated.phase = Phase.HALF_TIME;
+        }
+
+        for (SimulationScript.Event event : timeline) {
+            long atMs = kickoffMs + event.offsetMs();
+            switch (event.kind()) {
+                case KICKOFF -> {
+                    if (simulated.phase == Phase.SCHEDULED) {
+                        schedule(simulated, atMs, nowMs, () -> onKickoff(simulated));
+                    }
+                }
+                case GOAL -> schedule(simulated, atMs, nowMs,
+                    () -> onGoal(simulated, event.home(), event.minute(), event.additionalTime()));
+                case HALF_TIME -> schedule(simulated, atMs, nowMs, () -> onHalfTime(simulated));
+                case SECOND_HALF -> schedule(simulated, atMs, nowMs, () -> simulated.phase = Phase.SECOND_HALF);
+                case FULL_TIME -> schedule(simulated, Math.max(atMs, nowMs), nowMs, () -> onFullTime(simulated));
+            }
+        }
+    }
+
+    private static long offsetOf(List<SimulationScript.Event> timeline, SimulationScript.Kind kind) {
+        for (SimulationScript.Event event : timeline) {
+            if (event.kind() == kind) return event.offsetMs();
+        }
+        return Long.MAX_VALUE / 2;
+    }
+
+    private void schedule(SimulatedMatch simulated, long atMs, long nowMs, Runnable handler) {
+        if (atMs < nowMs) return;
+        // The driver thread only queues the handler, behind the match's previous one
+        TimerWheel.Timeout timeout = wheel.schedule(atMs, () -> simulated.handled = simulated.handled.thenRunAsync(() -> {
+            // Events of untracked matches may still be in their bucket
+            if (matches.get(simulated.matchId) != simulated) return;
+            eventsFired.incrementAndGet();
+            try {
+                handler.run();
+            } catch (Exception e) {
+                logger.error("Error simulating match {}: {}", simulated.matchId, e.getMessage());
+            }
+        }, handlerExecutor));
+        synchronized (simulated.timers) {
+            simulated.timers.add(timeout);
+        }
+    }
+
+    private void onKickoff(SimulatedMatch simulated) {
+        simulated.phase = Phase.FIRST_HALF;
+        apply(simulated, Match.MatchStatus.LIVE, MatchEvent.EventType.KICKOFF, null, 0, 0);
+    }
+
+    private void onGoal(SimulatedMatch simulated, boolean home, int minute, int additionalTime) {
+        if (home) {
+            simulated.homeScore++;
+        } else {
+            simulated.awayScore++;
+        }
+        apply(simulated, Match.MatchStatus.LIVE, MatchEvent.EventType.GOAL, home, minute, additionalTime);
+    }
+
+    private void onHalfTime(SimulatedMatch simulated) {
+        simulated.phase = Phase.HALF_TIME;
+        apply(simulated, null, MatchEvent.EventType.HALF_TIME, null, HALF_MINUTES, 0);
+    }
+
+    private void onFullTime(SimulatedMatch simulated) {
+        simulated.phase = Phase.FINISHED;
+        apply(simulated, Match.MatchStatus.COMPLETED, MatchEvent.EventType.FULL_TIME, null, 2 * HALF_MINUTES, 0);
+        matches.remove(simulated.matchId, simulated);
+    }
+
+    private record Applied(Match match, Match.MatchStatus oldStatus, boolean matchChanged, MatchEvent event) {
+    }
+
+    /**
+     * Write the simulated state if it differs from the stored match, save the event and
+     * broadcast both; {@code status} null keeps the stored status
+     */
+    private void apply(SimulatedMatch simulated, Match.MatchStatus status, MatchEvent.EventType type,
+                       Boolean home, int minute, int additionalTime) {
+        Applied applied = transactionTemplate.execute(tx -> {
+            Match match = matchRepository.findById(simulated.matchId).orElse(null);
+            if (match == null) return null;
+
+            Match.MatchStatus oldStatus = match.getStatus();
+            boolean changed = false;
+            if (status != null && status != oldStatus) {
+                match.setStatus(status);
+                changed = true;
+            }
+            if (!Objects.equals(match.getHomeTeamScore(), simulated.homeScore)
+                    || !Objects.equals(match.getAwayTeamScore(), simulated.awayScore)) {
+                match.setHomeTeamScore(simulated.homeScore);
+                match.setAwayTeamScore(simulated.awayScore);
+                changed = true;
+            }
+            if (changed) {
+                match = matchRepository.save(match);
+            }
+
+            MatchEvent event = new MatchEvent();
+            event.setMatch(match);
+            event.setTeam(Boolean.FALSE.equals(home) ? match.getAwayTeam() : match.getHomeTeam());
+            event.setIsHomeTeam(home);
+            event.setEventType(type);
+            event.setMinute(minute);
+            if (additionalTime > 0) {
+                event.setAdditionalTime(additionalTime);
+            }
+            event.setHomeScore(simulated.homeScore);
+            event.setAwayScore(simulated.awayScore);
+            event = matchEventRepository.save(event);
+
+            // Broadcasts run after the session closes
+            Hibernate.initialize(match.getHomeTeam());
+            Hibernate.initialize(match.getAwayTeam());
+            return new Applied(match, oldStatus, changed, event);
+        });
+
+        if (applied == null) {
+            logger.warn("Simulated match {} no longer exists, untracking it", simulated.matchId);
+            untrack(simulated.matchId);
+            return;
+        }
+
+        Match match = applied.match();
+        if (applied.matchChanged()) {
+            matchesWritten.incrementAndGet();
+            Map<String, Double> winProbability = match.getStatus() == Match.MatchStatus.LIVE
+                ? inPlayProbabilityService.onScoreUpdate(match, minute)
+                : null;
+            liveUpdateService.broadcastMatchUpdate(match, winProbability);
+            if (applied.oldStatus() != match.getStatus()) {
+                liveUpdateService.broadcastMatchStatusChange(match, applied.oldStatus());
+            }
+            eventPublisher.publishEvent(new MatchScoreChangedEvent(match));
+        }
+        liveUpdateService.broadcastMatchEvent(applied.event());
+        if (MatchCompletedEvent.completes(applied.oldStatus(), match.getStatus())) {
+            eventPublisher.publishEvent(new MatchCompletedEvent(match));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Get simulation statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedMatches", matches.size());
+        Map<Phase, Integer> byPhase = new EnumMap<>(Phase.class);
+        matches.values().forEach(simulated -> byPhase.merge(simulated.phase, 1, Integer::sum));
+        stats.put("matchesByPhase", byPhase);
+        stats.put("pendingTimers", wheel.size());
+        stats.put("eventsFired", eventsFired.get());
+        stats.put("matchesWritten", matchesWritten.get());
+        stats.put("lastTickLagMs", lastLagMs);
+        stats.put("simulatedTime", simulationClock.now());
+        stats.put("clockSpeed", simulationClock.getSpeed());
+        stats.put("seeded", simulationClock.isSeeded());
+        stats.put("replaying", replay != null);
+        stats.put("recording", !recordPath.isBlank());
+        return stats;
+    }
+}
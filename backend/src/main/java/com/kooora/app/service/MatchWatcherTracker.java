@@ -0,0 +1,118 @@
+package com.kooora.app.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks how many WebSocket sessions watch each match, from STOMP subscriptions to
+ * /topic/match/{id} and its sub-topics. A session counts once per match however many
+ * of the match's topics it subscribes to.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class MatchWatcherTracker {
+
+    private static final Pattern MATCH_TOPIC = Pattern.compile("^/topic/match/(\\d+)(/.*)?$");
+
+    // sessionId -> subscriptionId -> matchId
+    private final Map<String, Map<String, Long>> subscriptions = new HashMap<>();
+
+    // matchId -> sessionId -> subscriptions to the match's topics
+    private final Map<Long, Map<String, Integer>> watchers = new HashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long matchId = matchIdOf(accessor.getDestination());
+        if (matchId != null && accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), matchId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    synchronized void subscribe(String sessionId, String subscriptionId, long matchId) {
+        Long previous = subscriptions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, matchId);
+        if (previous != null) {
+            release(sessionId, previous);
+        }
+        watchers.computeIfAbsent(matchId, id -> new HashMap<>()).merge(sessionId, 1, Integer::sum);
+    }
+
+    synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Long> sessionSubscriptions = subscriptions.get(sessionId);
+        if (sessionSubscriptions == null) return;
+
+        Long matchId = sessionSubscriptions.remove(subscriptionId);
+        if (matchId != null) {
+            release(sessionId, matchId);
+        }
+        if (sessionSubscriptions.isEmpty()) {
+            subscriptions.remove(sessionId);
+        }
+    }
+
+    synchronized void disconnect(String sessionId) {
+        Map<String, Long> sessionSubscriptions = subscriptions.remove(sessionId);
+        if (sessionSubscriptions == null) return;
+
+        for (Long matchId : sessionSubscriptions.values()) {
+            release(sessionId, matchId);
+        }
+    }
+
+    private void release(String sessionId, long matchId) {
+        Map<String, Integer> sessions = watchers.get(matchId);
+        if (sessions == null) return;
+
+        sessions.computeIfPresent(sessionId, (id, count) -> count > 1 ? count - 1 : null);
+        if (sessions.isEmpty()) {
+            watchers.remove(matchId);
+        }
+    }
+
+    /**
+     * Number of sessions watching a match
+     */
+    public synchronized int getWatcherCount(long matchId) {
+        Map<String, Integer> sessions = watchers.get(matchId);
+        return sessions != null ? sessions.size() : 0;
+    }
+
+    /**
+     * Watcher counts of all watched matches
+     */
+    public synchronized Map<Long, Integer> getWatcherCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        watchers.forEach((matchId, sessions) -> counts.put(matchId, sessions.size()));
+        return counts;
+    }
+
+    static Long matchIdOf(String destination) {
+        if (destination == null) return null;
+        Matcher matcher = MATCH_TOPIC.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.kooora.app.service;
+
+/**
+ * Percentile helpers for the latency figures of the replay and load reports
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public final class Percentiles {
+
+    private Percentiles() {
+    }
+
+    /**
+     * Value at the given percentile (0-100) of an ascending array, nearest-rank
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+}
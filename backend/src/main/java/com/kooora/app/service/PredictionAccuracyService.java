@@ -0,0 +1,372 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.PredictionAccuracy;
+import com.kooora.app.entity.PredictionRecord;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.repository.PredictionAccuracyRepository;
+import com.kooora.app.repository.PredictionRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that persists served predictions and scores them once the match completes.
+ * Brier score, log-loss and hit rate are kept as running aggregates per model version
+ * and component, so reading accuracy never rescans prediction history. Aggregate rows
+ * are created in their own transaction before the first delta is added, so concurrent
+ * scorings only ever increment them; the in-memory figures follow once scoring commits.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class PredictionAccuracyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionAccuracyService.class);
+
+    private static final double MIN_PROBABILITY = 1e-15;
+
+    private static final List<Match.MatchStatus> OPEN_FIXTURE_STATUSES =
+        List.of(Match.MatchStatus.SCHEDULED, Match.MatchStatus.LIVE);
+
+    @Autowired
+    private PredictionRecordRepository predictionRecordRepository;
+
+    @Autowired
+    private PredictionAccuracyRepository predictionAccuracyRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Running aggregates keyed by model version, indexed by component ordinal
+    private final Map<String, RunningScore[]> runningScores = new ConcurrentHashMap<>();
+
+    private final AtomicLong servedPredictions = new AtomicLong();
+
+    private volatile LocalDateTime lastScoredAt;
+
+    /**
+     * Prediction model components, in the order they are packed into a {@link PredictionRecord}.
+     * New components must only ever be appended.
+     */
+    public enum Component {
+        FORM_BASED("formBased"),
+        HEAD_TO_HEAD("headToHead"),
+        STATISTICAL("statistical"),
+        HOME_ADVANTAGE("homeAdvantage"),
+        ENSEMBLE("ensemble"),
+        ELO("elo");
+
+        private final String key;
+
+        Component(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Load persisted aggregates once at startup
+     */
+    @PostConstruct
+    public void loadAggregates() {
+        try {
+            for (PredictionAccuracy aggregate : predictionAccuracyRepository.findAll()) {
+                Component component = componentForKey(aggregate.getComponent());
+                if (component == null) continue;
+
+                RunningScore score = scoresFor(aggregate.getModelVersion())[component.ordinal()];
+                score.add(aggregate.getScoredCount(), aggregate.getHits(), aggregate.getBrierSum(),
+                    aggregate.getLogLossSum(), aggregate.getConfidenceSum());
+            }
+            servedPredictions.set(predictionRecordRepository.count());
+            logger.info("Loaded prediction accuracy aggregates for {} model versions", runningScores.size());
+        } catch (Exception e) {
+            logger.error("Error loading prediction accuracy aggregates: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Persist a served prediction, linked to the next open fixture between the teams if one exists
+     */
+    public void recordPrediction(Long homeTeamId, Long awayTeamId, String modelVersion,
+                                 Map<String, Map<String, Double>> predictions) {
+        try {
+            Long matchId = matchRepository
+                .findFirstByHomeTeamIdAndAwayTeamIdAndStatusInOrderByMatchDateAsc(
+                    homeTeamId, awayTeamId, OPEN_FIXTURE_STATUSES)
+                .map(Match::getId)
+                .orElse(null);
+
+            Component[] components = Component.values();
+            float[] values = new float[components.length * 3];
+            for (Component component : components) {
+                Map<String, Double> probabilities = predictions.get(component.getKey());
+                int offset = component.ordinal() * 3;
+                values[offset] = toFloat(probabilities, "homeWin");
+                values[offset + 1] = toFloat(probabilities, "draw");
+                values[offset + 2] = toFloat(probabilities, "awayWin");
+            }
+
+            predictionRecordRepository.save(
+                new PredictionRecord(matchId, homeTeamId, awayTeamId, modelVersion, values));
+            servedPredictions.incrementAndGet();
+        } catch (Exception e) {
+            logger.error("Error recording prediction for teams {} vs {}: {}", homeTeamId, awayTeamId, e.getMessage());
+        }
+    }
+
+    /**
+     * Score all outstanding predictions for a completed match and fold them into the aggregates,
+     * once the transaction that completed the match has committed
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        try {
+            LocalDateTime kickoff = event.getMatchDate() != null ? event.getMatchDate() : LocalDateTime.now();
+            List<PredictionRecord> records = predictionRecordRepository.findUnscoredForFixture(
+                event.getMatchId(), event.getHomeTeamId(), event.getAwayTeamId(), kickoff);
+
+            if (records.isEmpty()) {
+                return;
+            }
+
+            int outcome = event.getOutcome();
+            Map<String, double[][]> deltas = new HashMap<>();
+
+            for (PredictionRecord record : records) {
+                float[] values = record.getProbabilityValues();
+                double[][] versionDeltas = deltas.computeIfAbsent(record.getModelVersion(),
+                    v -> new double[Component.values().length][5]);
+
+                for (Component component : Component.values()) {
+                    int offset = component.ordinal() * 3;
+                    if (offset + 2 >= values.length || Float.isNaN(values[offset])) continue;
+
+                    double pHome = values[offset];
+                    double pDraw = values[offset + 1];
+                    double pAway = values[offset + 2];
+
+                    double[] delta = versionDeltas[component.ordinal()];
+                    delta[0] += 1;
+                    delta[1] += isHit(pHome, pDraw, pAway, outcome) ? 1 : 0;
+                    delta[2] += brierScore(pHome, pDraw, pAway, outcome);
+                    delta[3] += logLoss(pHome, pDraw, pAway, outcome);
+                    delta[4] += confidence(pHome, pDraw, pAway);
+                }
+                record.setScored(true);
+            }
+
+            predictionRecordRepository.saveAll(records);
+            applyDeltas(deltas);
+
+            logger.info("Scored {} predictions for match {}", records.size(), event.getMatchId());
+        } catch (Exception e) {
+            logger.error("Error scoring predictions for match {}: {}", event.getMatchId(), e.getMessage());
+            // Leave the predictions unscored so the aggregates never count them twice or not at all
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
+        }
+    }
+
+    /**
+     * Get accuracy metrics for a model version from the running aggregates
+     */
+    public Map<String, Object> getAccuracy(String modelVersion) {
+        Map<String, Object> accuracy = new HashMap<>();
+        RunningScore[] scores = runningScores.get(modelVersion);
+
+        Map<String, Object> components = new LinkedHashMap<>();
+        for (Component component : Component.values()) {
+            RunningScore score = scores != null ? scores[component.ordinal()] : new RunningScore();
+            components.put(component.getKey(), score.toMap());
+        }
+
+        RunningScore ensemble = scores != null ? scores[Component.ENSEMBLE.ordinal()] : new RunningScore();
+        Map<String, Object> ensembleMetrics = ensemble.toMap();
+
+        accuracy.put("totalPredictions", servedPredictions.get());
+        accuracy.put("scoredPredictions", ensembleMetrics.get("scored"));
+        accuracy.put("correctOutcomePredictions", ensembleMetrics.get("hits"));
+        accuracy.put("accuracyPercentage", ensembleMetrics.get("hitRate"));
+        accuracy.put("averageConfidence", ensembleMetrics.get("averageConfidence"));
+        accuracy.put("components", components);
+        accuracy.put("modelVersion", modelVersion);
+        accuracy.put("lastUpdated", lastScoredAt);
+
+        return accuracy;
+    }
+
+    private void applyDeltas(Map<String, double[][]> deltas) {
+        for (Map.Entry<String, double[][]> entry : deltas.entrySet()) {
+            String modelVersion = entry.getKey();
+            for (Component component : Component.values()) {
+                double[] delta = entry.getValue()[component.ordinal()];
+                if (delta[0] == 0) continue;
+
+                if (increment(modelVersion, component, delta) == 0) {
+                    seedAggregate(modelVersion, component);
+                    if (increment(modelVersion, component, delta) == 0) {
+                        throw new IllegalStateException("No accuracy aggregate for " + modelVersion + "/" + component.getKey());
+                    }
+                }
+            }
+        }
+
+        Runnable publish = () -> {
+            deltas.forEach((modelVersion, versionDeltas) -> {
+                RunningScore[] scores = scoresFor(modelVersion);
+                for (Component component : Component.values()) {
+                    double[] delta = versionDeltas[component.ordinal()];
+                    if (delta[0] == 0) continue;
+                    scores[component.ordinal()].add((long) delta[0], (long) delta[1], delta[2], delta[3], delta[4]);
+                }
+            });
+            lastScoredAt = LocalDateTime.now();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private int increment(String modelVersion, Component component, double[] delta) {
+        return predictionAccuracyRepository.incrementAggregate(modelVersion, component.getKey(),
+            (long) delta[0], (long) delta[1], delta[2], delta[3], delta[4]);
+    }
+
+    /**
+     * Create an empty aggregate row in a transaction of its own; when a concurrent scoring
+     * created it first the unique constraint rejects this one and theirs is used
+     */
+    private void seedAggregate(String modelVersion, Component component) {
+        TransactionTemplate seed = new TransactionTemplate(transactionManager);
+        seed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            seed.executeWithoutResult(tx ->
+                predictionAccuracyRepository.saveAndFlush(new PredictionAccuracy(modelVersion, component.getKey())));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Accuracy aggregate {}/{} was created concurrently", modelVersion, component.getKey());
+        }
+    }
+
+    private RunningScore[] scoresFor(String modelVersion) {
+        return runningScores.computeIfAbsent(modelVersion, v -> {
+            RunningScore[] scores = new RunningScore[Component.values().length];
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = new RunningScore();
+            }
+            return scores;
+        });
+    }
+
+    private Component componentForKey(String key) {
+        for (Component component : Component.values()) {
+            if (component.getKey().equals(key)) return component;
+        }
+        return null;
+    }
+
+    private float toFloat(Map<String, Double> probabilities, String outcome) {
+        if (probabilities == null || probabilities.get(outcome) == null) {
+            return Float.NaN;
+        }
+        return probabilities.get(outcome).floatValue();
+    }
+
+    // Scoring rules, outcome: 0 = home win, 1 = draw, 2 = away win
+
+    static double brierScore(double pHome, double pDraw, double pAway, int outcome) {
+        double home = pHome - (outcome == 0 ? 1 : 0);
+        double draw = pDraw - (outcome == 1 ? 1 : 0);
+        double away = pAway - (outcome == 2 ? 1 : 0);
+        return home * home + draw * draw + away * away;
+    }
+
+    static double logLoss(double pHome, double pDraw, double pAway, int outcome) {
+        double total = pHome + pDraw + pAway;
+        double p = outcome == 0 ? pHome : outcome == 1 ? pDraw : pAway;
+        if (total > 0) p /= total;
+        return -Math.log(Math.max(p, MIN_PROBABILITY));
+    }
+
+    static boolean isHit(double pHome, double pDraw, double pAway, int outcome) {
+        int predicted = pHome >= pDraw && pHome >= pAway ? 0 : pDraw >= pAway ? 1 : 2;
+        return predicted == outcome;
+    }
+
+    static double confidence(double pHome, double pDraw, double pAway) {
+        double max = Math.max(pHome, Math.max(pDraw, pAway));
+        double min = Math.min(pHome, Math.min(pDraw, pAway));
+        return (max - min) * 100;
+    }
+
+    /**
+     * Running sums for a single model component
+     */
+    private static final class RunningScore {
+        private long scored;
+        private long hits;
+        private double brierSum;
+        private double logLossSum;
+        private double confidenceSum;
+
+        synchronized void add(long scored, long hits, double brierSum, double logLossSum, double confidenceSum) {
+            this.scored += scored;
+            this.hits += hits;
+            this.brierSum += brierSum;
+            this.logLossSum += logLossSum;
+            this.confidenceSum += confidenceSum;
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("scored", scored);
+            metrics.put("hits", hits);
+            metrics.put("hitRate", scored > 0 ? round(hits * 100.0 / scored) : 0.0);
+            metrics.put("brierScore", scored > 0 ? round(brierSum / scored) : null);
+            metrics.put("logLoss", scored > 0 ? round(logLossSum / scored) : null);
+            metrics.put("averageConfidence", scored > 0 ? round(confidenceSum / scored) : 0.0);
+            return metrics;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000.0) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.ProviderRateLimiter.EndpointClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Isolation for external provider calls.
+ * Each endpoint class has a circuit breaker over a sliding window of call outcomes:
+ * when the failure rate crosses the threshold it opens and calls fail fast, and after
+ * the open period a few half-open probes decide whether it closes again. Live, standings
+ * and stats ingestion run in separate bulkheads, so a slow provider endpoint cannot
+ * take the in-flight capacity of the others; a full bulkhead rejects immediately.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class ProviderCallGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderCallGuard.class);
+
+    /**
+     * Bulkhead lanes
+     */
+    public enum Lane {
+        LIVE, STANDINGS, STATS;
+
+        static Lane of(EndpointClass endpointClass) {
+            return switch (endpointClass) {
+                case LIVE -> LIVE;
+                case STANDINGS -> STANDINGS;
+                case SCORERS, TEAMS -> STATS;
+            };
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${external.api.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${external.api.breaker.minimum-calls:5}")
+    private int minimumCalls;
+
+    @Value("${external.api.breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${external.api.breaker.open-ms:30000}")
+    private long openMs;
+
+    @Value("${external.api.breaker.half-open-probes:2}")
+    private int halfOpenProbes;
+
+    @Value("${external.api.bulkhead.live:4}")
+    private int liveConcurrency;
+
+    @Value("${external.api.bulkhead.standings:8}")
+    private int standingsConcurrency;
+
+    @Value("${external.api.bulkhead.stats:4}")
+    private int statsConcurrency;
+
+    private final Map<EndpointClass, CircuitBreaker> breakers = new EnumMap<>(EndpointClass.class);
+    private final Map<Lane, Semaphore> bulkheads = new EnumMap<>(Lane.class);
+    private final Map<EndpointClass, Counter> breakerRejections = new EnumMap<>(EndpointClass.class);
+    private final Map<Lane, Counter> bulkheadRejections = new EnumMap<>(Lane.class);
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    @PostConstruct
+    public void init() {
+        long openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openNanos, halfOpenProbes);
+            breakers.put(endpointClass, breaker);
+            String endpoint = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("kooora.ingestion.breaker.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            Gauge.builder("kooora.ingestion.breaker.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                .description("Failure rate over the breaker's sliding window, in percent")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            breakerRejections.put(endpointClass, Counter.builder("kooora.ingestion.breaker.rejected")
+                .description("Calls failed fast by an open circuit breaker")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry));
+        }
+
+        bulkheads.put(Lane.LIVE, new Semaphore(liveConcurrency));
+        bulkheads.put(Lane.STANDINGS, new Semaphore(standingsConcurrency));
+        bulkheads.put(Lane.STATS, new Semaphore(statsConcurrency));
+        bulkheads.forEach((lane, permits) -> {
+            String name = lane.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("kooora.ingestion.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free in-flight slots in an ingestion bulkhead")
+                .tag("lane", name)
+                .register(meterRegistry);
+            bulkheadRejections.put(lane, Counter.builder("kooora.ingestion.bulkhead.rejected")
+                .description("Calls rejected because their bulkhead was full")
+                .tag("lane", name)
+                .register(meterRegistry));
+        });
+    }
+
+    /**
+     * Run a provider call inside its bulkhead and circuit breaker. The permit is held until
+     * the returned future completes; rejections fail fast with a
+     * {@link RejectedExecutionException} without starting the call.
+     */
+    public <T> CompletableFuture<T> execute(EndpointClass endpointClass, Supplier<CompletableFuture<T>> call) {
+        Lane lane = Lane.of(endpointClass);
+        Semaphore bulkhead = bulkheads.get(lane);
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.get(lane).increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Bulkhead full for " + lane));
+        }
+
+        CircuitBreaker breaker = breakers.get(endpointClass);
+        CircuitBreaker.Permit permit = breaker.tryAcquire(nanoClock.getAsLong());
+        if (permit == CircuitBreaker.Permit.REJECTED) {
+            bulkhead.release();
+            breakerRejections.get(endpointClass).increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Circuit open for " + endpointClass));
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            bulkhead.release();
+            CircuitBreaker.State before = breaker.getState();
+            breaker.onResult(nanoClock.getAsLong(), permit, outcomeOf(error));
+            CircuitBreaker.State after = breaker.getState();
+            if (before != after) {
+                logger.warn("Circuit breaker for {} moved from {} to {}", endpointClass, before, after);
+            }
+        });
+    }
+
+    /**
+     * Provider failures are I/O errors, server errors and timeouts; our own rejections and
+     * errors while persisting a good payload do not count against the provider
+     */
+    static CircuitBreaker.Outcome outcomeOf(Throwable error) {
+        if (error == null) return CircuitBreaker.Outcome.SUCCESS;
+
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException || cause instanceof TimeoutException) {
+            return CircuitBreaker.Outcome.FAILURE;
+        }
+        return CircuitBreaker.Outcome.IGNORED;
+    }
+
+    public boolean isAnyOpen() {
+        return breakers.values().stream().anyMatch(breaker -> breaker.getState() != CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * Breaker state per endpoint class
+     */
+    public Map<String, Object> getBreakerStats() {
+        Map<String, Object> stats = new HashMap<>();
+        breakers.forEach((endpointClass, breaker) -> {
+            Map<String, Object> breakerStats = breaker.getStats();
+            breakerStats.put("rejected", (long) breakerRejections.get(endpointClass).count());
+            stats.put(endpointClass.name().toLowerCase(Locale.ROOT), breakerStats);
+        });
+        return stats;
+    }
+
+    /**
+     * In-flight capacity per bulkhead lane
+     */
+    public Map<String, Object> getBulkheadStats() {
+        Map<String, Object> stats = new HashMap<>();
+        bulkheads.forEach((lane, permits) -> {
+            Map<String, Object> laneStats = new HashMap<>();
+            laneStats.put("available", permits.availablePermits());
+            laneStats.put("rejected", (long) bulkheadRejections.get(lane).count());
+            stats.put(lane.name().toLowerCase(Locale.ROOT), laneStats);
+        });
+        return stats;
+    }
+
+    /**
+     * Count-based circuit breaker with half-open probing
+     */
+    static final class CircuitBreaker {
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        enum Permit { REJECTED, NORMAL, PROBE }
+
+        enum Outcome { SUCCESS, FAILURE, IGNORED }
+
+        private final boolean[] window;
+        private final int minimumCalls;
+        private final int failureRateThreshold;
+        private final long openNanos;
+        private final int halfOpenProbes;
+
+        private State state = State.CLOSED;
+        private int windowCount;
+        private int windowNext;
+        private int windowFailures;
+        private long openedAt;
+        private int probesInFlight;
+        private int probeSuccesses;
+        private long timesOpened;
+
+        CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long openNanos, int halfOpenProbes) {
+            this.window = new boolean[Math.max(1, windowSize)];
+            this.minimumCalls = Math.max(1, minimumCalls);
+            this.failureRateThreshold = failureRateThreshold;
+            this.openNanos = openNanos;
+            this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        }
+
+        /**
+         * Admit a call: always while closed, never while open, and a limited number of
+         * probes once the open period has passed
+         */
+        synchronized Permit tryAcquire(long now) {
+            if (state == State.OPEN) {
+                if (now - openedAt < openNanos) return Permit.REJECTED;
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+                probeSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight >= halfOpenProbes) return Permit.REJECTED;
+                probesInFlight++;
+                return Permit.PROBE;
+            }
+            return Permit.NORMAL;
+        }
+
+        synchronized void onResult(long now, Permit permit, Outcome outcome) {
+            if (permit == Permit.PROBE) {
+                probesInFlight--;
+                if (state != State.HALF_OPEN || outcome == Outcome.IGNORED) return;
+                if (outcome == Outcome.FAILURE) {
+                    open(now);
+                } else if (++probeSuccesses >= halfOpenProbes) {
+                    close();
+                }
+                return;
+            }
+
+            // Results of calls admitted before the breaker opened are stale
+            if (permit != Permit.NORMAL || state != State.CLOSED || outcome == Outcome.IGNORED) return;
+            record(outcome == Outcome.FAILURE);
+            if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                open(now);
+            }
+        }
+
+        private void record(boolean failure) {
+            if (windowCount == window.length) {
+                if (window[windowNext]) windowFailures--;
+            } else {
+                windowCount++;
+            }
+            window[windowNext] = failure;
+            if (failure) windowFailures++;
+            windowNext = (windowNext + 1) % window.length;
+        }
+
+        private void open(long now) {
+            state = State.OPEN;
+            openedAt = now;
+            timesOpened++;
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            windowCount = 0;
+            windowNext = 0;
+            windowFailures = 0;
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+
+        synchronized double getFailureRate() {
+            return windowCount == 0 ? 0 : windowFailures * 100.0 / windowCount;
+        }
+
+        synchronized Map<String, Object> getStats() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("state", state);
+            stats.put("failureRate", Math.round(getFailureRate() * 10) / 10.0);
+            stats.put("windowCalls", windowCount);
+            stats.put("timesOpened", timesOpened);
+            return stats;
+        }
+    }
+
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+}
@@ -0,0 +1,327 @@
+package com.kooora.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter for external provider calls.
+ * Each provider has a global bucket sized to its quota plus one bucket per endpoint
+ * class, and a call needs a token from both. Callers over quota are queued: the
+ * returned future completes once their reserved token becomes available, in
+ * reservation order. Rate-limit response headers shrink the provider bucket to the
+ * quota the provider reports, and Retry-After pauses it.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class ProviderRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRateLimiter.class);
+
+    /**
+     * Endpoint classes with separate budgets within a provider's quota
+     */
+    public enum EndpointClass {
+        LIVE, STANDINGS, SCORERS, TEAMS
+    }
+
+    @Autowired
+    @Qualifier("ingestionExecutor")
+    private ExecutorService ingestionExecutor;
+
+    @Value("${external.api.quota.calls-per-minute:10}")
+    private int callsPerMinute;
+
+    @Value("${external.api.quota.live-per-minute:6}")
+    private int livePerMinute;
+
+    @Value("${external.api.quota.standings-per-minute:4}")
+    private int standingsPerMinute;
+
+    @Value("${external.api.quota.scorers-per-minute:2}")
+    private int scorersPerMinute;
+
+    @Value("${external.api.quota.teams-per-minute:2}")
+    private int teamsPerMinute;
+
+    @Value("${external.api.quota.max-wait-ms:120000}")
+    private long maxWaitMs;
+
+    private final Map<String, ProviderBuckets> providers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong throttledResponses = new AtomicLong();
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    /**
+     * Global and per-class buckets of one provider
+     */
+    private static final class ProviderBuckets {
+        final TokenBucket global;
+        final Map<EndpointClass, TokenBucket> classes = new EnumMap<>(EndpointClass.class);
+
+        ProviderBuckets(TokenBucket global) {
+            this.global = global;
+        }
+    }
+
+    /**
+     * Acquire a call permit, completing immediately when tokens are available or once the
+     * reserved token has refilled. Fails with a {@link RejectedExecutionException} when the
+     * wait would exceed the maximum queueing time.
+     */
+    public CompletableFuture<Void> acquire(String provider, EndpointClass endpointClass) {
+        ProviderBuckets buckets = bucketsFor(provider);
+        long now = nanoClock.getAsLong();
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+
+        TokenBucket classBucket = buckets.classes.get(endpointClass);
+        long classWait = classBucket.reserve(now, maxWaitNanos);
+        if (classWait < 0) {
+            return reject(provider, endpointClass);
+        }
+        long globalWait = buckets.global.reserve(now, maxWaitNanos);
+        if (globalWait < 0) {
+            classBucket.refund();
+            return reject(provider, endpointClass);
+        }
+
+        granted.incrementAndGet();
+        long waitNanos = Math.max(classWait, globalWait);
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        delayed.incrementAndGet();
+        queued.incrementAndGet();
+        logger.debug("Queued {} {} call for {} ms", provider, endpointClass, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return CompletableFuture
+            .runAsync(queued::decrementAndGet, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, ingestionExecutor));
+    }
+
+    private CompletableFuture<Void> reject(String provider, EndpointClass endpointClass) {
+        rejected.incrementAndGet();
+        return CompletableFuture.failedFuture(new RejectedExecutionException(
+            "Rate limit queue for " + provider + " " + endpointClass + " exceeds " + maxWaitMs + " ms"));
+    }
+
+    /**
+     * Whether a call of this class could start now while leaving the given number of
+     * provider-wide tokens for other callers
+     */
+    public boolean hasCapacity(String provider, EndpointClass endpointClass, int reserve) {
+        ProviderBuckets buckets = bucketsFor(provider);
+        long now = nanoClock.getAsLong();
+        return buckets.classes.get(endpointClass).available(now) >= 1
+            && buckets.global.available(now) >= 1 + reserve;
+    }
+
+    /**
+     * Apply the provider's rate-limit and Retry-After headers (lower-cased names) to its quota
+     */
+    public void onResponse(String provider, int status, Map<String, String> headers) {
+        TokenBucket global = bucketsFor(provider).global;
+        long now = nanoClock.getAsLong();
+
+        Long remaining = parseLong(headers.get("x-requests-available-minute"), headers.get("x-ratelimit-remaining"));
+        Long reset = parseLong(headers.get("x-requestcounter-reset"), headers.get("x-ratelimit-reset"));
+        if (remaining != null) {
+            global.limitTo(now, remaining, reset != null ? TimeUnit.SECONDS.toNanos(resetSeconds(reset)) : 0);
+        }
+
+        if (status == 429 || status == 503) {
+            long retryAfterNanos = retryAfterNanos(headers.get("retry-after"), reset);
+            if (status == 429) {
+                throttledResponses.incrementAndGet();
+            }
+            if (retryAfterNanos > 0) {
+                global.pause(now, retryAfterNanos);
+                logger.warn("Provider {} returned {}; pausing calls for {} ms", provider, status,
+                    TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+            }
+        }
+    }
+
+    private ProviderBuckets bucketsFor(String provider) {
+        return providers.computeIfAbsent(provider, name -> {
+            long now = nanoClock.getAsLong();
+            ProviderBuckets buckets = new ProviderBuckets(TokenBucket.perMinute(callsPerMinute, now));
+            buckets.classes.put(EndpointClass.LIVE, TokenBucket.perMinute(livePerMinute, now));
+            buckets.classes.put(EndpointClass.STANDINGS, TokenBucket.perMinute(standingsPerMinute, now));
+            buckets.classes.put(EndpointClass.SCORERS, TokenBucket.perMinute(scorersPerMinute, now));
+            buckets.classes.put(EndpointClass.TEAMS, TokenBucket.perMinute(teamsPerMinute, now));
+            return buckets;
+        });
+    }
+
+    private static Long parseLong(String... values) {
+        for (String value : values) {
+            if (value == null) continue;
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // try the next header
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reset headers carry either seconds from now or an epoch timestamp
+     */
+    private static long resetSeconds(long reset) {
+        long epochSeconds = System.currentTimeMillis() / 1000;
+        return reset > 1_000_000_000L ? Math.max(0, reset - epochSeconds) : reset;
+    }
+
+    /**
+     * Retry-After as delta seconds or an HTTP date, falling back to the counter reset
+     */
+    static long retryAfterNanos(String retryAfter, Long reset) {
+        if (retryAfter != null) {
+            String value = retryAfter.trim();
+            try {
+                return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+                } catch (Exception ignored) {
+                    // unparseable, fall through
+                }
+            }
+        }
+        return reset != null ? TimeUnit.SECONDS.toNanos(resetSeconds(reset)) : 0;
+    }
+
+    /**
+     * Get rate limiter statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("granted", granted.get());
+        stats.put("delayed", delayed.get());
+        stats.put("queued", queued.get());
+        stats.put("rejected", rejected.get());
+        stats.put("throttledResponses", throttledResponses.get());
+        stats.put("maxWaitMs", maxWaitMs);
+
+        long now = nanoClock.getAsLong();
+        Map<String, Object> available = new HashMap<>();
+        providers.forEach((provider, buckets) -> {
+            Map<String, Double> tokens = new HashMap<>();
+            tokens.put("global", round(buckets.global.available(now)));
+            buckets.classes.forEach((endpointClass, bucket) ->
+                tokens.put(endpointClass.name().toLowerCase(Locale.ROOT), round(bucket.available(now))));
+            available.put(provider, tokens);
+        });
+        stats.put("availableTokens", available);
+        return stats;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Token bucket allowing reservations into debt: a negative balance is the queue of
+     * callers waiting for refill, so each reservation learns exactly how long to wait
+     */
+    static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+        private long pausedUntil;
+
+        TokenBucket(double capacity, double tokensPerNano, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerNano;
+            this.tokens = capacity;
+            this.lastRefill = now;
+            this.pausedUntil = now;
+        }
+
+        static TokenBucket perMinute(int callsPerMinute, long now) {
+            int calls = Math.max(1, callsPerMinute);
+            return new TokenBucket(calls, calls / (double) TimeUnit.MINUTES.toNanos(1), now);
+        }
+
+        private void refill(long now) {
+            // No refill accrues while paused
+            long from = Math.max(lastRefill, pausedUntil);
+            if (now > from) {
+                tokens = Math.min(capacity, tokens + (now - from) * tokensPerNano);
+            }
+            lastRefill = Math.max(lastRefill, now);
+        }
+
+        /**
+         * Take one token; returns the nanos to wait before using it, or -1 (and takes nothing)
+         * when that wait would exceed the limit
+         */
+        synchronized long reserve(long now, long maxWaitNanos) {
+            refill(now);
+            long pauseWait = Math.max(0, pausedUntil - now);
+            double after = tokens - 1;
+            long refillWait = after >= 0 ? 0 : (long) Math.ceil(-after / tokensPerNano);
+            long wait = pauseWait + refillWait;
+            if (wait > maxWaitNanos) return -1;
+
+            tokens = after;
+            return wait;
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized double available(long now) {
+            refill(now);
+            return now < pausedUntil ? 0 : Math.max(0, tokens);
+        }
+
+        /**
+         * Never hold more tokens than the provider says remain; with none left, wait for its reset
+         */
+        synchronized void limitTo(long now, long remaining, long resetNanos) {
+            refill(now);
+            tokens = Math.min(tokens, remaining);
+            if (remaining <= 0 && resetNanos > 0) {
+                pause(now, resetNanos);
+            }
+        }
+
+        synchronized void pause(long now, long nanos) {
+            refill(now);
+            pausedUntil = Math.max(pausedUntil, now + nanos);
+            tokens = Math.min(tokens, 0);
+        }
+    }
+
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+}
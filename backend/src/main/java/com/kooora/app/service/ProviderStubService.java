@@ -0,0 +1,428 @@
+package com.kooora.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the football-data provider, for load-testing ingestion offline.
+ * Responses come from recorded files when present, otherwise from synthetic state the
+ * replay harness drives (live matches, team lists, standings computed from finished
+ * matches). With {@code record-from} set, misses are fetched from the real provider
+ * and saved as recordings. Latency, injected errors and rate-limit headers are
+ * configurable so the client side sees provider-like behaviour.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+@ConditionalOnProperty(name = "external.api.stub.enabled", havingValue = "true")
+public class ProviderStubService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderStubService.class);
+
+    private static final Set<String> LIVE_STATUSES = Set.of("IN_PLAY", "PAUSED", "EXTRA_TIME", "PENALTY_SHOOTOUT");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IngestionHttpClient ingestionHttpClient;
+
+    @Autowired
+    @Qualifier("ingestionExecutor")
+    private ExecutorService ingestionExecutor;
+
+    @Value("${external.api.stub.fixtures-dir:stub-provider}")
+    private String fixturesDir;
+
+    @Value("${external.api.stub.record-from:}")
+    private String recordFrom;
+
+    @Value("${external.api.stub.record-key:}")
+    private String recordKey;
+
+    @Value("${external.api.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${external.api.stub.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Value("${external.api.stub.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${external.api.stub.error-status:503}")
+    private int errorStatus;
+
+    @Value("${external.api.stub.calls-per-minute:0}")
+    private int callsPerMinute;
+
+    @Value("${external.api.stub.seed:42}")
+    private long seed;
+
+    /**
+     * A response served by the stub
+     */
+    public record StubResponse(int status, Map<String, String> headers, byte[] body) {
+    }
+
+    /**
+     * A team known to a stub competition
+     */
+    public record StubTeam(long id, String name, String shortName) {
+    }
+
+    /**
+     * A match served by the stub, in provider terms
+     */
+    public record StubMatch(long id, long competitionId, StubTeam homeTeam, StubTeam awayTeam, String utcDate,
+                            String status, int homeScore, int awayScore, Integer minute) {
+
+        public StubMatch withState(String status, int homeScore, int awayScore, Integer minute) {
+            return new StubMatch(id, competitionId, homeTeam, awayTeam, utcDate, status, homeScore, awayScore, minute);
+        }
+    }
+
+    private final Map<Long, StubMatch> matches = new ConcurrentHashMap<>();
+    private final Map<Long, List<StubTeam>> competitionTeams = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong recordedHits = new AtomicLong();
+    private final AtomicLong syntheticHits = new AtomicLong();
+    private final AtomicLong recordings = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    private long windowStart;
+    private int windowCalls;
+
+    // Injected errors and latency follow the configured seed, so load runs can be repeated
+    private Random random;
+
+    @PostConstruct
+    public void init() {
+        random = new Random(seed);
+    }
+
+    /**
+     * Serve a provider path such as {@code matches} or {@code competitions/2021/standings}
+     */
+    public CompletableFuture<StubResponse> handle(String path, Map<String, String> query) {
+        requests.incrementAndGet();
+
+        Map<String, String> headers = new HashMap<>();
+        long retryAfter = applyRateLimit(headers);
+        CompletableFuture<StubResponse> response;
+        if (retryAfter > 0) {
+            rateLimited.incrementAndGet();
+            headers.put("Retry-After", String.valueOf(retryAfter));
+            response = CompletableFuture.completedFuture(error(429, headers, "Request limit reached"));
+        } else if (errorRate > 0 && random.nextDouble() < errorRate) {
+            injectedErrors.incrementAndGet();
+            response = CompletableFuture.completedFuture(error(errorStatus, headers, "Injected error"));
+        } else {
+            response = body(path, query, headers);
+        }
+
+        long delay = latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0);
+        if (delay <= 0) {
+            return response;
+        }
+        return response.thenApplyAsync(r -> r,
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, ingestionExecutor));
+    }
+
+    /**
+     * Count the call against the minute window; returns the seconds to wait when exhausted
+     */
+    private synchronized long applyRateLimit(Map<String, String> headers) {
+        if (callsPerMinute <= 0) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= 60_000) {
+            windowStart = now;
+            windowCalls = 0;
+        }
+        long resetSeconds = Math.max(1, (windowStart + 60_000 - now + 999) / 1000);
+        headers.put("X-RequestCounter-Reset", String.valueOf(resetSeconds));
+        if (windowCalls >= callsPerMinute) {
+            headers.put("X-Requests-Available-Minute", "0");
+            return resetSeconds;
+        }
+        windowCalls++;
+        headers.put("X-Requests-Available-Minute", String.valueOf(callsPerMinute - windowCalls));
+        return 0;
+    }
+
+    private CompletableFuture<StubResponse> body(String path, Map<String, String> query, Map<String, String> headers) {
+        try {
+            Path recorded = recordingFor(path);
+            if (Files.isRegularFile(recorded)) {
+                recordedHits.incrementAndGet();
+                return CompletableFuture.completedFuture(new StubResponse(200, headers, Files.readAllBytes(recorded)));
+            }
+
+            Object synthetic = synthetic(path, query);
+            if (synthetic != null) {
+                syntheticHits.incrementAndGet();
+                return CompletableFuture.completedFuture(
+                    new StubResponse(200, headers, objectMapper.writeValueAsBytes(synthetic)));
+            }
+
+            if (!recordFrom.isEmpty()) {
+                return record(path, query, headers, recorded);
+            }
+            return CompletableFuture.completedFuture(error(404, headers, "Unknown resource: " + path));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(error(400, headers, e.getMessage()));
+        } catch (IOException e) {
+            logger.error("Error serving stub response for {}: {}", path, e.getMessage());
+            return CompletableFuture.completedFuture(error(500, headers, e.getMessage()));
+        }
+    }
+
+    /**
+     * Fetch a miss from the real provider and save it as a recording
+     */
+    private CompletableFuture<StubResponse> record(String path, Map<String, String> query,
+                                                   Map<String, String> headers, Path recorded) {
+        StringBuilder url = new StringBuilder(recordFrom).append('/').append(path);
+        String separator = "?";
+        for (Map.Entry<String, String> param : query.entrySet()) {
+            url.append(separator).append(param.getKey()).append('=').append(param.getValue());
+            separator = "&";
+        }
+
+        Map<String, String> requestHeaders = new HashMap<>();
+        requestHeaders.put("X-Auth-Token", recordKey);
+        return ingestionHttpClient.get(url.toString(), requestHeaders).thenApply(response -> {
+            if (!response.isOk() || response.body() == null) {
+                return error(response.status(), headers, "Recording failed for " + path);
+            }
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            try {
+                Files.createDirectories(recorded.getParent());
+                Files.write(recorded, body);
+                recordings.incrementAndGet();
+                logger.info("Recorded provider response {} to {}", path, recorded);
+            } catch (IOException e) {
+                logger.warn("Could not save recording {}: {}", recorded, e.getMessage());
+            }
+            return new StubResponse(200, headers, body);
+        });
+    }
+
+    private Path recordingFor(String path) {
+        return Path.of(fixturesDir).toAbsolutePath().resolve(path.replace('/', '_') + ".json");
+    }
+
+    private Object synthetic(String path, Map<String, String> query) {
+        String[] parts = path.split("/");
+        if (parts.length == 1 && "matches".equals(parts[0])) {
+            return Map.of("matches", matchesFor(query));
+        }
+        if (parts.length == 3 && "competitions".equals(parts[0])) {
+            long competitionId = parseId(parts[1], "competition ID");
+            List<StubTeam> teams = competitionTeams.get(competitionId);
+            if (teams == null) {
+                return null;
+            }
+            return switch (parts[2]) {
+                case "teams" -> Map.of("teams", teams.stream().map(ProviderStubService::teamJson).toList());
+                case "standings" -> Map.of("standings", List.of(Map.of("type", "TOTAL",
+                    "table", standingsTable(teams, finishedMatches(competitionId)))));
+                case "scorers" -> Map.of("scorers", List.of());
+                default -> null;
+            };
+        }
+        return null;
+    }
+
+    private List<Map<String, Object>> matchesFor(Map<String, String> query) {
+        Set<Long> ids = new HashSet<>();
+        String idParam = query.get("ids");
+        if (idParam != null && !idParam.isBlank()) {
+            for (String id : idParam.split(",")) {
+                ids.add(parseId(id.trim(), "match ID"));
+            }
+        }
+        boolean liveOnly = "LIVE".equalsIgnoreCase(query.get("status"));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (StubMatch match : matches.values()) {
+            if (!ids.isEmpty() && !ids.contains(match.id())) continue;
+            if (liveOnly && !LIVE_STATUSES.contains(match.status())) continue;
+            result.add(matchJson(match));
+        }
+        return result;
+    }
+
+    /**
+     * Parse an ID from a request path or query; malformed input is a bad request
+     */
+    private static long parseId(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private List<StubMatch> finishedMatches(long competitionId) {
+        return matches.values().stream()
+            .filter(match -> match.competitionId() == competitionId && "FINISHED".equals(match.status()))
+            .toList();
+    }
+
+    private static Map<String, Object> matchJson(StubMatch match) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", match.id());
+        json.put("utcDate", match.utcDate());
+        json.put("status", match.status());
+        json.put("minute", match.minute());
+        json.put("homeTeam", teamJson(match.homeTeam()));
+        json.put("awayTeam", teamJson(match.awayTeam()));
+        Map<String, Object> fullTime = new HashMap<>();
+        fullTime.put("home", match.homeScore());
+        fullTime.put("away", match.awayScore());
+        json.put("score", Map.of("fullTime", fullTime));
+        return json;
+    }
+
+    private static Map<String, Object> teamJson(StubTeam team) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", team.id());
+        json.put("name", team.name());
+        json.put("shortName", team.shortName());
+        return json;
+    }
+
+    /**
+     * A provider-shaped table computed from finished matches, sorted by points, goal
+     * difference and goals scored
+     */
+    static List<Map<String, Object>> standingsTable(List<StubTeam> teams, Collection<StubMatch> finished) {
+        Map<Long, int[]> rows = new LinkedHashMap<>();
+        for (StubTeam team : teams) {
+            // played, won, draw, lost, goals for, goals against
+            rows.put(team.id(), new int[6]);
+        }
+        for (StubMatch match : finished) {
+            int[] home = rows.get(match.homeTeam().id());
+            int[] away = rows.get(match.awayTeam().id());
+            if (home == null || away == null) continue;
+            tally(home, match.homeScore(), match.awayScore());
+            tally(away, match.awayScore(), match.homeScore());
+        }
+
+        List<StubTeam> ordered = new ArrayList<>(teams);
+        ordered.sort(Comparator.<StubTeam>comparingInt(team -> points(rows.get(team.id())))
+            .thenComparingInt(team -> rows.get(team.id())[4] - rows.get(team.id())[5])
+            .thenComparingInt(team -> rows.get(team.id())[4])
+            .reversed()
+            .thenComparing(StubTeam::name));
+
+        List<Map<String, Object>> table = new ArrayList<>();
+        for (StubTeam team : ordered) {
+            int[] row = rows.get(team.id());
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("position", table.size() + 1);
+            json.put("team", teamJson(team));
+            json.put("playedGames", row[0]);
+            json.put("won", row[1]);
+            json.put("draw", row[2]);
+            json.put("lost", row[3]);
+            json.put("points", points(row));
+            json.put("goalsFor", row[4]);
+            json.put("goalsAgainst", row[5]);
+            json.put("goalDifference", row[4] - row[5]);
+            table.add(json);
+        }
+        return table;
+    }
+
+    private static void tally(int[] row, int scored, int conceded) {
+        row[0]++;
+        row[scored > conceded ? 1 : scored == conceded ? 2 : 3]++;
+        row[4] += scored;
+        row[5] += conceded;
+    }
+
+    private static int points(int[] row) {
+        return row[1] * 3 + row[2];
+    }
+
+    private StubResponse error(int status, Map<String, String> headers, String message) {
+        try {
+            return new StubResponse(status, headers, objectMapper.writeValueAsBytes(Map.of("message", message)));
+        } catch (IOException e) {
+            return new StubResponse(status, headers, new byte[0]);
+        }
+    }
+
+    /**
+     * Register the teams of a competition served by the stub
+     */
+    public void putCompetition(long competitionId, List<StubTeam> teams) {
+        competitionTeams.put(competitionId, List.copyOf(teams));
+    }
+
+    /**
+     * Add or replace a match served by the stub
+     */
+    public void putMatch(StubMatch match) {
+        matches.put(match.id(), match);
+    }
+
+    public StubMatch getMatch(long id) {
+        return matches.get(id);
+    }
+
+    /**
+     * Drop all synthetic state
+     */
+    public void reset() {
+        matches.clear();
+        competitionTeams.clear();
+    }
+
+    /**
+     * Get stub statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("recordedHits", recordedHits.get());
+        stats.put("syntheticHits", syntheticHits.get());
+        stats.put("recordings", recordings.get());
+        stats.put("injectedErrors", injectedErrors.get());
+        stats.put("rateLimited", rateLimited.get());
+        stats.put("matches", matches.size());
+        stats.put("competitions", competitionTeams.size());
+        stats.put("latencyMs", latencyMs);
+        stats.put("latencyJitterMs", latencyJitterMs);
+        stats.put("errorRate", errorRate);
+        stats.put("callsPerMinute", callsPerMinute);
+        stats.put("fixturesDir", Path.of(fixturesDir).toAbsolutePath().toString());
+        return stats;
+    }
+}
@@ -0,0 +1,376 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.PushNotificationService.PushSubscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Delivery engine for web push.
+ * Each delivery shard is walked by its own virtual thread, and every subscription is
+ * delivered on a virtual thread of its own, bounded by a global in-flight limit and a
+ * per push-service host limit. Requests go through one HTTP/2 client, which keeps a
+ * multiplexed connection per host. Payloads are encrypted per subscription from a
+ * plaintext record prepared once per notification, in pooled encryption contexts.
+ * Every request carries a VAPID authorization signed once per push service origin.
+ * Rate limits, server errors and I/O failures are retried with exponential backoff and
+ * jitter; expired subscriptions (404/410) are reported back so they can be removed.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class PushDeliveryEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushDeliveryEngine.class);
+
+    /**
+     * Outcome of one notification across all recipients
+     */
+    public record DeliveryReport(long recipients, long delivered, long failed, long expired, long retries, long elapsedMs) {
+
+        public double perSecond() {
+            return elapsedMs > 0 ? recipients * 1000.0 / elapsedMs : recipients;
+        }
+    }
+
+    private enum Result { DELIVERED, EXPIRED, FAILED }
+
+    @Value("${app.notifications.push.delivery.http-enabled:false}")
+    private boolean httpEnabled;
+
+    @Value("${app.notifications.push.delivery.encrypt:true}")
+    private boolean encrypt;
+
+    @Value("${app.notifications.push.delivery.max-in-flight:256}")
+    private int maxInFlight;
+
+    @Value("${app.notifications.push.delivery.max-in-flight-per-host:64}")
+    private int maxInFlightPerHost;
+
+    @Value("${app.notifications.push.delivery.request-timeout-ms:10000}")
+    private long requestTimeoutMs;
+
+    @Value("${app.notifications.push.delivery.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.push.delivery.backoff-base-ms:500}")
+    private long backoffBaseMs;
+
+    @Value("${app.notifications.push.delivery.backoff-max-ms:30000}")
+    private long backoffMaxMs;
+
+    @Value("${app.notifications.push.delivery.ttl-seconds:3600}")
+    private int ttlSeconds;
+
+    @Value("${app.notifications.vapid.public-key:}")
+    private String vapidPublicKey;
+
+    @Value("${app.notifications.vapid.private-key:}")
+    private String vapidPrivateKey;
+
+    @Value("${app.notifications.vapid.subject:mailto:admin@kooora.com}")
+    private String vapidSubject;
+
+    private ExecutorService pushExecutor;
+    private HttpClient httpClient;
+    private String ttlHeader;
+    private Semaphore inFlight;
+    private VapidSigner vapidSigner;
+    private final WebPushEncryption encryption = new WebPushEncryption();
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong invalidKeyCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        pushExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Push-", 0).factory());
+        inFlight = new Semaphore(maxInFlight);
+        ttlHeader = Integer.toString(ttlSeconds);
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(pushExecutor)
+            .build();
+
+        if (vapidPublicKey.isBlank() || vapidPrivateKey.isBlank()) {
+            if (httpEnabled) {
+                logger.warn("No VAPID keys configured; push services will reject unauthenticated deliveries");
+            }
+            return;
+        }
+        try {
+            vapidSigner = new VapidSigner(vapidPublicKey, vapidPrivateKey, vapidSubject);
+        } catch (GeneralSecurityException e) {
+            logger.error("Invalid VAPID keys, deliveries are sent unauthenticated: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pushExecutor.shutdownNow();
+        httpClient.close();
+    }
+
+    /**
+     * Deliver a serialized payload to the subscriptions produced for each shard.
+     * {@code shardPages} is called with a shard number and a page consumer and feeds that
+     * shard's subscriptions to it page by page; expired endpoints go to {@code onExpired}.
+     * The payload must fit one web push record ({@link WebPushEncryption#MAX_PLAINTEXT}).
+     */
+    public CompletableFuture<DeliveryReport> deliver(byte[] body, String urgency, int shardCount,
+                                                     BiConsumer<Integer, Consumer<List<PushSubscription>>> shardPages,
+                                                     Consumer<String> onExpired) {
+        long started = System.nanoTime();
+        WebPushEncryption.Record record = WebPushEncryption.prepare(body);
+        AtomicLong recipients = new AtomicLong();
+        AtomicLong delivered = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong expired = new AtomicLong();
+        AtomicLong retries = new AtomicLong();
+
+        List<CompletableFuture<Void>> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            shards.add(CompletableFuture.runAsync(() -> shardPages.accept(current, page -> {
+                    List<CompletableFuture<Void>> pending = new ArrayList<>(page.size());
+                    // Group by push service so one host's requests go out together over its connection
+                    Map<String, List<PushSubscription>> byHost = new LinkedHashMap<>();
+                    for (PushSubscription subscription : page) {
+                        byHost.computeIfAbsent(hostOf(subscription.getEndpoint()), h -> new ArrayList<>()).add(subscription);
+                    }
+                    byHost.forEach((host, subscriptions) -> {
+                        for (PushSubscription subscription : subscriptions) {
+                            acquire(inFlight);
+                            recipients.incrementAndGet();
+                            pending.add(CompletableFuture.runAsync(() -> {
+                                try {
+                                    Result result = deliverOne(host, subscription, body, record, urgency, retries);
+                                    switch (result) {
+                                        case DELIVERED -> delivered.incrementAndGet();
+                                        case FAILED -> failed.incrementAndGet();
+                                        case EXPIRED -> {
+                                            expired.incrementAndGet();
+                                            onExpired.accept(subscription.getEndpoint());
+                                        }
+                                    }
+                                } finally {
+                                    inFlight.release();
+                                }
+                            }, pushExecutor));
+                        }
+                    });
+                    // Finish the page before reading the next one, so memory stays bounded by the page size
+                    CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+                }), pushExecutor));
+        }
+
+        return CompletableFuture.allOf(shards.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            DeliveryReport report = new DeliveryReport(recipients.get(), delivered.get(), failed.get(), expired.get(),
+                retries.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            logger.info("Push delivered to {}/{} subscribers in {} ms ({} failed, {} expired, {} retries)",
+                report.delivered(), report.recipients(), report.elapsedMs(), report.failed(), report.expired(), report.retries());
+            return report;
+        });
+    }
+
+    /**
+     * Deliver to one endpoint, retrying transient failures with backoff. The global
+     * in-flight permit is held except while backing off; the host permit only while a
+     * request is open.
+     */
+    private Result deliverOne(String host, PushSubscription subscription, byte[] body, WebPushEncryption.Record record,
+                              String urgency, AtomicLong retries) {
+        String endpoint = subscription.getEndpoint();
+        if (!httpEnabled) {
+            logger.debug("Simulated push delivery to {}", endpoint);
+            deliveredCount.incrementAndGet();
+            return Result.DELIVERED;
+        }
+        if (!encrypt) {
+            return send(host, endpoint, HttpRequest.BodyPublishers.ofByteArray(body), "application/json", null,
+                urgency, retries);
+        }
+
+        // The encrypted message is kept for retries and the context returned once it is sent
+        WebPushEncryption.Context context = encryption.acquire();
+        try {
+            PushSubscription.Keys keys = subscription.getKeys();
+            int length = context.encrypt(record, keys != null ? keys.getP256dh() : null, keys != null ? keys.getAuth() : null);
+            return send(host, endpoint, HttpRequest.BodyPublishers.ofByteArray(context.message(), 0, length),
+                "application/octet-stream", "aes128gcm", urgency, retries);
+        } catch (GeneralSecurityException e) {
+            logger.debug("Cannot encrypt push message for {}: {}", endpoint, e.getMessage());
+            invalidKeyCount.incrementAndGet();
+            failedCount.incrementAndGet();
+            return Result.FAILED;
+        } finally {
+            encryption.release(context);
+        }
+    }
+
+    private Result send(String host, String endpoint, HttpRequest.BodyPublisher body, String contentType,
+                        String contentEncoding, String urgency, AtomicLong retries) {
+        Semaphore hostPermit = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxInFlightPerHost));
+        for (int attempt = 1; ; attempt++) {
+            long retryAfterMs = -1;
+            try {
+                int status;
+                acquire(hostPermit);
+                try {
+                    HttpResponse<Void> response = httpClient.send(request(endpoint, body, contentType, contentEncoding, urgency),
+                        HttpResponse.BodyHandlers.discarding());
+                    status = response.statusCode();
+                    retryAfterMs = response.headers().firstValue("Retry-After")
+                        .map(PushDeliveryEngine::parseRetryAfterMs).orElse(-1L);
+                } finally {
+                    hostPermit.release();
+                }
+
+                if (status >= 200 && status < 300) {
+                    deliveredCount.incrementAndGet();
+                    return Result.DELIVERED;
+                }
+                if (status == 404 || status == 410) {
+                    expiredCount.incrementAndGet();
+                    return Result.EXPIRED;
+                }
+                if (status != 429 && status < 500) {
+                    logger.warn("Push service rejected delivery to {}: {}", endpoint, status);
+                    failedCount.incrementAndGet();
+                    return Result.FAILED;
+                }
+                logger.debug("Push delivery to {} got {} on attempt {}", endpoint, status, attempt);
+            } catch (IOException e) {
+                logger.debug("Push delivery to {} failed on attempt {}: {}", endpoint, attempt, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedCount.incrementAndGet();
+                return Result.FAILED;
+            }
+
+            if (attempt >= maxAttempts) {
+                logger.warn("Giving up push delivery to {} after {} attempts", endpoint, attempt);
+                failedCount.incrementAndGet();
+                return Result.FAILED;
+            }
+            retries.incrementAndGet();
+            retryCount.incrementAndGet();
+            // Let other subscribers use the in-flight slot while this one waits out its backoff
+            inFlight.release();
+            try {
+                Thread.sleep(backoffMs(attempt, retryAfterMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedCount.incrementAndGet();
+                return Result.FAILED;
+            } finally {
+                // The caller releases the permit once delivery ends
+                inFlight.acquireUninterruptibly();
+            }
+        }
+    }
+
+    private HttpRequest request(String endpoint, HttpRequest.BodyPublisher body, String contentType,
+                                String contentEncoding, String urgency) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(endpoint))
+            .timeout(Duration.ofMillis(requestTimeoutMs))
+            .header("Content-Type", contentType)
+            .header("TTL", ttlHeader)
+            .header("Urgency", urgency)
+            .POST(body);
+        if (vapidSigner != null) {
+            builder.header("Authorization", vapidSigner.authorization(originOf(endpoint), System.currentTimeMillis()));
+        }
+        if (contentEncoding != null) {
+            builder.header("Content-Encoding", contentEncoding);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Exponential backoff with jitter, or the push service's Retry-After when longer
+     */
+    long backoffMs(int attempt, long retryAfterMs) {
+        long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(20, attempt - 1));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        return Math.max(backoff, Math.min(retryAfterMs, backoffMaxMs));
+    }
+
+    static long parseRetryAfterMs(String value) {
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static String hostOf(String endpoint) {
+        try {
+            URI uri = URI.create(endpoint);
+            return uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * The push service origin a VAPID token is issued for: scheme, host and any port
+     */
+    static String originOf(String endpoint) {
+        URI uri = URI.create(endpoint);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Get delivery statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("httpEnabled", httpEnabled);
+        stats.put("delivered", deliveredCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("expired", expiredCount.get());
+        stats.put("retries", retryCount.get());
+        stats.put("encrypt", encrypt);
+        stats.put("invalidKeys", invalidKeyCount.get());
+        stats.put("vapid", vapidSigner != null);
+        stats.put("vapidTokens", vapidSigner != null ? vapidSigner.cachedTokens() : 0);
+        stats.put("encryptionContextsPooled", encryption.pooled());
+        stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+
+        Map<String, Integer> inFlightByHost = new HashMap<>();
+        hostPermits.forEach((host, permits) -> inFlightByHost.put(host, maxInFlightPerHost - permits.availablePermits()));
+        stats.put("inFlightByHost", inFlightByHost);
+        return stats;
+    }
+}
@@ -0,0 +1,574 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.PushInterest;
+import com.kooora.app.entity.PushInterest.TopicType;
+import com.kooora.app.repository.PushInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Interest index for targeted push delivery.
+ * Every team, match and league topic maps to a compressed bitmap of the subscribers
+ * following it, keyed by their subscriber ID, and every delivery shard has a bitmap of
+ * its members. A notification's audience is the union of its topics' bitmaps, split per
+ * shard by intersecting with the shard bitmaps, so an event only touches the subscribers
+ * who follow it. Subscribers that follow no topic at all, such as clients that never send
+ * interests, are in every audience. Interests are persisted in push_interests and streamed
+ * in pages into the index after startup.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class PushInterestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushInterestIndex.class);
+
+    @Autowired
+    private PushInterestRepository pushInterestRepository;
+
+    @Value("${app.notifications.push.page-size:1000}")
+    private int pageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Bitmap> topics = new HashMap<>();
+    private final Map<Integer, Bitmap> shardMembers = new HashMap<>();
+    // Subscribers following at least one topic, and known subscribers following none
+    private final Bitmap targeted = new Bitmap();
+    private final Bitmap untargeted = new Bitmap();
+
+    // Subscribers whose interests changed while the index is still loading, so the loader skips their old rows
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean indexLoaded;
+
+    /**
+     * Load interests off the startup path
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("push-interest-loader").start(this::loadIndex);
+    }
+
+    /**
+     * Stream persisted interests in keyset pages into the topic bitmaps
+     */
+    void loadIndex() {
+        try {
+            long afterId = 0;
+            long rows = 0;
+            List<Object[]> page;
+            do {
+                page = pushInterestRepository.findIndexPage(afterId, PageRequest.of(0, pageSize));
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : page) {
+                        afterId = (Long) row[0];
+                        long subscriberId = (Long) row[1];
+                        if (changedWhileLoading.contains(subscriberId)) continue;
+                        topics.computeIfAbsent(topicKey((TopicType) row[2], (Long) row[3]), key -> new Bitmap())
+                            .add(bit(subscriberId));
+                        setTargeted(subscriberId, true);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                rows += page.size();
+            } while (page.size() == pageSize);
+
+            indexLoaded = true;
+            changedWhileLoading.clear();
+            logger.info("Loaded {} push interests into {} topics", rows, topicCount());
+        } catch (Exception e) {
+            logger.error("Error loading push interest index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace a subscriber's interests. Must run inside a transaction; the index is
+     * updated once it commits.
+     */
+    public void replaceInterests(long subscriberId, Map<TopicType, ? extends Collection<Long>> interests) {
+        List<Long> previous = topicKeysOf(subscriberId);
+        pushInterestRepository.deleteBySubscriber(subscriberId);
+
+        Set<Long> next = new LinkedHashSet<>();
+        List<PushInterest> rows = new ArrayList<>();
+        interests.forEach((type, ids) -> {
+            for (Long id : ids) {
+                if (id != null && next.add(topicKey(type, id))) {
+                    rows.add(new PushInterest(subscriberId, type, id));
+                }
+            }
+        });
+        pushInterestRepository.saveAll(rows);
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                previous.forEach(key -> removeFromTopic(key, subscriberId));
+                next.forEach(key -> topics.computeIfAbsent(key, k -> new Bitmap()).add(bit(subscriberId)));
+                setTargeted(subscriberId, !next.isEmpty());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drop all interests of a subscriber that is being deleted. Must run inside a transaction.
+     */
+    public void removeSubscriber(long subscriberId, int shard) {
+        List<Long> previous = topicKeysOf(subscriberId);
+        pushInterestRepository.deleteBySubscriber(subscriberId);
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                previous.forEach(key -> removeFromTopic(key, subscriberId));
+                Bitmap members = shardMembers.get(shard);
+                if (members != null) members.remove(bit(subscriberId));
+                targeted.remove(bit(subscriberId));
+                untargeted.remove(bit(subscriberId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Record which delivery shard a subscriber belongs to
+     */
+    public void addMember(long subscriberId, int shard) {
+        lock.writeLock().lock();
+        try {
+            shardMembers.computeIfAbsent(shard, s -> new Bitmap()).add(bit(subscriberId));
+            if (!targeted.contains(bit(subscriberId))) {
+                untargeted.add(bit(subscriberId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Subscribers following any of the topics, plus those following none once the
+     * interests are loaded
+     */
+    public Bitmap audience(Collection<Long> topicKeys) {
+        lock.readLock().lock();
+        try {
+            Bitmap audience = new Bitmap();
+            if (indexLoaded) {
+                audience.or(untargeted);
+            }
+            for (Long key : topicKeys) {
+                Bitmap followers = topics.get(key);
+                if (followers != null) audience.or(followers);
+            }
+            return audience;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The part of an audience that belongs to one delivery shard
+     */
+    public Bitmap inShard(Bitmap audience, int shard) {
+        lock.readLock().lock();
+        try {
+            Bitmap members = shardMembers.get(shard);
+            return members != null ? Bitmap.and(audience, members) : new Bitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> topicKeysOf(long subscriberId) {
+        if (!indexLoaded) {
+            changedWhileLoading.add(subscriberId);
+        }
+        List<Long> keys = new ArrayList<>();
+        for (PushInterest interest : pushInterestRepository.findBySubscriberId(subscriberId)) {
+            keys.add(topicKey(interest.getTopicType(), interest.getTopicId()));
+        }
+        return keys;
+    }
+
+    /**
+     * Move a subscriber between the targeted and untargeted sets; caller holds the write lock
+     */
+    private void setTargeted(long subscriberId, boolean following) {
+        if (following) {
+            targeted.add(bit(subscriberId));
+            untargeted.remove(bit(subscriberId));
+        } else {
+            targeted.remove(bit(subscriberId));
+            untargeted.add(bit(subscriberId));
+        }
+    }
+
+    private void removeFromTopic(long key, long subscriberId) {
+        Bitmap followers = topics.get(key);
+        if (followers == null) return;
+        followers.remove(bit(subscriberId));
+        if (followers.isEmpty()) topics.remove(key);
+    }
+
+    private void afterCommit(Runnable publish) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    /**
+     * Topic key packing the topic type into the top byte of the ID
+     */
+    public static long topicKey(TopicType type, long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    private static int bit(long subscriberId) {
+        return Math.toIntExact(subscriberId);
+    }
+
+    private int topicCount() {
+        lock.readLock().lock();
+        try {
+            return topics.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get interest index statistics
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            Map<String, Integer> topicsByType = new HashMap<>();
+            long interests = 0;
+            for (Map.Entry<Long, Bitmap> entry : topics.entrySet()) {
+                TopicType type = TopicType.values()[(int) (entry.getKey() >>> 56)];
+                topicsByType.merge(type.name().toLowerCase(Locale.ROOT), 1, Integer::sum);
+                interests += entry.getValue().cardinality();
+            }
+            stats.put("topics", topicsByType);
+            stats.put("interests", interests);
+            stats.put("untargetedSubscribers", untargeted.cardinality());
+            stats.put("indexLoaded", indexLoaded);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compressed bitmap of non-negative ints. Values are split by their high 16 bits into
+     * chunks; a chunk holds a sorted char array while it has at most 4096 values and a
+     * 65536-bit word array once it is denser, so sparse topics stay small and dense ones
+     * combine a word at a time. Not thread-safe.
+     */
+    public static final class Bitmap {
+
+        private static final int ARRAY_MAX = 4096;
+
+        private char[] keys = new char[0];
+        private Chunk[] chunks = new Chunk[0];
+        private int size;
+
+        public void add(int value) {
+            char key = (char) (value >>> 16);
+            int i = Arrays.binarySearch(keys, 0, size, key);
+            if (i < 0) {
+                i = -i - 1;
+                insertChunk(i, key, new Chunk());
+            }
+            chunks[i].add((char) value);
+        }
+
+        public void remove(int value) {
+            int i = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+            if (i < 0) return;
+            chunks[i].remove((char) value);
+            if (chunks[i].cardinality == 0) removeChunk(i);
+        }
+
+        public boolean contains(int value) {
+            int i = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+            return i >= 0 && chunks[i].contains((char) value);
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public long cardinality() {
+            long cardinality = 0;
+            for (int i = 0; i < size; i++) {
+                cardinality += chunks[i].cardinality;
+            }
+            return cardinality;
+        }
+
+        /**
+         * Add every value of another bitmap
+         */
+        public void or(Bitmap other) {
+            for (int j = 0; j < other.size; j++) {
+                char key = other.keys[j];
+                int i = Arrays.binarySearch(keys, 0, size, key);
+                if (i < 0) {
+                    insertChunk(-i - 1, key, other.chunks[j].copy());
+                } else {
+                    chunks[i].or(other.chunks[j]);
+                }
+            }
+        }
+
+        /**
+         * Values present in both bitmaps
+         */
+        public static Bitmap and(Bitmap a, Bitmap b) {
+            Bitmap result = new Bitmap();
+            int i = 0;
+            int j = 0;
+            while (i < a.size && j < b.size) {
+                if (a.keys[i] < b.keys[j]) {
+                    i++;
+                } else if (a.keys[i] > b.keys[j]) {
+                    j++;
+                } else {
+                    Chunk chunk = Chunk.and(a.chunks[i], b.chunks[j]);
+                    if (chunk.cardinality > 0) result.insertChunk(result.size, a.keys[i], chunk);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Visit values in ascending order
+         */
+        public void forEach(IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                chunks[i].forEach(keys[i] << 16, consumer);
+            }
+        }
+
+        private void insertChunk(int index, char key, Chunk chunk) {
+            if (size == keys.length) {
+                int capacity = Math.max(4, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                chunks = Arrays.copyOf(chunks, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(chunks, index, chunks, index + 1, size - index);
+            keys[index] = key;
+            chunks[index] = chunk;
+            size++;
+        }
+
+        private void removeChunk(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+            chunks[--size] = null;
+        }
+
+        /**
+         * Low 16 bits of the values sharing one high key, as a sorted array or a bitset
+         */
+        private static final class Chunk {
+
+            private char[] values = new char[4];
+            private long[] words;
+            private int cardinality;
+
+            void add(char value) {
+                if (words != null) {
+                    long mask = 1L << value;
+                    if ((words[value >>> 6] & mask) == 0) {
+                        words[value >>> 6] |= mask;
+                        cardinality++;
+                    }
+                    return;
+                }
+                int i = Arrays.binarySearch(values, 0, cardinality, value);
+                if (i >= 0) return;
+                if (cardinality == ARRAY_MAX) {
+                    toWords();
+                    add(value);
+                    return;
+                }
+                i = -i - 1;
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+                }
+                System.arraycopy(values, i, values, i + 1, cardinality - i);
+                values[i] = value;
+                cardinality++;
+            }
+
+            void remove(char value) {
+                if (words != null) {
+                    long mask = 1L << value;
+                    if ((words[value >>> 6] & mask) != 0) {
+                        words[value >>> 6] &= ~mask;
+                        if (--cardinality <= ARRAY_MAX) toValues();
+                    }
+                    return;
+                }
+                int i = Arrays.binarySearch(values, 0, cardinality, value);
+                if (i < 0) return;
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+
+            boolean contains(char value) {
+                if (words != null) return (words[value >>> 6] & (1L << value)) != 0;
+                return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+            }
+
+            void or(Chunk other) {
+                if (words == null && other.words == null && cardinality + other.cardinality <= ARRAY_MAX) {
+                    values = mergeUnion(values, cardinality, other.values, other.cardinality);
+                    cardinality = values.length;
+                    return;
+                }
+                if (words == null) toWords();
+                if (other.words != null) {
+                    int count = 0;
+                    for (int w = 0; w < words.length; w++) {
+                        words[w] |= other.words[w];
+                        count += Long.bitCount(words[w]);
+                    }
+                    cardinality = count;
+                } else {
+                    for (int i = 0; i < other.cardinality; i++) add(other.values[i]);
+                }
+            }
+
+            static Chunk and(Chunk a, Chunk b) {
+                Chunk result = new Chunk();
+                if (a.words != null && b.words != null) {
+                    long[] words = new long[1024];
+                    int count = 0;
+                    for (int w = 0; w < words.length; w++) {
+                        words[w] = a.words[w] & b.words[w];
+                        count += Long.bitCount(words[w]);
+                    }
+                    result.words = words;
+                    result.cardinality = count;
+                    if (count <= ARRAY_MAX) result.toValues();
+                } else if (a.words == null && b.words == null) {
+                    result.values = mergeIntersection(a.values, a.cardinality, b.values, b.cardinality);
+                    result.cardinality = result.values.length;
+                } else {
+                    Chunk array = a.words == null ? a : b;
+                    Chunk bitset = a.words == null ? b : a;
+                    char[] values = new char[array.cardinality];
+                    int count = 0;
+                    for (int i = 0; i < array.cardinality; i++) {
+                        if (bitset.contains(array.values[i])) values[count++] = array.values[i];
+                    }
+                    result.values = Arrays.copyOf(values, count);
+                    result.cardinality = count;
+                }
+                return result;
+            }
+
+            void forEach(int high, IntConsumer consumer) {
+                if (words == null) {
+                    for (int i = 0; i < cardinality; i++) consumer.accept(high | values[i]);
+                    return;
+                }
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        consumer.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+
+            Chunk copy() {
+                Chunk copy = new Chunk();
+                copy.values = values != null ? Arrays.copyOf(values, Math.max(4, cardinality)) : null;
+                copy.words = words != null ? words.clone() : null;
+                copy.cardinality = cardinality;
+                return copy;
+            }
+
+            private void toWords() {
+                words = new long[1024];
+                for (int i = 0; i < cardinality; i++) {
+                    words[values[i] >>> 6] |= 1L << values[i];
+                }
+                values = null;
+            }
+
+            private void toValues() {
+                char[] array = new char[Math.max(4, cardinality)];
+                int count = 0;
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        array[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+                values = array;
+                words = null;
+            }
+
+            private static char[] mergeUnion(char[] a, int aSize, char[] b, int bSize) {
+                char[] merged = new char[aSize + bSize];
+                int i = 0, j = 0, n = 0;
+                while (i < aSize && j < bSize) {
+                    if (a[i] < b[j]) merged[n++] = a[i++];
+                    else if (a[i] > b[j]) merged[n++] = b[j++];
+                    else { merged[n++] = a[i++]; j++; }
+                }
+                while (i < aSize) merged[n++] = a[i++];
+                while (j < bSize) merged[n++] = b[j++];
+                return Arrays.copyOf(merged, n);
+            }
+
+            private static char[] mergeIntersection(char[] a, int aSize, char[] b, int bSize) {
+                char[] merged = new char[Math.min(aSize, bSize)];
+                int i = 0, j = 0, n = 0;
+                while (i < aSize && j < bSize) {
+                    if (a[i] < b[j]) i++;
+                    else if (a[i] > b[j]) j++;
+                    else { merged[n++] = a[i++]; j++; }
+                }
+                return Arrays.copyOf(merged, n);
+            }
+        }
+    }
+}
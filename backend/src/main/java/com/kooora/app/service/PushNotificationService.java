@@ -1,14 +1,20 @@
 package com.kooora.app.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kooora.app.entity.PushInterest.TopicType;
+import com.kooora.app.repository.MatchRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -24,8 +30,17 @@ public class PushNotificationService {
     
     private final ObjectMapper objectMapper;
     
-    // In-memory storage for push subscriptions (in production, use database)
-    private final Set<PushSubscription> activeSubscriptions = ConcurrentHashMap.newKeySet();
+    @Autowired
+    private PushSubscriptionStore pushSubscriptionStore;
+
+    @Autowired
+    private PushInterestIndex pushInterestIndex;
+
+    @Autowired
+    private PushOutbox pushOutbox;
+
+    @Autowired
+    private MatchRepository matchRepository;
     
     @Value("${app.notifications.vapid.public-key:}")
     private String vapidPublicKey;
@@ -45,7 +60,7 @@ public class PushNotificationService {
      */
     public void subscribeToPushNotifications(PushSubscription subscription) {
         logger.info("Registering new push subscription: {}", subscription.getEndpoint());
-        activeSubscriptions.add(subscription);
+        pushSubscriptionStore.subscribe(subscription);
     }
 
     /**
@@ -53,27 +68,61 @@ public class PushNotificationService {
      */
     public void unsubscribeFromPushNotifications(String endpoint) {
         logger.info("Unregistering push subscription: {}", endpoint);
-        activeSubscriptions.removeIf(sub -> sub.getEndpoint().equals(endpoint));
+        pushSubscriptionStore.unsubscribe(endpoint);
     }
 
     /**
      * Send notification to all subscribed users
      */
-    public CompletableFuture<Void> sendNotificationToAll(PushNotificationPayload payload) {
-        return CompletableFuture.runAsync(() -> {
-            logger.info("Sending push notification to {} subscribers", activeSubscriptions.size());
-            
-            for (PushSubscription subscription : activeSubscriptions) {
-                try {
-                    sendNotificationToSubscription(subscription, payload);
-                } catch (Exception e) {
-                    logger.error("Failed to send notification to subscription {}: {}", 
-                               subscription.getEndpoint(), e.getMessage());
-                    // Remove invalid subscriptions
-                    activeSubscriptions.remove(subscription);
-                }
+    public CompletableFuture<PushDeliveryEngine.DeliveryReport> sendNotificationToAll(PushNotificationPayload payload) {
+        logger.info("Queueing push notification for {} subscribers", pushSubscriptionStore.size());
+        return pushOutbox.enqueue(PushOutbox.Lane.of(payload.getTag()), null, serialize(payload), null);
+    }
+
+    /**
+     * Send notification to the subscribers following any of the topics, and to those that
+     * follow no topic at all. Notifications about a match pass its ID so newer ones replace
+     * older ones still waiting to be sent.
+     */
+    public CompletableFuture<PushDeliveryEngine.DeliveryReport> sendNotificationToTopics(PushNotificationPayload payload,
+                                                                                         Long matchId,
+                                                                                         Collection<Long> topicKeys) {
+        PushInterestIndex.Bitmap audience = pushInterestIndex.audience(topicKeys);
+        logger.info("Queueing push notification for {} subscribers of {} topics", audience.cardinality(), topicKeys.size());
+        return pushOutbox.enqueue(PushOutbox.Lane.of(payload.getTag()), matchId, serialize(payload), audience);
+    }
+
+    /**
+     * Serialize a payload once for all of its recipients; it must fit one web push record
+     */
+    private byte[] serialize(PushNotificationPayload payload) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable push payload", e);
+        }
+        if (body.length > WebPushEncryption.MAX_PLAINTEXT) {
+            throw new IllegalArgumentException("Push payload of " + body.length + " bytes exceeds "
+                + WebPushEncryption.MAX_PLAINTEXT);
+        }
+        return body;
+    }
+
+    /**
+     * Topics of a match: the match, both teams and optionally its league
+     */
+    private List<Long> matchTopics(Long matchId, boolean includeLeague) {
+        List<Long> topicKeys = new ArrayList<>();
+        topicKeys.add(PushInterestIndex.topicKey(TopicType.MATCH, matchId));
+        for (Object[] row : matchRepository.findTopicIds(matchId)) {
+            topicKeys.add(PushInterestIndex.topicKey(TopicType.TEAM, (Long) row[0]));
+            topicKeys.add(PushInterestIndex.topicKey(TopicType.TEAM, (Long) row[1]));
+            if (includeLeague && row[2] != null) {
+                topicKeys.add(PushInterestIndex.topicKey(TopicType.LEAGUE, (Long) row[2]));
             }
-        });
+        }
+        return topicKeys;
     }
 
     /**
@@ -83,7 +132,7 @@ public class PushNotificationService {
                                           Integer homeScore, Integer awayScore, String event) {
         PushNotificationPayload payload = new PushNotificationPayload(
             "Match Update",
-            String.format("%s vs %s - %s", homeTeam, awayTeam, event),
+            homeTeam + " vs " + awayTeam + " - " + event,
             "/matches/" + matchId,
             "match-update",
             Map.of(
@@ -96,7 +145,7 @@ public class PushNotificationService {
             )
         );
         
-        sendNotificationToAll(payload);
+        sendNotificationToTopics(payload, matchId, matchTopics(matchId, true));
     }
 
     /**
@@ -106,7 +155,7 @@ public class PushNotificationService {
                                    Integer homeScore, Integer awayScore, String scorer) {
         PushNotificationPayload payload = new PushNotificationPayload(
             "⚽ GOAL!",
-            String.format("%s scored! %s %d-%d %s", scorer, homeTeam, homeScore, awayScore, awayTeam),
+            scorer + " scored! " + homeTeam + " " + homeScore + "-" + awayScore + " " + awayTeam,
             "/matches/" + matchId,
             "goal",
             Map.of(
@@ -119,7 +168,7 @@ public class PushNotificationService {
             )
         );
         
-        sendNotificationToAll(payload);
+        sendNotificationToTopics(payload, matchId, matchTopics(matchId, false));
     }
 
     /**
@@ -128,7 +177,7 @@ public class PushNotificationService {
     public void sendMatchStartNotification(Long matchId, String homeTeam, String awayTeam) {
         PushNotificationPayload payload = new PushNotificationPayload(
             "Match Started",
-            String.format("🏈 %s vs %s is now live!", homeTeam, awayTeam),
+            "🏈 " + homeTeam + " vs " + awayTeam + " is now live!",
             "/matches/" + matchId,
             "match-start",
             Map.of(
@@ -138,7 +187,7 @@ public class PushNotificationService {
             )
         );
         
-        sendNotificationToAll(payload);
+        sendNotificationToTopics(payload, matchId, matchTopics(matchId, true));
     }
 
     /**
@@ -159,44 +208,19 @@ public class PushNotificationService {
     /**
      * Get subscription count
      */
-    public int getActiveSubscriptionCount() {
-        return activeSubscriptions.size();
+    public long getActiveSubscriptionCount() {
+        return pushSubscriptionStore.size();
     }
 
     /**
-     * Send notification to specific subscription
-     * In a real implementation, this would use a push notification library like web-push
+     * Subscriber store and interest index statistics
      */
-    private void sendNotificationToSubscription(PushSubscription subscription, PushNotificationPayload payload) {
-        try {
-            // Placeholder for actual push notification sending
-            // In production, you would use libraries like:
-            // - nl.martijndwars:web-push
-            // - or implement Web Push Protocol manually
-            
-            logger.info("Sending notification '{}' to endpoint: {}", 
-                       payload.getTitle(), subscription.getEndpoint());
-            
-            // Simulate sending (in real implementation, make HTTP request to push service)
-            simulatePushDelivery(subscription, payload);
-            
-        } catch (Exception e) {
-            logger.error("Failed to send push notification: {}", e.getMessage());
-            throw new RuntimeException("Push notification failed", e);
-        }
-    }
-
-    /**
-     * Simulate push notification delivery (for development/testing)
-     */
-    private void simulatePushDelivery(PushSubscription subscription, PushNotificationPayload payload) {
-        logger.info("📱 PUSH NOTIFICATION DELIVERED:");
-        logger.info("  📧 To: {}", subscription.getEndpoint());
-        logger.info("  📌 Title: {}", payload.getTitle());
-        logger.info("  📝 Body: {}", payload.getBody());
-        logger.info("  🏷️ Tag: {}", payload.getTag());
-        logger.info("  🔗 URL: {}", payload.getUrl());
-        logger.info("  📊 Data: {}", payload.getData());
+    public Map<String, Object> getSubscriptionStats() {
+        return Map.of(
+            "store", pushSubscriptionStore.getStats(),
+            "interests", pushInterestIndex.getStats(),
+            "outbox", pushOutbox.getStats()
+        );
     }
 
     /**
@@ -205,6 +229,7 @@ public class PushNotificationService {
     public static class PushSubscription {
         private String endpoint;
         private Keys keys;
+        private Interests interests;
 
         public PushSubscription() {}
 
@@ -219,6 +244,9 @@ public class PushNotificationService {
         public Keys getKeys() { return keys; }
         public void setKeys(Keys keys) { this.keys = keys; }
 
+        public Interests getInterests() { return interests; }
+        public void setInterests(Interests interests) { this.interests = interests; }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -249,6 +277,40 @@ public class PushNotificationService {
             public String getAuth() { return auth; }
             public void setAuth(String auth) { this.auth = auth; }
         }
+
+        /**
+         * Teams, matches and leagues the subscriber wants notifications for
+         */
+        public static class Interests {
+            private List<Long> teams = new ArrayList<>();
+            private List<Long> matches = new ArrayList<>();
+            private List<Long> leagues = new ArrayList<>();
+
+            public Interests() {}
+
+            public Interests(List<Long> teams, List<Long> matches, List<Long> leagues) {
+                this.teams = teams;
+                this.matches = matches;
+                this.leagues = leagues;
+            }
+
+            public List<Long> getTeams() { return teams; }
+            public void setTeams(List<Long> teams) { this.teams = teams; }
+
+            public List<Long> getMatches() { return matches; }
+            public void setMatches(List<Long> matches) { this.matches = matches; }
+
+            public List<Long> getLeagues() { return leagues; }
+            public void setLeagues(List<Long> leagues) { this.leagues = leagues; }
+
+            public Map<TopicType, List<Long>> byTopicType() {
+                Map<TopicType, List<Long>> byType = new EnumMap<>(TopicType.class);
+                byType.put(TopicType.TEAM, teams != null ? teams : List.of());
+                byType.put(TopicType.MATCH, matches != null ? matches : List.of());
+                byType.put(TopicType.LEAGUE, leagues != null ? leagues : List.of());
+                return byType;
+            }
+        }
     }
 
     /**
@@ -0,0 +1,419 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.PushDeliveryEngine.DeliveryReport;
+import com.kooora.app.service.PushInterestIndex.Bitmap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+import static com.kooora.app.service.LongLongTable.MISSING;
+
+/**
+ * Outbox in front of the push delivery engine.
+ * Notifications wait in priority lanes (goal, match start, generic update) and are taken
+ * highest lane first by a few dispatch workers. Match notifications collapse per
+ * (subscriber, match): a newer notification for a match takes over the subscribers it
+ * shares with older ones, which skip them, and a queued notification whose whole
+ * audience is taken over is dropped. Notifications carrying the score (goals and
+ * updates) supersede each other by recency alone, so a correction always replaces the
+ * score it corrects; otherwise only the same or a higher lane supersedes. Lanes have a fixed
+ * capacity, notifications older than the maximum age are discarded instead of sent, and
+ * each subscriber has a per-minute cap that goals count against but are never dropped by.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class PushOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushOutbox.class);
+
+    private static final DeliveryReport NOT_SENT = new DeliveryReport(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Priority lanes, highest first
+     */
+    public enum Lane {
+        GOAL, MATCH_START, UPDATE;
+
+        public static Lane of(String tag) {
+            if ("goal".equals(tag)) return GOAL;
+            if ("match-start".equals(tag)) return MATCH_START;
+            return UPDATE;
+        }
+
+        /**
+         * Whether notifications in the lane carry the match score, which a later one makes stale
+         */
+        public boolean carriesScore() {
+            return this != MATCH_START;
+        }
+
+        /**
+         * Web push urgency: goals and kick-offs are time critical
+         */
+        public String urgency() {
+            return this == UPDATE ? "normal" : "high";
+        }
+    }
+
+    @Autowired
+    private PushDeliveryEngine pushDeliveryEngine;
+
+    @Autowired
+    private PushSubscriptionStore pushSubscriptionStore;
+
+    @Autowired
+    private PushInterestIndex pushInterestIndex;
+
+    @Value("${app.notifications.push.outbox.workers:2}")
+    private int workers;
+
+    @Value("${app.notifications.push.outbox.lane-capacity:1000}")
+    private int laneCapacity;
+
+    @Value("${app.notifications.push.outbox.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @Value("${app.notifications.push.outbox.max-per-subscriber-per-minute:6}")
+    private int maxPerSubscriberPerMinute;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final List<ArrayDeque<Entry>> lanes = new ArrayList<>();
+    private final Map<Long, List<Entry>> pendingByMatch = new HashMap<>();
+    private long sequence;
+
+    private final RateCap rateCap = new RateCap();
+    private final List<Thread> dispatchers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong collapsedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong skippedRecipients = new AtomicLong();
+    private final AtomicLong rateLimitedRecipients = new AtomicLong();
+
+    public PushOutbox() {
+        for (int i = 0; i < Lane.values().length; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        running = true;
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            dispatchers.add(Thread.ofVirtual().name("push-outbox-" + i).start(this::dispatchLoop));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatchers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queue a serialized notification. {@code matchId} is the collapse key, or null for
+     * none; {@code audience} holds the recipients' subscriber IDs, or null for everyone.
+     * The future completes once the notification is delivered, or right away with an
+     * empty report if it is collapsed, dropped or expires before it is sent.
+     */
+    public CompletableFuture<DeliveryReport> enqueue(Lane lane, Long matchId, byte[] body, Bitmap audience) {
+        lock.lock();
+        try {
+            Entry entry = new Entry(++sequence, lane, matchId, body, audience, System.currentTimeMillis());
+            if (matchId != null) {
+                List<Entry> pending = pendingByMatch.computeIfAbsent(matchId, id -> new ArrayList<>());
+                for (Entry older : List.copyOf(pending)) {
+                    if (supersedes(lane, older.lane)) {
+                        supersede(older, entry);
+                    }
+                }
+                pending.add(entry);
+            }
+
+            ArrayDeque<Entry> queue = lanes.get(lane.ordinal());
+            if (queue.size() >= laneCapacity) {
+                // The oldest notification in a full lane is the stalest one
+                Entry oldest = queue.pollFirst();
+                droppedCount.incrementAndGet();
+                discard(oldest);
+                logger.warn("Push outbox lane {} full, dropped notification {}", lane, oldest.sequence);
+            }
+            queue.addLast(entry);
+            enqueuedCount.incrementAndGet();
+            notEmpty.signal();
+            return entry.result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a newer notification for a match replaces an older one: the latest score wins
+     * whatever its lane, other notifications only give way to the same or a higher lane
+     */
+    static boolean supersedes(Lane newer, Lane older) {
+        if (newer.carriesScore() && older.carriesScore()) return true;
+        return newer.ordinal() <= older.ordinal();
+    }
+
+    /**
+     * Hand the subscribers a newer notification shares with an older one over to the newer
+     */
+    private void supersede(Entry older, Entry newer) {
+        if (!older.started && covers(newer.audience, older.audience)) {
+            lanes.get(older.lane.ordinal()).remove(older);
+            collapsedCount.incrementAndGet();
+            discard(older);
+            return;
+        }
+        if (newer.audience == null) {
+            older.supersededAll = true;
+            return;
+        }
+        // Copy on write: dispatch workers read the superseded set without the lock
+        Bitmap superseded = new Bitmap();
+        if (older.superseded != null) superseded.or(older.superseded);
+        superseded.or(newer.audience);
+        older.superseded = superseded;
+    }
+
+    private static boolean covers(Bitmap newer, Bitmap older) {
+        if (newer == null) return true;
+        if (older == null) return false;
+        return Bitmap.and(newer, older).cardinality() == older.cardinality();
+    }
+
+    /**
+     * Complete a notification that will not be sent; call with the lock held
+     */
+    private void discard(Entry entry) {
+        forget(entry);
+        entry.result.complete(NOT_SENT);
+    }
+
+    private void forget(Entry entry) {
+        if (entry.matchId == null) return;
+        List<Entry> pending = pendingByMatch.get(entry.matchId);
+        if (pending != null) {
+            pending.remove(entry);
+            if (pending.isEmpty()) pendingByMatch.remove(entry.matchId);
+        }
+    }
+
+    /**
+     * Next notification to send, highest lane first, or null if none is queued
+     */
+    Entry poll() {
+        lock.lock();
+        try {
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry take() throws InterruptedException {
+        lock.lock();
+        try {
+            Entry entry;
+            while ((entry = next()) == null) {
+                notEmpty.await();
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry next() {
+        long oldest = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        for (ArrayDeque<Entry> queue : lanes) {
+            Entry entry;
+            while ((entry = queue.pollFirst()) != null) {
+                if (entry.enqueuedAt < oldest) {
+                    expiredCount.incrementAndGet();
+                    discard(entry);
+                    continue;
+                }
+                entry.started = true;
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            Entry entry;
+            try {
+                entry = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                entry.result.complete(dispatch(entry).join());
+            } catch (Exception e) {
+                logger.error("Error delivering push notification {}: {}", entry.sequence, e.getMessage());
+                entry.result.completeExceptionally(e);
+            } finally {
+                lock.lock();
+                try {
+                    forget(entry);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<DeliveryReport> dispatch(Entry entry) {
+        LongPredicate include = subscriberId -> accepts(entry, subscriberId);
+        if (entry.audience == null) {
+            return pushDeliveryEngine.deliver(entry.body, entry.lane.urgency(), pushSubscriptionStore.getShardCount(),
+                (shard, pages) -> pushSubscriptionStore.forEachPage(shard, include, pages),
+                pushSubscriptionStore::unsubscribe);
+        }
+        return pushDeliveryEngine.deliver(entry.body, entry.lane.urgency(), pushSubscriptionStore.getShardCount(),
+            (shard, pages) -> {
+                Bitmap recipients = pushInterestIndex.inShard(entry.audience, shard);
+                if (!recipients.isEmpty()) {
+                    pushSubscriptionStore.forEachPage(recipients, include, pages);
+                }
+            }, pushSubscriptionStore::unsubscribe);
+    }
+
+    /**
+     * Whether a subscriber still gets a notification: not taken over by a newer one for
+     * the same match, and within the subscriber's rate cap
+     */
+    boolean accepts(Entry entry, long subscriberId) {
+        Bitmap superseded = entry.superseded;
+        if (entry.supersededAll || (superseded != null && superseded.contains(Math.toIntExact(subscriberId)))) {
+            skippedRecipients.incrementAndGet();
+            return false;
+        }
+        if (!rateCap.tryAcquire(subscriberId, entry.lane == Lane.GOAL, System.currentTimeMillis())) {
+            rateLimitedRecipients.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get outbox statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Integer> queued = new HashMap<>();
+        lock.lock();
+        try {
+            for (Lane lane : Lane.values()) {
+                queued.put(lane.name(), lanes.get(lane.ordinal()).size());
+            }
+            stats.put("matchesPending", pendingByMatch.size());
+        } finally {
+            lock.unlock();
+        }
+        stats.put("queued", queued);
+        stats.put("enqueued", enqueuedCount.get());
+        stats.put("collapsed", collapsedCount.get());
+        stats.put("dropped", droppedCount.get());
+        stats.put("expired", expiredCount.get());
+        stats.put("skippedRecipients", skippedRecipients.get());
+        stats.put("rateLimitedRecipients", rateLimitedRecipients.get());
+        stats.put("maxPerSubscriberPerMinute", maxPerSubscriberPerMinute);
+        return stats;
+    }
+
+    /**
+     * A queued notification
+     */
+    static final class Entry {
+
+        final long sequence;
+        final Lane lane;
+        final Long matchId;
+        final byte[] body;
+        final Bitmap audience;
+        final long enqueuedAt;
+        final CompletableFuture<DeliveryReport> result = new CompletableFuture<>();
+
+        // Taken off its lane by a dispatch worker; guarded by the outbox lock
+        boolean started;
+
+        // Subscribers a newer notification for the same match has taken over
+        volatile Bitmap superseded;
+        volatile boolean supersededAll;
+
+        Entry(long sequence, Lane lane, Long matchId, byte[] body, Bitmap audience, long enqueuedAt) {
+            this.sequence = sequence;
+            this.lane = lane;
+            this.matchId = matchId;
+            this.body = body;
+            this.audience = audience;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * Fixed one-minute window of notifications per subscriber, striped by subscriber ID.
+     * Each stripe starts an empty table when its window rolls over, so memory is bounded
+     * by the subscribers notified within the current minute.
+     */
+    private final class RateCap {
+
+        private static final long WINDOW_MS = 60_000;
+
+        private final Stripe[] stripes = new Stripe[16];
+
+        RateCap() {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        /**
+         * Count a notification; mandatory ones are counted even above the cap
+         */
+        boolean tryAcquire(long subscriberId, boolean mandatory, long now) {
+            if (maxPerSubscriberPerMinute <= 0) return true;
+            return stripes[(int) (subscriberId & (stripes.length - 1))].tryAcquire(subscriberId, mandatory, now);
+        }
+
+        private final class Stripe {
+
+            private long windowStart;
+            private LongLongTable counts = new LongLongTable(64);
+
+            synchronized boolean tryAcquire(long subscriberId, boolean mandatory, long now) {
+                if (now - windowStart >= WINDOW_MS) {
+                    windowStart = now;
+                    counts = new LongLongTable(64);
+                }
+                long count = counts.get(subscriberId);
+                if (count == MISSING) count = 0;
+                if (count >= maxPerSubscriberPerMinute && !mandatory) return false;
+                counts.put(subscriberId, count + 1);
+                return true;
+            }
+        }
+    }
+}
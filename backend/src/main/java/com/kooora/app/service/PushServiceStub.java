@@ -0,0 +1,207 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.PushNotificationService.PushNotificationPayload;
+import com.kooora.app.service.PushNotificationService.PushSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a web push service, for benchmarking push delivery offline.
+ * Accepts deliveries after a configurable latency and can inject retryable errors and
+ * expired subscriptions. The benchmark registers stub subscribers spread over two host
+ * names, with real P-256 subscription keys so messages are encrypted as in production,
+ * and times a broadcast through the real delivery engine.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+@ConditionalOnProperty(name = "app.notifications.push.stub.enabled", havingValue = "true")
+public class PushServiceStub {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushServiceStub.class);
+
+    private static final String[] HOSTS = {"localhost", "127.0.0.1"};
+
+    /**
+     * A response from the stub push service
+     */
+    public record StubResponse(int status, Map<String, String> headers) {}
+
+    @Autowired
+    private PushSubscriptionStore pushSubscriptionStore;
+
+    @Autowired
+    private PushNotificationService pushNotificationService;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Value("${app.notifications.push.stub.latency-ms:20}")
+    private long latencyMs;
+
+    @Value("${app.notifications.push.stub.latency-jitter-ms:20}")
+    private long latencyJitterMs;
+
+    @Value("${app.notifications.push.stub.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${app.notifications.push.stub.expired-rate:0.0}")
+    private double expiredRate;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong encrypted = new AtomicLong();
+    private final Map<String, AtomicLong> receivedByHost = new ConcurrentHashMap<>();
+
+    private volatile Thread benchmarkThread;
+    private volatile Map<String, Object> benchmarkReport = Map.of("state", "IDLE");
+
+    /**
+     * Accept one push message: 201 Created, or an injected 503 or 410
+     */
+    public CompletableFuture<StubResponse> handle(String host, String contentEncoding) {
+        received.incrementAndGet();
+        if ("aes128gcm".equals(contentEncoding)) {
+            encrypted.incrementAndGet();
+        }
+        receivedByHost.computeIfAbsent(host, h -> new AtomicLong()).incrementAndGet();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StubResponse response;
+        double roll = random.nextDouble();
+        if (roll < errorRate) {
+            errors.incrementAndGet();
+            response = new StubResponse(503, Map.of("Retry-After", "1"));
+        } else if (roll < errorRate + expiredRate) {
+            expired.incrementAndGet();
+            response = new StubResponse(410, Map.of());
+        } else {
+            response = new StubResponse(201, Map.of());
+        }
+
+        long delay = latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0);
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(response);
+        }
+        return CompletableFuture.supplyAsync(() -> response,
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Start a benchmark in the background: register stub subscribers, then time a
+     * broadcast to all of them
+     */
+    public synchronized void startBenchmark(int subscribers) {
+        if (subscribers <= 0) {
+            throw new IllegalArgumentException("subscribers must be positive");
+        }
+        if (benchmarkThread != null && benchmarkThread.isAlive()) {
+            throw new IllegalStateException("A benchmark is already running");
+        }
+        benchmarkReport = Map.of("state", "REGISTERING", "subscribers", subscribers);
+        benchmarkThread = Thread.ofVirtual().name("push-benchmark").start(() -> {
+            try {
+                benchmarkReport = runBenchmark(subscribers);
+            } catch (Exception e) {
+                logger.error("Push benchmark failed: {}", e.getMessage());
+                benchmarkReport = Map.of("state", "FAILED", "error", String.valueOf(e.getMessage()));
+            }
+        });
+    }
+
+    private Map<String, Object> runBenchmark(int subscribers) throws GeneralSecurityException {
+        PushSubscription.Keys keys = subscriberKeys();
+        for (int i = 0; i < subscribers; i++) {
+            pushSubscriptionStore.subscribe(new PushSubscription(endpoint(i), keys));
+        }
+        logger.info("Registered {} stub push subscribers, starting broadcast", subscribers);
+        reset();
+        benchmarkReport = Map.of("state", "DELIVERING", "subscribers", subscribers);
+
+        PushNotificationPayload payload = new PushNotificationPayload("Benchmark", "Push delivery benchmark",
+            "/", "benchmark", Map.of("subscribers", subscribers));
+        return pushNotificationService.sendNotificationToAll(payload).thenApply(report -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("state", "FINISHED");
+            result.put("recipients", report.recipients());
+            result.put("delivered", report.delivered());
+            result.put("failed", report.failed());
+            result.put("expired", report.expired());
+            result.put("retries", report.retries());
+            result.put("elapsedMs", report.elapsedMs());
+            result.put("deliveriesPerSecond", Math.round(report.perSecond()));
+            result.put("stub", getStats());
+            return result;
+        }).join();
+    }
+
+    public Map<String, Object> getBenchmarkReport() {
+        return benchmarkReport;
+    }
+
+    /**
+     * Keys a browser would send: an uncompressed P-256 public key and a 16-byte auth secret
+     */
+    private static PushSubscription.Keys subscriberKeys() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        byte[] publicKey = new byte[65];
+        WebPushEncryption.encodePoint((ECPublicKey) generator.generateKeyPair().getPublic(), publicKey, 0);
+        byte[] auth = new byte[16];
+        new SecureRandom().nextBytes(auth);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return new PushSubscription.Keys(encoder.encodeToString(publicKey), encoder.encodeToString(auth));
+    }
+
+    private String endpoint(int index) {
+        String host = HOSTS[index % HOSTS.length];
+        return "http://" + host + ":" + serverPort + contextPath + "/push-notifications/stub/send/" + index;
+    }
+
+    public void reset() {
+        received.set(0);
+        errors.set(0);
+        expired.set(0);
+        encrypted.set(0);
+        receivedByHost.clear();
+    }
+
+    /**
+     * Get stub statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("received", received.get());
+        stats.put("errors", errors.get());
+        stats.put("expired", expired.get());
+        stats.put("encrypted", encrypted.get());
+        Map<String, Long> byHost = new HashMap<>();
+        receivedByHost.forEach((host, count) -> byHost.put(host, count.get()));
+        stats.put("receivedByHost", byHost);
+        stats.put("latencyMs", latencyMs);
+        return stats;
+    }
+}
@@ -0,0 +1,329 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.PushSubscriber;
+import com.kooora.app.repository.PushSubscriberRepository;
+import com.kooora.app.service.PushNotificationService.PushSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+import static com.kooora.app.service.LongLongTable.MISSING;
+
+/**
+ * Persistent store for web push subscriptions.
+ * Subscribers live in the push_subscribers table and are split into shards by the hash
+ * of their endpoint, so delivery workers can each page through their own slice. Only an
+ * endpoint-hash → ID index is kept in memory, one open-addressing table per shard, which
+ * makes subscribe and unsubscribe O(1) without a lookup query. The index is streamed in
+ * pages in the background after startup; until it is complete, misses fall back to the
+ * database.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class PushSubscriptionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushSubscriptionStore.class);
+
+    @Autowired
+    private PushSubscriberRepository pushSubscriberRepository;
+
+    @Autowired
+    private PushInterestIndex pushInterestIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.notifications.push.shards:16}")
+    private int shardCount;
+
+    @Value("${app.notifications.push.page-size:1000}")
+    private int pageSize;
+
+    private Shard[] shards;
+
+    // Endpoints removed while the index is still loading, so the loader does not re-add them
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean indexLoaded;
+
+    @PostConstruct
+    public void init() {
+        shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Build the endpoint index off the startup path
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("push-index-loader").start(this::loadIndex);
+    }
+
+    /**
+     * Stream [endpointHash, id, shard] rows in keyset pages into the shard indexes
+     * and the interest index's shard bitmaps
+     */
+    void loadIndex() {
+        try {
+            long afterId = 0;
+            long rows = 0;
+            List<Object[]> page;
+            do {
+                page = pushSubscriberRepository.findIndexPage(afterId, PageRequest.of(0, pageSize));
+                for (Object[] row : page) {
+                    long hash = (Long) row[0];
+                    long id = (Long) row[1];
+                    if (!removedWhileLoading.contains(hash)) {
+                        shardFor(hash).putIfAbsent(hash, id);
+                        pushInterestIndex.addMember(id, (Integer) row[2]);
+                    }
+                    afterId = id;
+                }
+                rows += page.size();
+            } while (page.size() == pageSize);
+
+            indexLoaded = true;
+            removedWhileLoading.clear();
+            logger.info("Loaded {} push subscribers into {} shards", rows, shards.length);
+        } catch (Exception e) {
+            logger.error("Error loading push subscriber index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Insert a subscription, or refresh the keys of an existing endpoint.
+     * Interests sent with the subscription replace the stored ones.
+     */
+    public void subscribe(PushSubscription subscription) {
+        String endpoint = subscription.getEndpoint();
+        long hash = endpointHash(endpoint);
+        int shard = shardOf(hash, shards.length);
+
+        PushSubscriber saved;
+        try {
+            saved = transactionTemplate.execute(status -> save(subscription, hash, shard, lookup(hash)));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent subscribe inserted the endpoint first; update the row it created
+            long id = pushSubscriberRepository.findIdByEndpointHash(hash).orElseThrow(() -> e);
+            saved = transactionTemplate.execute(status -> save(subscription, hash, shard, id));
+        }
+
+        removedWhileLoading.remove(hash);
+        shards[shard].put(hash, saved.getId());
+        pushInterestIndex.addMember(saved.getId(), shard);
+    }
+
+    private PushSubscriber save(PushSubscription subscription, long hash, int shard, long id) {
+        String endpoint = subscription.getEndpoint();
+        PushSubscriber subscriber = id != MISSING
+            ? pushSubscriberRepository.findById(id).orElse(null)
+            : null;
+        if (subscriber == null) {
+            subscriber = new PushSubscriber(endpoint, hash, shard);
+        }
+        subscriber.setEndpoint(endpoint);
+        if (subscription.getKeys() != null) {
+            subscriber.setP256dh(subscription.getKeys().getP256dh());
+            subscriber.setAuth(subscription.getKeys().getAuth());
+        }
+        subscriber = pushSubscriberRepository.save(subscriber);
+        if (subscription.getInterests() != null) {
+            pushInterestIndex.replaceInterests(subscriber.getId(), subscription.getInterests().byTopicType());
+        }
+        return subscriber;
+    }
+
+    /**
+     * Remove a subscription by endpoint; returns whether it existed
+     */
+    public boolean unsubscribe(String endpoint) {
+        long hash = endpointHash(endpoint);
+        long id = shardFor(hash).remove(hash);
+        if (id == MISSING && !indexLoaded) {
+            removedWhileLoading.add(hash);
+            id = pushSubscriberRepository.findIdByEndpointHash(hash).orElse(MISSING);
+        }
+        if (id == MISSING) return false;
+
+        long subscriberId = id;
+        Integer deleted = transactionTemplate.execute(status -> {
+            pushInterestIndex.removeSubscriber(subscriberId, shardOf(hash, shards.length));
+            return pushSubscriberRepository.deleteSubscriber(subscriberId);
+        });
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Page through one shard's subscriptions in ID order, without holding the shard in memory.
+     * Subscribers failing {@code include} are left out of the pages.
+     */
+    public void forEachPage(int shard, LongPredicate include, Consumer<List<PushSubscription>> pageConsumer) {
+        long afterId = 0;
+        List<PushSubscriber> page;
+        do {
+            page = pushSubscriberRepository.findShardPage(shard, afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) break;
+
+            List<PushSubscription> subscriptions = new ArrayList<>(page.size());
+            for (PushSubscriber subscriber : page) {
+                if (include.test(subscriber.getId())) {
+                    subscriptions.add(toSubscription(subscriber));
+                }
+                afterId = subscriber.getId();
+            }
+            if (!subscriptions.isEmpty()) {
+                pageConsumer.accept(subscriptions);
+            }
+        } while (page.size() == pageSize);
+    }
+
+    /**
+     * Load the subscriptions with the given IDs in pages, e.g. one shard's part of an audience.
+     * {@code include} is checked as each page is filled, just before it is loaded.
+     */
+    public void forEachPage(PushInterestIndex.Bitmap subscriberIds, LongPredicate include,
+                            Consumer<List<PushSubscription>> pageConsumer) {
+        List<Long> batch = new ArrayList<>(pageSize);
+        subscriberIds.forEach(id -> {
+            if (!include.test(id)) return;
+            batch.add((long) id);
+            if (batch.size() == pageSize) {
+                pageConsumer.accept(load(batch));
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            pageConsumer.accept(load(batch));
+        }
+    }
+
+    private List<PushSubscription> load(List<Long> subscriberIds) {
+        List<PushSubscription> subscriptions = new ArrayList<>(subscriberIds.size());
+        for (PushSubscriber subscriber : pushSubscriberRepository.findAllById(subscriberIds)) {
+            subscriptions.add(toSubscription(subscriber));
+        }
+        return subscriptions;
+    }
+
+    private static PushSubscription toSubscription(PushSubscriber subscriber) {
+        return new PushSubscription(subscriber.getEndpoint(),
+            new PushSubscription.Keys(subscriber.getP256dh(), subscriber.getAuth()));
+    }
+
+    /**
+     * Subscriber ID for an endpoint hash: from the index, or the database while it is loading
+     */
+    private long lookup(long hash) {
+        long id = shardFor(hash).get(hash);
+        if (id == MISSING && !indexLoaded) {
+            id = pushSubscriberRepository.findIdByEndpointHash(hash).orElse(MISSING);
+        }
+        return id;
+    }
+
+    private Shard shardFor(long hash) {
+        return shards[shardOf(hash, shards.length)];
+    }
+
+    /**
+     * Stable 64-bit endpoint hash: the leading bytes of its SHA-256 digest
+     */
+    static long endpointHash(String endpoint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(endpoint.getBytes(StandardCharsets.UTF_8));
+            long hash = ByteBuffer.wrap(digest).getLong();
+            // MISSING marks empty index slots
+            return hash == MISSING ? hash + 1 : hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static int shardOf(long endpointHash, int shardCount) {
+        return (int) Long.remainderUnsigned(endpointHash, shardCount);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Number of subscribers: from the index once loaded, otherwise counted in the database
+     */
+    public long size() {
+        if (!indexLoaded) {
+            return pushSubscriberRepository.count();
+        }
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Get store statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", size());
+        stats.put("shards", shards.length);
+        stats.put("indexLoaded", indexLoaded);
+        int[] shardSizes = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            shardSizes[i] = shards[i].size();
+        }
+        stats.put("shardSizes", shardSizes);
+        return stats;
+    }
+
+    /**
+     * One shard of the endpoint index
+     */
+    private static final class Shard {
+
+        private final LongLongTable index = new LongLongTable(64);
+
+        synchronized long get(long hash) {
+            return index.get(hash);
+        }
+
+        synchronized void put(long hash, long id) {
+            index.put(hash, id);
+        }
+
+        synchronized void putIfAbsent(long hash, long id) {
+            if (index.get(hash) == MISSING) index.put(hash, id);
+        }
+
+        synchronized long remove(long hash) {
+            return index.remove(hash);
+        }
+
+        synchronized int size() {
+            return index.size();
+        }
+    }
+}
@@ -39,7 +39,8 @@ public class RealDataService {
     @Autowired
     private PlayerRepository playerRepository;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RestTemplate restTemplate;
     
     /**
      * Initialize the database with real football data
@@ -0,0 +1,442 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.ExternalIdMapping;
+import com.kooora.app.entity.League;
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.LeagueRepository;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.repository.TeamRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replay harness driving a full synthetic season of live updates through the ingestion
+ * pipeline via the provider stub, at a configurable speed-up. Each matchday's fixtures
+ * are created, kicked off together, played out from a seeded goal script and polled
+ * through {@link ExternalApiService} exactly as in production. The report gives ingest
+ * throughput, database writes per second and the lag from a provider-side change to
+ * its broadcast on the match topic.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+@ConditionalOnProperty(name = "external.api.stub.enabled", havingValue = "true")
+public class ReplayHarness implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayHarness.class);
+
+    // Stub match IDs are offset so they never look like internal IDs
+    static final long EXTERNAL_ID_BASE = 900_000_000L;
+
+    // Simulated match: 45' first half, 15' break, 45' second half
+    private static final int HALF_MINUTES = 45;
+    private static final int BREAK_MINUTES = 15;
+    private static final int MATCH_SPAN_MINUTES = 2 * HALF_MINUTES + BREAK_MINUTES;
+
+    private static final double GOALS_PER_TEAM = 1.4;
+
+    @Autowired
+    private ProviderStubService providerStubService;
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Autowired
+    private LiveMatchIngestionService liveMatchIngestionService;
+
+    @Autowired
+    private ExternalIdResolver externalIdResolver;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Value("${external.api.stub.seed:42}")
+    private long seed;
+
+    /**
+     * A fixture being replayed with its scripted goal minutes
+     */
+    private record ReplayMatch(long matchId, long externalId, int[] homeGoalMinutes, int[] awayGoalMinutes) {
+    }
+
+    private volatile Thread runner;
+    private volatile boolean stopRequested;
+
+    // Run parameters and progress
+    private volatile Long leagueId;
+    private volatile int speed;
+    private volatile int pollSeconds;
+    private volatile int matchdaysPlanned;
+    private final AtomicLong matchdaysPlayed = new AtomicLong();
+    private final AtomicLong matchesPlayed = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong lateTicks = new AtomicLong();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String failure;
+    private Map<String, Object> ingestionBaseline = Map.of();
+
+    // Internal match ID -> time of the earliest provider change not yet broadcast
+    private final Map<Long, Long> pendingChanges = new ConcurrentHashMap<>();
+    private final List<Long> broadcastLagNanos = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Start replaying a season for the league's teams
+     *
+     * @param speed       simulated seconds per real second
+     * @param pollSeconds simulated seconds between live polls
+     */
+    public synchronized void start(Long leagueId, int speed, int pollSeconds, Integer maxMatchdays) {
+        if (isRunning()) {
+            throw new IllegalStateException("A replay is already running");
+        }
+        if (speed < 1 || pollSeconds < 1) {
+            throw new IllegalArgumentException("Speed and poll interval must be positive");
+        }
+
+        League league = leagueRepository.findById(leagueId)
+            .orElseThrow(() -> new IllegalArgumentException("League not found: " + leagueId));
+        List<Team> teams = transactionTemplate.execute(tx -> teamsOf(league));
+        if (teams.size() < 2) {
+            throw new IllegalArgumentException("League " + leagueId + " needs at least two teams");
+        }
+
+        List<List<int[]>> season = doubleRoundRobin(teams.size());
+        if (maxMatchdays != null && maxMatchdays > 0 && maxMatchdays < season.size()) {
+            season = season.subList(0, maxMatchdays);
+        }
+
+        this.leagueId = leagueId;
+        this.speed = speed;
+        this.pollSeconds = pollSeconds;
+        this.matchdaysPlanned = season.size();
+        matchdaysPlayed.set(0);
+        matchesPlayed.set(0);
+        polls.set(0);
+        lateTicks.set(0);
+        failure = null;
+        finishedAt = 0;
+        pendingChanges.clear();
+        broadcastLagNanos.clear();
+        ingestionBaseline = liveMatchIngestionService.getStats();
+        startedAt = System.currentTimeMillis();
+        stopRequested = false;
+
+        providerStubService.putCompetition(leagueId, teams.stream().map(ReplayHarness::stubTeam).toList());
+        brokerChannel.addInterceptor(this);
+
+        List<List<int[]>> schedule = season;
+        runner = Thread.ofVirtual().name("replay-harness").start(() -> run(league, teams, schedule));
+        logger.info("Started replay of {} matchdays for league {} at {}x", schedule.size(), leagueId, speed);
+    }
+
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isRunning() {
+        Thread thread = runner;
+        return thread != null && thread.isAlive();
+    }
+
+    private void run(League league, List<Team> teams, List<List<int[]>> season) {
+        Random random = new Random(seed);
+        try {
+            for (List<int[]> fixtures : season) {
+                if (stopRequested) break;
+                playMatchday(league, teams, fixtures, random);
+                matchdaysPlayed.incrementAndGet();
+                externalApiService.updateLeagueStandings(league.getId()).join();
+            }
+        } catch (Exception e) {
+            failure = e.getMessage();
+            logger.error("Replay failed: {}", e.getMessage());
+        } finally {
+            brokerChannel.removeInterceptor(this);
+            finishedAt = System.currentTimeMillis();
+            logger.info("Replay finished: {}", getReport());
+        }
+    }
+
+    private void playMatchday(League league, List<Team> teams, List<int[]> fixtures, Random random) {
+        LocalDateTime kickoff = LocalDateTime.now();
+        List<Match> created = transactionTemplate.execute(tx -> {
+            List<Match> batch = new ArrayList<>();
+            for (int[] pair : fixtures) {
+                batch.add(new Match(teams.get(pair[0]), teams.get(pair[1]), league, kickoff));
+            }
+            return matchRepository.saveAll(batch);
+        });
+
+        Map<Long, Long> mappings = new HashMap<>();
+        List<ReplayMatch> replay = new ArrayList<>();
+        String utcDate = kickoff.atOffset(ZoneOffset.UTC).format(DateTimeFormatter.ISO_INSTANT);
+        for (int i = 0; i < created.size(); i++) {
+            Match match = created.get(i);
+            long externalId = EXTERNAL_ID_BASE + match.getId();
+            mappings.put(externalId, match.getId());
+            replay.add(new ReplayMatch(match.getId(), externalId, goalMinutes(random), goalMinutes(random)));
+
+            int[] pair = fixtures.get(i);
+            providerStubService.putMatch(new ProviderStubService.StubMatch(externalId, league.getId(),
+                stubTeam(teams.get(pair[0])), stubTeam(teams.get(pair[1])), utcDate, "TIMED", 0, 0, null));
+        }
+        externalIdResolver.registerAll(ExternalIdMapping.EntityType.MATCH, mappings);
+
+        long tickNanos = TimeUnit.SECONDS.toNanos(pollSeconds) / speed;
+        long start = System.nanoTime();
+        int spanSeconds = MATCH_SPAN_MINUTES * 60;
+        for (int tick = 0; tick * pollSeconds <= spanSeconds; tick++) {
+            if (stopRequested) return;
+
+            int elapsedSeconds = tick * pollSeconds;
+            for (ReplayMatch match : replay) {
+                advance(match, elapsedSeconds);
+            }
+            externalApiService.pollLiveMatches(List.of()).join();
+            polls.incrementAndGet();
+
+            long wait = start + (tick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                sleep(wait);
+            } else {
+                lateTicks.incrementAndGet();
+            }
+        }
+
+        // Finished matches drop out of the live feed, so confirm full time by ID
+        for (ReplayMatch match : replay) {
+            advance(match, spanSeconds + 60);
+        }
+        externalApiService.pollLiveMatches(replay.stream().map(ReplayMatch::externalId).toList()).join();
+        polls.incrementAndGet();
+        matchesPlayed.addAndGet(replay.size());
+    }
+
+    /**
+     * Move a stub match to its scripted state at the given simulated second
+     */
+    private void advance(ReplayMatch match, int elapsedSeconds) {
+        int elapsed = elapsedSeconds / 60;
+        String status;
+        int minute;
+        if (elapsed < HALF_MINUTES) {
+            status = "IN_PLAY";
+            minute = elapsed + 1;
+        } else if (elapsed < HALF_MINUTES + BREAK_MINUTES) {
+            status = "PAUSED";
+            minute = HALF_MINUTES;
+        } else if (elapsed < MATCH_SPAN_MINUTES) {
+            status = "IN_PLAY";
+            minute = elapsed - BREAK_MINUTES + 1;
+        } else {
+            status = "FINISHED";
+            minute = 2 * HALF_MINUTES;
+        }
+
+        int home = goalsBy(match.homeGoalMinutes(), minute);
+        int away = goalsBy(match.awayGoalMinutes(), minute);
+        ProviderStubService.StubMatch current = providerStubService.getMatch(match.externalId());
+        // Resuming after the break changes no stored state, so nothing is broadcast for it
+        boolean phaseChanged = !status.equals(current.status())
+            && !("IN_PLAY".equals(status) && "PAUSED".equals(current.status()));
+        if (phaseChanged || home != current.homeScore() || away != current.awayScore()) {
+            pendingChanges.putIfAbsent(match.matchId(), System.nanoTime());
+        }
+        providerStubService.putMatch(current.withState(status, home, away, minute));
+    }
+
+    /**
+     * Measure broadcast lag for the first message on a match topic after a provider change
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Long matchId = destination != null ? MatchWatcherTracker.matchIdOf(destination) : null;
+        if (matchId != null) {
+            Long changedAt = pendingChanges.remove(matchId);
+            if (changedAt != null) {
+                broadcastLagNanos.add(System.nanoTime() - changedAt);
+            }
+        }
+        return message;
+    }
+
+    private List<Team> teamsOf(League league) {
+        Map<Long, Team> teams = new LinkedHashMap<>();
+        for (Team team : teamRepository.findByLeagueId(league.getId())) {
+            teams.put(team.getId(), team);
+        }
+        if (teams.size() < 2) {
+            for (Match match : matchRepository.findByLeague(league)) {
+                teams.putIfAbsent(match.getHomeTeam().getId(), match.getHomeTeam());
+                teams.putIfAbsent(match.getAwayTeam().getId(), match.getAwayTeam());
+            }
+        }
+        // Used to build fixtures and stub payloads after the session closes
+        teams.values().forEach(Hibernate::initialize);
+        return new ArrayList<>(teams.values());
+    }
+
+    private static ProviderStubService.StubTeam stubTeam(Team team) {
+        return new ProviderStubService.StubTeam(team.getId(), team.getName(), team.getShortName());
+    }
+
+    /**
+     * Double round-robin by the circle method: every team meets every other team once at
+     * home and once away, and plays at most once per matchday (a bye with an odd count)
+     */
+    static List<List<int[]>> doubleRoundRobin(int teamCount) {
+        int slots = teamCount % 2 == 0 ? teamCount : teamCount + 1;
+        int[] order = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            order[i] = i;
+        }
+
+        List<List<int[]>> firstHalf = new ArrayList<>();
+        for (int round = 0; round < slots - 1; round++) {
+            List<int[]> fixtures = new ArrayList<>();
+            for (int i = 0; i < slots / 2; i++) {
+                int a = order[i];
+                int b = order[slots - 1 - i];
+                if (a >= teamCount || b >= teamCount) continue;
+                // Alternate home advantage so no team stays at home all half-season
+                fixtures.add((round + i) % 2 == 0 ? new int[]{a, b} : new int[]{b, a});
+            }
+            firstHalf.add(fixtures);
+
+            // Keep the first slot fixed and rotate the rest
+            int last = order[slots - 1];
+            System.arraycopy(order, 1, order, 2, slots - 2);
+            order[1] = last;
+        }
+
+        List<List<int[]>> season = new ArrayList<>(firstHalf);
+        for (List<int[]> round : firstHalf) {
+            season.add(round.stream().map(pair -> new int[]{pair[1], pair[0]}).toList());
+        }
+        return season;
+    }
+
+    private static int[] goalMinutes(Random random) {
+        // Poisson goal count by inversion, then uniform minutes
+        double limit = Math.exp(-GOALS_PER_TEAM);
+        double product = random.nextDouble();
+        int goals = 0;
+        while (product > limit) {
+            goals++;
+            product *= random.nextDouble();
+        }
+
+        int[] minutes = new int[goals];
+        for (int i = 0; i < goals; i++) {
+            minutes[i] = 1 + random.nextInt(2 * HALF_MINUTES);
+        }
+        Arrays.sort(minutes);
+        return minutes;
+    }
+
+    private static int goalsBy(int[] goalMinutes, int minute) {
+        int goals = 0;
+        for (int goalMinute : goalMinutes) {
+            if (goalMinute <= minute) goals++;
+        }
+        return goals;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the replay progress and load figures
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("running", isRunning());
+        report.put("leagueId", leagueId);
+        report.put("speed", speed);
+        report.put("pollSeconds", pollSeconds);
+        report.put("matchdaysPlanned", matchdaysPlanned);
+        report.put("matchdaysPlayed", matchdaysPlayed.get());
+        report.put("matchesPlayed", matchesPlayed.get());
+        report.put("polls", polls.get());
+        report.put("lateTicks", lateTicks.get());
+        if (failure != null) {
+            report.put("failure", failure);
+        }
+        if (startedAt == 0) {
+            return report;
+        }
+
+        long elapsedMs = Math.max(1, (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt);
+        double seconds = elapsedMs / 1000.0;
+        Map<String, Object> ingestion = liveMatchIngestionService.getStats();
+        long entries = delta(ingestion, "received");
+        long writes = delta(ingestion, "written") + delta(ingestion, "eventsCreated");
+        report.put("elapsedMs", elapsedMs);
+        report.put("entriesIngested", entries);
+        report.put("entriesPerSecond", Math.round(entries / seconds * 10) / 10.0);
+        report.put("dbWrites", writes);
+        report.put("dbWritesPerSecond", Math.round(writes / seconds * 10) / 10.0);
+
+        long[] lags;
+        synchronized (broadcastLagNanos) {
+            lags = broadcastLagNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        Map<String, Object> lag = new LinkedHashMap<>();
+        lag.put("count", lags.length);
+        lag.put("p50", TimeUnit.NANOSECONDS.toMillis(Percentiles.percentile(lags, 50)));
+        lag.put("p95", TimeUnit.NANOSECONDS.toMillis(Percentiles.percentile(lags, 95)));
+        lag.put("p99", TimeUnit.NANOSECONDS.toMillis(Percentiles.percentile(lags, 99)));
+        lag.put("max", TimeUnit.NANOSECONDS.toMillis(lags.length > 0 ? lags[lags.length - 1] : 0));
+        report.put("broadcastLagMs", lag);
+        report.put("stub", providerStubService.getStats());
+        return report;
+    }
+
+    private long delta(Map<String, Object> current, String key) {
+        long now = ((Number) current.getOrDefault(key, 0L)).longValue();
+        long base = ((Number) ingestionBaseline.getOrDefault(key, 0L)).longValue();
+        return now - base;
+    }
+}
@@ -0,0 +1,137 @@
+package com.kooora.app.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Clock and random source of the match simulator.
+ * Simulated time starts at a configurable instant (or now) and runs at a configurable
+ * speed, so a 90-minute match can be played in 90 seconds; it is derived from the
+ * monotonic clock and never jumps with the wall clock. With a seed configured every
+ * random stream is reproducible, so two runs see the same workload.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class SimulationClock {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationClock.class);
+
+    // Spreads stream keys so the streams of one seed do not overlap
+    private static final long STREAM_MIX = 0x9E3779B97F4A7C15L;
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    @Value("${app.simulator.clock.start:}")
+    private String start;
+
+    @Value("${app.simulator.clock.speed:1}")
+    private double speed;
+
+    @Value("${app.simulator.seed:}")
+    private String seed;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private LongSupplier nanoTime = System::nanoTime;
+    private Long seedValue;
+    private long originMs;
+    private long originNanos;
+
+    public SimulationClock() {
+    }
+
+    /**
+     * A clock starting at {@code originMs}, reading elapsed time from {@code nanoTime}
+     *
+     * @param seed null for unseeded random streams
+     */
+    SimulationClock(long originMs, double speed, Long seed, LongSupplier nanoTime) {
+        this.speed = speed;
+        this.seedValue = seed;
+        this.nanoTime = nanoTime;
+        this.originMs = originMs;
+        this.originNanos = nanoTime.getAsLong();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("app.simulator.clock.speed must be positive");
+        }
+        seedValue = seed == null || seed.isBlank() ? null : Long.parseLong(seed.trim());
+        start = start == null ? "" : start.trim();
+        originMs = start.isEmpty()
+            ? System.currentTimeMillis()
+            : LocalDateTime.parse(start).atZone(zone).toInstant().toEpochMilli();
+        originNanos = nanoTime.getAsLong();
+        if (seedValue != null || speed != 1 || !start.isEmpty()) {
+            logger.info("Simulation clock starts at {} running at {}x, seed {}", now(), speed, seedValue);
+        }
+    }
+
+    /**
+     * Current simulated time in epoch milliseconds
+     */
+    public long millis() {
+        return originMs + (long) ((nanoTime.getAsLong() - originNanos) * speed / NANOS_PER_MS);
+    }
+
+    /**
+     * Current simulated local date-time
+     */
+    public LocalDateTime now() {
+        return toLocalDateTime(millis());
+    }
+
+    public LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    public long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Real milliseconds until the simulated time reaches {@code epochMillis}
+     */
+    public long realMillisUntil(long epochMillis) {
+        return Math.max(0, (long) Math.ceil((epochMillis - millis()) / speed));
+    }
+
+    /**
+     * Sleep until the simulated time reaches {@code epochMillis}
+     */
+    public void sleepUntil(long epochMillis) throws InterruptedException {
+        long realMs = realMillisUntil(epochMillis);
+        if (realMs > 0) {
+            Thread.sleep(realMs);
+        }
+    }
+
+    /**
+     * The {@code index}th random stream for a purpose, such as one per simulated match:
+     * reproducible when seeded, otherwise seeded from entropy
+     */
+    public Random random(String stream, long index) {
+        if (seedValue == null) return new Random();
+        return new Random(seedValue ^ (stream.hashCode() * 31L + index + 1) * STREAM_MIX);
+    }
+
+    public boolean isSeeded() {
+        return seedValue != null;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+}
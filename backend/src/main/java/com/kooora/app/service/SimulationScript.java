@@ -0,0 +1,126 @@
+package com.kooora.app.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Recorded timelines of simulated matches.
+ * Each match, numbered in the order the simulator tracked it, has its events as offsets
+ * from kick-off. The text form is canonical (one tab-separated line per event, matches
+ * in order), so replaying a script and recording it again gives the same bytes:
+ * <pre>
+ * # kooora simulation script v1
+ * 0	0	KICKOFF	-	0	0
+ * 0	1234567	GOAL	H	21	0
+ * </pre>
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public class SimulationScript {
+
+    static final String HEADER = "# kooora simulation script v1";
+
+    /**
+     * Kinds of scripted events
+     */
+    public enum Kind { KICKOFF, GOAL, HALF_TIME, SECOND_HALF, FULL_TIME }
+
+    /**
+     * One scripted event
+     *
+     * @param offsetMs       time from kick-off
+     * @param home           the scoring side, null for events of both sides
+     * @param additionalTime stoppage-time minute, 0 in normal time
+     */
+    public record Event(long offsetMs, Kind kind, Boolean home, int minute, int additionalTime) {
+    }
+
+    private final SortedMap<Integer, List<Event>> timelines = new TreeMap<>();
+
+    public synchronized void put(int match, List<Event> timeline) {
+        timelines.put(match, List.copyOf(timeline));
+    }
+
+    /**
+     * The timeline of the {@code match}th tracked match, or null if the script has none
+     */
+    public synchronized List<Event> timeline(int match) {
+        return timelines.get(match);
+    }
+
+    public synchronized int size() {
+        return timelines.size();
+    }
+
+    /**
+     * Canonical text form of the script
+     */
+    public synchronized byte[] toBytes() {
+        StringBuilder text = new StringBuilder(HEADER).append('\n');
+        timelines.forEach((match, timeline) -> {
+            for (Event event : timeline) {
+                text.append(match).append('\t')
+                    .append(event.offsetMs()).append('\t')
+                    .append(event.kind()).append('\t')
+                    .append(event.home() == null ? "-" : event.home() ? "H" : "A").append('\t')
+                    .append(event.minute()).append('\t')
+                    .append(event.additionalTime()).append('\n');
+            }
+        });
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse the text form; blank lines and lines starting with # are ignored
+     */
+    public static SimulationScript parse(byte[] bytes) {
+        SimulationScript script = new SimulationScript();
+        SortedMap<Integer, List<Event>> timelines = new TreeMap<>();
+        int lineNumber = 0;
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) continue;
+            String[] fields = line.split("\t");
+            if (fields.length != 6) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected 6 fields, got " + fields.length);
+            }
+            try {
+                Boolean home = switch (fields[3]) {
+                    case "H" -> Boolean.TRUE;
+                    case "A" -> Boolean.FALSE;
+                    case "-" -> null;
+                    default -> throw new IllegalArgumentException("side must be H, A or -");
+                };
+                timelines.computeIfAbsent(Integer.parseInt(fields[0]), match -> new ArrayList<>())
+                    .add(new Event(Long.parseLong(fields[1]), Kind.valueOf(fields[2]), home,
+                        Integer.parseInt(fields[4]), Integer.parseInt(fields[5])));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        timelines.forEach(script::put);
+        return script;
+    }
+
+    public static SimulationScript read(Path path) throws IOException {
+        return parse(Files.readAllBytes(path));
+    }
+
+    /**
+     * Write the script, replacing the file in one step so readers never see half of it
+     */
+    public void write(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.write(temp, toBytes());
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
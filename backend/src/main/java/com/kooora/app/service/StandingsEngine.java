@@ -0,0 +1,486 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.League;
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.Team;
+import com.kooora.app.entity.TeamStanding;
+import com.kooora.app.repository.LeagueRepository;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.repository.TeamRepository;
+import com.kooora.app.repository.TeamStandingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * League tables maintained incrementally as matches complete.
+ * Each league's table is loaded once from its standings and then kept in memory: a
+ * completed match changes two rows by a constant amount and moves them to their new
+ * places, only the rows whose figures or position changed are written back, and the
+ * whole table is broadcast to standings subscribers. A full rebuild recomputes a
+ * league from its match history in one streamed pass. Results are applied once the
+ * transaction that completed the match has committed, and standings are written in
+ * their own transaction.
+ * <p>
+ * Scores of matches in play are overlaid on a provisional copy of the table, kept in
+ * memory only; score changes within the coalescing window go out as one live table.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class StandingsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandingsEngine.class);
+
+    private static final List<Match.MatchStatus> FINAL_STATUSES =
+        List.of(Match.MatchStatus.COMPLETED, Match.MatchStatus.FINISHED);
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private TeamStandingRepository teamStandingRepository;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, LeagueTable> tables = new ConcurrentHashMap<>();
+
+    // Matches completed but not yet applied; a table loaded meanwhile must not count them
+    private final Set<Long> completing = ConcurrentHashMap.newKeySet();
+
+    // Leagues whose provisional table changed since the last live broadcast
+    private final Set<Long> pendingLive = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong matchesApplied = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong liveUpdates = new AtomicLong();
+    private final AtomicLong liveBroadcasts = new AtomicLong();
+
+    /**
+     * Note a league match as completing as soon as the event is published, before its
+     * transaction commits
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onMatchCompleting(MatchCompletedEvent event) {
+        if (event.getLeagueId() == null) return;
+        completing.add(event.getMatchId());
+    }
+
+    /**
+     * Apply a completed league match to its table, once the transaction that completed
+     * the match has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        if (event.getLeagueId() == null) return;
+        try {
+            LeagueTable table = lockedTable(event.getLeagueId());
+            try {
+                LeagueTable.Row home = rowFor(table, event.getHomeTeamId());
+                LeagueTable.Row away = rowFor(table, event.getAwayTeamId());
+                // The result moves from the live overlay into the committed rows
+                boolean wasLive = table.clearLive(event.getMatchId());
+                boolean applied = table.apply(event.getMatchId(), home, away,
+                    event.getHomeScore(), event.getAwayScore(), true);
+                if (wasLive || (applied && !table.liveMatchIds().isEmpty())) {
+                    pendingLive.add(table.leagueId());
+                }
+                if (!applied) return;
+                matchesApplied.incrementAndGet();
+                List<Long> changed = persist(table);
+                liveUpdateService.broadcastLeagueStandingsUpdate(table.leagueId(), table.toList(), changed);
+            } finally {
+                table.lock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Error updating standings for match {}: {}", event.getMatchId(), e.getMessage());
+        } finally {
+            completing.remove(event.getMatchId());
+        }
+    }
+
+    /**
+     * Forget a completion whose transaction rolled back
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onMatchCompletionRolledBack(MatchCompletedEvent event) {
+        completing.remove(event.getMatchId());
+    }
+
+    /**
+     * Move a live match's current score onto the provisional table, or take it off once
+     * the match is no longer in play. Only the two teams' provisional rows change.
+     */
+    @EventListener
+    public void onMatchScoreChanged(MatchScoreChangedEvent event) {
+        if (event.getLeagueId() == null) return;
+        try {
+            LeagueTable table = lockedTable(event.getLeagueId());
+            try {
+                boolean changed;
+                if (event.isLive()) {
+                    rowFor(table, event.getHomeTeamId());
+                    rowFor(table, event.getAwayTeamId());
+                    changed = table.setLive(event.getMatchId(), event.getHomeTeamId(), event.getAwayTeamId(),
+                        event.getHomeScore(), event.getAwayScore());
+                } else {
+                    changed = table.clearLive(event.getMatchId());
+                }
+                if (changed) {
+                    liveUpdates.incrementAndGet();
+                    pendingLive.add(table.leagueId());
+                }
+            } finally {
+                table.lock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Error updating live standings for match {}: {}", event.getMatchId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Broadcast the provisional table of every league that changed within the window
+     */
+    @Scheduled(fixedDelayString = "${app.standings.live.coalesce-ms:500}")
+    public void flushLiveStandings() {
+        for (Long leagueId : pendingLive) {
+            pendingLive.remove(leagueId);
+            try {
+                List<Map<String, Object>> standings;
+                List<Long> liveMatchIds;
+                LeagueTable table = lockedTable(leagueId);
+                try {
+                    standings = table.provisional().toList();
+                    liveMatchIds = new ArrayList<>(table.liveMatchIds());
+                } finally {
+                    table.lock.unlock();
+                }
+                liveUpdateService.broadcastLiveStandingsUpdate(leagueId, standings, liveMatchIds);
+                liveBroadcasts.incrementAndGet();
+            } catch (Exception e) {
+                logger.error("Error broadcasting live standings for league {}: {}", leagueId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reload a league's table after its standings were replaced from outside, such as a
+     * provider import, and broadcast it
+     */
+    public void reload(Long leagueId) {
+        try {
+            LeagueTable table = lockedTable(leagueId);
+            try {
+                LeagueTable reloaded = load(leagueId);
+                reloaded.takeLive(table);
+                List<Long> changed = persist(reloaded);
+                tables.put(leagueId, reloaded);
+                if (!reloaded.liveMatchIds().isEmpty()) {
+                    pendingLive.add(leagueId);
+                }
+                liveUpdateService.broadcastLeagueStandingsUpdate(leagueId, reloaded.toList(), changed);
+            } finally {
+                table.lock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Error reloading standings for league {}: {}", leagueId, e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute a league's table from all of its final results in a single streamed pass,
+     * writing only the standings that differ
+     */
+    public Map<String, Object> rebuild(Long leagueId) {
+        Map<String, Object> result = new HashMap<>();
+        long start = System.currentTimeMillis();
+
+        try {
+            LeagueTable table = lockedTable(leagueId);
+            try {
+                LeagueTable rebuilt = new LeagueTable(leagueId);
+                // Every team with a standing or in the league starts from zero
+                for (TeamStanding standing : teamStandingRepository.findByLeagueIdWithTeam(leagueId)) {
+                    rebuilt.load(new LeagueTable.Row(standing.getTeam().getId(), standing.getTeam().getName()));
+                }
+                for (Team team : teamRepository.findByLeagueId(leagueId)) {
+                    if (rebuilt.row(team.getId()) == null) {
+                        rebuilt.load(new LeagueTable.Row(team.getId(), team.getName()));
+                    }
+                }
+
+                Set<Long> unnamed = new HashSet<>();
+                Long processed = transactionTemplate.execute(status -> {
+                    long count = 0;
+                    try (Stream<Object[]> rows = matchRepository.streamLeagueResultsInPlayOrder(leagueId, FINAL_STATUSES)) {
+                        Iterator<Object[]> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            Object[] row = iterator.next();
+                            LeagueTable.Row home = loadedRow(rebuilt, (Long) row[1], unnamed);
+                            LeagueTable.Row away = loadedRow(rebuilt, (Long) row[2], unnamed);
+                            if (rebuilt.apply((Long) row[0], home, away,
+                                    ((Number) row[3]).intValue(), ((Number) row[4]).intValue(), false)) {
+                                count++;
+                            }
+                        }
+                    }
+                    return count;
+                });
+                for (Team team : teamRepository.findAllById(unnamed)) {
+                    rebuilt.row(team.getId()).teamName = team.getName();
+                }
+
+                // Ranked once at the end; every row is compared with its stored standing
+                rebuilt.sortAll();
+                rebuilt.ranked().forEach(row -> row.dirty = true);
+                rebuilt.takeLive(table);
+                List<Long> changed = persist(rebuilt);
+                tables.put(leagueId, rebuilt);
+                if (!rebuilt.liveMatchIds().isEmpty()) {
+                    pendingLive.add(leagueId);
+                }
+                rebuilds.incrementAndGet();
+                liveUpdateService.broadcastLeagueStandingsUpdate(leagueId, rebuilt.toList(), changed);
+
+                result.put("leagueId", leagueId);
+                result.put("matchesProcessed", processed);
+                result.put("teams", rebuilt.size());
+                result.put("rowsWritten", changed.size());
+                result.put("durationMs", System.currentTimeMillis() - start);
+                logger.info("Rebuilt standings of league {} from {} matches in {} ms, {} rows changed",
+                    leagueId, processed, result.get("durationMs"), changed.size());
+            } finally {
+                table.lock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Error rebuilding standings for league {}: {}", leagueId, e.getMessage());
+            result.put("error", "Failed to rebuild standings: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * Current table of a league in rank order
+     */
+    public List<Map<String, Object>> getTable(Long leagueId) {
+        LeagueTable table = lockedTable(leagueId);
+        try {
+            return table.toList();
+        } finally {
+            table.lock.unlock();
+        }
+    }
+
+    /**
+     * Table of a league as it stands with the current scores of its live matches
+     */
+    public Map<String, Object> getLiveTable(Long leagueId) {
+        LeagueTable table = lockedTable(leagueId);
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("leagueId", leagueId);
+            response.put("standings", table.provisional().toList());
+            response.put("liveMatchIds", new ArrayList<>(table.liveMatchIds()));
+            return response;
+        } finally {
+            table.lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("leaguesLoaded", tables.size());
+        stats.put("matchesApplied", matchesApplied.get());
+        stats.put("rowsWritten", rowsWritten.get());
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("liveUpdates", liveUpdates.get());
+        stats.put("liveBroadcasts", liveBroadcasts.get());
+        stats.put("pendingLiveLeagues", pendingLive.size());
+        return stats;
+    }
+
+    /**
+     * The league's current table, locked. A table replaced by a reload or rebuild while
+     * waiting for its lock is skipped in favour of its replacement.
+     */
+    private LeagueTable lockedTable(Long leagueId) {
+        while (true) {
+            LeagueTable table = tables.get(leagueId);
+            if (table == null) {
+                LeagueTable loaded = load(leagueId);
+                table = Objects.requireNonNullElse(tables.putIfAbsent(leagueId, loaded), loaded);
+            }
+            table.lock.lock();
+            if (tables.get(leagueId) == table) {
+                return table;
+            }
+            table.lock.unlock();
+        }
+    }
+
+    /**
+     * Load a league's table from its stored standings, ranked by the table's own order,
+     * with the scores of its matches already in play. The standings already count the
+     * league's final results, so those are not applied again if a match is re-completed;
+     * matches still completing are left to their own event.
+     */
+    private LeagueTable load(Long leagueId) {
+        LeagueTable table = new LeagueTable(leagueId);
+        for (TeamStanding standing : teamStandingRepository.findByLeagueIdWithTeam(leagueId)) {
+            LeagueTable.Row row = new LeagueTable.Row(standing.getTeam().getId(), standing.getTeam().getName());
+            row.played = standing.getMatchesPlayed();
+            row.won = standing.getWins();
+            row.drawn = standing.getDraws();
+            row.lost = standing.getLosses();
+            row.goalsFor = standing.getGoalsFor();
+            row.goalsAgainst = standing.getGoalsAgainst();
+            row.points = standing.getPoints();
+            row.form = standing.getForm() != null ? standing.getForm() : "";
+            row.position = standing.getPosition() != null ? standing.getPosition() : 0;
+            table.load(row);
+        }
+
+        List<Object[]> live = matchRepository.findScoresByLeagueIdAndStatus(leagueId, Match.MatchStatus.LIVE);
+        Set<Long> unnamed = new HashSet<>();
+        for (Object[] score : live) {
+            loadedRow(table, (Long) score[1], unnamed);
+            loadedRow(table, (Long) score[2], unnamed);
+        }
+        for (Team team : teamRepository.findAllById(unnamed)) {
+            table.row(team.getId()).teamName = team.getName();
+        }
+        table.sortAll();
+        for (Object[] score : live) {
+            table.setLive((Long) score[0], (Long) score[1], (Long) score[2], goals(score[3]), goals(score[4]));
+        }
+        List<Long> applied = new ArrayList<>(matchRepository.findScoredIdsByLeagueIdAndStatusIn(leagueId, FINAL_STATUSES));
+        applied.removeAll(completing);
+        table.loadApplied(applied);
+        return table;
+    }
+
+    private LeagueTable.Row rowFor(LeagueTable table, Long teamId) {
+        LeagueTable.Row row = table.row(teamId);
+        if (row != null) return row;
+        String name = teamRepository.findById(teamId).map(Team::getName).orElse(null);
+        return table.rowFor(teamId, name);
+    }
+
+    private static int goals(Object score) {
+        return score != null ? ((Number) score).intValue() : 0;
+    }
+
+    private static LeagueTable.Row loadedRow(LeagueTable table, Long teamId, Set<Long> unnamed) {
+        LeagueTable.Row row = table.row(teamId);
+        if (row == null) {
+            unnamed.add(teamId);
+            row = table.load(new LeagueTable.Row(teamId, null));
+        }
+        return row;
+    }
+
+    /**
+     * Write the table's dirty rows whose stored standing differs, creating missing standings;
+     * returns the IDs of the teams written. The write commits in a transaction of its own,
+     * so a failure never marks a caller's transaction rollback-only; rows stay dirty if it fails.
+     */
+    private List<Long> persist(LeagueTable table) {
+        List<LeagueTable.Row> dirty = table.takeDirty();
+        if (dirty.isEmpty()) return List.of();
+
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        write.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            List<Long> written = write.execute(status -> {
+                League league = leagueRepository.getReferenceById(table.leagueId());
+                Map<Long, TeamStanding> stored = new HashMap<>();
+                for (TeamStanding standing : teamStandingRepository.findByLeagueAndTeamIdIn(
+                        league, dirty.stream().map(row -> row.teamId).toList())) {
+                    stored.put(standing.getTeam().getId(), standing);
+                }
+
+                List<Long> teamIds = new ArrayList<>();
+                List<TeamStanding> created = new ArrayList<>();
+                for (LeagueTable.Row row : dirty) {
+                    TeamStanding standing = stored.get(row.teamId);
+                    if (standing == null) {
+                        standing = new TeamStanding(teamRepository.getReferenceById(row.teamId), league);
+                        created.add(standing);
+                    }
+                    if (copyTo(row, standing)) {
+                        teamIds.add(row.teamId);
+                    }
+                }
+                teamStandingRepository.saveAll(created);
+                return teamIds;
+            });
+            rowsWritten.addAndGet(written.size());
+            return written;
+        } catch (RuntimeException e) {
+            dirty.forEach(row -> row.dirty = true);
+            throw e;
+        }
+    }
+
+    /**
+     * Copy a row's figures into its standing; returns false if the standing already matched
+     */
+    private static boolean copyTo(LeagueTable.Row row, TeamStanding standing) {
+        boolean same = standing.getId() != null
+            && Objects.equals(standing.getMatchesPlayed(), row.played)
+            && Objects.equals(standing.getWins(), row.won)
+            && Objects.equals(standing.getDraws(), row.drawn)
+            && Objects.equals(standing.getLosses(), row.lost)
+            && Objects.equals(standing.getGoalsFor(), row.goalsFor)
+            && Objects.equals(standing.getGoalsAgainst(), row.goalsAgainst)
+            && Objects.equals(standing.getGoalDifference(), row.goalDifference())
+            && Objects.equals(standing.getPoints(), row.points)
+            && Objects.equals(standing.getPosition(), row.position)
+            && Objects.equals(standing.getForm(), row.form);
+        if (same) return false;
+
+        standing.setMatchesPlayed(row.played);
+        standing.setWins(row.won);
+        standing.setDraws(row.drawn);
+        standing.setLosses(row.lost);
+        standing.setGoalsFor(row.goalsFor);
+        standing.setGoalsAgainst(row.goalsAgainst);
+        standing.setGoalDifference(row.goalDifference());
+        standing.setPoints(row.points);
+        standing.setPosition(row.position);
+        standing.setForm(row.form);
+        return true;
+    }
+}
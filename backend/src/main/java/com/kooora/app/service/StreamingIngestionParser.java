@@ -0,0 +1,229 @@
+package com.kooora.app.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for external provider payloads.
+ * Walks the token stream with Jackson's {@link JsonParser}, materialises only one
+ * array entry at a time and maps it straight to an {@link IngestionCommand}, handing
+ * commands on in fixed-size batches. Memory stays bounded by the batch size rather
+ * than the payload size.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Component
+public class StreamingIngestionParser {
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Payload shapes understood by the parser
+     */
+    public enum Payload {
+        STANDINGS("standings"),
+        SCORERS("scorers"),
+        TEAMS("teams"),
+        MATCHES("matches");
+
+        private final String rootField;
+
+        Payload(String rootField) {
+            this.rootField = rootField;
+        }
+    }
+
+    /**
+     * Parse a payload and pass its commands on in batches; returns the number of commands
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends IngestionCommand> long parse(InputStream body, Payload payload, int batchSize,
+                                                   Consumer<List<C>> batchConsumer) throws IOException {
+        Batcher<C> batcher = new Batcher<>(batchSize, batchConsumer);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object payload");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (payload.rootField.equals(field) && value == JsonToken.START_ARRAY) {
+                    if (payload == Payload.STANDINGS) {
+                        parseStandingGroups(parser, (Batcher<IngestionCommand.StandingUpsert>) batcher);
+                    } else {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            JsonNode entry = parser.readValueAsTree();
+                            C command = (C) map(payload, entry);
+                            if (command != null) batcher.add(command);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        batcher.flush();
+        return batcher.total;
+    }
+
+    /**
+     * Walk standings[] and stream each table[] row; only TOTAL tables are used when a type is given
+     */
+    private void parseStandingGroups(JsonParser parser, Batcher<IngestionCommand.StandingUpsert> batcher) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String type = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("type".equals(field) && value == JsonToken.VALUE_STRING) {
+                    type = parser.getText();
+                } else if ("table".equals(field) && value == JsonToken.START_ARRAY) {
+                    boolean wanted = type == null || "TOTAL".equals(type);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (!wanted) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        IngestionCommand.StandingUpsert row = mapStanding(parser.readValueAsTree());
+                        if (row != null) batcher.add(row);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private IngestionCommand map(Payload payload, JsonNode entry) {
+        return switch (payload) {
+            case STANDINGS -> mapStanding(entry);
+            case SCORERS -> mapScorer(entry);
+            case TEAMS -> mapTeam(entry);
+            case MATCHES -> mapMatch(entry);
+        };
+    }
+
+    static IngestionCommand.StandingUpsert mapStanding(JsonNode row) {
+        JsonNode team = row.get("team");
+        if (team == null || text(team, "name") == null) return null;
+
+        return new IngestionCommand.StandingUpsert(
+            longValue(team, "id"), text(team, "name"),
+            row.path("position").asInt(), row.path("playedGames").asInt(),
+            row.path("won").asInt(), row.path("draw").asInt(), row.path("lost").asInt(),
+            row.path("goalsFor").asInt(), row.path("goalsAgainst").asInt(),
+            row.path("goalDifference").asInt(), row.path("points").asInt());
+    }
+
+    static IngestionCommand.ScorerUpsert mapScorer(JsonNode entry) {
+        JsonNode player = entry.get("player");
+        if (player == null || text(player, "name") == null) return null;
+
+        JsonNode team = entry.get("team");
+        return new IngestionCommand.ScorerUpsert(
+            longValue(player, "id"), text(player, "name"),
+            team != null ? longValue(team, "id") : null,
+            firstInt(entry, "goals", "numberOfGoals", 0),
+            intValue(entry, "assists"), intValue(entry, "playedMatches", "appearances"));
+    }
+
+    static IngestionCommand.TeamUpsert mapTeam(JsonNode entry) {
+        if (text(entry, "name") == null) return null;
+
+        return new IngestionCommand.TeamUpsert(
+            longValue(entry, "id"), text(entry, "name"), text(entry, "shortName"),
+            text(entry, "crest", "crestUrl"), intValue(entry, "founded"),
+            text(entry, "venue"), text(entry, "website"));
+    }
+
+    static IngestionCommand.MatchUpsert mapMatch(JsonNode entry) {
+        JsonNode home = entry.get("homeTeam");
+        JsonNode away = entry.get("awayTeam");
+        if (home == null || away == null || text(home, "name") == null || text(away, "name") == null) return null;
+
+        JsonNode fullTime = entry.path("score").path("fullTime");
+        return new IngestionCommand.MatchUpsert(
+            longValue(entry, "id"),
+            longValue(home, "id"), text(home, "name"),
+            longValue(away, "id"), text(away, "name"),
+            text(entry, "status"),
+            intValue(fullTime, "home", "homeTeam"), intValue(fullTime, "away", "awayTeam"),
+            intValue(entry, "minute"), text(entry, "utcDate"));
+    }
+
+    // Null-tolerant field readers, trying alternative field names in order
+
+    private static String text(JsonNode node, String... fields) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && !value.isNull()) return value.asText();
+        }
+        return null;
+    }
+
+    private static Long longValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.canConvertToLong() ? value.asLong() : null;
+    }
+
+    private static Integer intValue(JsonNode node, String... fields) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && value.canConvertToInt()) return value.asInt();
+        }
+        return null;
+    }
+
+    private static int firstInt(JsonNode node, String field, String alternative, int defaultValue) {
+        Integer value = intValue(node, field, alternative);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Collects commands and hands them on in fixed-size batches
+     */
+    private static final class Batcher<C> {
+        private final int batchSize;
+        private final Consumer<List<C>> consumer;
+        private List<C> batch;
+        private long total;
+
+        Batcher(int batchSize, Consumer<List<C>> consumer) {
+            this.batchSize = Math.max(1, batchSize);
+            this.consumer = consumer;
+            this.batch = new ArrayList<>(this.batchSize);
+        }
+
+        void add(C command) {
+            batch.add(command);
+            total++;
+            if (batch.size() >= batchSize) flush();
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            consumer.accept(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.TeamRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Elo-style team ratings maintained incrementally as matches complete.
+ * Ratings live in primitive arrays indexed by team ID, so an update is O(1)
+ * and a full rebuild is a single ordered pass over the match history. Each match
+ * is rated once, and matches completing during a rebuild are replayed onto it.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+@Service
+public class TeamRatingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamRatingService.class);
+
+    public static final double INITIAL_RATING = 1500.0;
+
+    private static final double K_FACTOR = 20.0;
+    private static final double HOME_ADVANTAGE = 60.0;
+    private static final double BASE_DRAW_PROBABILITY = 0.3;
+
+    @Autowired
+    private MatchHistoryScanner matchHistoryScanner;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private volatile RatingTable table = new RatingTable(64);
+
+    // Rebuilds in progress; matches completing meanwhile are replayed onto them
+    private final List<Rebuild> rebuilds = new ArrayList<>();
+
+    private volatile LocalDateTime lastRebuild;
+
+    /**
+     * Build ratings in the shared startup pass over the match history
+     */
+    @PostConstruct
+    public void init() {
+        matchHistoryScanner.registerForStartup(this::newRebuild);
+    }
+
+    /**
+     * Rebuild all ratings from the full match history in a single streamed pass
+     */
+    public Map<String, Object> rebuild() {
+        Map<String, Object> result = new HashMap<>();
+        long start = System.currentTimeMillis();
+
+        try {
+            Rebuild rebuild = newRebuild();
+            long processed = matchHistoryScanner.scan(List.of(rebuild));
+
+            result.put("matchesProcessed", processed);
+            result.put("ratedTeams", rebuild.rebuilt.ratedCount());
+            result.put("durationMs", System.currentTimeMillis() - start);
+            logger.info("Rebuilt team ratings from {} matches in {} ms", processed, result.get("durationMs"));
+        } catch (Exception e) {
+            logger.error("Error rebuilding team ratings: {}", e.getMessage());
+            result.put("error", "Failed to rebuild ratings: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * Apply a completed match to the ratings, and to any rebuild in progress, once the
+     * transaction that completed it has committed; a rolled back completion is never rated
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        try {
+            synchronized (rebuilds) {
+                for (Rebuild rebuild : rebuilds) {
+                    rebuild.completedMeanwhile.add(event);
+                }
+                apply(table, event);
+            }
+        } catch (Exception e) {
+            logger.error("Error updating ratings for match {}: {}", event.getMatchId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Get the current rating for a team
+     */
+    public double getRating(Long teamId) {
+        return table.rating(teamId);
+    }
+
+    /**
+     * Predict home win, draw and away win probabilities from the current ratings
+     */
+    public Map<String, Double> predict(Long homeTeamId, Long awayTeamId) {
+        double[] p = outcomeProbabilities(table.rating(homeTeamId), table.rating(awayTeamId));
+
+        Map<String, Double> prediction = new HashMap<>();
+        prediction.put("homeWin", p[0]);
+        prediction.put("draw", p[1]);
+        prediction.put("awayWin", p[2]);
+        return prediction;
+    }
+
+    /**
+     * Get rated teams sorted by the given field
+     */
+    public Map<String, Object> getRatings(String sortBy, String direction, int limit) {
+        Map<String, Object> response = new HashMap<>();
+        RatingTable snapshot = table;
+
+        List<RatingEntry> entries = new ArrayList<>();
+        snapshot.forEachRated((teamId, rating, played) -> entries.add(new RatingEntry(teamId, rating, played)));
+
+        Comparator<RatingEntry> comparator = switch (sortBy) {
+            case "matches" -> Comparator.comparingInt(RatingEntry::played);
+            case "team" -> Comparator.comparingLong(RatingEntry::teamId);
+            default -> Comparator.comparingDouble(RatingEntry::rating);
+        };
+        if (!"asc".equalsIgnoreCase(direction)) {
+            comparator = comparator.reversed();
+        }
+        entries.sort(comparator);
+
+        List<RatingEntry> page = entries.subList(0, Math.min(Math.max(limit, 0), entries.size()));
+        Map<Long, String> teamNames = new HashMap<>();
+        for (Team team : teamRepository.findAllById(page.stream().map(RatingEntry::teamId).toList())) {
+            teamNames.put(team.getId(), team.getName());
+        }
+
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (RatingEntry entry : page) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("teamId", entry.teamId());
+            item.put("teamName", teamNames.get(entry.teamId()));
+            item.put("rating", Math.round(entry.rating() * 10.0) / 10.0);
+            item.put("matchesPlayed", entry.played());
+            content.add(item);
+        }
+
+        response.put("ratings", content);
+        response.put("totalRatedTeams", entries.size());
+        response.put("sortBy", sortBy);
+        response.put("direction", "asc".equalsIgnoreCase(direction) ? "asc" : "desc");
+        response.put("lastRebuild", lastRebuild);
+        return response;
+    }
+
+    // Rating math
+
+    /**
+     * Expected score of the home side, including home advantage
+     */
+    static double expectedHomeScore(double homeRating, double awayRating) {
+        return 1.0 / (1.0 + Math.pow(10.0, (awayRating - homeRating - HOME_ADVANTAGE) / 400.0));
+    }
+
+    /**
+     * Margin-of-victory multiplier, as used by the World Football Elo ratings
+     */
+    static double goalDifferenceMultiplier(int goalDifference) {
+        int margin = Math.abs(goalDifference);
+        if (margin <= 1) return 1.0;
+        if (margin == 2) return 1.5;
+        return (11.0 + margin) / 8.0;
+    }
+
+    /**
+     * Rating change for the home side; the away side changes by the negation
+     */
+    static double ratingDelta(double homeRating, double awayRating, int homeScore, int awayScore) {
+        double actual = homeScore > awayScore ? 1.0 : homeScore == awayScore ? 0.5 : 0.0;
+        double expected = expectedHomeScore(homeRating, awayRating);
+        return K_FACTOR * goalDifferenceMultiplier(homeScore - awayScore) * (actual - expected);
+    }
+
+    /**
+     * Split the expected score into {homeWin, draw, awayWin}, with draws most likely between equal sides
+     */
+    static double[] outcomeProbabilities(double homeRating, double awayRating) {
+        double expected = expectedHomeScore(homeRating, awayRating);
+        double draw = BASE_DRAW_PROBABILITY * (1.0 - Math.abs(2.0 * expected - 1.0));
+        return new double[] {expected - draw / 2.0, draw, 1.0 - expected - draw / 2.0};
+    }
+
+    private static void apply(RatingTable target, MatchCompletedEvent event) {
+        target.apply(event.getMatchId(), event.getHomeTeamId(), event.getAwayTeamId(),
+            event.getHomeScore(), event.getAwayScore());
+    }
+
+    Rebuild newRebuild() {
+        Rebuild rebuild = new Rebuild(new RatingTable(Math.max(64, table.capacity())));
+        synchronized (rebuilds) {
+            rebuilds.add(rebuild);
+        }
+        return rebuild;
+    }
+
+    /**
+     * A table being rebuilt from the match history, swapped in once the pass completes
+     */
+    final class Rebuild implements MatchHistoryScanner.Sink {
+
+        private final RatingTable rebuilt;
+        private final List<MatchCompletedEvent> completedMeanwhile = new ArrayList<>();
+
+        private Rebuild(RatingTable rebuilt) {
+            this.rebuilt = rebuilt;
+        }
+
+        @Override
+        public void accept(long matchId, Long leagueId, Long homeTeamId, Long awayTeamId,
+                           int homeScore, int awayScore, LocalDateTime matchDate) {
+            rebuilt.apply(matchId, homeTeamId, awayTeamId, homeScore, awayScore);
+        }
+
+        @Override
+        public void complete(long processed) {
+            synchronized (rebuilds) {
+                // Matches the pass already saw are skipped by the table's match check
+                for (MatchCompletedEvent event : completedMeanwhile) {
+                    apply(rebuilt, event);
+                }
+                rebuilds.remove(this);
+                table = rebuilt;
+                lastRebuild = LocalDateTime.now();
+            }
+        }
+
+        @Override
+        public void abort() {
+            synchronized (rebuilds) {
+                rebuilds.remove(this);
+            }
+        }
+    }
+
+    private record RatingEntry(long teamId, double rating, int played) {
+    }
+
+    @FunctionalInterface
+    private interface RatingConsumer {
+        void accept(long teamId, double rating, int played);
+    }
+
+    /**
+     * Ratings and match counts stored in arrays indexed by team ID, with the rated
+     * matches as a bit set indexed by match ID
+     */
+    private static final class RatingTable {
+        private double[] ratings;
+        private int[] played;
+        private final BitSet ratedMatches = new BitSet();
+
+        RatingTable(int capacity) {
+            ratings = new double[capacity];
+            played = new int[capacity];
+            Arrays.fill(ratings, INITIAL_RATING);
+        }
+
+        synchronized int capacity() {
+            return ratings.length;
+        }
+
+        synchronized double rating(Long teamId) {
+            if (teamId == null || teamId < 0 || teamId >= ratings.length) return INITIAL_RATING;
+            return ratings[teamId.intValue()];
+        }
+
+        /**
+         * Rate a result once; returns false if the match was already rated
+         */
+        synchronized boolean apply(Long matchId, Long homeTeamId, Long awayTeamId, int homeScore, int awayScore) {
+            if (homeTeamId == null || awayTeamId == null) return false;
+            if (matchId != null) {
+                if (matchId < 0 || matchId >= Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Match ID out of range: " + matchId);
+                }
+                if (ratedMatches.get(matchId.intValue())) return false;
+                ratedMatches.set(matchId.intValue());
+            }
+            ensureCapacity(Math.max(homeTeamId, awayTeamId));
+
+            int home = homeTeamId.intValue();
+            int away = awayTeamId.intValue();
+            double delta = ratingDelta(ratings[home], ratings[away], homeScore, awayScore);
+            ratings[home] += delta;
+            ratings[away] -= delta;
+            played[home]++;
+            played[away]++;
+            return true;
+        }
+
+        synchronized int ratedCount() {
+            int count = 0;
+            for (int matches : played) {
+                if (matches > 0) count++;
+            }
+            return count;
+        }
+
+        synchronized void forEachRated(RatingConsumer consumer) {
+            for (int id = 0; id < played.length; id++) {
+                if (played[id] > 0) consumer.accept(id, ratings[id], played[id]);
+            }
+        }
+
+        private void ensureCapacity(long maxId) {
+            if (maxId >= Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Team ID out of range: " + maxId);
+            }
+            if (maxId < ratings.length) return;
+
+            int capacity = (int) Math.max(maxId + 1, (long) ratings.length * 2);
+            int oldLength = ratings.length;
+            ratings = Arrays.copyOf(ratings, capacity);
+            played = Arrays.copyOf(played, capacity);
+            Arrays.fill(ratings, oldLength, capacity, INITIAL_RATING);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.kooora.app.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel.
+ * Timers are hashed by their deadline tick into a ring of buckets, so scheduling and
+ * cancelling are O(1) and each tick only looks at one bucket; timers more than one turn
+ * of the wheel away simply stay in their bucket until their turn comes. The wheel has no
+ * thread of its own: the owner calls {@link #advanceTo(long)} with the current time and
+ * due timers run on the calling thread, in deadline order.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public class TimerWheel {
+
+    private static final Comparator<Timeout> DEADLINE_ORDER =
+        Comparator.comparingLong((Timeout timeout) -> timeout.deadline).thenComparingLong(timeout -> timeout.sequence);
+
+    private final long tickMs;
+    private final List<Timeout>[] buckets;
+    private final int mask;
+    private final List<Timeout> overdue = new ArrayList<>();
+
+    private long currentTick;
+    private long sequence;
+    private int size;
+
+    /**
+     * A scheduled task
+     */
+    public static final class Timeout {
+
+        private final long deadline;
+        private final long sequence;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadline, long sequence, Runnable task) {
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Stop the task from running; it is dropped from its bucket on its tick
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * @param tickMs    timer resolution
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param startMs   the current time
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimerWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        int capacity = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        buckets = new List[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        mask = capacity - 1;
+        currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Run {@code task} at {@code deadlineMs}; past deadlines run on the next advance
+     */
+    public synchronized Timeout schedule(long deadlineMs, Runnable task) {
+        Timeout timeout = new Timeout(deadlineMs, ++sequence, task);
+        long tick = deadlineMs / tickMs;
+        if (tick <= currentTick) {
+            overdue.add(timeout);
+        } else {
+            buckets[(int) (tick & mask)].add(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Move the wheel to {@code nowMs} and run every timer due by then. Ticks missed while
+     * the caller was late are caught up; timers scheduled by running tasks that are
+     * already due run in the same call.
+     *
+     * @return the number of tasks run
+     */
+    public int advanceTo(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        int run = 0;
+        while (true) {
+            List<Timeout> due = collectDue(targetTick);
+            if (due.isEmpty()) return run;
+            for (Timeout timeout : due) {
+                timeout.task.run();
+                run++;
+            }
+        }
+    }
+
+    private synchronized List<Timeout> collectDue(long targetTick) {
+        List<Timeout> due = new ArrayList<>();
+        for (Timeout timeout : overdue) {
+            if (!timeout.cancelled) due.add(timeout);
+        }
+        size -= overdue.size();
+        overdue.clear();
+
+        // A full turn visits every bucket once, however far behind the wheel is
+        long lastTick = Math.min(targetTick, currentTick + buckets.length);
+        for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+            List<Timeout> bucket = buckets[(int) (tick & mask)];
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                Timeout timeout = bucket.get(i);
+                if (timeout.cancelled || timeout.deadline / tickMs <= targetTick) {
+                    swapRemove(bucket, i);
+                    size--;
+                    if (!timeout.cancelled) due.add(timeout);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        due.sort(DEADLINE_ORDER);
+        return due;
+    }
+
+    private static void swapRemove(List<Timeout> bucket, int index) {
+        int last = bucket.size() - 1;
+        bucket.set(index, bucket.get(last));
+        bucket.remove(last);
+    }
+
+    /**
+     * Timers scheduled and not yet run or dropped
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+}
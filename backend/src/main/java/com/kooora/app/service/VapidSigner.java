@@ -0,0 +1,105 @@
+package com.kooora.app.service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECPrivateKeySpec;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VAPID authorization for web push requests (RFC 8292).
+ * Each push service origin gets an ES256-signed JWT naming it as the audience and the
+ * configured contact as the subject; the token is cached per origin and re-signed an
+ * hour before it expires, so a fan-out signs once per push service rather than per
+ * request. Keys are the base64url raw forms the web-push tools generate: a 65-byte
+ * uncompressed P-256 public key and a 32-byte private scalar.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public class VapidSigner {
+
+    static final long TOKEN_TTL_MS = TimeUnit.HOURS.toMillis(12);
+    static final long REFRESH_MARGIN_MS = TimeUnit.HOURS.toMillis(1);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final String JWT_HEADER =
+        ENCODER.encodeToString("{\"typ\":\"JWT\",\"alg\":\"ES256\"}".getBytes(StandardCharsets.UTF_8));
+
+    private record Token(String authorization, long expiresAtMs) {
+    }
+
+    private final String publicKey;
+    private final String subject;
+    private final PrivateKey privateKey;
+    private final Map<String, Token> tokens = new ConcurrentHashMap<>();
+
+    public VapidSigner(String publicKey, String privateKey, String subject) throws GeneralSecurityException {
+        byte[] publicBytes = decode(publicKey);
+        if (publicBytes.length != 65 || publicBytes[0] != 4) {
+            throw new InvalidKeyException("VAPID public key is not an uncompressed P-256 point");
+        }
+        byte[] scalar = decode(privateKey);
+        if (scalar.length != 32) {
+            throw new InvalidKeyException("VAPID private key is not a 32-byte P-256 scalar");
+        }
+        this.publicKey = ENCODER.encodeToString(publicBytes);
+        this.subject = subject;
+        this.privateKey = KeyFactory.getInstance("EC")
+            .generatePrivate(new ECPrivateKeySpec(new BigInteger(1, scalar), WebPushEncryption.P256));
+    }
+
+    /**
+     * The Authorization header value for a push service origin, e.g. https://fcm.googleapis.com
+     */
+    public String authorization(String origin, long nowMs) {
+        Token token = tokens.get(origin);
+        if (token == null || nowMs >= token.expiresAtMs() - REFRESH_MARGIN_MS) {
+            token = sign(origin, nowMs + TOKEN_TTL_MS);
+            tokens.put(origin, token);
+        }
+        return token.authorization();
+    }
+
+    private Token sign(String origin, long expiresAtMs) {
+        String claims = "{\"aud\":\"" + escape(origin) + "\",\"exp\":" + TimeUnit.MILLISECONDS.toSeconds(expiresAtMs)
+            + ",\"sub\":\"" + escape(subject) + "\"}";
+        String signingInput = JWT_HEADER + "." + ENCODER.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        try {
+            // JWS wants the raw r | s pair rather than DER
+            Signature signature = Signature.getInstance("SHA256withECDSAinP1363Format");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            String jwt = signingInput + "." + ENCODER.encodeToString(signature.sign());
+            return new Token("vapid t=" + jwt + ", k=" + publicKey, expiresAtMs);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign VAPID token for " + origin, e);
+        }
+    }
+
+    /**
+     * Number of push service origins with a cached token
+     */
+    public int cachedTokens() {
+        return tokens.size();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static byte[] decode(String base64) throws InvalidKeyException {
+        try {
+            return Base64.getUrlDecoder().decode(base64.trim().replace('+', '-').replace('/', '_').replace("=", ""));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeyException("VAPID key is not base64url", e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.kooora.app.service;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.*;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Web push message encryption (RFC 8291, aes128gcm content coding from RFC 8188).
+ * The plaintext record is prepared once per notification; each recipient then only needs
+ * its own ECDH agreement, key derivation and one AES-GCM pass. The JCA objects and byte
+ * buffers this takes are kept in pooled contexts, so a fan-out reuses them instead of
+ * allocating a set per recipient.
+ *
+ * @author Kooora Team
+ * @version 1.0.0
+ */
+public class WebPushEncryption {
+
+    static final int RECORD_SIZE = 4096;
+
+    private static final int SALT_LENGTH = 16;
+    private static final int KEY_LENGTH = 65;
+    private static final int TAG_LENGTH = 16;
+    private static final int HEADER_LENGTH = SALT_LENGTH + 4 + 1 + KEY_LENGTH;
+
+    /**
+     * Largest plaintext that fits one record and a 4096-byte push message
+     */
+    public static final int MAX_PLAINTEXT = RECORD_SIZE - HEADER_LENGTH - 1 - TAG_LENGTH;
+
+    private static final byte[] KEY_INFO = "WebPush: info\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CEK_INFO = "Content-Encoding: aes128gcm\0\1".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NONCE_INFO = "Content-Encoding: nonce\0\1".getBytes(StandardCharsets.US_ASCII);
+
+    static final ECParameterSpec P256 = p256();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ConcurrentLinkedQueue<Context> pool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * A notification's plaintext as the final record: the payload and the 0x02 padding delimiter
+     */
+    public static final class Record {
+
+        private final byte[] bytes;
+
+        private Record(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Prepare the shared plaintext record for a notification
+     */
+    public static Record prepare(byte[] plaintext) {
+        if (plaintext.length > MAX_PLAINTEXT) {
+            throw new IllegalArgumentException("Push payload of " + plaintext.length + " bytes exceeds " + MAX_PLAINTEXT);
+        }
+        byte[] record = Arrays.copyOf(plaintext, plaintext.length + 1);
+        record[plaintext.length] = 2;
+        return new Record(record);
+    }
+
+    /**
+     * Borrow a context; give it back with {@link #release} once its message is sent
+     */
+    public Context acquire() {
+        Context context = pool.poll();
+        return context != null ? context : new Context();
+    }
+
+    public void release(Context context) {
+        pool.offer(context);
+    }
+
+    int pooled() {
+        return pool.size();
+    }
+
+    /**
+     * Reusable JCA objects and buffers for encrypting one message at a time
+     */
+    public static final class Context {
+
+        private final KeyPairGenerator keyPairGenerator;
+        private final KeyAgreement keyAgreement;
+        private final KeyFactory keyFactory;
+        private final Mac mac;
+        private final Cipher cipher;
+
+        private final byte[] message = new byte[RECORD_SIZE];
+        private final byte[] keyInfo = new byte[KEY_INFO.length + 2 * KEY_LENGTH + 1];
+        private final byte[] salt = new byte[SALT_LENGTH];
+        private final byte[] secret = new byte[32];
+        private final byte[] prk = new byte[32];
+        private final byte[] okm = new byte[32];
+        private int length;
+
+        Context() {
+            try {
+                keyPairGenerator = KeyPairGenerator.getInstance("EC");
+                keyPairGenerator.initialize(P256, RANDOM);
+                keyAgreement = KeyAgreement.getInstance("ECDH");
+                keyFactory = KeyFactory.getInstance("EC");
+                mac = Mac.getInstance("HmacSHA256");
+                cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Web push encryption not available", e);
+            }
+            System.arraycopy(KEY_INFO, 0, keyInfo, 0, KEY_INFO.length);
+            keyInfo[keyInfo.length - 1] = 1;
+        }
+
+        /**
+         * Encrypt a record for one subscription's keys into this context's message buffer
+         *
+         * @param p256dh the subscription's base64url P-256 public key
+         * @param auth   the subscription's base64url authentication secret
+         * @return the message length
+         */
+        public int encrypt(Record record, String p256dh, String auth) throws GeneralSecurityException {
+            byte[] uaPublic = decode(p256dh);
+            byte[] authSecret = decode(auth);
+            if (uaPublic.length != KEY_LENGTH || uaPublic[0] != 4) {
+                throw new InvalidKeyException("p256dh is not an uncompressed P-256 point");
+            }
+
+            KeyPair ephemeral = keyPairGenerator.generateKeyPair();
+            keyAgreement.init(ephemeral.getPrivate());
+            keyAgreement.doPhase(publicKey(uaPublic), true);
+            int secretLength = keyAgreement.generateSecret(secret, 0);
+
+            // Header: salt | record size | key ID length | ephemeral public key
+            RANDOM.nextBytes(salt);
+            System.arraycopy(salt, 0, message, 0, SALT_LENGTH);
+            message[16] = (byte) (RECORD_SIZE >>> 24);
+            message[17] = (byte) (RECORD_SIZE >>> 16);
+            message[18] = (byte) (RECORD_SIZE >>> 8);
+            message[19] = (byte) RECORD_SIZE;
+            message[20] = KEY_LENGTH;
+            encodePoint((ECPublicKey) ephemeral.getPublic(), message, 21);
+
+            // IKM = HKDF(auth, ecdh secret, "WebPush: info" | ua public | as public)
+            System.arraycopy(uaPublic, 0, keyInfo, KEY_INFO.length, KEY_LENGTH);
+            System.arraycopy(message, 21, keyInfo, KEY_INFO.length + KEY_LENGTH, KEY_LENGTH);
+            hmac(authSecret, 0, authSecret.length, secret, secretLength, prk);
+            hmac(prk, 0, prk.length, keyInfo, keyInfo.length, okm);
+
+            // PRK = HKDF-Extract(salt, IKM); content key and nonce expanded from it
+            hmac(salt, 0, SALT_LENGTH, okm, okm.length, prk);
+            hmac(prk, 0, prk.length, CEK_INFO, CEK_INFO.length, okm);
+            SecretKeySpec contentKey = new SecretKeySpec(okm, 0, 16, "AES");
+            hmac(prk, 0, prk.length, NONCE_INFO, NONCE_INFO.length, okm);
+
+            cipher.init(Cipher.ENCRYPT_MODE, contentKey, new GCMParameterSpec(TAG_LENGTH * 8, okm, 0, 12));
+            length = HEADER_LENGTH + cipher.doFinal(record.bytes, 0, record.bytes.length, message, HEADER_LENGTH);
+            return length;
+        }
+
+        public byte[] message() {
+            return message;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        private void hmac(byte[] key, int keyOffset, int keyLength, byte[] data, int dataLength, byte[] out)
+                throws GeneralSecurityException {
+            mac.init(new SecretKeySpec(key, keyOffset, keyLength, "HmacSHA256"));
+            mac.update(data, 0, dataLength);
+            mac.doFinal(out, 0);
+        }
+
+        private PublicKey publicKey(byte[] point) throws InvalidKeySpecException {
+            BigInteger x = new BigInteger(1, Arrays.copyOfRange(point, 1, 33));
+            BigInteger y = new BigInteger(1, Arrays.copyOfRange(point, 33, 65));
+            return keyFactory.generatePublic(new ECPublicKeySpec(new ECPoint(x, y), P256));
+        }
+    }
+
+    /**
+     * Uncompressed encoding of a P-256 public key: 0x04 | X | Y
+     */
+    static void encodePoint(ECPublicKey key, byte[] out, int offset) {
+        out[offset] = 4;
+        writeCoordinate(key.getW().getAffineX(), out, offset + 1);
+        writeCoordinate(key.getW().getAffineY(), out, offset + 33);
+    }
+
+    private static void writeCoordinate(BigInteger value, byte[] out, int offset) {
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, 32);
+        Arrays.fill(out, offset, offset + 32 - length, (byte) 0);
+        System.arraycopy(bytes, bytes.length - length, out, offset + 32 - length, length);
+    }
+
+    private static byte[] decode(String base64) throws InvalidKeyException {
+        if (base64 == null) throw new InvalidKeyException("Missing subscription key");
+        try {
+            return Base64.getUrlDecoder().decode(base64.replace('+', '-').replace('/', '_').replace("=", ""));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeyException("Subscription key is not base64url", e);
+        }
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 not available", e);
+        }
+    }
+}
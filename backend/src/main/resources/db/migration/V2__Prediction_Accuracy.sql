@@ -0,0 +1,36 @@
+-- Prediction accuracy tracking
+-- Version 2.0 - served predictions and running scoring aggregates
+
+-- Served predictions, probabilities packed as (home, draw, away) float triples per component
+CREATE TABLE prediction_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    match_id BIGINT,
+    home_team_id BIGINT NOT NULL,
+    away_team_id BIGINT NOT NULL,
+    model_version VARCHAR(20) NOT NULL,
+    probabilities BYTEA NOT NULL,
+    scored BOOLEAN NOT NULL DEFAULT FALSE,
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create indexes for prediction records
+CREATE INDEX idx_prediction_records_match_id ON prediction_records(match_id);
+CREATE INDEX idx_prediction_records_teams ON prediction_records(home_team_id, away_team_id, scored);
+
+-- Running scoring aggregates per model version and component
+CREATE TABLE prediction_accuracy (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    model_version VARCHAR(20) NOT NULL,
+    component VARCHAR(30) NOT NULL,
+    scored_count BIGINT NOT NULL DEFAULT 0,
+    hits BIGINT NOT NULL DEFAULT 0,
+    brier_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    log_loss_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    confidence_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(model_version, component)
+);
@@ -0,0 +1,18 @@
+-- External provider ID mappings
+-- Version 3.0 - provider <-> internal IDs for leagues, teams, players and matches
+
+CREATE TABLE external_id_mappings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    provider VARCHAR(30) NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    external_id BIGINT NOT NULL,
+    internal_id BIGINT NOT NULL,
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(provider, entity_type, external_id),
+    UNIQUE(provider, entity_type, internal_id)
+);
+
+-- Create indexes for external ID mappings
+CREATE INDEX idx_external_id_mappings_provider ON external_id_mappings(provider);
@@ -0,0 +1,17 @@
+-- Web push subscribers
+-- Version 4.0 - persistent push subscriptions, sharded for delivery workers
+
+CREATE TABLE push_subscribers (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    endpoint VARCHAR(1000) NOT NULL,
+    endpoint_hash BIGINT NOT NULL UNIQUE,
+    shard INTEGER NOT NULL,
+    p256dh VARCHAR(200),
+    auth VARCHAR(100),
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create indexes for push subscribers
+CREATE INDEX idx_push_subscribers_shard ON push_subscribers(shard, id);
@@ -0,0 +1,13 @@
+-- Push interests
+-- Version 5.0 - teams, matches and leagues each push subscriber follows
+
+CREATE TABLE push_interests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subscriber_id BIGINT NOT NULL REFERENCES push_subscribers(id) ON DELETE CASCADE,
+    topic_type VARCHAR(10) NOT NULL,
+    topic_id BIGINT NOT NULL,
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(subscriber_id, topic_type, topic_id)
+);
@@ -0,0 +1,86 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AdaptivePollingScheduler planning rules and the MatchWatcherTracker
+ */
+public class AdaptivePollingSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 16, 15, 0);
+
+    private static AdaptivePollingScheduler.Fixture fixture(long id, Match.MatchStatus status, LocalDateTime kickoff) {
+        return new AdaptivePollingScheduler.Fixture(id, 1L, status, kickoff);
+    }
+
+    @Test
+    public void testIsActive_AroundKickoffOrInPlay() {
+        assertTrue(AdaptivePollingScheduler.isActive(
+            fixture(1, Match.MatchStatus.SCHEDULED, NOW.plusMinutes(3)), NOW, 5, 150));
+        assertTrue(AdaptivePollingScheduler.isActive(
+            fixture(2, Match.MatchStatus.SCHEDULED, NOW.minusMinutes(100)), NOW, 5, 150));
+        assertTrue(AdaptivePollingScheduler.isActive(
+            fixture(3, Match.MatchStatus.LIVE, NOW.minusHours(5)), NOW, 5, 150));
+
+        assertFalse(AdaptivePollingScheduler.isActive(
+            fixture(4, Match.MatchStatus.SCHEDULED, NOW.plusMinutes(30)), NOW, 5, 150));
+        assertFalse(AdaptivePollingScheduler.isActive(
+            fixture(5, Match.MatchStatus.SCHEDULED, NOW.minusMinutes(200)), NOW, 5, 150));
+        assertFalse(AdaptivePollingScheduler.isActive(
+            fixture(6, Match.MatchStatus.COMPLETED, NOW.minusMinutes(60)), NOW, 5, 150));
+    }
+
+    @Test
+    public void testModeFor_LiveIdleStopped() {
+        AdaptivePollingScheduler.Fixture live = fixture(1, Match.MatchStatus.LIVE, NOW.minusMinutes(20));
+        AdaptivePollingScheduler.Fixture upcoming = fixture(2, Match.MatchStatus.SCHEDULED, NOW.plusHours(4));
+        AdaptivePollingScheduler.Fixture finished = fixture(3, Match.MatchStatus.COMPLETED, NOW.minusHours(2));
+
+        assertEquals(AdaptivePollingScheduler.Mode.LIVE,
+            AdaptivePollingScheduler.modeFor(List.of(live, upcoming), List.of(live), NOW));
+        assertEquals(AdaptivePollingScheduler.Mode.IDLE,
+            AdaptivePollingScheduler.modeFor(List.of(upcoming, finished), List.of(), NOW));
+        assertEquals(AdaptivePollingScheduler.Mode.STOPPED,
+            AdaptivePollingScheduler.modeFor(List.of(finished), List.of(), NOW));
+    }
+
+    @Test
+    public void testSelectHot_MostWatchedFirstAndUnwatchedSkipped() {
+        List<AdaptivePollingScheduler.Fixture> active = List.of(
+            fixture(1, Match.MatchStatus.LIVE, NOW),
+            fixture(2, Match.MatchStatus.LIVE, NOW),
+            fixture(3, Match.MatchStatus.LIVE, NOW),
+            fixture(4, Match.MatchStatus.LIVE, NOW));
+        Map<Long, Integer> watchers = Map.of(1L, 3, 2L, 40, 4L, 7);
+
+        assertEquals(List.of(2L, 4L),
+            AdaptivePollingScheduler.selectHot(active, id -> watchers.getOrDefault(id, 0), 2));
+        assertEquals(List.of(2L, 4L, 1L),
+            AdaptivePollingScheduler.selectHot(active, id -> watchers.getOrDefault(id, 0), 10));
+    }
+
+    @Test
+    public void testWatcherTracker_CountsSessionsOncePerMatch() {
+        MatchWatcherTracker tracker = new MatchWatcherTracker();
+        tracker.subscribe("s1", "sub-1", 7L);
+        tracker.subscribe("s1", "sub-2", 7L);
+        tracker.subscribe("s2", "sub-1", 7L);
+        assertEquals(2, tracker.getWatcherCount(7L));
+
+        tracker.unsubscribe("s1", "sub-1");
+        assertEquals(2, tracker.getWatcherCount(7L));
+
+        tracker.disconnect("s1");
+        assertEquals(1, tracker.getWatcherCount(7L));
+
+        assertEquals(12L, MatchWatcherTracker.matchIdOf("/topic/match/12/events"));
+        assertNull(MatchWatcherTracker.matchIdOf("/topic/matches"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.ExternalIdMapping;
+import com.kooora.app.entity.League;
+import com.kooora.app.entity.Player;
+import com.kooora.app.entity.PlayerStatistics;
+import com.kooora.app.entity.TeamStanding;
+import com.kooora.app.repository.PlayerRepository;
+import com.kooora.app.repository.PlayerStatisticsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the BulkUpsertService diff helpers
+ */
+public class BulkUpsertServiceTest {
+
+    private static IngestionCommand.StandingUpsert row(int position, int points) {
+        return new IngestionCommand.StandingUpsert(57L, "Arsenal", position, 10, 8, 1, 1, 20, 6, 14, points);
+    }
+
+    @Test
+    public void testStandingChanged_OnlyWhenAFieldDiffers() {
+        TeamStanding standing = new TeamStanding();
+        standing.setPosition(1);
+        standing.setMatchesPlayed(10);
+        standing.setWins(8);
+        standing.setDraws(1);
+        standing.setLosses(1);
+        standing.setGoalsFor(20);
+        standing.setGoalsAgainst(6);
+        standing.setGoalDifference(14);
+        standing.setPoints(25);
+
+        assertFalse(BulkUpsertService.standingChanged(standing, row(1, 25)));
+        assertTrue(BulkUpsertService.standingChanged(standing, row(2, 25)));
+        assertTrue(BulkUpsertService.standingChanged(standing, row(1, 26)));
+    }
+
+    @Test
+    public void testScorerChanged_IgnoresMissingOptionalFields() {
+        PlayerStatistics stats = new PlayerStatistics();
+        stats.setGoals(12);
+        stats.setAssists(3);
+        stats.setAppearances(10);
+
+        assertFalse(BulkUpsertService.scorerChanged(stats,
+            new IngestionCommand.ScorerUpsert(9L, "Erling Haaland", 65L, 12, null, null)));
+        assertTrue(BulkUpsertService.scorerChanged(stats,
+            new IngestionCommand.ScorerUpsert(9L, "Erling Haaland", 65L, 12, 4, null)));
+        assertTrue(BulkUpsertService.scorerChanged(stats,
+            new IngestionCommand.ScorerUpsert(9L, "Erling Haaland", 65L, 13, 3, 10)));
+    }
+
+    @Test
+    public void testPlayerName_SplitsOnFirstSpace() {
+        assertEquals(new BulkUpsertService.PlayerName("Kevin", "De Bruyne"),
+            BulkUpsertService.PlayerName.of("Kevin De Bruyne"));
+        assertEquals(new BulkUpsertService.PlayerName("Rodri", ""),
+            BulkUpsertService.PlayerName.of("Rodri"));
+    }
+
+    @Test
+    public void testUpsertPlayerStatistics_RevivesInactiveRowInsteadOfInserting() {
+        League league = new League();
+        Player player = new Player("Erling", "Haaland", null, null);
+        player.setId(7L);
+        PlayerStatistics inactive = new PlayerStatistics(player, league, "2025/26");
+        inactive.setGoals(12);
+        inactive.setIsActive(false);
+
+        ExternalIdResolver resolver = mock(ExternalIdResolver.class);
+        when(resolver.resolve(ExternalIdMapping.EntityType.PLAYER, 9L)).thenReturn(7L);
+        PlayerStatisticsRepository statisticsRepository = mock(PlayerStatisticsRepository.class);
+        when(statisticsRepository.findByLeagueAndSeasonAndPlayerIdIn(league, "2025/26", Set.of(7L)))
+            .thenReturn(List.of(inactive));
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+
+        BulkUpsertService service = new BulkUpsertService();
+        ReflectionTestUtils.setField(service, "externalIdResolver", resolver);
+        ReflectionTestUtils.setField(service, "playerStatisticsRepository", statisticsRepository);
+        ReflectionTestUtils.setField(service, "playerRepository", playerRepository);
+
+        // The same figures as the inactive row still bring it back
+        List<PlayerStatistics> changed = service.upsertPlayerStatistics(league, "2025/26",
+            List.of(new IngestionCommand.ScorerUpsert(9L, "Erling Haaland", 65L, 12, null, null)));
+
+        assertEquals(List.of(inactive), changed);
+        assertTrue(inactive.getIsActive());
+        verify(playerRepository, never()).findAllById(any());
+        verify(statisticsRepository).saveAll(argThat(inserts -> !inserts.iterator().hasNext()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.kooora.app.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConditionalRequestCache validators and skip accounting
+ */
+public class ConditionalRequestCacheTest {
+
+    private static final String ENDPOINT = "https://provider.test/competitions/2021/standings";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Sat, 16 Aug 2025 15:00:00 GMT";
+
+    private ConditionalRequestCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ConditionalRequestCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        cache.registerMetrics();
+    }
+
+    @Test
+    public void testAddConditionalHeaders_SendsStoredValidators() {
+        Map<String, String> headers = new HashMap<>();
+        cache.addConditionalHeaders(ENDPOINT, headers);
+        assertTrue(headers.isEmpty(), "nothing is sent before a response was processed");
+
+        cache.commit(ENDPOINT, ETAG, LAST_MODIFIED, hash("a"));
+        cache.addConditionalHeaders(ENDPOINT, headers);
+        assertEquals(ETAG, headers.get("If-None-Match"));
+        assertEquals(LAST_MODIFIED, headers.get("If-Modified-Since"));
+
+        // A provider sending only Last-Modified gets only If-Modified-Since
+        Map<String, String> dateOnly = new HashMap<>();
+        cache.commit(ENDPOINT, null, LAST_MODIFIED, hash("b"));
+        cache.addConditionalHeaders(ENDPOINT, dateOnly);
+        assertEquals(Map.of("If-Modified-Since", LAST_MODIFIED), dateOnly);
+    }
+
+    @Test
+    public void testIsUnchanged_ComparesBodyHash() {
+        assertFalse(cache.isUnchanged(ENDPOINT, hash("a")));
+        cache.commit(ENDPOINT, null, null, hash("a"));
+
+        assertTrue(cache.isUnchanged(ENDPOINT, hash("a")));
+        assertFalse(cache.isUnchanged(ENDPOINT, hash("b")));
+        assertEquals(1L, cache.getStats().get("unchangedBody"));
+        assertEquals(0.5, cache.getSkipRatio(), 1e-9);
+    }
+
+    @Test
+    public void testNotModified_RoundTripAgainstProvider() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/standings", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"standings\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+            IngestionHttpClient client = new IngestionHttpClient();
+            ReflectionTestUtils.setField(client, "externalApiHttpClient", httpClient);
+            ReflectionTestUtils.setField(client, "ingestionExecutor", executor);
+            ReflectionTestUtils.setField(client, "maxConcurrentPerHost", 2);
+            ReflectionTestUtils.setField(client, "deadlineMs", 5000L);
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/standings";
+
+            try (IngestionHttpClient.SpooledResponse first = fetch(client, url)) {
+                assertEquals(200, first.status());
+                cache.commit(url, first.header("ETag"), first.header("Last-Modified"), first.bodyHash());
+            }
+            try (IngestionHttpClient.SpooledResponse second = fetch(client, url)) {
+                assertEquals(304, second.status());
+                assertNull(second.bodyFile());
+                cache.recordNotModified();
+            }
+        } finally {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+
+        assertEquals(1L, cache.getStats().get("changed"));
+        assertEquals(1L, cache.getStats().get("notModified"));
+        assertEquals(0.5, cache.getSkipRatio(), 1e-9);
+    }
+
+    private IngestionHttpClient.SpooledResponse fetch(IngestionHttpClient client, String url) throws Exception {
+        Map<String, String> headers = new HashMap<>();
+        cache.addConditionalHeaders(url, headers);
+        return client.getSpooled(url, headers).get(5, TimeUnit.SECONDS);
+    }
+
+    private static byte[] hash(String body) {
+        return ConditionalRequestCache.newDigest().digest(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ExternalIdResolver primitive maps
+ */
+public class ExternalIdResolverTest {
+
+    @Test
+    public void testLongBiMap_ResolvesBothDirections() {
+        ExternalIdResolver.LongBiMap map = new ExternalIdResolver.LongBiMap();
+        map.put(2021L, 1L);
+        map.put(57L, 12L);
+
+        assertEquals(1L, map.getInternal(2021L));
+        assertEquals(57L, map.getExternal(12L));
+        assertEquals(ExternalIdResolver.UNMAPPED, map.getInternal(99L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testLongBiMap_RemappingEvictsStalePairs() {
+        ExternalIdResolver.LongBiMap map = new ExternalIdResolver.LongBiMap();
+        map.put(57L, 12L);
+
+        // Same provider ID now points at another internal row
+        map.put(57L, 13L);
+        assertEquals(13L, map.getInternal(57L));
+        assertEquals(ExternalIdResolver.UNMAPPED, map.getExternal(12L));
+
+        // Same internal row now has another provider ID
+        map.put(58L, 13L);
+        assertEquals(ExternalIdResolver.UNMAPPED, map.getInternal(57L));
+        assertEquals(58L, map.getExternal(13L));
+        assertEquals(1, map.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.Team;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HeadToHeadService pair index and its rebuild
+ */
+public class HeadToHeadServiceTest {
+
+    private static final LocalDateTime KICKOFF = LocalDateTime.of(2025, 8, 16, 15, 0);
+
+    @Test
+    public void testPairKey_IsOrderIndependent() {
+        assertEquals(HeadToHeadService.pairKey(3L, 9L), HeadToHeadService.pairKey(9L, 3L));
+        assertNotEquals(HeadToHeadService.pairKey(3L, 9L), HeadToHeadService.pairKey(3L, 10L));
+    }
+
+    @Test
+    public void testPack_RoundTripsScoresAndCapsAtEightBits() {
+        HeadToHeadService.PairHistory history = new HeadToHeadService.PairHistory();
+        history.insert(1L, epoch(0), HeadToHeadService.PairHistory.pack(3, 0, true));
+        history.insert(2L, epoch(1), HeadToHeadService.PairHistory.pack(300, 255, false));
+
+        List<HeadToHeadService.Meeting> fromLow = history.lastMeetings(true, 2);
+        assertEquals(new HeadToHeadService.Meeting(2L, KICKOFF.plusDays(1), false, 255, 255), fromLow.get(0));
+        assertEquals(new HeadToHeadService.Meeting(1L, KICKOFF, true, 3, 0), fromLow.get(1));
+    }
+
+    @Test
+    public void testInsert_KeepsKickoffOrderForLateResults() {
+        HeadToHeadService.PairHistory history = new HeadToHeadService.PairHistory();
+        for (long day : new long[] {0, 4, 2, 6, 1, 5, 3}) {
+            history.insert(100L + day, epoch(day), HeadToHeadService.PairHistory.pack(1, 0, true));
+        }
+
+        assertEquals(7, history.size());
+        assertEquals(List.of(106L, 105L, 104L), matchIds(history.lastMeetings(true, 3)));
+        assertEquals(List.of(106L, 105L, 104L, 103L, 102L, 101L, 100L), matchIds(history.lastMeetings(true, 10)));
+    }
+
+    @Test
+    public void testInsert_UpdatesOrMovesAMatchAlreadyHeld() {
+        HeadToHeadService.PairHistory history = new HeadToHeadService.PairHistory();
+        history.insert(1L, epoch(0), HeadToHeadService.PairHistory.pack(1, 0, true));
+        history.insert(2L, epoch(1), HeadToHeadService.PairHistory.pack(0, 0, false));
+
+        // A corrected score replaces the record
+        history.insert(1L, epoch(0), HeadToHeadService.PairHistory.pack(2, 2, true));
+        assertEquals(2, history.size());
+        assertEquals(2, history.lastMeetings(true, 2).get(1).goalsAgainst());
+
+        // A changed kickoff moves it
+        history.insert(1L, epoch(2), HeadToHeadService.PairHistory.pack(2, 2, true));
+        assertEquals(2, history.size());
+        assertEquals(List.of(1L, 2L), matchIds(history.lastMeetings(true, 2)));
+
+        // Results without an ID are never merged
+        history.insert(0L, epoch(3), HeadToHeadService.PairHistory.pack(1, 1, true));
+        history.insert(0L, epoch(3), HeadToHeadService.PairHistory.pack(1, 1, true));
+        assertEquals(4, history.size());
+    }
+
+    @Test
+    public void testGetLastMeetings_FlipsPerspective() {
+        HeadToHeadService service = new HeadToHeadService();
+        // Team 20 at home to team 10, winning 3-1
+        service.onMatchCompleted(completed(1L, 20L, 10L, 3, 1, KICKOFF));
+
+        HeadToHeadService.Meeting forHigh = service.getLastMeetings(20L, 10L, 5).get(0);
+        assertTrue(forHigh.home());
+        assertEquals(3, forHigh.goalsFor());
+        assertEquals(1, forHigh.goalsAgainst());
+
+        HeadToHeadService.Meeting forLow = service.getLastMeetings(10L, 20L, 5).get(0);
+        assertFalse(forLow.home());
+        assertEquals(1, forLow.goalsFor());
+        assertEquals(3, forLow.goalsAgainst());
+    }
+
+    @Test
+    public void testRebuild_ReplaysMatchesCompletedWhileStreaming() {
+        HeadToHeadService service = new HeadToHeadService();
+        HeadToHeadService.Rebuild rebuild = service.newRebuild();
+        rebuild.accept(1L, null, 10L, 20L, 2, 0, KICKOFF);
+        // Completes after the pass has read past it, and again once the pass has seen it
+        service.onMatchCompleted(completed(2L, 20L, 10L, 1, 1, KICKOFF.plusDays(7)));
+        service.onMatchCompleted(completed(1L, 10L, 20L, 2, 0, KICKOFF));
+        rebuild.complete(1);
+
+        assertEquals(List.of(2L, 1L), matchIds(service.getLastMeetings(10L, 20L, 5)));
+        assertEquals(1, service.getIndexedPairCount());
+    }
+
+    private static long epoch(long days) {
+        return KICKOFF.plusDays(days).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static List<Long> matchIds(List<HeadToHeadService.Meeting> meetings) {
+        return meetings.stream().map(HeadToHeadService.Meeting::matchId).toList();
+    }
+
+    private static MatchCompletedEvent completed(long matchId, long homeTeamId, long awayTeamId,
+                                                 int homeScore, int awayScore, LocalDateTime matchDate) {
+        Team home = new Team();
+        home.setId(homeTeamId);
+        Team away = new Team();
+        away.setId(awayTeamId);
+        Match match = new Match();
+        match.setId(matchId);
+        match.setHomeTeam(home);
+        match.setAwayTeam(away);
+        match.setHomeTeamScore(homeScore);
+        match.setAwayTeamScore(awayScore);
+        match.setMatchDate(matchDate);
+        return new MatchCompletedEvent(match);
+    }
+}
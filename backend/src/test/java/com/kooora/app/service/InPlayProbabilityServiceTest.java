@@ -0,0 +1,84 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.Team;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the InPlayProbabilityService model
+ */
+public class InPlayProbabilityServiceTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testWinProbabilities_SumToOne() {
+        double[] p = InPlayProbabilityService.winProbabilities(1.6, 1.1, 30, 1, 1, 0, 1);
+        assertEquals(1.0, p[0] + p[1] + p[2], EPSILON);
+    }
+
+    @Test
+    public void testWinProbabilities_FinalWhistleIsDeterministic() {
+        double[] p = InPlayProbabilityService.winProbabilities(1.5, 1.5, 90, 2, 1, 0, 0);
+        assertEquals(1.0, p[0], EPSILON);
+        assertEquals(0.0, p[1], EPSILON);
+        assertEquals(0.0, p[2], EPSILON);
+    }
+
+    @Test
+    public void testWinProbabilities_LeadGrowsMoreSecureOverTime() {
+        double early = InPlayProbabilityService.winProbabilities(1.4, 1.4, 10, 1, 0, 0, 0)[0];
+        double late = InPlayProbabilityService.winProbabilities(1.4, 1.4, 80, 1, 0, 0, 0)[0];
+        assertTrue(late > early);
+    }
+
+    @Test
+    public void testWinProbabilities_RedCardFavoursOpponent() {
+        double even = InPlayProbabilityService.winProbabilities(1.4, 1.2, 20, 0, 0, 0, 0)[0];
+        double homeDown = InPlayProbabilityService.winProbabilities(1.4, 1.2, 20, 0, 0, 1, 0)[0];
+        assertTrue(homeDown < even);
+    }
+
+    @Test
+    public void testOnMatchScoreChanged_StopsTrackingMatchesNoLongerLive() {
+        PredictionService predictionService = mock(PredictionService.class);
+        when(predictionService.getExpectedGoals(any(), any())).thenReturn(new double[] {1.4, 1.1});
+        InPlayProbabilityService service = new InPlayProbabilityService();
+        ReflectionTestUtils.setField(service, "predictionService", predictionService);
+
+        Match match = liveMatch(1L);
+        service.onScoreUpdate(match, 20);
+        service.onScoreUpdate(liveMatch(2L), 20);
+        service.onMatchScoreChanged(new MatchScoreChangedEvent(match));
+        assertEquals(2, service.getTrackedMatchCount());
+
+        match.setStatus(Match.MatchStatus.POSTPONED);
+        service.onMatchScoreChanged(new MatchScoreChangedEvent(match));
+        assertEquals(1, service.getTrackedMatchCount());
+        assertNull(service.getLiveProbability(1L));
+        assertNotNull(service.getLiveProbability(2L));
+    }
+
+    private static Match liveMatch(long matchId) {
+        Team home = new Team();
+        home.setId(10L);
+        Team away = new Team();
+        away.setId(20L);
+        Match match = new Match();
+        match.setId(matchId);
+        match.setHomeTeam(home);
+        match.setAwayTeam(away);
+        match.setHomeTeamScore(0);
+        match.setAwayTeamScore(0);
+        match.setStatus(Match.MatchStatus.LIVE);
+        match.setMatchDate(LocalDateTime.now().minusMinutes(20));
+        return match;
+    }
+}
@@ -0,0 +1,123 @@
+package com.kooora.app.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IngestionHttpClient response deadline against a local server
+ */
+public class IngestionHttpClientTest {
+
+    private static final long DEADLINE_MS = 300;
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private ExecutorService executor;
+    private IngestionHttpClient client;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fast", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/stalled", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        httpClient = HttpClients.createDefault();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        client = new IngestionHttpClient();
+        ReflectionTestUtils.setField(client, "externalApiHttpClient", httpClient);
+        ReflectionTestUtils.setField(client, "ingestionExecutor", executor);
+        ReflectionTestUtils.setField(client, "maxConcurrentPerHost", 1);
+        ReflectionTestUtils.setField(client, "deadlineMs", DEADLINE_MS);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        release.countDown();
+        server.stop(0);
+        httpClient.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGet_StalledResponseTimesOutAndIsCancelled() throws Exception {
+        long start = System.nanoTime();
+        CompletableFuture<IngestionHttpClient.IngestionResponse> stalled = client.get(url("/stalled"), Map.of());
+
+        CompletionException error = assertThrows(CompletionException.class, stalled::join);
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "the exchange was aborted at the deadline");
+        assertEquals(1L, client.getStats().get("timeouts"));
+
+        // The cancelled exchange gave its host permit back, so the next request goes through
+        assertEquals("ok", client.get(url("/fast"), Map.of()).get(5, TimeUnit.SECONDS).body());
+    }
+
+    @Test
+    public void testGet_SlowHandlerIsNotCutOffByTheDeadline() throws Exception {
+        String body = client.get(url("/fast"), Map.of(), (status, headers, in) -> {
+            // Parsing and persisting a large payload may take longer than the response deadline
+            try {
+                Thread.sleep(DEADLINE_MS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals("ok", body);
+        assertEquals(0L, client.getStats().get("timeouts"));
+    }
+
+    @Test
+    public void testBreakerOutcome_TimeoutsCountButPersistenceErrorsDoNot() {
+        CompletableFuture<IngestionHttpClient.IngestionResponse> stalled = client.get(url("/stalled"), Map.of());
+        CompletionException timeout = assertThrows(CompletionException.class, stalled::join);
+        assertEquals(ProviderCallGuard.CircuitBreaker.Outcome.FAILURE, ProviderCallGuard.outcomeOf(timeout));
+
+        CompletableFuture<Object> persisting = client.get(url("/fast"), Map.of(), (status, headers, in) -> {
+            throw new DataAccessResourceFailureException("database unavailable");
+        });
+        CompletionException persistence = assertThrows(CompletionException.class, persisting::join);
+        assertEquals(ProviderCallGuard.CircuitBreaker.Outcome.IGNORED, ProviderCallGuard.outcomeOf(persistence));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,113 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeagueTable incremental results and re-ranking
+ */
+public class LeagueTableTest {
+
+    @Test
+    public void testApply_MovesOnlyChangedRowsAndKeepsForm() {
+        LeagueTable table = new LeagueTable(1);
+        LeagueTable.Row alpha = table.rowFor(1, "Alpha");
+        LeagueTable.Row bravo = table.rowFor(2, "Bravo");
+        LeagueTable.Row charlie = table.rowFor(3, "Charlie");
+        LeagueTable.Row delta = table.rowFor(4, "Delta");
+        table.takeDirty();
+
+        assertTrue(table.apply(10, delta, alpha, 2, 0, true));
+        assertEquals(List.of(delta, bravo, charlie, alpha), table.ranked());
+        assertEquals(1, delta.position);
+        assertEquals(3, delta.points);
+        assertEquals("W", delta.form);
+        assertEquals("L", alpha.form);
+        // Bravo and Charlie were not touched and kept their places
+        assertEquals(List.of(delta, alpha), table.takeDirty());
+
+        assertFalse(table.apply(10, delta, alpha, 2, 0, true), "a match is applied once");
+        assertEquals(3, delta.points);
+
+        table.apply(11, charlie, bravo, 1, 1, true);
+        table.apply(12, alpha, charlie, 0, 3, true);
+        table.apply(13, bravo, delta, 0, 0, true);
+        table.apply(14, charlie, delta, 2, 2, true);
+        table.apply(15, alpha, bravo, 1, 1, true);
+        table.apply(16, charlie, alpha, 1, 0, true);
+        assertEquals("WDWD", charlie.form);
+        assertEquals("LDLL", alpha.form);
+        assertEquals(8, charlie.points);
+        assertEquals(1, charlie.position);
+        assertEquals(List.of(charlie, delta, bravo, alpha), table.ranked());
+    }
+
+    @Test
+    public void testApply_IncrementalOrderMatchesFullSort() {
+        Random random = new Random(3);
+        LeagueTable table = new LeagueTable(1);
+        List<LeagueTable.Row> rows = new ArrayList<>();
+        for (int team = 0; team < 20; team++) {
+            rows.add(table.rowFor(team, "Team " + team));
+        }
+
+        for (int match = 0; match < 380; match++) {
+            int home = random.nextInt(20);
+            int away = (home + 1 + random.nextInt(19)) % 20;
+            table.apply(match, rows.get(home), rows.get(away), random.nextInt(4), random.nextInt(3), true);
+
+            List<LeagueTable.Row> expected = new ArrayList<>(table.ranked());
+            expected.sort(LeagueTable.RANKING);
+            assertEquals(expected, table.ranked());
+        }
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(i + 1, table.ranked().get(i).position);
+        }
+        assertEquals(5, table.ranked().get(0).form.length());
+    }
+
+    @Test
+    public void testSetLive_OverlaysScoresWithoutTouchingCommittedRows() {
+        LeagueTable table = new LeagueTable(1);
+        LeagueTable.Row alpha = table.rowFor(1, "Alpha");
+        LeagueTable.Row bravo = table.rowFor(2, "Bravo");
+        LeagueTable.Row charlie = table.rowFor(3, "Charlie");
+        table.apply(10, alpha, bravo, 2, 0, true);
+        table.takeDirty();
+
+        // Bravo take the lead over Charlie, then Charlie equalise
+        assertTrue(table.setLive(20, 3, 2, 0, 1));
+        assertFalse(table.setLive(20, 3, 2, 0, 1), "an unchanged score is not a change");
+        assertEquals(List.of(1L, 2L, 3L), teamIds(table.provisional()));
+        LeagueTable.Row provisionalBravo = table.provisional().row(2);
+        assertEquals(3, provisionalBravo.points);
+        assertEquals(2, provisionalBravo.played);
+        assertTrue(table.setLive(20, 3, 2, 1, 1));
+        assertEquals(1, table.provisional().row(2).points);
+        assertEquals(List.of(1L, 3L, 2L), teamIds(table.provisional()));
+
+        // The committed table is unchanged and has nothing to persist
+        assertEquals(0, bravo.points);
+        assertEquals(1, bravo.played);
+        assertEquals(List.of(alpha, charlie, bravo), table.ranked());
+        assertTrue(table.takeDirty().isEmpty());
+
+        // At full time the result moves from the overlay into the committed rows
+        assertTrue(table.clearLive(20));
+        assertFalse(table.clearLive(20));
+        table.apply(20, charlie, bravo, 1, 1, true);
+        assertTrue(table.liveMatchIds().isEmpty());
+        assertEquals(teamIds(table), teamIds(table.provisional()));
+        assertEquals(1, table.provisional().row(2).points);
+        assertEquals(2, table.provisional().row(2).played);
+    }
+
+    private static List<Long> teamIds(LeagueTable table) {
+        return table.ranked().stream().map(row -> row.teamId).toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.MatchEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LiveMatchIngestionService change detection and event derivation
+ */
+public class LiveMatchIngestionServiceTest {
+
+    private static IngestionCommand.MatchUpsert entry(String status, Integer home, Integer away) {
+        return new IngestionCommand.MatchUpsert(100L, 1L, "Home", 2L, "Away", status, home, away, 30, null);
+    }
+
+    @Test
+    public void testNext_RepeatedEntryIsUnchanged() {
+        LiveMatchIngestionService.LiveState state =
+            new LiveMatchIngestionService.LiveState(7L, "IN_PLAY", Match.MatchStatus.LIVE, 1, 0);
+
+        assertEquals(state, state.next(entry("in_play", 1, 0)));
+        // Missing score and unknown status keep the last known values
+        assertEquals(state.homeScore(), state.next(entry("IN_PLAY", null, null)).homeScore());
+        assertEquals(Match.MatchStatus.LIVE, state.next(entry("SOMETHING_NEW", 1, 0)).status());
+        assertNotEquals(state, state.next(entry("PAUSED", 1, 0)));
+    }
+
+    @Test
+    public void testDeriveEvents_KickoffGoalsAndFullTime() {
+        LiveMatchIngestionService.LiveState before =
+            new LiveMatchIngestionService.LiveState(7L, null, Match.MatchStatus.SCHEDULED, 0, 0);
+        LiveMatchIngestionService.LiveState live = before.next(entry("IN_PLAY", 2, 1));
+
+        List<LiveMatchIngestionService.DerivedEvent> events = LiveMatchIngestionService.deriveEvents(before, live);
+        assertEquals(List.of(MatchEvent.EventType.KICKOFF, MatchEvent.EventType.GOAL,
+                MatchEvent.EventType.GOAL, MatchEvent.EventType.GOAL),
+            events.stream().map(LiveMatchIngestionService.DerivedEvent::type).toList());
+        assertEquals(Boolean.TRUE, events.get(1).home());
+        assertEquals(2, events.get(2).homeScore());
+        assertEquals(0, events.get(2).awayScore());
+        assertEquals(Boolean.FALSE, events.get(3).home());
+        assertEquals(1, events.get(3).awayScore());
+
+        LiveMatchIngestionService.LiveState finished = live.next(entry("FINISHED", 2, 1));
+        assertEquals(List.of(MatchEvent.EventType.FULL_TIME),
+            LiveMatchIngestionService.deriveEvents(live, finished).stream()
+                .map(LiveMatchIngestionService.DerivedEvent::type).toList());
+    }
+
+    @Test
+    public void testDeriveEvents_PhaseChangesAndCorrections() {
+        LiveMatchIngestionService.LiveState live =
+            new LiveMatchIngestionService.LiveState(7L, "IN_PLAY", Match.MatchStatus.LIVE, 1, 1);
+
+        assertEquals(List.of(MatchEvent.EventType.HALF_TIME),
+            LiveMatchIngestionService.deriveEvents(live, live.next(entry("PAUSED", 1, 1))).stream()
+                .map(LiveMatchIngestionService.DerivedEvent::type).toList());
+        assertEquals(List.of(MatchEvent.EventType.VAR_CHECK),
+            LiveMatchIngestionService.deriveEvents(live, live.next(entry("IN_PLAY", 0, 1))).stream()
+                .map(LiveMatchIngestionService.DerivedEvent::type).toList());
+
+        // Without a previously seen provider phase nothing is inferred
+        LiveMatchIngestionService.LiveState restored =
+            new LiveMatchIngestionService.LiveState(7L, null, Match.MatchStatus.LIVE, 1, 1);
+        assertTrue(LiveMatchIngestionService.deriveEvents(restored, restored.next(entry("PAUSED", 1, 1))).isEmpty());
+        assertEquals(Match.MatchStatus.LIVE, LiveMatchIngestionService.toMatchStatus("PAUSED"));
+    }
+}
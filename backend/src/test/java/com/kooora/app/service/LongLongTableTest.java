@@ -0,0 +1,39 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LongLongTable open-addressing map
+ */
+public class LongLongTableTest {
+
+    @Test
+    public void testPutRemove_MatchesHashMapUnderRandomOperations() {
+        LongLongTable table = new LongLongTable(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                Long removed = expected.remove(key);
+                assertEquals(removed != null ? removed : LongLongTable.MISSING, table.remove(key));
+            } else {
+                long value = random.nextLong(1, Long.MAX_VALUE);
+                expected.put(key, value);
+                table.put(key, value);
+            }
+        }
+
+        for (long key = 0; key < 500; key++) {
+            Long value = expected.get(key);
+            assertEquals(value != null ? value : LongLongTable.MISSING, table.get(key));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MatchDayLoadGenerator event mix and plan validation
+ */
+public class MatchDayLoadGeneratorTest {
+
+    private MatchDayLoadGenerator generator;
+
+    @BeforeEach
+    public void setUp() {
+        generator = new MatchDayLoadGenerator();
+        ReflectionTestUtils.setField(generator, "maxMatches", 100);
+        ReflectionTestUtils.setField(generator, "goalShare", 0.05);
+        ReflectionTestUtils.setField(generator, "cardShare", 0.10);
+        ReflectionTestUtils.setField(generator, "substitutionShare", 0.15);
+    }
+
+    @Test
+    public void testKindOf_FollowsConfiguredMix() {
+        Map<MatchDayLoadGenerator.EventKind, Integer> counts = new EnumMap<>(MatchDayLoadGenerator.EventKind.class);
+        Random random = new Random(7);
+        int events = 100_000;
+        for (int i = 0; i < events; i++) {
+            counts.merge(generator.kindOf(random.nextDouble()), 1, Integer::sum);
+        }
+
+        assertEquals(0.05, counts.get(MatchDayLoadGenerator.EventKind.GOAL) / (double) events, 0.005);
+        assertEquals(0.10, counts.get(MatchDayLoadGenerator.EventKind.CARD) / (double) events, 0.005);
+        assertEquals(0.15, counts.get(MatchDayLoadGenerator.EventKind.SUBSTITUTION) / (double) events, 0.005);
+        assertEquals(0.70, counts.get(MatchDayLoadGenerator.EventKind.COMMENTARY) / (double) events, 0.005);
+    }
+
+    @Test
+    public void testStart_RejectsPlansOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+            () -> generator.start(new MatchDayLoadGenerator.Plan(1, 1, 10, 6, 60)));
+        assertThrows(IllegalArgumentException.class,
+            () -> generator.start(new MatchDayLoadGenerator.Plan(2, 20, 101, 6, 60)));
+        assertThrows(IllegalArgumentException.class,
+            () -> generator.start(new MatchDayLoadGenerator.Plan(2, 20, 10, 0, 60)));
+        assertFalse(generator.isRunning());
+        assertEquals(0L, generator.getReport().get("eventsProcessed"));
+    }
+}
@@ -0,0 +1,223 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.MatchEvent;
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.MatchEventRepository;
+import com.kooora.app.repository.MatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MatchSimulationEngine timeline drawing, planning, untracking and match writes
+ */
+public class MatchSimulationEngineTest {
+
+    private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private MatchSimulationEngine engine;
+    private MatchRepository matchRepository;
+    private MatchEventRepository matchEventRepository;
+    private LiveUpdateService liveUpdateService;
+    private TimerWheel wheel;
+    private ExecutorService handlerExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        matchEventRepository = mock(MatchEventRepository.class);
+        when(matchEventRepository.save(any(MatchEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        liveUpdateService = mock(LiveUpdateService.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        wheel = new TimerWheel(1000, 64, 0);
+        handlerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // init() is not called, so no driver thread runs; the tests advance the wheel themselves
+        engine = new MatchSimulationEngine();
+        ReflectionTestUtils.setField(engine, "matchRepository", matchRepository);
+        ReflectionTestUtils.setField(engine, "matchEventRepository", matchEventRepository);
+        ReflectionTestUtils.setField(engine, "liveUpdateService", liveUpdateService);
+        ReflectionTestUtils.setField(engine, "inPlayProbabilityService", mock(InPlayProbabilityService.class));
+        ReflectionTestUtils.setField(engine, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(engine, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(engine, "simulationClock", new SimulationClock(0, 60, 7L, System::nanoTime));
+        ReflectionTestUtils.setField(engine, "halfTimeMinutes", 15);
+        ReflectionTestUtils.setField(engine, "homeGoalRate", 0.05);
+        ReflectionTestUtils.setField(engine, "awayGoalRate", 0.04);
+        ReflectionTestUtils.setField(engine, "recordPath", "");
+        ReflectionTestUtils.setField(engine, "wheel", wheel);
+        ReflectionTestUtils.setField(engine, "handlerExecutor", handlerExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        handlerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testDraw_SameSeedGivesSameTimeline() {
+        SimulationClock clock = new SimulationClock(0, 60, 7L, System::nanoTime);
+
+        List<SimulationScript.Event> timeline = engine.draw(clock.random("match", 3));
+
+        assertEquals(timeline, engine.draw(clock.random("match", 3)));
+        assertNotEquals(timeline, engine.draw(clock.random("match", 4)));
+    }
+
+    @Test
+    public void testDraw_TimelineHasBothHalvesWithGoalsInside() {
+        List<SimulationScript.Event> timeline = engine.draw(new SimulationClock(0, 60, 11L, System::nanoTime).random("match", 0));
+
+        assertEquals(SimulationScript.Kind.KICKOFF, timeline.get(0).kind());
+        assertEquals(SimulationScript.Kind.FULL_TIME, timeline.get(timeline.size() - 1).kind());
+        long halfTimeMs = offsetOf(timeline, SimulationScript.Kind.HALF_TIME);
+        long secondHalfMs = offsetOf(timeline, SimulationScript.Kind.SECOND_HALF);
+        long fullTimeMs = offsetOf(timeline, SimulationScript.Kind.FULL_TIME);
+        // 45 minutes plus one to three minutes of stoppage time, then a 15 minute break
+        assertTrue(halfTimeMs >= 46 * MINUTE_MS && halfTimeMs <= 48 * MINUTE_MS);
+        assertEquals(halfTimeMs + 15 * MINUTE_MS, secondHalfMs);
+        assertTrue(fullTimeMs >= secondHalfMs + 47 * MINUTE_MS && fullTimeMs <= secondHalfMs + 51 * MINUTE_MS);
+        for (SimulationScript.Event event : timeline) {
+            if (event.kind() != SimulationScript.Kind.GOAL) continue;
+            boolean firstHalf = event.offsetMs() < halfTimeMs;
+            assertTrue(firstHalf || event.offsetMs() >= secondHalfMs && event.offsetMs() < fullTimeMs);
+            assertTrue(firstHalf ? event.minute() <= 45 : event.minute() > 45 && event.minute() <= 90);
+        }
+    }
+
+    @Test
+    public void testPlan_LiveMatchAtStartupSkipsPastEventsAndResumesAtHalfTime() {
+        MatchSimulationEngine.SimulatedMatch simulated = live(1L, 0, 0);
+
+        engine.plan(simulated, 50 * MINUTE_MS, timeline());
+
+        // Second half, the 70th minute goal and full time are still to come
+        assertEquals(MatchSimulationEngine.Phase.HALF_TIME, simulated.phase);
+        assertEquals(3, wheel.size());
+        assertEquals(List.of(61 * MINUTE_MS, 70 * MINUTE_MS, 110 * MINUTE_MS),
+            simulated.timers.stream().map(TimerWheel.Timeout::getDeadline).toList());
+    }
+
+    @Test
+    public void testPlan_LiveMatchAtStartupResumesInSecondHalf() {
+        MatchSimulationEngine.SimulatedMatch simulated = live(1L, 0, 0);
+
+        engine.plan(simulated, 65 * MINUTE_MS, timeline());
+
+        assertEquals(MatchSimulationEngine.Phase.SECOND_HALF, simulated.phase);
+        assertEquals(List.of(70 * MINUTE_MS, 110 * MINUTE_MS),
+            simulated.timers.stream().map(TimerWheel.Timeout::getDeadline).toList());
+    }
+
+    @Test
+    public void testPlan_OverdueFullTimeIsDueNow() {
+        MatchSimulationEngine.SimulatedMatch simulated = live(1L, 0, 0);
+
+        engine.plan(simulated, 200 * MINUTE_MS, timeline());
+
+        assertEquals(MatchSimulationEngine.Phase.SECOND_HALF, simulated.phase);
+        assertEquals(List.of(200 * MINUTE_MS),
+            simulated.timers.stream().map(TimerWheel.Timeout::getDeadline).toList());
+    }
+
+    @Test
+    public void testUntrack_CancelsPendingTimers() {
+        MatchSimulationEngine.SimulatedMatch simulated = track(live(1L, 0, 0), 0);
+
+        assertTrue(engine.untrack(1L));
+        assertFalse(simulated.timers.isEmpty());
+        assertTrue(simulated.timers.stream().allMatch(TimerWheel.Timeout::isCancelled));
+        assertFalse(engine.untrack(1L));
+
+        wheel.advanceTo(200 * MINUTE_MS);
+        simulated.handled.join();
+        verifyNoInteractions(matchRepository, matchEventRepository, liveUpdateService);
+    }
+
+    @Test
+    public void testApply_WritesMatchOnlyWhenScoreOrStatusChanged() {
+        Match match = storedMatch(1L, 0, 0);
+        MatchSimulationEngine.SimulatedMatch simulated = track(live(1L, 0, 0), 40 * MINUTE_MS);
+
+        // Half time keeps the stored status and score: only the event is saved
+        wheel.advanceTo(47 * MINUTE_MS);
+        simulated.handled.join();
+        verify(matchEventRepository).save(any(MatchEvent.class));
+        verify(matchRepository, never()).save(any(Match.class));
+        verify(liveUpdateService, never()).broadcastMatchUpdate(any(), any());
+
+        // The away goal changes the score
+        wheel.advanceTo(71 * MINUTE_MS);
+        simulated.handled.join();
+        ArgumentCaptor<Match> saved = ArgumentCaptor.forClass(Match.class);
+        verify(matchRepository).save(saved.capture());
+        assertEquals(0, saved.getValue().getHomeTeamScore());
+        assertEquals(1, saved.getValue().getAwayTeamScore());
+        verify(matchEventRepository, times(2)).save(any(MatchEvent.class));
+        verify(liveUpdateService).broadcastMatchUpdate(eq(match), any());
+    }
+
+    private static MatchSimulationEngine.SimulatedMatch live(long matchId, int homeScore, int awayScore) {
+        return new MatchSimulationEngine.SimulatedMatch(matchId, 0, MatchSimulationEngine.Phase.FIRST_HALF,
+            homeScore, awayScore);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MatchSimulationEngine.SimulatedMatch track(MatchSimulationEngine.SimulatedMatch simulated, long nowMs) {
+        ((Map<Long, MatchSimulationEngine.SimulatedMatch>) ReflectionTestUtils.getField(engine, "matches"))
+            .put(simulated.matchId, simulated);
+        wheel.advanceTo(nowMs);
+        engine.plan(simulated, nowMs, timeline());
+        return simulated;
+    }
+
+    private Match storedMatch(long id, int homeScore, int awayScore) {
+        Match match = new Match();
+        match.setId(id);
+        match.setHomeTeam(new Team());
+        match.setAwayTeam(new Team());
+        match.setStatus(Match.MatchStatus.LIVE);
+        match.setHomeTeamScore(homeScore);
+        match.setAwayTeamScore(awayScore);
+        when(matchRepository.findById(id)).thenReturn(Optional.of(match));
+        when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return match;
+    }
+
+    /**
+     * A home goal in the 10th minute, half time after 46 minutes, an away goal in the 70th, full time at 110
+     */
+    private static List<SimulationScript.Event> timeline() {
+        return List.of(
+            new SimulationScript.Event(0, SimulationScript.Kind.KICKOFF, null, 0, 0),
+            new SimulationScript.Event(10 * MINUTE_MS, SimulationScript.Kind.GOAL, true, 10, 0),
+            new SimulationScript.Event(46 * MINUTE_MS, SimulationScript.Kind.HALF_TIME, null, 45, 0),
+            new SimulationScript.Event(61 * MINUTE_MS, SimulationScript.Kind.SECOND_HALF, null, 45, 0),
+            new SimulationScript.Event(70 * MINUTE_MS, SimulationScript.Kind.GOAL, false, 70, 0),
+            new SimulationScript.Event(110 * MINUTE_MS, SimulationScript.Kind.FULL_TIME, null, 90, 0));
+    }
+
+    private static long offsetOf(List<SimulationScript.Event> timeline, SimulationScript.Kind kind) {
+        return timeline.stream().filter(event -> event.kind() == kind).findFirst().orElseThrow().offsetMs();
+    }
+}
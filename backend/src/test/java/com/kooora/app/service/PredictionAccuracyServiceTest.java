@@ -0,0 +1,125 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.PredictionAccuracy;
+import com.kooora.app.entity.PredictionRecord;
+import com.kooora.app.entity.Team;
+import com.kooora.app.repository.PredictionAccuracyRepository;
+import com.kooora.app.repository.PredictionRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the PredictionAccuracyService scoring rules and aggregate updates
+ */
+public class PredictionAccuracyServiceTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testBrierScore_PerfectAndWorstPredictions() {
+        assertEquals(0.0, PredictionAccuracyService.brierScore(1.0, 0.0, 0.0, 0), EPSILON);
+        assertEquals(2.0, PredictionAccuracyService.brierScore(0.0, 0.0, 1.0, 0), EPSILON);
+    }
+
+    @Test
+    public void testBrierScore_UniformPrediction() {
+        double third = 1.0 / 3.0;
+        // (2/3)^2 + (1/3)^2 + (1/3)^2 = 2/3
+        assertEquals(2.0 / 3.0, PredictionAccuracyService.brierScore(third, third, third, 1), EPSILON);
+    }
+
+    @Test
+    public void testLogLoss_UsesProbabilityOfActualOutcome() {
+        assertEquals(-Math.log(0.5), PredictionAccuracyService.logLoss(0.5, 0.25, 0.25, 0), EPSILON);
+        assertEquals(-Math.log(0.25), PredictionAccuracyService.logLoss(0.5, 0.25, 0.25, 2), EPSILON);
+    }
+
+    @Test
+    public void testLogLoss_ClampsZeroProbability() {
+        double loss = PredictionAccuracyService.logLoss(1.0, 0.0, 0.0, 1);
+        assertTrue(Double.isFinite(loss));
+        assertTrue(loss > 30);
+    }
+
+    @Test
+    public void testLogLoss_NormalizesUnnormalizedProbabilities() {
+        // Home advantage component does not always sum to one
+        assertEquals(-Math.log(0.5), PredictionAccuracyService.logLoss(0.6, 0.3, 0.3, 0), EPSILON);
+    }
+
+    @Test
+    public void testIsHit_PicksMostLikelyOutcome() {
+        assertTrue(PredictionAccuracyService.isHit(0.5, 0.3, 0.2, 0));
+        assertFalse(PredictionAccuracyService.isHit(0.5, 0.3, 0.2, 1));
+        assertTrue(PredictionAccuracyService.isHit(0.2, 0.5, 0.3, 1));
+        assertTrue(PredictionAccuracyService.isHit(0.2, 0.3, 0.5, 2));
+    }
+
+    @Test
+    public void testConfidence_IsSpreadBetweenOutcomes() {
+        assertEquals(30.0, PredictionAccuracyService.confidence(0.5, 0.3, 0.2), EPSILON);
+    }
+
+    @Test
+    public void testOnMatchCompleted_LosingTheAggregateInsertRaceStillIncrements() {
+        PredictionRecordRepository records = mock(PredictionRecordRepository.class);
+        PredictionAccuracyRepository aggregates = mock(PredictionAccuracyRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        PredictionAccuracyService service = new PredictionAccuracyService();
+        ReflectionTestUtils.setField(service, "predictionRecordRepository", records);
+        ReflectionTestUtils.setField(service, "predictionAccuracyRepository", aggregates);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+
+        float[] values = new float[PredictionAccuracyService.Component.values().length * 3];
+        Arrays.fill(values, Float.NaN);
+        int ensemble = PredictionAccuracyService.Component.ENSEMBLE.ordinal() * 3;
+        values[ensemble] = 0.6f;
+        values[ensemble + 1] = 0.3f;
+        values[ensemble + 2] = 0.1f;
+        when(records.findUnscoredForFixture(any(), any(), any(), any()))
+            .thenReturn(List.of(new PredictionRecord(1L, 10L, 20L, "v2", values)));
+        // A concurrent scoring creates the row between this one's update and insert
+        when(aggregates.incrementAggregate(eq("v2"), eq("ensemble"), anyLong(), anyLong(), anyDouble(), anyDouble(), anyDouble()))
+            .thenReturn(0)
+            .thenReturn(1);
+        when(aggregates.saveAndFlush(any(PredictionAccuracy.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        service.onMatchCompleted(completed(1L, 10L, 20L, 2, 0));
+
+        verify(aggregates, times(2)).incrementAggregate(eq("v2"), eq("ensemble"), eq(1L), eq(1L),
+            anyDouble(), anyDouble(), anyDouble());
+        verify(records).saveAll(any());
+        assertEquals(1L, service.getAccuracy("v2").get("scoredPredictions"));
+        assertEquals(1L, service.getAccuracy("v2").get("correctOutcomePredictions"));
+    }
+
+    private static MatchCompletedEvent completed(long matchId, long homeTeamId, long awayTeamId,
+                                                 int homeScore, int awayScore) {
+        Team home = new Team();
+        home.setId(homeTeamId);
+        Team away = new Team();
+        away.setId(awayTeamId);
+        Match match = new Match();
+        match.setId(matchId);
+        match.setHomeTeam(home);
+        match.setAwayTeam(away);
+        match.setHomeTeamScore(homeScore);
+        match.setAwayTeamScore(awayScore);
+        match.setMatchDate(LocalDateTime.of(2025, 8, 16, 15, 0));
+        return new MatchCompletedEvent(match);
+    }
+}
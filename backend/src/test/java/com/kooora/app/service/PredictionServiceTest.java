@@ -0,0 +1,117 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Player;
+import com.kooora.app.entity.PlayerStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PredictionService per-90 player index and share-of-xG probabilities
+ */
+public class PredictionServiceTest {
+
+    @Test
+    public void testBuildPlayerIndex_RanksActiveAttackersByShrunkPer90() {
+        Player striker = player(1L, "Forward", true);
+        Player winger = player(2L, "Midfielder", true);
+        Player cameo = player(3L, "Forward", true);
+        Player defender = player(4L, "Defender", true);
+        Player departed = player(5L, "Forward", false);
+        Player keeper = player(6L, "Goalkeeper", true);
+
+        PredictionService.PlayerIndex index = PredictionService.buildPlayerIndex(List.of(
+            stats(striker, 10, 900, 6, 2),
+            stats(winger, 20, 1800, 4, 6),
+            // A single cameo goal is a high raw rate, but a small sample
+            stats(cameo, 1, 45, 1, 0),
+            stats(defender, 20, 1800, 2, 0),
+            stats(departed, 10, 900, 3, 0),
+            stats(keeper, 20, 1800, 0, 0)
+        ), 0L);
+
+        assertEquals(List.of(1L, 2L, 3L), index.ranked().stream().map(form -> form.player.getId()).toList());
+        assertTrue(index.ranked().get(0).per90Index > index.ranked().get(1).per90Index);
+        // Every goal counts towards the team total, including those of players not ranked
+        assertEquals(16, index.teamGoals());
+        assertEquals(8, index.teamAssists());
+    }
+
+    @Test
+    public void testBuildPlayerIndex_AggregatesRowsPerPlayer() {
+        Player striker = player(1L, "Forward", true);
+        Player winger = player(2L, "Midfielder", true);
+
+        PredictionService.PlayerIndex index = PredictionService.buildPlayerIndex(List.of(
+            stats(striker, 5, 450, 1, 0),
+            stats(winger, 10, 900, 2, 1),
+            // Cup goals for the same player move him above the winger
+            stats(striker, 5, 450, 3, 0)
+        ), 0L);
+
+        assertEquals(2, index.ranked().size());
+        assertEquals(1L, index.ranked().get(0).player.getId());
+        assertEquals(4, index.ranked().get(0).goals);
+        assertEquals(900, index.ranked().get(0).minutes);
+    }
+
+    @Test
+    public void testPredictFromIndex_SharesTeamExpectedGoals() {
+        Player striker = player(1L, "Forward", true);
+        Player winger = player(2L, "Midfielder", true);
+        Player defender = player(4L, "Defender", true);
+
+        PredictionService.PlayerIndex index = PredictionService.buildPlayerIndex(List.of(
+            stats(striker, 10, 900, 6, 2),
+            stats(winger, 20, 1800, 2, 6),
+            stats(defender, 20, 1800, 2, 0)
+        ), 0L);
+        List<Map<String, Object>> predictions = PredictionService.predictFromIndex(index, "home", 1.6);
+
+        assertEquals(2, predictions.size());
+        // Striker: 1.6 xG * 6 / 10 goals = 0.96, 1.6 * 0.75 * 2 / 8 assists = 0.3
+        assertEquals(round(1.0 - Math.exp(-0.96)), predictions.get(0).get("goalProbability"));
+        assertEquals(round(1.0 - Math.exp(-0.3)), predictions.get(0).get("assistProbability"));
+        // Winger: 1.6 * 2 / 10 = 0.32, 1.6 * 0.75 * 6 / 8 = 0.9
+        assertEquals(round(1.0 - Math.exp(-0.32)), predictions.get(1).get("goalProbability"));
+        assertEquals(round(1.0 - Math.exp(-0.9)), predictions.get(1).get("assistProbability"));
+        assertEquals("home", ((Map<?, ?>) predictions.get(1).get("player")).get("side"));
+    }
+
+    @Test
+    public void testBuildPlayerIndex_NoEligiblePlayersIsEmpty() {
+        Player keeper = player(6L, "Goalkeeper", true);
+        Player departed = player(5L, "Forward", false);
+
+        PredictionService.PlayerIndex index = PredictionService.buildPlayerIndex(List.of(
+            stats(keeper, 20, 1800, 0, 1),
+            stats(departed, 10, 900, 3, 0)
+        ), 0L);
+
+        assertTrue(index.ranked().isEmpty());
+    }
+
+    private static double round(double probability) {
+        return Math.round(probability * 100.0) / 100.0;
+    }
+
+    private static Player player(Long id, String position, boolean active) {
+        Player player = new Player("Player", String.valueOf(id), null, null);
+        player.setId(id);
+        player.setPosition(position);
+        player.setIsActive(active);
+        return player;
+    }
+
+    private static PlayerStatistics stats(Player player, int appearances, int minutes, int goals, int assists) {
+        PlayerStatistics stats = new PlayerStatistics(player, null, "2025/26");
+        stats.setAppearances(appearances);
+        stats.setMinutesPlayed(minutes);
+        stats.setGoals(goals);
+        stats.setAssists(assists);
+        return stats;
+    }
+}
@@ -0,0 +1,136 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.ProviderCallGuard.CircuitBreaker;
+import com.kooora.app.service.ProviderRateLimiter.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProviderCallGuard circuit breakers and bulkheads
+ */
+public class ProviderCallGuardTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private ProviderCallGuard guard;
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @BeforeEach
+    public void setUp() {
+        guard = new ProviderCallGuard();
+        ReflectionTestUtils.setField(guard, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(guard, "windowSize", 10);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 50);
+        ReflectionTestUtils.setField(guard, "openMs", 30_000L);
+        ReflectionTestUtils.setField(guard, "halfOpenProbes", 2);
+        ReflectionTestUtils.setField(guard, "liveConcurrency", 2);
+        ReflectionTestUtils.setField(guard, "standingsConcurrency", 2);
+        ReflectionTestUtils.setField(guard, "statsConcurrency", 2);
+        guard.init();
+        guard.setNanoClock(clock::get);
+    }
+
+    @Test
+    public void testCircuitBreaker_OpensAtThresholdAndProbesToClose() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 30 * SECOND, 2);
+        long now = 0;
+
+        // Below the minimum number of calls the breaker stays closed
+        for (int i = 0; i < 3; i++) {
+            breaker.onResult(now, breaker.tryAcquire(now), CircuitBreaker.Outcome.FAILURE);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onResult(now, breaker.tryAcquire(now), CircuitBreaker.Outcome.SUCCESS);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.tryAcquire(now + 29 * SECOND));
+
+        // After the open period only the configured number of probes is admitted
+        now += 30 * SECOND;
+        CircuitBreaker.Permit first = breaker.tryAcquire(now);
+        CircuitBreaker.Permit second = breaker.tryAcquire(now);
+        assertEquals(CircuitBreaker.Permit.PROBE, first);
+        assertEquals(CircuitBreaker.Permit.PROBE, second);
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.tryAcquire(now));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onResult(now, first, CircuitBreaker.Outcome.SUCCESS);
+        breaker.onResult(now, second, CircuitBreaker.Outcome.SUCCESS);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    public void testCircuitBreaker_ProbeFailureReopensAndStaleResultsIgnored() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 50, 30 * SECOND, 1);
+        long now = 0;
+        CircuitBreaker.Permit stale = breaker.tryAcquire(now);
+        breaker.onResult(now, breaker.tryAcquire(now), CircuitBreaker.Outcome.FAILURE);
+        breaker.onResult(now, breaker.tryAcquire(now), CircuitBreaker.Outcome.IGNORED);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onResult(now, breaker.tryAcquire(now), CircuitBreaker.Outcome.FAILURE);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now += 30 * SECOND;
+        CircuitBreaker.Permit probe = breaker.tryAcquire(now);
+        assertEquals(CircuitBreaker.Permit.PROBE, probe);
+        // A call admitted before the breaker opened does not close it
+        breaker.onResult(now, stale, CircuitBreaker.Outcome.SUCCESS);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onResult(now, probe, CircuitBreaker.Outcome.FAILURE);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.tryAcquire(now + SECOND));
+    }
+
+    @Test
+    public void testOutcomeOf_ClassifiesProviderFailures() {
+        assertEquals(CircuitBreaker.Outcome.SUCCESS, ProviderCallGuard.outcomeOf(null));
+        assertEquals(CircuitBreaker.Outcome.FAILURE, ProviderCallGuard.outcomeOf(new CompletionException(new IOException("503"))));
+        assertEquals(CircuitBreaker.Outcome.FAILURE, ProviderCallGuard.outcomeOf(new TimeoutException()));
+        assertEquals(CircuitBreaker.Outcome.IGNORED, ProviderCallGuard.outcomeOf(new RejectedExecutionException("quota")));
+        assertEquals(CircuitBreaker.Outcome.IGNORED, ProviderCallGuard.outcomeOf(new CompletionException(new IllegalStateException())));
+    }
+
+    @Test
+    public void testExecute_BulkheadsIsolateLanesAndOpenBreakerFailsFast() {
+        CompletableFuture<String> slowLive1 = new CompletableFuture<>();
+        CompletableFuture<String> slowLive2 = new CompletableFuture<>();
+        guard.execute(EndpointClass.LIVE, () -> slowLive1);
+        guard.execute(EndpointClass.LIVE, () -> slowLive2);
+
+        CompletableFuture<String> rejected = guard.execute(EndpointClass.LIVE, () -> CompletableFuture.completedFuture("x"));
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals("ok", guard.execute(EndpointClass.STANDINGS, () -> CompletableFuture.completedFuture("ok")).join());
+
+        slowLive1.complete("done");
+        assertEquals("x", guard.execute(EndpointClass.LIVE, () -> CompletableFuture.completedFuture("x")).join());
+
+        for (int i = 0; i < 4; i++) {
+            guard.execute(EndpointClass.SCORERS, () -> CompletableFuture.failedFuture(new IOException("502")));
+        }
+        assertTrue(guard.isAnyOpen());
+        boolean[] called = {false};
+        CompletableFuture<String> fastFail = guard.execute(EndpointClass.SCORERS, () -> {
+            called[0] = true;
+            return CompletableFuture.completedFuture("x");
+        });
+        assertTrue(fastFail.isCompletedExceptionally());
+        assertFalse(called[0]);
+        // The rejected call released its stats bulkhead slot
+        assertEquals(2, ((Map<?, ?>) guard.getBulkheadStats().get("stats")).get("available"));
+    }
+}
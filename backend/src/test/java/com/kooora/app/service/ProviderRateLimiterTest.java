@@ -0,0 +1,88 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProviderRateLimiter token buckets
+ */
+public class ProviderRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private ProviderRateLimiter limiter;
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new ProviderRateLimiter();
+        ReflectionTestUtils.setField(limiter, "ingestionExecutor", Executors.newSingleThreadExecutor());
+        ReflectionTestUtils.setField(limiter, "callsPerMinute", 10);
+        ReflectionTestUtils.setField(limiter, "livePerMinute", 6);
+        ReflectionTestUtils.setField(limiter, "standingsPerMinute", 4);
+        ReflectionTestUtils.setField(limiter, "scorersPerMinute", 2);
+        ReflectionTestUtils.setField(limiter, "teamsPerMinute", 2);
+        ReflectionTestUtils.setField(limiter, "maxWaitMs", 120_000L);
+        limiter.setNanoClock(clock::get);
+    }
+
+    @Test
+    public void testTokenBucket_QueuesReservationsInRefillOrder() {
+        long now = 0;
+        ProviderRateLimiter.TokenBucket bucket = ProviderRateLimiter.TokenBucket.perMinute(2, now);
+
+        assertEquals(0, bucket.reserve(now, Long.MAX_VALUE));
+        assertEquals(0, bucket.reserve(now, Long.MAX_VALUE));
+        // Two per minute: the next tokens arrive 30 s and 60 s from now
+        assertEquals(30 * SECOND, bucket.reserve(now, Long.MAX_VALUE), SECOND / 1000);
+        assertEquals(60 * SECOND, bucket.reserve(now, Long.MAX_VALUE), SECOND / 1000);
+        // Beyond the queueing limit nothing is taken
+        assertEquals(-1, bucket.reserve(now, 60 * SECOND));
+        assertEquals(0.0, bucket.available(now + 60 * SECOND), 1e-6);
+    }
+
+    @Test
+    public void testAcquire_ClassBudgetLimitsWithinProviderQuota() {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(limiter.acquire("p", ProviderRateLimiter.EndpointClass.TEAMS).isDone());
+        }
+        assertFalse(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.TEAMS, 0));
+        assertTrue(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.LIVE, 1));
+
+        CompletableFuture<Void> queued = limiter.acquire("p", ProviderRateLimiter.EndpointClass.TEAMS);
+        assertFalse(queued.isDone());
+        assertEquals(1, ((Number) limiter.getStats().get("queued")).intValue());
+    }
+
+    @Test
+    public void testOnResponse_RetryAfterPausesProvider() {
+        limiter.onResponse("p", 429, Map.of("retry-after", "30"));
+        assertFalse(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.LIVE, 0));
+
+        // Nothing accrues while paused; at ten per minute the first token follows 6 s later
+        clock.addAndGet(31 * SECOND);
+        assertFalse(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.LIVE, 0));
+        clock.addAndGet(6 * SECOND);
+        assertTrue(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.LIVE, 0));
+    }
+
+    @Test
+    public void testOnResponse_RemainingHeaderCapsTokens() {
+        limiter.onResponse("p", 200, Map.of("x-requests-available-minute", "1", "x-requestcounter-reset", "40"));
+        assertTrue(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.STANDINGS, 0));
+        assertFalse(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.STANDINGS, 1));
+
+        limiter.onResponse("p", 200, Map.of("x-requests-available-minute", "0", "x-requestcounter-reset", "40"));
+        clock.addAndGet(20 * SECOND);
+        assertFalse(limiter.hasCapacity("p", ProviderRateLimiter.EndpointClass.STANDINGS, 0));
+    }
+}
@@ -0,0 +1,62 @@
+package com.kooora.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProviderStubService request handling and fault injection
+ */
+public class ProviderStubServiceTest {
+
+    @TempDir
+    Path fixturesDir;
+
+    @Test
+    public void testHandle_MalformedIdsAreBadRequests() {
+        ProviderStubService stub = stub(0.0);
+
+        assertEquals(400, stub.handle("competitions/abc/standings", Map.of()).join().status());
+        assertEquals(400, stub.handle("matches", Map.of("ids", "1,x")).join().status());
+        assertEquals(200, stub.handle("matches", Map.of("ids", "1, 2")).join().status());
+        assertEquals(404, stub.handle("competitions/2021/standings", Map.of()).join().status());
+    }
+
+    @Test
+    public void testHandle_InjectedErrorsFollowTheSeed() {
+        List<Integer> first = statuses(stub(0.5));
+        List<Integer> second = statuses(stub(0.5));
+
+        assertEquals(first, second);
+        assertTrue(first.contains(503));
+        assertTrue(first.contains(200));
+    }
+
+    private List<Integer> statuses(ProviderStubService stub) {
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            statuses.add(stub.handle("matches", Map.of()).join().status());
+        }
+        return statuses;
+    }
+
+    private ProviderStubService stub(double errorRate) {
+        ProviderStubService stub = new ProviderStubService();
+        ReflectionTestUtils.setField(stub, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(stub, "fixturesDir", fixturesDir.toString());
+        ReflectionTestUtils.setField(stub, "recordFrom", "");
+        ReflectionTestUtils.setField(stub, "errorRate", errorRate);
+        ReflectionTestUtils.setField(stub, "errorStatus", 503);
+        ReflectionTestUtils.setField(stub, "seed", 42L);
+        stub.init();
+        return stub;
+    }
+}
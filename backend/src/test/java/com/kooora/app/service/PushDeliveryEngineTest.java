@@ -0,0 +1,151 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.PushNotificationService.PushSubscription;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PushDeliveryEngine retries and shard fan-out against a local push endpoint
+ */
+public class PushDeliveryEngineTest {
+
+    private PushDeliveryEngine engine;
+    private HttpServer server;
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/push/", exchange -> {
+            String token = exchange.getRequestURI().getPath().substring("/push/".length());
+            int attempt = attempts.computeIfAbsent(token, t -> new AtomicInteger()).incrementAndGet();
+            requests.add(token);
+            authorizations.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            exchange.getRequestBody().readAllBytes();
+            if (token.charAt(0) == 'r' && attempt == 1) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+            }
+            int status = switch (token.charAt(0)) {
+                case 'f' -> attempt == 1 ? 503 : 201;   // flaky: one retryable failure
+                case 'r' -> attempt == 1 ? 429 : 201;   // rate limited once, with Retry-After
+                case 'g' -> 410;                        // gone
+                case 'b' -> 400;                        // bad request, not retried
+                default -> 201;
+            };
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        engine = new PushDeliveryEngine();
+        ReflectionTestUtils.setField(engine, "httpEnabled", true);
+        ReflectionTestUtils.setField(engine, "maxInFlight", 8);
+        ReflectionTestUtils.setField(engine, "maxInFlightPerHost", 4);
+        ReflectionTestUtils.setField(engine, "requestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(engine, "maxAttempts", 3);
+        ReflectionTestUtils.setField(engine, "backoffBaseMs", 10L);
+        ReflectionTestUtils.setField(engine, "backoffMaxMs", 50L);
+        ReflectionTestUtils.setField(engine, "ttlSeconds", 60);
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair vapid = generator.generateKeyPair();
+        byte[] point = new byte[65];
+        WebPushEncryption.encodePoint((ECPublicKey) vapid.getPublic(), point, 0);
+        byte[] scalar = ((ECPrivateKey) vapid.getPrivate()).getS().toByteArray();
+        byte[] privateKey = new byte[32];
+        int length = Math.min(scalar.length, 32);
+        System.arraycopy(scalar, scalar.length - length, privateKey, 32 - length, length);
+        ReflectionTestUtils.setField(engine, "vapidPublicKey", Base64.getUrlEncoder().withoutPadding().encodeToString(point));
+        ReflectionTestUtils.setField(engine, "vapidPrivateKey", Base64.getUrlEncoder().withoutPadding().encodeToString(privateKey));
+        ReflectionTestUtils.setField(engine, "vapidSubject", "mailto:ops@kooora.com");
+        engine.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testDeliver_RetriesTransientFailuresAndReportsExpired() {
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/push/";
+        List<List<PushSubscription>> shards = List.of(
+            List.of(subscription(base + "ok1"), subscription(base + "flaky1"), subscription(base + "gone1")),
+            List.of(subscription(base + "ok2"), subscription(base + "bad1")));
+        List<String> expired = new CopyOnWriteArrayList<>();
+
+        PushDeliveryEngine.DeliveryReport report = engine.deliver("{}".getBytes(), "high", shards.size(),
+            (shard, pages) -> pages.accept(shards.get(shard)), expired::add).join();
+
+        assertEquals(5, report.recipients());
+        assertEquals(3, report.delivered());
+        assertEquals(1, report.failed());
+        assertEquals(1, report.expired());
+        assertEquals(1, report.retries());
+        assertEquals(List.of(base + "gone1"), expired);
+        assertEquals(2, attempts.get("flaky1").get());
+        assertEquals(1, attempts.get("bad1").get());
+        // Every request is authorized with the one token signed for the local origin
+        assertEquals(6, authorizations.size());
+        assertTrue(authorizations.get(0).startsWith("vapid t="), authorizations.get(0));
+        assertEquals(1, authorizations.stream().distinct().count());
+    }
+
+    @Test
+    public void testDeliver_BackingOffFreesTheInFlightSlot() {
+        engine.shutdown();
+        ReflectionTestUtils.setField(engine, "maxInFlight", 1);
+        engine.init();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/push/";
+        List<PushSubscription> page = List.of(subscription(base + "rated1"), subscription(base + "ok1"));
+
+        PushDeliveryEngine.DeliveryReport report = engine.deliver("{}".getBytes(), "high", 1,
+            (shard, pages) -> pages.accept(page), endpoint -> { }).join();
+
+        assertEquals(2, report.delivered());
+        // The second subscriber went out while the first waited for its retry
+        assertEquals(List.of("rated1", "ok1", "rated1"), requests);
+        assertEquals(0, engine.getStats().get("inFlight"));
+    }
+
+    @Test
+    public void testBackoff_GrowsWithinCeilingAndHonoursRetryAfter() {
+        for (int attempt = 1; attempt <= 6; attempt++) {
+            long ceiling = Math.min(50, 10L << (attempt - 1));
+            long backoff = engine.backoffMs(attempt, -1);
+            assertTrue(backoff >= ceiling / 2 && backoff <= ceiling, "backoff " + backoff + " for attempt " + attempt);
+        }
+        // Retry-After is capped by the maximum backoff
+        assertEquals(50, engine.backoffMs(1, 1000));
+        assertEquals(2000, PushDeliveryEngine.parseRetryAfterMs("2"));
+        assertEquals(-1, PushDeliveryEngine.parseRetryAfterMs("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertEquals("fcm.googleapis.com:-1", PushDeliveryEngine.hostOf("https://fcm.googleapis.com/fcm/send/x"));
+        assertEquals("https://fcm.googleapis.com", PushDeliveryEngine.originOf("https://fcm.googleapis.com/fcm/send/x"));
+        assertEquals("http://127.0.0.1:8443", PushDeliveryEngine.originOf("http://127.0.0.1:8443/push/a"));
+    }
+
+    private static PushSubscription subscription(String endpoint) {
+        return new PushSubscription(endpoint, new PushSubscription.Keys("p256dh", "auth"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.PushInterest.TopicType;
+import com.kooora.app.repository.PushInterestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the PushInterestIndex bitmaps and audience resolution
+ */
+public class PushInterestIndexTest {
+
+    @Test
+    public void testBitmap_MatchesBitSetAcrossSparseAndDenseChunks() {
+        Random random = new Random(7);
+        PushInterestIndex.Bitmap a = new PushInterestIndex.Bitmap();
+        PushInterestIndex.Bitmap b = new PushInterestIndex.Bitmap();
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+
+        for (int i = 0; i < 60000; i++) {
+            // Chunk 0 becomes dense, chunk 3 stays sparse
+            int value = random.nextBoolean() ? random.nextInt(9000) : 3 * 65536 + random.nextInt(65536);
+            if (random.nextInt(4) == 0) {
+                a.remove(value);
+                expectedA.clear(value);
+            } else if (random.nextBoolean()) {
+                a.add(value);
+                expectedA.set(value);
+            } else {
+                b.add(value);
+                expectedB.set(value);
+            }
+        }
+        assertEquals(expectedA, toBitSet(a));
+        assertEquals(expectedA.cardinality(), a.cardinality());
+
+        BitSet expectedAnd = (BitSet) expectedA.clone();
+        expectedAnd.and(expectedB);
+        assertEquals(expectedAnd, toBitSet(PushInterestIndex.Bitmap.and(a, b)));
+
+        BitSet expectedOr = (BitSet) expectedA.clone();
+        expectedOr.or(expectedB);
+        a.or(b);
+        assertEquals(expectedOr, toBitSet(a));
+        assertTrue(a.contains(expectedOr.nextSetBit(0)));
+    }
+
+    @Test
+    public void testAudience_OnlyFollowersOfTheTopicsInEachShard() {
+        PushInterestIndex index = new PushInterestIndex();
+        ReflectionTestUtils.setField(index, "pushInterestRepository", mock(PushInterestRepository.class));
+        for (long subscriber = 1; subscriber <= 6; subscriber++) {
+            index.addMember(subscriber, (int) (subscriber % 2));
+        }
+        index.replaceInterests(1, Map.of(TopicType.TEAM, List.of(10L)));
+        index.replaceInterests(2, Map.of(TopicType.TEAM, List.of(11L)));
+        index.replaceInterests(3, Map.of(TopicType.MATCH, List.of(500L)));
+        index.replaceInterests(4, Map.of(TopicType.TEAM, List.of(10L), TopicType.MATCH, List.of(500L)));
+        index.replaceInterests(5, Map.of(TopicType.LEAGUE, List.of(10L)));
+
+        PushInterestIndex.Bitmap audience = index.audience(List.of(
+            PushInterestIndex.topicKey(TopicType.MATCH, 500L),
+            PushInterestIndex.topicKey(TopicType.TEAM, 10L)));
+        assertEquals(List.of(1, 3, 4), toList(audience));
+        assertEquals(List.of(4), toList(index.inShard(audience, 0)));
+        assertEquals(List.of(1, 3), toList(index.inShard(audience, 1)));
+    }
+
+    @Test
+    public void testAudience_IncludesSubscribersFollowingNothing() {
+        PushInterestIndex index = new PushInterestIndex();
+        ReflectionTestUtils.setField(index, "pushInterestRepository", mock(PushInterestRepository.class));
+        ReflectionTestUtils.setField(index, "pageSize", 100);
+        index.loadIndex();
+        for (long subscriber = 1; subscriber <= 4; subscriber++) {
+            index.addMember(subscriber, (int) (subscriber % 2));
+        }
+        index.replaceInterests(1, Map.of(TopicType.TEAM, List.of(10L)));
+        index.replaceInterests(2, Map.of(TopicType.TEAM, List.of(11L)));
+        // Subscriber 3 never sent interests; subscriber 4 cleared theirs
+        index.replaceInterests(4, Map.of(TopicType.TEAM, List.of(11L)));
+        index.replaceInterests(4, Map.of());
+
+        PushInterestIndex.Bitmap audience = index.audience(List.of(PushInterestIndex.topicKey(TopicType.TEAM, 10L)));
+        assertEquals(List.of(1, 3, 4), toList(audience));
+        assertEquals(List.of(4), toList(index.inShard(audience, 0)));
+
+        index.removeSubscriber(3, 1);
+        assertEquals(List.of(1, 4), toList(index.audience(List.of(PushInterestIndex.topicKey(TopicType.TEAM, 10L)))));
+    }
+
+    private static BitSet toBitSet(PushInterestIndex.Bitmap bitmap) {
+        BitSet bits = new BitSet();
+        bitmap.forEach(bits::set);
+        return bits;
+    }
+
+    private static List<Integer> toList(PushInterestIndex.Bitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
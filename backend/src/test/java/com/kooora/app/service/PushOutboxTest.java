@@ -0,0 +1,120 @@
+package com.kooora.app.service;
+
+import com.kooora.app.service.PushInterestIndex.Bitmap;
+import com.kooora.app.service.PushOutbox.Lane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PushOutbox collapsing, priority lanes and subscriber rate cap
+ */
+public class PushOutboxTest {
+
+    private static final byte[] BODY = "{}".getBytes();
+
+    private PushOutbox outbox;
+
+    @BeforeEach
+    public void setUp() {
+        outbox = new PushOutbox();
+        ReflectionTestUtils.setField(outbox, "laneCapacity", 2);
+        ReflectionTestUtils.setField(outbox, "maxAgeSeconds", 300L);
+        ReflectionTestUtils.setField(outbox, "maxPerSubscriberPerMinute", 2);
+    }
+
+    @Test
+    public void testEnqueue_NewerMatchNotificationsCollapseOlderOnes() {
+        CompletableFuture<PushDeliveryEngine.DeliveryReport> firstGoal = outbox.enqueue(Lane.GOAL, 1L, BODY, audience(1, 2, 3));
+        outbox.enqueue(Lane.GOAL, 1L, BODY, audience(1, 2, 3));
+        // A kick-off notification carries no score and does not replace the queued goal
+        outbox.enqueue(Lane.MATCH_START, 1L, BODY, audience(1, 2, 3, 4));
+
+        assertTrue(firstGoal.isDone());
+        assertEquals(0, firstGoal.join().recipients());
+        PushOutbox.Entry goal = outbox.poll();
+        assertEquals(Lane.GOAL, goal.lane);
+        assertEquals(2, goal.sequence);
+        assertTrue(outbox.accepts(goal, 1));
+        assertEquals(Lane.MATCH_START, outbox.poll().lane);
+        assertNull(outbox.poll());
+
+        // A notification already being sent skips only the subscribers a newer one takes over
+        outbox.enqueue(Lane.UPDATE, 2L, BODY, audience(5, 6, 7));
+        PushOutbox.Entry update = outbox.poll();
+        outbox.enqueue(Lane.GOAL, 2L, BODY, audience(5, 6));
+        assertFalse(outbox.accepts(update, 5));
+        assertFalse(outbox.accepts(update, 6));
+        assertTrue(outbox.accepts(update, 7));
+    }
+
+    @Test
+    public void testEnqueue_LaterUpdateReplacesQueuedGoal() {
+        // A goal is queued, then ruled out by VAR before it is sent
+        CompletableFuture<PushDeliveryEngine.DeliveryReport> goal = outbox.enqueue(Lane.GOAL, 1L, BODY, audience(1, 2));
+        outbox.enqueue(Lane.GOAL, 2L, BODY, audience(1));
+        outbox.enqueue(Lane.UPDATE, 1L, BODY, audience(1, 2, 3));
+
+        assertTrue(goal.isDone());
+        assertEquals(0, goal.join().recipients());
+        // The other match's goal still goes first; the correction takes the stale goal's place
+        PushOutbox.Entry otherGoal = outbox.poll();
+        assertEquals(2L, otherGoal.matchId);
+        PushOutbox.Entry correction = outbox.poll();
+        assertEquals(Lane.UPDATE, correction.lane);
+        assertEquals(1L, correction.matchId);
+        assertTrue(outbox.accepts(correction, 1));
+        assertNull(outbox.poll());
+
+        // A goal already being sent skips the subscribers a later update reaches
+        outbox.enqueue(Lane.GOAL, 3L, BODY, audience(4, 5));
+        PushOutbox.Entry sending = outbox.poll();
+        outbox.enqueue(Lane.UPDATE, 3L, BODY, audience(4));
+        assertFalse(outbox.accepts(sending, 4));
+        assertTrue(outbox.accepts(sending, 5));
+        assertFalse(PushOutbox.supersedes(Lane.UPDATE, Lane.MATCH_START));
+        assertTrue(PushOutbox.supersedes(Lane.GOAL, Lane.MATCH_START));
+    }
+
+    @Test
+    public void testPoll_HighestLaneFirstWithBoundedLanes() {
+        CompletableFuture<PushDeliveryEngine.DeliveryReport> oldest = outbox.enqueue(Lane.UPDATE, null, BODY, null);
+        outbox.enqueue(Lane.UPDATE, null, BODY, null);
+        outbox.enqueue(Lane.UPDATE, null, BODY, null);
+        outbox.enqueue(Lane.MATCH_START, 3L, BODY, audience(1));
+        outbox.enqueue(Lane.GOAL, 4L, BODY, audience(1));
+
+        assertTrue(oldest.isDone(), "oldest update should be dropped from the full lane");
+        assertEquals(Lane.GOAL, outbox.poll().lane);
+        assertEquals(Lane.MATCH_START, outbox.poll().lane);
+        assertEquals(2, outbox.poll().sequence);
+        assertEquals(3, outbox.poll().sequence);
+        assertNull(outbox.poll());
+    }
+
+    @Test
+    public void testAccepts_RateCapSparesGoals() {
+        outbox.enqueue(Lane.UPDATE, null, BODY, null);
+        outbox.enqueue(Lane.GOAL, 9L, BODY, audience(1));
+        PushOutbox.Entry goal = outbox.poll();
+        PushOutbox.Entry update = outbox.poll();
+
+        assertTrue(outbox.accepts(update, 1));
+        assertTrue(outbox.accepts(update, 1));
+        assertFalse(outbox.accepts(update, 1));
+        assertTrue(outbox.accepts(goal, 1));
+        assertTrue(outbox.accepts(update, 2));
+    }
+
+    private static Bitmap audience(int... subscriberIds) {
+        Bitmap bitmap = new Bitmap();
+        for (int id : subscriberIds) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,101 @@
+package com.kooora.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kooora.app.service.PushNotificationService.PushNotificationPayload;
+
+import java.lang.management.ManagementFactory;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Per-recipient CPU time and allocation of preparing push messages during a fan-out.
+ * Compares building the payload for every recipient (format, serialize, fresh crypto
+ * objects) with serializing once and encrypting in a pooled context, with and without
+ * the encryption itself, which is dominated by the P-256 key generation and agreement.
+ * Not a unit test; run it from the test classpath:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;dependencies&gt; com.kooora.app.service.PushPayloadBenchmark [recipients]
+ * </pre>
+ */
+public class PushPayloadBenchmark {
+
+    private static final int SUBSCRIBER_KEYS = 64;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String[][] keys = new String[SUBSCRIBER_KEYS][];
+
+    private long sink;
+
+    public static void main(String[] args) throws Exception {
+        int recipients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        PushPayloadBenchmark benchmark = new PushPayloadBenchmark();
+
+        int warmup = Math.min(recipients, 20_000);
+        benchmark.run("per-recipient (warm-up)", warmup, false, true);
+        benchmark.run("shared + pooled (warm-up)", warmup, true, true);
+        benchmark.run("plaintext per-recipient", recipients, false, false);
+        benchmark.run("plaintext shared", recipients, true, false);
+        benchmark.run("per-recipient", recipients, false, true);
+        benchmark.run("shared + pooled", recipients, true, true);
+    }
+
+    PushPayloadBenchmark() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        SecureRandom random = new SecureRandom();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        for (int i = 0; i < SUBSCRIBER_KEYS; i++) {
+            byte[] publicKey = new byte[65];
+            WebPushEncryption.encodePoint((ECPublicKey) generator.generateKeyPair().getPublic(), publicKey, 0);
+            byte[] auth = new byte[16];
+            random.nextBytes(auth);
+            keys[i] = new String[]{encoder.encodeToString(publicKey), encoder.encodeToString(auth)};
+        }
+    }
+
+    private void run(String name, int recipients, boolean shared, boolean encrypt) throws Exception {
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        long allocatedStart = THREADS.getCurrentThreadAllocatedBytes();
+
+        if (shared) {
+            WebPushEncryption encryption = new WebPushEncryption();
+            WebPushEncryption.Record record = WebPushEncryption.prepare(objectMapper.writeValueAsBytes(goal()));
+            for (int i = 0; i < recipients; i++) {
+                WebPushEncryption.Context context = encryption.acquire();
+                String[] key = keys[i % SUBSCRIBER_KEYS];
+                sink += encrypt ? context.encrypt(record, key[0], key[1]) : record.hashCode();
+                encryption.release(context);
+            }
+        } else {
+            for (int i = 0; i < recipients; i++) {
+                WebPushEncryption.Record record = WebPushEncryption.prepare(objectMapper.writeValueAsBytes(goalFormatted()));
+                String[] key = keys[i % SUBSCRIBER_KEYS];
+                sink += encrypt ? new WebPushEncryption().acquire().encrypt(record, key[0], key[1]) : record.hashCode();
+            }
+        }
+
+        double cpuNanos = (double) (THREADS.getCurrentThreadCpuTime() - cpuStart) / recipients;
+        double allocated = (double) (THREADS.getCurrentThreadAllocatedBytes() - allocatedStart) / recipients;
+        System.out.printf("%-28s %,10d recipients  %,9.1f us CPU/recipient  %,9.0f B allocated/recipient%n",
+            name, recipients, cpuNanos / 1000, allocated);
+    }
+
+    private static PushNotificationPayload goal() {
+        return new PushNotificationPayload("⚽ GOAL!", "Salah scored! Liverpool 2-1 Arsenal", "/matches/42", "goal",
+            Map.of("matchId", 42L, "homeTeam", "Liverpool", "awayTeam", "Arsenal",
+                "homeScore", 2, "awayScore", 1, "scorer", "Salah"));
+    }
+
+    private static PushNotificationPayload goalFormatted() {
+        PushNotificationPayload payload = goal();
+        payload.setBody(String.format("%s scored! %s %d-%d %s", "Salah", "Liverpool", 2, 1, "Arsenal"));
+        return payload;
+    }
+}
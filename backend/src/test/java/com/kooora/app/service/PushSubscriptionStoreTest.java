@@ -0,0 +1,116 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.PushSubscriber;
+import com.kooora.app.repository.PushInterestRepository;
+import com.kooora.app.repository.PushSubscriberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the PushSubscriptionStore sharding and endpoint index
+ */
+public class PushSubscriptionStoreTest {
+
+    private PushSubscriptionStore store;
+    private PushSubscriberRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(PushSubscriberRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        store = new PushSubscriptionStore();
+        ReflectionTestUtils.setField(store, "pushSubscriberRepository", repository);
+        ReflectionTestUtils.setField(store, "transactionTemplate", transactionTemplate);
+        PushInterestIndex interestIndex = new PushInterestIndex();
+        ReflectionTestUtils.setField(interestIndex, "pushInterestRepository", mock(PushInterestRepository.class));
+        ReflectionTestUtils.setField(store, "pushInterestIndex", interestIndex);
+        ReflectionTestUtils.setField(store, "shardCount", 4);
+        ReflectionTestUtils.setField(store, "pageSize", 2);
+        store.init();
+    }
+
+    @Test
+    public void testEndpointHash_StableAndSpreadAcrossShards() {
+        String endpoint = "https://fcm.googleapis.com/fcm/send/abc123";
+        assertEquals(PushSubscriptionStore.endpointHash(endpoint), PushSubscriptionStore.endpointHash(endpoint));
+        assertNotEquals(PushSubscriptionStore.endpointHash(endpoint), PushSubscriptionStore.endpointHash(endpoint + "4"));
+
+        int[] counts = new int[16];
+        for (int i = 0; i < 16000; i++) {
+            long hash = PushSubscriptionStore.endpointHash("https://push.example.com/send/" + i);
+            counts[PushSubscriptionStore.shardOf(hash, 16)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800 && count < 1200, "uneven shard: " + count);
+        }
+    }
+
+    @Test
+    public void testUnsubscribe_ResolvesThroughLoadedIndexWithoutLookupQuery() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            long hash = PushSubscriptionStore.endpointHash("https://push.example.com/" + id);
+            rows.add(new Object[]{hash, id, PushSubscriptionStore.shardOf(hash, 4)});
+        }
+        when(repository.findIndexPage(eq(0L), any(Pageable.class))).thenReturn(rows.subList(0, 2));
+        when(repository.findIndexPage(eq(2L), any(Pageable.class))).thenReturn(rows.subList(2, 3));
+        when(repository.deleteSubscriber(anyLong())).thenReturn(1);
+
+        store.loadIndex();
+        assertEquals(3, store.size());
+
+        assertTrue(store.unsubscribe("https://push.example.com/3"));
+        verify(repository).deleteSubscriber(3L);
+        assertFalse(store.unsubscribe("https://push.example.com/3"));
+        assertFalse(store.unsubscribe("https://push.example.com/unknown"));
+
+        verify(repository, never()).findIdByEndpointHash(anyLong());
+        verify(repository, times(1)).deleteSubscriber(anyLong());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void testSubscribe_UpdatesRowInsertedByConcurrentSubscribe() {
+        String endpoint = "https://push.example.com/raced";
+        long hash = PushSubscriptionStore.endpointHash(endpoint);
+        PushSubscriber raced = new PushSubscriber(endpoint, hash, PushSubscriptionStore.shardOf(hash, 4));
+        raced.setId(9L);
+
+        // Our insert loses the race on the unique endpoint hash
+        when(repository.findIdByEndpointHash(hash)).thenReturn(Optional.empty()).thenReturn(Optional.of(9L));
+        when(repository.findById(9L)).thenReturn(Optional.of(raced));
+        when(repository.save(any(PushSubscriber.class))).thenAnswer(invocation -> {
+            PushSubscriber subscriber = invocation.getArgument(0);
+            if (subscriber.getId() == null) {
+                throw new DataIntegrityViolationException("duplicate endpoint_hash");
+            }
+            return subscriber;
+        });
+
+        store.subscribe(new PushNotificationService.PushSubscription(endpoint,
+            new PushNotificationService.PushSubscription.Keys("p256dh-key", "auth-key")));
+
+        assertEquals("p256dh-key", raced.getP256dh());
+        // The index now maps the endpoint to the row the other subscribe created
+        when(repository.deleteSubscriber(9L)).thenReturn(1);
+        assertTrue(store.unsubscribe(endpoint));
+        verify(repository).deleteSubscriber(9L);
+        verify(repository, times(2)).save(any(PushSubscriber.class));
+    }
+}
@@ -0,0 +1,58 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ReplayHarness season schedule and report figures and the ProviderStubService tables
+ */
+public class ReplayHarnessTest {
+
+    @Test
+    public void testDoubleRoundRobin_EveryPairingHomeAndAwayOncePerMatchday() {
+        for (int teams : new int[]{4, 5, 20}) {
+            List<List<int[]>> season = ReplayHarness.doubleRoundRobin(teams);
+            int rounds = teams % 2 == 0 ? teams - 1 : teams;
+            assertEquals(2 * rounds, season.size());
+
+            Set<String> pairings = new HashSet<>();
+            for (List<int[]> matchday : season) {
+                Set<Integer> playing = new HashSet<>();
+                for (int[] pair : matchday) {
+                    assertTrue(playing.add(pair[0]) && playing.add(pair[1]), "team plays twice on a matchday");
+                    assertTrue(pairings.add(pair[0] + "-" + pair[1]), "repeated home fixture");
+                }
+            }
+            assertEquals(teams * (teams - 1), pairings.size());
+        }
+    }
+
+    @Test
+    public void testPercentile_NearestRank() {
+        long[] sorted = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+        assertEquals(50, Percentiles.percentile(sorted, 50));
+        assertEquals(100, Percentiles.percentile(sorted, 95));
+        assertEquals(10, Percentiles.percentile(sorted, 1));
+        assertEquals(0, Percentiles.percentile(new long[0], 99));
+    }
+
+    @Test
+    public void testStandingsTable_FromFinishedMatches() {
+        ProviderStubService.StubTeam a = new ProviderStubService.StubTeam(1, "Alpha", "ALP");
+        ProviderStubService.StubTeam b = new ProviderStubService.StubTeam(2, "Beta", "BET");
+        ProviderStubService.StubTeam c = new ProviderStubService.StubTeam(3, "Gamma", "GAM");
+        List<ProviderStubService.StubMatch> finished = List.of(
+            new ProviderStubService.StubMatch(10, 1, a, b, null, "FINISHED", 0, 2, 90),
+            new ProviderStubService.StubMatch(11, 1, c, a, null, "FINISHED", 1, 1, 90));
+
+        List<Map<String, Object>> table = ProviderStubService.standingsTable(List.of(a, b, c), finished);
+        assertEquals(List.of("Beta", "Gamma", "Alpha"),
+            table.stream().map(row -> ((Map<?, ?>) row.get("team")).get("name")).toList());
+        assertEquals(3, table.get(0).get("points"));
+        assertEquals(-2, table.get(2).get("goalDifference"));
+        assertEquals(2, table.get(2).get("playedGames"));
+    }
+}
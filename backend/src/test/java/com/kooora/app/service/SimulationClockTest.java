@@ -0,0 +1,47 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SimulationClock accelerated time and seeded random streams
+ */
+public class SimulationClockTest {
+
+    @Test
+    public void testMillis_RunsAtConfiguredSpeedFromStart() {
+        AtomicLong nanos = new AtomicLong(5_000);
+        LocalDateTime start = LocalDateTime.of(2024, 10, 19, 14, 50);
+        SimulationClock probe = new SimulationClock(0, 1, null, nanos::get);
+        SimulationClock clock = new SimulationClock(probe.toEpochMillis(start), 60, null, nanos::get);
+
+        assertEquals(start, clock.now());
+        // A 90-minute match in 90 real seconds
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(90));
+        assertEquals(start.plusMinutes(90), clock.now());
+        assertEquals(1000, clock.realMillisUntil(clock.millis() + TimeUnit.MINUTES.toMillis(1)));
+        assertEquals(0, clock.realMillisUntil(clock.millis() - 1));
+    }
+
+    @Test
+    public void testRandom_SeededStreamsRepeatAndDiffer() {
+        SimulationClock seeded = new SimulationClock(0, 1, 42L, System::nanoTime);
+        SimulationClock again = new SimulationClock(0, 1, 42L, System::nanoTime);
+
+        assertTrue(seeded.isSeeded());
+        assertEquals(draw(seeded.random("match", 3)), draw(again.random("match", 3)));
+        assertNotEquals(draw(seeded.random("match", 3)), draw(seeded.random("match", 4)));
+        assertNotEquals(draw(seeded.random("match", 0)), draw(seeded.random("schedule", 0)));
+        assertFalse(new SimulationClock(0, 1, null, System::nanoTime).isSeeded());
+    }
+
+    private static long draw(Random random) {
+        return random.nextLong();
+    }
+}
@@ -0,0 +1,63 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationScript recording and replay of simulated match timelines
+ */
+public class SimulationScriptTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testDraw_SameSeedSameTimelineAndScriptBytes() throws Exception {
+        MatchSimulationEngine engine = new MatchSimulationEngine();
+        ReflectionTestUtils.setField(engine, "halfTimeMinutes", 15);
+        ReflectionTestUtils.setField(engine, "homeGoalRate", 0.05);
+        ReflectionTestUtils.setField(engine, "awayGoalRate", 0.04);
+        SimulationClock clock = new SimulationClock(0, 60, 7L, System::nanoTime);
+
+        SimulationScript first = new SimulationScript();
+        SimulationScript second = new SimulationScript();
+        for (int match = 0; match < 20; match++) {
+            first.put(match, engine.draw(clock.random("match", match)));
+            second.put(match, engine.draw(clock.random("match", match)));
+        }
+        assertArrayEquals(first.toBytes(), second.toBytes());
+
+        List<SimulationScript.Event> timeline = first.timeline(0);
+        assertEquals(SimulationScript.Kind.KICKOFF, timeline.get(0).kind());
+        assertEquals(SimulationScript.Kind.FULL_TIME, timeline.get(timeline.size() - 1).kind());
+        assertTrue(new String(first.toBytes()).contains("\tGOAL\t"), "20 matches at these rates score");
+
+        // Written, read back and written again: byte for byte the same
+        Path recorded = directory.resolve("simulation.script");
+        first.write(recorded);
+        SimulationScript replayed = SimulationScript.read(recorded);
+        assertEquals(20, replayed.size());
+        assertEquals(timeline, replayed.timeline(0));
+        Path rerecorded = directory.resolve("rerecorded.script");
+        replayed.write(rerecorded);
+        assertArrayEquals(Files.readAllBytes(recorded), Files.readAllBytes(rerecorded));
+    }
+
+    @Test
+    public void testParse_RejectsMalformedLines() {
+        assertThrows(IllegalArgumentException.class,
+            () -> SimulationScript.parse("0\t0\tKICKOFF\t-\t0\n".getBytes()));
+        assertThrows(IllegalArgumentException.class,
+            () -> SimulationScript.parse("0\t0\tPENALTY\t-\t0\t0\n".getBytes()));
+        assertThrows(IllegalArgumentException.class,
+            () -> SimulationScript.parse("0\t0\tGOAL\tX\t10\t0\n".getBytes()));
+        assertNull(SimulationScript.parse((SimulationScript.HEADER + "\n").getBytes()).timeline(0));
+    }
+}
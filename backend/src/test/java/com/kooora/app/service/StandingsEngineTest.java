@@ -0,0 +1,193 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.League;
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.Team;
+import com.kooora.app.entity.TeamStanding;
+import com.kooora.app.repository.LeagueRepository;
+import com.kooora.app.repository.MatchRepository;
+import com.kooora.app.repository.TeamRepository;
+import com.kooora.app.repository.TeamStandingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StandingsEngine standings writes, rebuilds, re-completed matches and live broadcasts
+ */
+public class StandingsEngineTest {
+
+    private static final long LEAGUE_ID = 1L;
+
+    private StandingsEngine engine;
+    private MatchRepository matchRepository;
+    private TeamStandingRepository teamStandingRepository;
+    private LiveUpdateService liveUpdateService;
+    // Stored standings of teams 10, 20, 30 and 40, all without a result yet
+    private final Map<Long, TeamStanding> stored = new LinkedHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        TeamRepository teamRepository = mock(TeamRepository.class);
+        LeagueRepository leagueRepository = mock(LeagueRepository.class);
+        teamStandingRepository = mock(TeamStandingRepository.class);
+        liveUpdateService = mock(LiveUpdateService.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        long position = 1;
+        for (long teamId = 10; teamId <= 40; teamId += 10) {
+            stored.put(teamId, standing(teamId, "Team " + teamId, (int) position++));
+        }
+        when(teamStandingRepository.findByLeagueIdWithTeam(LEAGUE_ID)).thenReturn(new ArrayList<>(stored.values()));
+        when(teamStandingRepository.findByLeagueAndTeamIdIn(any(), anyCollection())).thenAnswer(invocation ->
+            ((Collection<?>) invocation.getArgument(1)).stream().map(stored::get).filter(Objects::nonNull).toList());
+        when(leagueRepository.getReferenceById(LEAGUE_ID)).thenReturn(league());
+        when(matchRepository.findScoresByLeagueIdAndStatus(LEAGUE_ID, Match.MatchStatus.LIVE)).thenReturn(List.of());
+        when(matchRepository.findScoredIdsByLeagueIdAndStatusIn(eq(LEAGUE_ID), anyCollection())).thenReturn(List.of());
+
+        engine = new StandingsEngine();
+        ReflectionTestUtils.setField(engine, "matchRepository", matchRepository);
+        ReflectionTestUtils.setField(engine, "teamRepository", teamRepository);
+        ReflectionTestUtils.setField(engine, "leagueRepository", leagueRepository);
+        ReflectionTestUtils.setField(engine, "teamStandingRepository", teamStandingRepository);
+        ReflectionTestUtils.setField(engine, "liveUpdateService", liveUpdateService);
+        ReflectionTestUtils.setField(engine, "transactionTemplate", transactionTemplate);
+        // Standings are written through a template of their own on this manager
+        ReflectionTestUtils.setField(engine, "transactionManager", mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    public void testOnMatchCompleted_WritesOnlyTheStandingsThatChanged() {
+        // Team 10 stays top and team 40 stays bottom; 20 and 30 keep their figures and places
+        engine.onMatchCompleted(new MatchCompletedEvent(match(100L, 10L, 40L, 1, 0, Match.MatchStatus.COMPLETED)));
+
+        verify(liveUpdateService).broadcastLeagueStandingsUpdate(eq(LEAGUE_ID), anyList(), eq(List.of(10L, 40L)));
+        assertEquals(3, stored.get(10L).getPoints());
+        assertEquals(1, stored.get(10L).getPosition());
+        assertEquals("W", stored.get(10L).getForm());
+        assertEquals(1, stored.get(40L).getMatchesPlayed());
+        assertEquals(4, stored.get(40L).getPosition());
+        assertEquals(0, stored.get(20L).getMatchesPlayed());
+        assertEquals(1L, engine.getStats().get("matchesApplied"));
+        assertEquals(2L, engine.getStats().get("rowsWritten"));
+    }
+
+    @Test
+    public void testOnMatchCompleted_SkipsResultsTheLoadedStandingsAlreadyCount() {
+        // Match 100 was final when the table loaded; match 101 was still completing
+        when(matchRepository.findScoredIdsByLeagueIdAndStatusIn(eq(LEAGUE_ID), anyCollection()))
+            .thenReturn(List.of(100L, 101L));
+        MatchCompletedEvent recompleted = new MatchCompletedEvent(match(100L, 10L, 40L, 1, 0, Match.MatchStatus.COMPLETED));
+        MatchCompletedEvent completed = new MatchCompletedEvent(match(101L, 20L, 30L, 2, 1, Match.MatchStatus.COMPLETED));
+        engine.onMatchCompleting(completed);
+        engine.getTable(LEAGUE_ID);
+
+        engine.onMatchCompleted(recompleted);
+        verify(liveUpdateService, never()).broadcastLeagueStandingsUpdate(any(), any(), any());
+        assertEquals(0, stored.get(10L).getPoints());
+
+        engine.onMatchCompleted(completed);
+        assertEquals(3, stored.get(20L).getPoints());
+        assertEquals(1L, engine.getStats().get("matchesApplied"));
+    }
+
+    @Test
+    public void testRebuild_WritesOnlyStandingsThatDifferFromTheResults() {
+        // The stored standings of 10 and 40 already count match 100; the draw in 101 is missing
+        TeamStanding winner = stored.get(10L);
+        winner.setMatchesPlayed(1);
+        winner.setWins(1);
+        winner.setGoalsFor(1);
+        winner.setGoalDifference(1);
+        winner.setPoints(3);
+        winner.setForm("W");
+        TeamStanding loser = stored.get(40L);
+        loser.setMatchesPlayed(1);
+        loser.setLosses(1);
+        loser.setGoalsAgainst(1);
+        loser.setGoalDifference(-1);
+        loser.setForm("L");
+        when(matchRepository.streamLeagueResultsInPlayOrder(eq(LEAGUE_ID), anyCollection())).thenReturn(Stream.of(
+            new Object[]{100L, 10L, 40L, 1, 0},
+            new Object[]{101L, 20L, 30L, 1, 1}));
+
+        Map<String, Object> result = engine.rebuild(LEAGUE_ID);
+
+        assertEquals(2L, result.get("matchesProcessed"));
+        assertEquals(4, result.get("teams"));
+        assertEquals(2, result.get("rowsWritten"));
+        verify(liveUpdateService).broadcastLeagueStandingsUpdate(eq(LEAGUE_ID), anyList(), eq(List.of(20L, 30L)));
+        assertEquals(1, stored.get(20L).getPoints());
+        assertEquals("D", stored.get(30L).getForm());
+    }
+
+    @Test
+    public void testFlushLiveStandings_CoalescesScoreChangesIntoOneBroadcast() {
+        engine.onMatchScoreChanged(new MatchScoreChangedEvent(match(100L, 40L, 10L, 1, 0, Match.MatchStatus.LIVE)));
+        engine.onMatchScoreChanged(new MatchScoreChangedEvent(match(100L, 40L, 10L, 2, 0, Match.MatchStatus.LIVE)));
+        engine.onMatchScoreChanged(new MatchScoreChangedEvent(match(100L, 40L, 10L, 2, 0, Match.MatchStatus.LIVE)));
+
+        engine.flushLiveStandings();
+        engine.flushLiveStandings();
+
+        // Team 40 leads the provisional table on the latest score
+        verify(liveUpdateService, times(1)).broadcastLiveStandingsUpdate(eq(LEAGUE_ID),
+            argThat(standings -> standings.get(0).get("teamId").equals(40L) && standings.get(0).get("goalsFor").equals(2)),
+            eq(List.of(100L)));
+        assertEquals(2L, engine.getStats().get("liveUpdates"));
+        assertEquals(1L, engine.getStats().get("liveBroadcasts"));
+        // Provisional scores are never written
+        verify(teamStandingRepository, never()).saveAll(any());
+    }
+
+    private static TeamStanding standing(long teamId, String name, int position) {
+        Team team = new Team();
+        team.setId(teamId);
+        team.setName(name);
+        TeamStanding standing = new TeamStanding(team, league());
+        standing.setId(teamId);
+        standing.setPosition(position);
+        standing.setForm("");
+        return standing;
+    }
+
+    private static League league() {
+        League league = new League();
+        league.setId(LEAGUE_ID);
+        return league;
+    }
+
+    private static Match match(long matchId, long homeTeamId, long awayTeamId, int homeScore, int awayScore,
+                               Match.MatchStatus status) {
+        Team home = new Team();
+        home.setId(homeTeamId);
+        Team away = new Team();
+        away.setId(awayTeamId);
+        Match match = new Match();
+        match.setId(matchId);
+        match.setLeague(league());
+        match.setHomeTeam(home);
+        match.setAwayTeam(away);
+        match.setHomeTeamScore(homeScore);
+        match.setAwayTeamScore(awayScore);
+        match.setStatus(status);
+        return match;
+    }
+}
@@ -0,0 +1,95 @@
+package com.kooora.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StreamingIngestionParser
+ */
+public class StreamingIngestionParserTest {
+
+    private StreamingIngestionParser parser;
+
+    @BeforeEach
+    public void setUp() {
+        parser = new StreamingIngestionParser();
+        ReflectionTestUtils.setField(parser, "objectMapper", new ObjectMapper());
+    }
+
+    private InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testParseStandings_OnlyTotalTableRows() throws Exception {
+        String body = "{\"competition\":{\"id\":2021,\"name\":\"PL\"},\"standings\":[" +
+            "{\"stage\":\"REGULAR_SEASON\",\"type\":\"TOTAL\",\"table\":[" +
+            "{\"position\":1,\"team\":{\"id\":57,\"name\":\"Arsenal\"},\"playedGames\":10,\"won\":8," +
+            "\"draw\":1,\"lost\":1,\"points\":25,\"goalsFor\":20,\"goalsAgainst\":6,\"goalDifference\":14}]}," +
+            "{\"stage\":\"REGULAR_SEASON\",\"type\":\"HOME\",\"table\":[" +
+            "{\"position\":1,\"team\":{\"id\":57,\"name\":\"Arsenal\"},\"points\":15}]}]}";
+
+        List<IngestionCommand.StandingUpsert> rows = new ArrayList<>();
+        long count = parser.<IngestionCommand.StandingUpsert>parse(json(body),
+            StreamingIngestionParser.Payload.STANDINGS, 10, rows::addAll);
+
+        assertEquals(1, count);
+        IngestionCommand.StandingUpsert row = rows.get(0);
+        assertEquals(57L, row.teamExternalId());
+        assertEquals("Arsenal", row.teamName());
+        assertEquals(25, row.points());
+        assertEquals(14, row.goalDifference());
+    }
+
+    @Test
+    public void testParseMatches_DeliversFixedSizeBatches() throws Exception {
+        StringBuilder body = new StringBuilder("{\"filters\":{},\"matches\":[");
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"id\":").append(100 + i)
+                .append(",\"status\":\"IN_PLAY\",\"minute\":").append(10 + i)
+                .append(",\"homeTeam\":{\"id\":1,\"name\":\"A\"},\"awayTeam\":{\"id\":2,\"name\":\"B\"},")
+                .append("\"score\":{\"fullTime\":{\"home\":1,\"away\":0}}}");
+        }
+        body.append("],\"resultSet\":{\"count\":5}}");
+
+        List<Integer> batchSizes = new ArrayList<>();
+        List<IngestionCommand.MatchUpsert> matches = new ArrayList<>();
+        long count = parser.<IngestionCommand.MatchUpsert>parse(json(body.toString()),
+            StreamingIngestionParser.Payload.MATCHES, 2, batch -> {
+                batchSizes.add(batch.size());
+                matches.addAll(batch);
+            });
+
+        assertEquals(5, count);
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals(104L, matches.get(4).externalId());
+        assertEquals(1, matches.get(0).homeScore());
+        assertEquals(14, matches.get(4).minute());
+    }
+
+    @Test
+    public void testParseScorers_SupportsLegacyFieldNames() throws Exception {
+        String body = "{\"count\":1,\"scorers\":[{\"player\":{\"id\":9,\"name\":\"Erling Haaland\"}," +
+            "\"team\":{\"id\":65},\"numberOfGoals\":12}]}";
+
+        List<IngestionCommand.ScorerUpsert> scorers = new ArrayList<>();
+        parser.<IngestionCommand.ScorerUpsert>parse(json(body),
+            StreamingIngestionParser.Payload.SCORERS, 10, scorers::addAll);
+
+        assertEquals(1, scorers.size());
+        assertEquals(12, scorers.get(0).goals());
+        assertEquals(65L, scorers.get(0).teamExternalId());
+        assertNull(scorers.get(0).assists());
+    }
+}
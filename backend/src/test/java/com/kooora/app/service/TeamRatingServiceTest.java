@@ -0,0 +1,86 @@
+package com.kooora.app.service;
+
+import com.kooora.app.entity.Match;
+import com.kooora.app.entity.Team;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TeamRatingService rating math and incremental updates
+ */
+public class TeamRatingServiceTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testExpectedHomeScore_IncludesHomeAdvantage() {
+        double expected = TeamRatingService.expectedHomeScore(1500, 1500);
+        assertTrue(expected > 0.5);
+        assertTrue(expected < 1.0);
+    }
+
+    @Test
+    public void testRatingDelta_UpsetMovesMoreThanExpectedResult() {
+        double favouriteWins = TeamRatingService.ratingDelta(1700, 1400, 1, 0);
+        double underdogWins = -TeamRatingService.ratingDelta(1700, 1400, 0, 1);
+        assertTrue(favouriteWins > 0);
+        assertTrue(underdogWins > favouriteWins);
+    }
+
+    @Test
+    public void testGoalDifferenceMultiplier() {
+        assertEquals(1.0, TeamRatingService.goalDifferenceMultiplier(0), EPSILON);
+        assertEquals(1.0, TeamRatingService.goalDifferenceMultiplier(-1), EPSILON);
+        assertEquals(1.5, TeamRatingService.goalDifferenceMultiplier(2), EPSILON);
+        assertEquals(1.75, TeamRatingService.goalDifferenceMultiplier(-3), EPSILON);
+    }
+
+    @Test
+    public void testOutcomeProbabilities_AreValidDistribution() {
+        for (double gap : new double[] {-800, -200, 0, 200, 800}) {
+            double[] p = TeamRatingService.outcomeProbabilities(1500 + gap, 1500);
+            assertEquals(1.0, p[0] + p[1] + p[2], EPSILON);
+            for (double value : p) {
+                assertTrue(value >= 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testOnMatchCompleted_RatesEachMatchOnceAndReplaysOntoRebuild() {
+        TeamRatingService service = new TeamRatingService();
+        service.onMatchCompleted(completed(1L, 10L, 20L, 2, 0));
+        double afterFirst = service.getRating(10L);
+        assertTrue(afterFirst > TeamRatingService.INITIAL_RATING);
+
+        // A status correction completing the match again changes nothing
+        service.onMatchCompleted(completed(1L, 10L, 20L, 2, 0));
+        assertEquals(afterFirst, service.getRating(10L), EPSILON);
+
+        // Match 2 completes while the rebuild is streaming; the pass sees match 1 only
+        TeamRatingService.Rebuild rebuild = service.newRebuild();
+        rebuild.accept(1L, null, 10L, 20L, 2, 0, null);
+        service.onMatchCompleted(completed(2L, 20L, 10L, 1, 0));
+        double live = service.getRating(10L);
+        rebuild.complete(1);
+
+        assertEquals(live, service.getRating(10L), EPSILON);
+        assertTrue(live < afterFirst);
+    }
+
+    private static MatchCompletedEvent completed(long matchId, long homeTeamId, long awayTeamId,
+                                                 int homeScore, int awayScore) {
+        Team home = new Team();
+        home.setId(homeTeamId);
+        Team away = new Team();
+        away.setId(awayTeamId);
+        Match match = new Match();
+        match.setId(matchId);
+        match.setHomeTeam(home);
+        match.setAwayTeam(away);
+        match.setHomeTeamScore(homeScore);
+        match.setAwayTeamScore(awayScore);
+        return new MatchCompletedEvent(match);
+    }
+}
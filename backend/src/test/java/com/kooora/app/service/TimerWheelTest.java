@@ -0,0 +1,55 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TimerWheel ordering, wrap-around, catch-up and cancellation
+ */
+public class TimerWheelTest {
+
+    @Test
+    public void testAdvance_RunsDueTimersInDeadlineOrderAcrossTurns() {
+        TimerWheel wheel = new TimerWheel(100, 8, 0);
+        List<String> fired = new ArrayList<>();
+        // 8 buckets of 100 ms: 2500 and 5300 ms are several turns away and share buckets with earlier timers
+        wheel.schedule(5300, () -> fired.add("5300"));
+        wheel.schedule(450, () -> fired.add("450"));
+        wheel.schedule(2500, () -> fired.add("2500"));
+        wheel.schedule(420, () -> fired.add("420"));
+        wheel.schedule(500, () -> fired.add("500"));
+
+        assertEquals(0, wheel.advanceTo(399));
+        assertEquals(2, wheel.advanceTo(499));
+        assertEquals(List.of("420", "450"), fired);
+        assertEquals(3, wheel.size());
+
+        // Far behind: one call catches up, without running timers that are not yet due
+        assertEquals(2, wheel.advanceTo(5000));
+        assertEquals(List.of("420", "450", "500", "2500"), fired);
+        assertEquals(1, wheel.advanceTo(5300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testSchedule_CancelledAndOverdueTimers() {
+        TimerWheel wheel = new TimerWheel(100, 8, 1000);
+        List<String> fired = new ArrayList<>();
+        TimerWheel.Timeout cancelled = wheel.schedule(1200, () -> fired.add("cancelled"));
+        wheel.schedule(1250, () -> {
+            fired.add("1250");
+            // Due already: runs in the same advance
+            wheel.schedule(1100, () -> fired.add("chained"));
+        });
+        wheel.schedule(900, () -> fired.add("overdue"));
+        cancelled.cancel();
+
+        assertEquals(3, wheel.advanceTo(1300));
+        assertEquals(List.of("overdue", "1250", "chained"), fired);
+        assertEquals(0, wheel.size());
+    }
+}
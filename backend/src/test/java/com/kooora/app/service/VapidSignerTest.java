@@ -0,0 +1,88 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VapidSigner token signing and per-origin caching
+ */
+public class VapidSignerTest {
+
+    private static final String ORIGIN = "https://fcm.googleapis.com";
+    private static final long NOW = 1_755_000_000_000L;
+
+    private KeyPair keys;
+    private String publicKey;
+    private VapidSigner signer;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        keys = generator.generateKeyPair();
+        byte[] point = new byte[65];
+        WebPushEncryption.encodePoint((ECPublicKey) keys.getPublic(), point, 0);
+        publicKey = Base64.getUrlEncoder().withoutPadding().encodeToString(point);
+        signer = new VapidSigner(publicKey, encodeScalar(((ECPrivateKey) keys.getPrivate()).getS()), "mailto:ops@kooora.com");
+    }
+
+    @Test
+    public void testAuthorization_IsAVerifiableEs256TokenForTheOrigin() throws Exception {
+        String authorization = signer.authorization(ORIGIN, NOW);
+
+        assertTrue(authorization.startsWith("vapid t="));
+        assertTrue(authorization.endsWith(", k=" + publicKey));
+        String[] jwt = authorization.substring("vapid t=".length(), authorization.indexOf(',')).split("\\.");
+        assertEquals(3, jwt.length);
+        assertEquals("{\"typ\":\"JWT\",\"alg\":\"ES256\"}", decode(jwt[0]));
+        assertEquals("{\"aud\":\"" + ORIGIN + "\",\"exp\":" + (NOW + VapidSigner.TOKEN_TTL_MS) / 1000
+            + ",\"sub\":\"mailto:ops@kooora.com\"}", decode(jwt[1]));
+
+        Signature verifier = Signature.getInstance("SHA256withECDSAinP1363Format");
+        verifier.initVerify(keys.getPublic());
+        verifier.update((jwt[0] + "." + jwt[1]).getBytes(StandardCharsets.US_ASCII));
+        assertTrue(verifier.verify(Base64.getUrlDecoder().decode(jwt[2])));
+    }
+
+    @Test
+    public void testAuthorization_CachedPerOriginUntilNearExpiry() {
+        String first = signer.authorization(ORIGIN, NOW);
+        assertSame(first, signer.authorization(ORIGIN, NOW + VapidSigner.TOKEN_TTL_MS / 2));
+        assertNotEquals(first, signer.authorization("https://updates.push.services.mozilla.com", NOW));
+        assertEquals(2, signer.cachedTokens());
+
+        String refreshed = signer.authorization(ORIGIN, NOW + VapidSigner.TOKEN_TTL_MS - VapidSigner.REFRESH_MARGIN_MS);
+        assertNotEquals(first, refreshed);
+    }
+
+    @Test
+    public void testConstructor_RejectsMalformedKeys() {
+        assertThrows(GeneralSecurityException.class, () -> new VapidSigner("AAAA", "AAAA", "mailto:ops@kooora.com"));
+        assertThrows(GeneralSecurityException.class, () -> new VapidSigner(publicKey, "not base64!", "mailto:ops@kooora.com"));
+    }
+
+    private static String encodeScalar(BigInteger scalar) {
+        byte[] bytes = scalar.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static String decode(String part) {
+        return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+}
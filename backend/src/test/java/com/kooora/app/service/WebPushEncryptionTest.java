@@ -0,0 +1,116 @@
+package com.kooora.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WebPushEncryption, decrypting its messages the way a browser does (RFC 8291)
+ */
+public class WebPushEncryptionTest {
+
+    @Test
+    public void testEncrypt_BrowserCanDecryptWithItsKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair browser = generator.generateKeyPair();
+        byte[] uaPublic = new byte[65];
+        WebPushEncryption.encodePoint((ECPublicKey) browser.getPublic(), uaPublic, 0);
+        byte[] auth = new byte[16];
+        new SecureRandom().nextBytes(auth);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+        byte[] payload = "{\"title\":\"⚽ GOAL!\",\"tag\":\"goal\"}".getBytes(StandardCharsets.UTF_8);
+        WebPushEncryption.Record record = WebPushEncryption.prepare(payload);
+        WebPushEncryption encryption = new WebPushEncryption();
+
+        byte[] first = null;
+        for (int i = 0; i < 2; i++) {
+            WebPushEncryption.Context context = encryption.acquire();
+            int length = context.encrypt(record, encoder.encodeToString(uaPublic), encoder.encodeToString(auth));
+            byte[] message = Arrays.copyOf(context.message(), length);
+            encryption.release(context);
+
+            assertArrayEquals(payload, decrypt(message, browser.getPrivate(), uaPublic, auth));
+            if (first == null) {
+                first = message;
+            } else {
+                // A fresh salt and ephemeral key per message, from the same pooled context
+                assertFalse(Arrays.equals(first, message));
+            }
+        }
+        assertEquals(1, encryption.pooled());
+    }
+
+    @Test
+    public void testPrepareAndEncrypt_RejectOversizedPayloadsAndBadKeys() {
+        assertThrows(IllegalArgumentException.class,
+            () -> WebPushEncryption.prepare(new byte[WebPushEncryption.MAX_PLAINTEXT + 1]));
+        WebPushEncryption.Record record = WebPushEncryption.prepare(new byte[WebPushEncryption.MAX_PLAINTEXT]);
+
+        WebPushEncryption.Context context = new WebPushEncryption().acquire();
+        assertThrows(GeneralSecurityException.class, () -> context.encrypt(record, "stub-p256dh", "stub-auth"));
+        assertThrows(GeneralSecurityException.class, () -> context.encrypt(record, null, null));
+    }
+
+    /**
+     * Receiver side of RFC 8291 for a single aes128gcm record
+     */
+    private static byte[] decrypt(byte[] message, PrivateKey uaPrivate, byte[] uaPublic, byte[] auth) throws Exception {
+        ByteBuffer header = ByteBuffer.wrap(message);
+        byte[] salt = new byte[16];
+        header.get(salt);
+        assertEquals(4096, header.getInt());
+        byte[] asPublic = new byte[header.get()];
+        header.get(asPublic);
+
+        KeyAgreement agreement = KeyAgreement.getInstance("ECDH");
+        agreement.init(uaPrivate);
+        agreement.doPhase(KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+            new ECPoint(new BigInteger(1, Arrays.copyOfRange(asPublic, 1, 33)), new BigInteger(1, Arrays.copyOfRange(asPublic, 33, 65))),
+            ((ECPrivateKey) uaPrivate).getParams())), true);
+
+        byte[] keyInfo = concat("WebPush: info\0".getBytes(StandardCharsets.US_ASCII), uaPublic, asPublic, new byte[]{1});
+        byte[] ikm = hmac(hmac(auth, agreement.generateSecret()), keyInfo);
+        byte[] prk = hmac(salt, ikm);
+        byte[] cek = Arrays.copyOf(hmac(prk, "Content-Encoding: aes128gcm\0\1".getBytes(StandardCharsets.US_ASCII)), 16);
+        byte[] nonce = Arrays.copyOf(hmac(prk, "Content-Encoding: nonce\0\1".getBytes(StandardCharsets.US_ASCII)), 12);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(cek, "AES"), new GCMParameterSpec(128, nonce));
+        byte[] record = cipher.doFinal(message, header.position(), message.length - header.position());
+        assertEquals(2, record[record.length - 1], "last record ends with the 0x02 delimiter");
+        return Arrays.copyOf(record, record.length - 1);
+    }
+
+    private static byte[] hmac(byte[] key, byte[] data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteBuffer buffer = ByteBuffer.allocate(Arrays.stream(parts).mapToInt(p -> p.length).sum());
+        for (byte[] part : parts) {
+            buffer.put(part);
+        }
+        return buffer.array();
+    }
+}
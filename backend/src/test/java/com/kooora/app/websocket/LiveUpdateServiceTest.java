@@ -13,6 +13,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -183,7 +184,8 @@ public class LiveUpdateServiceTest {
         Long leagueId = 456L;
 
         // When
-        liveUpdateService.broadcastLeagueStandingsUpdate(leagueId);
+        List<Map<String, Object>> standings = List.of(Map.of("position", 1, "teamId", 1L, "points", 3));
+        liveUpdateService.broadcastLeagueStandingsUpdate(leagueId, standings, List.of(1L));
 
         // Then
         ArgumentCaptor<String> destinationCaptor = ArgumentCaptor.forClass(String.class);
@@ -196,6 +198,8 @@ public class LiveUpdateServiceTest {
         Map<String, Object> message = messageCaptor.getValue();
         assertEquals("STANDINGS_UPDATE", message.get("type"));
         assertEquals(456L, message.get("leagueId"));
+        assertEquals(standings, message.get("standings"));
+        assertEquals(List.of(1L), message.get("changedTeamIds"));
         assertNotNull(message.get("timestamp"));
     }
 